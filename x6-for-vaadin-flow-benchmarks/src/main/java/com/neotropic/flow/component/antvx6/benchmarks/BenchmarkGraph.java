@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.benchmarks;
+
+import com.neotropic.flow.component.antvx6.constants.X6Constants;
+import com.neotropic.flow.component.antvx6.objects.Vertex;
+import com.neotropic.flow.component.antvx6.objects.X6Cell;
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import com.neotropic.flow.component.antvx6.objects.X6Node;
+import com.neotropic.flow.component.antvx6.objects.X6NodeText;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic graph used as input by the benchmarks.
+ * 
+ * Of the requested number of cells, 45% are nodes, 10% are text nodes attached to
+ * a node and the rest are edges between random nodes with a few vertices each.
+ * The graph is generated from a fixed seed, so every run uses the same data.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class BenchmarkGraph {
+    private static final long SEED = 42;
+    private static final int VERTICES_PER_EDGE = 3;
+    
+    public final List<X6Node> nodes;
+    public final List<X6NodeText> textNodes;
+    public final List<X6Edge> edges;
+    
+    public BenchmarkGraph(int cells) {
+        Random random = new Random(SEED);
+        int nodeCount = Math.max(2, cells * 45 / 100);
+        int textCount = Math.min(nodeCount, cells / 10);
+        int edgeCount = Math.max(0, cells - nodeCount - textCount);
+        
+        nodes = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            X6Node node = new X6Node("node-" + i, random.nextInt(10_000), random.nextInt(10_000), 80, 40, X6Constants.SHAPE_RECT);
+            node.setLabel("Node " + i);
+            nodes.add(node);
+        }
+        
+        textNodes = new ArrayList<>(textCount);
+        for (int i = 0; i < textCount; i++) {
+            X6Node parent = nodes.get(i);
+            X6NodeText text = new X6NodeText("text-" + i, parent.getGeometry().getX(), 
+                    parent.getGeometry().getY() + 50, 60, 20, X6Constants.SHAPE_RECT);
+            text.setLabel("Text " + i);
+            text.setParentId(parent.getId());
+            textNodes.add(text);
+        }
+        
+        edges = new ArrayList<>(edgeCount);
+        for (int i = 0; i < edgeCount; i++) {
+            X6Edge edge = new X6Edge("edge-" + i, nodes.get(random.nextInt(nodeCount)).getId(), 
+                    nodes.get(random.nextInt(nodeCount)).getId(), "Edge " + i);
+            for (int j = 0; j < VERTICES_PER_EDGE; j++)
+                edge.getVertices().add(new Vertex(random.nextDouble() * 10_000, random.nextDouble() * 10_000));
+            edges.add(edge);
+        }
+    }
+    
+    /**
+    * Gets all the cells of the graph in drawing order: nodes, text nodes and edges.
+    * 
+    * @return a new list with the cells
+    */
+    public List<X6Cell> cells() {
+        List<X6Cell> cells = new ArrayList<>(nodes.size() + textNodes.size() + edges.size());
+        cells.addAll(nodes);
+        cells.addAll(textNodes);
+        cells.addAll(edges);
+        return cells;
+    }
+    
+    /**
+    * Builds a JSON array of vertices with the format sent by the web component
+    * in the edge changed events.
+    * 
+    * @param count the number of vertices
+    * @return the vertices in JSON format
+    */
+    public static String verticesJson(int count) {
+        Random random = new Random(SEED);
+        StringBuilder builder = new StringBuilder(count * 40).append('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0)
+                builder.append(',');
+            builder.append("{\"x\":").append(random.nextInt(10_000))
+                    .append(",\"y\":").append(random.nextDouble() * 10_000).append('}');
+        }
+        return builder.append(']').toString();
+    }
+}
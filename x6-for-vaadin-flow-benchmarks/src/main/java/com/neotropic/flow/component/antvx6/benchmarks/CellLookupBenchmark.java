@@ -0,0 +1,118 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.benchmarks;
+
+import com.neotropic.flow.component.antvx6.AntvX6;
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import com.neotropic.flow.component.antvx6.objects.X6Node;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups and removals of cells by id in the server side model of {@link AntvX6}.
+ * 
+ * The component is filled through its setters, so nothing is sent to the client.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CellLookupBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int cells;
+    
+    private BenchmarkGraph graph;
+    private AntvX6 antvX6;
+    private String[] nodeIds;
+    private String[] edgeIds;
+    private int next;
+    
+    @Setup
+    public void setup() {
+        graph = new BenchmarkGraph(cells);
+        antvX6 = new AntvX6();
+        antvX6.setNodes(graph.nodes);
+        antvX6.setTextNodes(graph.textNodes);
+        antvX6.setEdges(graph.edges);
+        nodeIds = graph.nodes.stream().map(X6Node::getId).toArray(String[]::new);
+        edgeIds = graph.edges.stream().map(X6Edge::getId).toArray(String[]::new);
+    }
+    
+    @Benchmark
+    public X6Node getNodeById() {
+        next = (next + 1) % nodeIds.length;
+        return antvX6.getNodeById(nodeIds[next]);
+    }
+    
+    @Benchmark
+    public X6Edge getEdgeById() {
+        next = (next + 1) % edgeIds.length;
+        return antvX6.getEdgeById(edgeIds[next]);
+    }
+    
+    @Benchmark
+    public X6Node getNodeByIdMissing() {
+        return antvX6.getNodeById("missing");
+    }
+    
+    /**
+    * Removes every edge, one by one, then restores them for the next invocation.
+    */
+    @State(Scope.Thread)
+    public static class Removal {
+        private AntvX6 antvX6;
+        private BenchmarkGraph graph;
+        
+        @Setup(Level.Trial)
+        public void setupGraph(CellLookupBenchmark benchmark) {
+            graph = benchmark.graph;
+            antvX6 = new AntvX6();
+            antvX6.setNodes(graph.nodes);
+        }
+        
+        @Setup(Level.Invocation)
+        public void restoreEdges() {
+            antvX6.setEdges(graph.edges);
+        }
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Measurement(iterations = 20)
+    public int removeAllEdges(Removal removal) {
+        int removed = 0;
+        for (String id : edgeIds) {
+            if (removal.antvX6.removeX6Edge(id))
+                removed++;
+        }
+        return removed;
+    }
+}
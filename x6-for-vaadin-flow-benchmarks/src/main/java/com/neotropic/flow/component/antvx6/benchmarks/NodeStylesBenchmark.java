@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.benchmarks;
+
+import com.neotropic.flow.component.antvx6.constants.X6Constants;
+import com.neotropic.flow.component.antvx6.objects.X6Node;
+import com.neotropic.flow.component.antvx6.utilities.X6NodeUtilities;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversion of the node styles to and from the styles map, applied to every node of a graph.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NodeStylesBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int cells;
+    
+    private List<X6Node> nodes;
+    private HashMap<String, String> styles;
+    
+    @Setup
+    public void setup() {
+        nodes = new BenchmarkGraph(cells).nodes;
+        styles = new HashMap<>();
+        styles.put(X6Constants.STYLE_STROKECOLOR, "#333333");
+        styles.put(X6Constants.STYLE_FILLCOLOR, "#ffffff");
+        styles.put(X6Constants.STYLE_DASHED, "1");
+        styles.put(X6Constants.STYLE_ROUNDED, "1");
+        styles.put(X6Constants.STYLE_STROKEWIDTH, "2.0");
+        styles.put(X6Constants.STYLE_FONTSIZE, "12.0");
+        styles.put(X6Constants.STYLE_FONTCOLOR, "#000000");
+        styles.put(X6Constants.STYLE_FONTFAMILY, "Arial");
+    }
+    
+    @Benchmark
+    public List<X6Node> setStylesToMap() {
+        for (X6Node node : nodes)
+            X6NodeUtilities.setStylesToMap(node);
+        return nodes;
+    }
+    
+    @Benchmark
+    public List<X6Node> setNodeStyles() {
+        for (X6Node node : nodes)
+            X6NodeUtilities.setNodeStyles(node, styles);
+        return nodes;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.benchmarks;
+
+import com.neotropic.flow.component.antvx6.jsonGenerator.CellsPayload;
+import com.neotropic.flow.component.antvx6.jsonGenerator.JsonGenerator;
+import com.neotropic.flow.component.antvx6.jsonGenerator.JsonStreamGenerator;
+import com.neotropic.flow.component.antvx6.objects.X6Cell;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Serialization of every cell of a graph, one cell at a time (as the draw methods do)
+ * and as the single payload sent by refreshCanvas.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int cells;
+    
+    private List<X6Cell> graphCells;
+    private JsonStreamGenerator generator;
+    private JsonStreamGenerator compactGenerator;
+    
+    @Setup
+    public void setup() {
+        graphCells = new BenchmarkGraph(cells).cells();
+        generator = new JsonStreamGenerator();
+        compactGenerator = new JsonStreamGenerator();
+        compactGenerator.setCompact(true);
+    }
+    
+    @Benchmark
+    public void cellsJsonTree(Blackhole blackhole) {
+        for (X6Cell cell : graphCells)
+            blackhole.consume(JsonGenerator.generateJsonCell(cell).toString());
+    }
+    
+    @Benchmark
+    public void cellsJsonStream(Blackhole blackhole) {
+        for (X6Cell cell : graphCells)
+            blackhole.consume(generator.generateCell(cell));
+    }
+    
+    @Benchmark
+    public void cellsJsonCompact(Blackhole blackhole) {
+        for (X6Cell cell : graphCells)
+            blackhole.consume(compactGenerator.generateCell(cell));
+    }
+    
+    @Benchmark
+    public String refreshPayloadJsonTree() {
+        return JsonGenerator.generateJsonCells(graphCells).toString();
+    }
+    
+    /**
+    * Builds the payload the same way {@code AntvX6.drawCells} does.
+    */
+    @Benchmark
+    public String refreshPayloadJsonStream() {
+        CellsPayload payload = new CellsPayload();
+        for (X6Cell cell : graphCells)
+            payload.add(cell, generator.generateCell(cell));
+        return payload.toString();
+    }
+}
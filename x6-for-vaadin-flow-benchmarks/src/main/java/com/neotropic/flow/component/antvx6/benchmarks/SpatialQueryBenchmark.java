@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.benchmarks;
+
+import com.neotropic.flow.component.antvx6.AntvX6;
+import com.neotropic.flow.component.antvx6.objects.X6Node;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Range and nearest node queries of {@link AntvX6}, with the spatial index enabled
+ * and with the nodes scanned.
+ * 
+ * The nodes are spread over a 10000 x 10000 area and the range query covers a
+ * viewport of 1000 x 600.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpatialQueryBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int cells;
+    
+    private AntvX6 indexed;
+    private AntvX6 scanned;
+    private int next;
+    
+    @Setup
+    public void setup() {
+        BenchmarkGraph graph = new BenchmarkGraph(cells);
+        indexed = new AntvX6();
+        indexed.setNodes(graph.nodes);
+        indexed.enableSpatialIndex();
+        scanned = new AntvX6();
+        scanned.setNodes(graph.nodes);
+    }
+    
+    private double nextCoordinate() {
+        next = (next + 1) % 9;
+        return next * 1000;
+    }
+    
+    @Benchmark
+    public List<X6Node> findNodesInRectIndexed() {
+        return indexed.findNodesInRect(nextCoordinate(), nextCoordinate(), 1000, 600);
+    }
+    
+    @Benchmark
+    public List<X6Node> findNodesInRectScanned() {
+        return scanned.findNodesInRect(nextCoordinate(), nextCoordinate(), 1000, 600);
+    }
+    
+    @Benchmark
+    public X6Node findNearestNodeIndexed() {
+        return indexed.findNearestNode(nextCoordinate() + 500, nextCoordinate() + 500);
+    }
+    
+    @Benchmark
+    public X6Node findNearestNodeScanned() {
+        return scanned.findNearestNode(nextCoordinate() + 500, nextCoordinate() + 500);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.benchmarks;
+
+import com.neotropic.flow.component.antvx6.objects.Vertex;
+import com.neotropic.flow.component.antvx6.objects.X6Polyline;
+import com.neotropic.flow.component.antvx6.utilities.X6EdgeUtilities;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of the vertices received from the web component.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VerticesParsingBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int vertices;
+    
+    private String verticesJson;
+    
+    private X6Polyline polyline;
+    
+    @Setup
+    public void setup() {
+        verticesJson = BenchmarkGraph.verticesJson(vertices);
+        polyline = new X6Polyline(vertices);
+    }
+    
+    @Benchmark
+    public List<Vertex> jsonToVertices() {
+        return X6EdgeUtilities.JSONtoVertices(verticesJson);
+    }
+    
+    @Benchmark
+    public X6Polyline parseVertices() {
+        return X6EdgeUtilities.parseVertices(verticesJson);
+    }
+    
+    @Benchmark
+    public X6Polyline parseVerticesReusingPolyline() {
+        return X6EdgeUtilities.parseVertices(verticesJson, polyline);
+    }
+}
@@ -15,12 +15,17 @@
  */
 package com.neotropic.flow.component.antvx6;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.neotropic.flow.component.antvx6.objects.Geometry;
+import com.neotropic.flow.component.antvx6.objects.X6Cell;
+import com.neotropic.flow.component.antvx6.objects.X6CellRegistry;
 import com.neotropic.flow.component.antvx6.objects.X6Edge;
 import com.neotropic.flow.component.antvx6.objects.X6Node;
 import com.neotropic.flow.component.antvx6.objects.X6NodeBackground;
 import com.neotropic.flow.component.antvx6.constants.X6Constants;
+import com.neotropic.flow.component.antvx6.bundling.X6EdgeBundler;
+import com.neotropic.flow.component.antvx6.clustering.X6NodeClusterer;
 import com.neotropic.flow.component.antvx6.events.BackgroundChangedEvent;
 import com.neotropic.flow.component.antvx6.events.BringToFrontEvent;
 import com.neotropic.flow.component.antvx6.events.ButtonRemoveCustomToolClicked;
@@ -38,9 +43,31 @@ import com.neotropic.flow.component.antvx6.events.GraphRefreshedEvent;
 import com.neotropic.flow.component.antvx6.events.NodeBackgroundResizedEvent;
 import com.neotropic.flow.component.antvx6.events.NodeChangedEvent;
 import com.neotropic.flow.component.antvx6.events.NodeMovedEvent;
+import com.neotropic.flow.component.antvx6.events.NodesChangedEvent;
+import com.neotropic.flow.component.antvx6.events.NodesMovedEvent;
 import com.neotropic.flow.component.antvx6.events.SendToBackEvent;
-import com.neotropic.flow.component.antvx6.jsonGenerator.JsonGenerator;
+import com.neotropic.flow.component.antvx6.events.TiledExportEvent;
+import com.neotropic.flow.component.antvx6.export.X6ExportFormat;
+import com.neotropic.flow.component.antvx6.export.X6ExportOptions;
+import com.neotropic.flow.component.antvx6.export.X6RasterExporter;
+import com.neotropic.flow.component.antvx6.export.X6Scene;
+import com.neotropic.flow.component.antvx6.export.X6SvgStream;
+import com.neotropic.flow.component.antvx6.export.X6TileAssembler;
+import com.neotropic.flow.component.antvx6.export.X6TileGrid;
+import com.neotropic.flow.component.antvx6.export.X6TileSink;
+import com.neotropic.flow.component.antvx6.jsonGenerator.CellsPayload;
+import com.neotropic.flow.component.antvx6.jsonGenerator.JsonStreamGenerator;
+import com.neotropic.flow.component.antvx6.jsonGenerator.NativeJsonGenerator;
+import com.neotropic.flow.component.antvx6.objects.X6NodeChange;
 import com.neotropic.flow.component.antvx6.objects.X6NodeText;
+import com.neotropic.flow.component.antvx6.layout.X6BarnesHutLayout;
+import com.neotropic.flow.component.antvx6.layout.X6LayeredLayout;
+import com.neotropic.flow.component.antvx6.layout.X6Layout;
+import com.neotropic.flow.component.antvx6.layout.X6LayoutResult;
+import com.neotropic.flow.component.antvx6.objects.X6AbstractNode;
+import com.neotropic.flow.component.antvx6.snapshot.X6Snapshot;
+import com.neotropic.flow.component.antvx6.spatial.X6SpatialIndex;
+import com.neotropic.flow.component.antvx6.store.X6ColumnarStore;
 import com.neotropic.flow.component.antvx6.utilities.X6NodeTextUtilities;
 import com.vaadin.flow.component.ComponentEventListener;
 import com.vaadin.flow.component.Tag;
@@ -48,8 +75,23 @@ import com.vaadin.flow.component.dependency.JsModule;
 import com.vaadin.flow.component.dependency.NpmPackage;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.shared.Registration;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -80,29 +122,114 @@ public class AntvX6 extends Div {
     private static final String PROPERTY_PADDING_EXPORT_GRAPH_JPEG = "padding_export_graph_JPEG";
     private static final String PROPERTY_GRAPH_ZOOM = "graph_zoom";
     private static final String PROPERTY_GRAPH_NODE_BACKGROUND_ID = "graph_node_background_id";
+    private static final String PROPERTY_GRAPH_VIRTUAL_RENDER = "graph_virtual_render";
+    private static final String PROPERTY_GRAPH_VIRTUAL_RENDER_MARGIN = "graph_virtual_render_margin";
+    private static final String PROPERTY_GRAPH_LEVEL_OF_DETAIL = "graph_level_of_detail";
+    private static final String PROPERTY_GRAPH_LOD_REDUCED_ZOOM = "graph_lod_reduced_zoom";
+    private static final String PROPERTY_GRAPH_LOD_OVERVIEW_ZOOM = "graph_lod_overview_zoom";
 
     /*
     * Background of the x6 canvas.
     */  
     private X6NodeBackground nodeBackground;
     /*
-    * List of nodes present in the graph.
+    * Nodes present in the graph, indexed by id.
     */
-    private List<X6Node> nodes;
+    private final X6CellRegistry<X6Node> nodes;
     /*
-    * List of text nodes present in the graph.
+    * Text nodes present in the graph, indexed by id.
     */
-    private List<X6NodeText> textNodes;
+    private final X6CellRegistry<X6NodeText> textNodes;
     /*
-    * List of edges present in the graph.
+    * Edges present in the graph, indexed by id.
     */
-    private List<X6Edge> edges;
+    private final X6CellRegistry<X6Edge> edges;
+    /*
+    * 64-bit hash of the last JSON sent to the web component for each drawn cell, indexed by
+    * cell id. Used by the incremental refresh to know which cells actually changed; the hash
+    * is kept instead of the JSON so that drawing a cell does not keep a copy of it.
+    */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Map<String, Long> renderedCells;
+    /*
+    * Serializer used to send the cells to the web component, reusing its buffer between calls.
+    */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final JsonStreamGenerator jsonGenerator;
+    /*
+    * Serializer of the X6 metadata loaded with graph.fromJSON, see refreshCanvasFromJSON.
+    */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final NativeJsonGenerator nativeJsonGenerator;
+    /*
+    * Whether refreshCanvas only sends the cells that changed since they were last drawn.
+    */
+    private boolean incrementalRefresh;
+    /*
+    * Spatial index over the bounding boxes of the nodes, null while it is disabled.
+    */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private X6SpatialIndex spatialIndex;
+    /*
+    * Listeners that keep the spatial index up to date with the nodes moved or changed in the browser.
+    */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final List<Registration> spatialIndexListeners;
+    /*
+    * Collapses parallel edges into bundles when the canvas is refreshed, null while bundling is disabled.
+    */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private X6EdgeBundler edgeBundler;
+    /*
+    * Groups nodes into collapsed clusters when the canvas is refreshed, null while clustering is disabled.
+    */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private X6NodeClusterer nodeClusterer;
+    /*
+    * Columnar store drawn with drawColumnarStore, null if none.
+    */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private X6ColumnarStore columnarStore;
+    /*
+    * Tiled exports in progress, indexed by export id.
+    */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Map<String, TiledExport> tiledExports;
+    /*
+    * Listener of the tiles sent by the web component, null until the first tiled export.
+    */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Registration tiledExportListener;
    
     public AntvX6() {
         this.nodeBackground = new X6NodeBackground();
-        this.nodes = new ArrayList();
-        this.textNodes = new ArrayList();
-        this.edges = new ArrayList();
+        this.nodes = new X6CellRegistry<>();
+        this.textNodes = new X6CellRegistry<>();
+        this.edges = new X6CellRegistry<>();
+        this.renderedCells = new HashMap<>();
+        this.jsonGenerator = new JsonStreamGenerator();
+        this.nativeJsonGenerator = new NativeJsonGenerator();
+        this.spatialIndexListeners = new ArrayList<>();
+        this.tiledExports = new HashMap<>();
+        // registered first, so the edges are up to date when the listeners of the application run
+        addListener(EdgeChangedEvent.class, this::applyEdgeChange);
+        addDetachListener(event -> {
+            renderedCells.clear();
+            jsonGenerator.resetStyleDefinitions();
+            // the web component lost the state of the exports in progress
+            for (TiledExport export : new ArrayList<>(tiledExports.values()))
+                failTiledExport(export, new IOException("The graph was detached during the export"));
+        });
     }      
     
     // <editor-fold desc="Set properties in AntV X6 web component">
@@ -196,6 +323,48 @@ public class AntvX6 extends Div {
         getElement().setProperty(PROPERTY_GRAPH_ZOOM, zoom);
     }
     
+    /**
+    * Enables or disables virtual rendering when the graph is created. With virtual rendering
+    * only the cells inside the visible area (plus a margin) are rendered in the browser.
+    *
+    * @param virtualRender true to enable virtual rendering, false to disable it.
+    * @see #enableVirtualRender(int)
+    */
+    public void setVirtualRender(boolean virtualRender){
+        getElement().setProperty(PROPERTY_GRAPH_VIRTUAL_RENDER, virtualRender);
+    }
+    
+    /**
+    * Sets the margin around the visible area where cells are still rendered
+    * when virtual rendering is enabled.
+    *
+    * @param margin the margin in pixels.
+    */
+    public void setVirtualRenderMargin(int margin){
+        getElement().setProperty(PROPERTY_GRAPH_VIRTUAL_RENDER_MARGIN, margin);
+    }
+    
+    /**
+    * Enables or disables the level of detail mode when the graph is created.
+    *
+    * @param levelOfDetail true to enable the level of detail mode, false to disable it.
+    * @see #enableLevelOfDetail(double, double)
+    */
+    public void setLevelOfDetail(boolean levelOfDetail){
+        getElement().setProperty(PROPERTY_GRAPH_LEVEL_OF_DETAIL, levelOfDetail);
+    }
+    
+    /**
+    * Sets the zoom thresholds of the level of detail mode.
+    *
+    * @param reducedZoom the zoom below which labels, ports, edge labels and tools are hidden.
+    * @param overviewZoom the zoom below which the nodes are drawn as plain shapes.
+    */
+    public void setLevelOfDetailZooms(double reducedZoom, double overviewZoom){
+        getElement().setProperty(PROPERTY_GRAPH_LOD_REDUCED_ZOOM, reducedZoom);
+        getElement().setProperty(PROPERTY_GRAPH_LOD_OVERVIEW_ZOOM, overviewZoom);
+    }
+    
     // </editor-fold>
     
     // <editor-fold desc="Custom Tools">
@@ -262,9 +431,13 @@ public class AntvX6 extends Div {
     */
     public void cleanGraph(){
         nodes.clear();
+        if (spatialIndex != null)
+            spatialIndex.clear();
         edges.clear();
         textNodes.clear();
         edges.clear();
+        renderedCells.clear();
+        columnarStore = null;
         getElement().callJsFunction("cleanGraph");
     }
     
@@ -272,6 +445,7 @@ public class AntvX6 extends Div {
     * Clears all nodes and edges from the web component (not from the local lists).
     */
     private void cleanElements(){
+        renderedCells.clear();
         getElement().callJsFunction("cleanGraph");
     }
     
@@ -296,29 +470,129 @@ public class AntvX6 extends Div {
     
     /**
     * Refreshes the entire canvas by clearing existing elements and redrawing all components,
-    * including the background node, nodes, text nodes, and edges.
+    * including the background node, nodes, text nodes, and edges, in a single batch.
     * 
     * This method ensures the graph is updated and visually consistent with the current data.
+    * If the incremental refresh is enabled, {@link #refreshCanvasIncremental()} is used instead.
     */
     public void refreshCanvas() {
+        if (incrementalRefresh) {
+            refreshCanvasIncremental();
+            return;
+        }
         cleanElements();
+        sendCells(collectCanvasCells());
+        sendColumnarStore();
+    }
+    
+    /**
+    * Refreshes the canvas sending only the differences between the current data and
+    * what was last drawn: cells that are new are added, cells whose data changed are
+    * updated in place and cells that are no longer present are removed.
+    * 
+    * Cells that were only modified on the client (e.g. moved by the user) and whose data
+    * did not change on the server are left as they are.
+    */
+    public void refreshCanvasIncremental() {
+        syncCells(collectCanvasCells(), null);
+    }
+    
+    /**
+    * Redraws the entire canvas like {@link #refreshCanvas()}, but the cells are sent as the
+    * metadata of AntV X6 itself and loaded with a single {@code graph.fromJSON} call, which
+    * replaces every cell of the web component. The attributes, labels, ports and connectors
+    * are resolved on the server (see {@link NativeJsonGenerator}), so the browser does not
+    * configure each cell; this is the fastest way to draw a large graph for the first time.
+    */
+    public void refreshCanvasFromJSON() {
+        loadCellsFromJSON(collectCanvasCells());
+        sendColumnarStore();
+    }
+    
+    /**
+    * Collects the cells that make up the canvas, recalculating the position of the text nodes.
+    * When clustering or bundling is enabled, the collapsed clusters and bundles replace the cells they stand for.
+    * 
+    * @return the background (if any), nodes, text nodes and edges, in drawing order
+    */
+    private List<X6Cell> collectCanvasCells() {
+        List<X6Cell> cells = new ArrayList<>(nodes.size() + textNodes.size() + edges.size() + 1);
         if (nodeBackground != null && nodeBackground.getId() != null && !nodeBackground.getId().isBlank()) 
-            drawNodeBackground(nodeBackground);
+            cells.add(nodeBackground);
 
-        for (X6Node node : nodes)
-            drawNodeCenter(node); 
-
-        for (X6NodeText textNode : textNodes){
+        for (X6NodeText textNode : textNodes.asList()){
             X6Node parent = getNodeById(textNode.getParentId());
-            Geometry textGeometry =  new Geometry();
-            X6NodeTextUtilities.calculateLabelDimensions(textGeometry, textNode.getLabel(), 12);
-            X6NodeTextUtilities.calculateLabelPosition(parent.getGeometry(), textGeometry, X6Constants.BOTTOM, 10);
-            textNode.setGeometry(textGeometry);
-            drawText(textNode);
+            if (parent != null) {
+                Geometry textGeometry =  new Geometry();
+                X6NodeTextUtilities.calculateLabelDimensions(textGeometry, textNode.getLabel(), 12);
+                X6NodeTextUtilities.calculateLabelPosition(parent.getGeometry(), textGeometry, X6Constants.BOTTOM, 10);
+                textNode.setGeometry(textGeometry);
+            }
         }
 
-        for (X6Edge edge : edges) 
-            drawEdge(edge);
+        List<X6Edge> visibleEdges;
+        if (nodeClusterer != null) {
+            X6NodeClusterer.ClusteredCells clustered = nodeClusterer.cluster(nodes.asList(), textNodes.asList(), edges.asList());
+            cells.addAll(clustered.getNodes());
+            cells.addAll(clustered.getTextNodes());
+            visibleEdges = clustered.getEdges();
+        } else {
+            cells.addAll(nodes.asList());
+            cells.addAll(textNodes.asList());
+            visibleEdges = edges.asList();
+        }
+        cells.addAll(edgeBundler != null ? edgeBundler.bundle(visibleEdges) : visibleEdges);
+        return cells;
+    }
+    
+    /**
+    * Brings the web component in line with the given cells, sending a single update with
+    * the cells to add, to update and to remove.
+    * 
+    * @param cells the cells that must be drawn
+    * @param candidates ids of drawn cells that must be removed if they are not in {@code cells};
+    *                   null to consider every drawn cell
+    */
+    private void syncCells(Collection<? extends X6Cell> cells, Collection<String> candidates) {
+        CellsPayload added = new CellsPayload();
+        CellsPayload updated = new CellsPayload();
+        Set<String> ids = new HashSet<>();
+        
+        for (X6Cell cell : cells) {
+            ids.add(cell.getId());
+            String json = jsonGenerator.generateCell(cell);
+            long hash = hashJson(json);
+            Long previous = renderedCells.put(cell.getId(), hash);
+            if (previous == null)
+                added.add(cell, json);
+            else if (previous != hash)
+                updated.add(cell, json);
+        }
+        
+        JsonArray removed = new JsonArray();
+        Iterator<String> iterator = (candidates != null ? candidates : renderedCells.keySet()).iterator();
+        while (iterator.hasNext()) {
+            String id = iterator.next();
+            if (!ids.contains(id) && (candidates == null || renderedCells.containsKey(id))) {
+                removed.add(id);
+                if (candidates == null)
+                    iterator.remove();
+                else
+                    renderedCells.remove(id);
+            }
+        }
+        
+        if (added.isEmpty() && updated.isEmpty() && removed.isEmpty())
+            return;
+        
+        StringBuilder diffData = new StringBuilder();
+        diffData.append("{\"remove\":").append(removed).append(",\"update\":");
+        updated.appendTo(diffData);
+        diffData.append(",\"add\":");
+        added.appendTo(diffData);
+        diffData.append('}');
+        sendStyleDefinitions();
+        getElement().callJsFunction("updateCells", diffData.toString());
     }
     
     // </editor-fold>
@@ -330,6 +604,7 @@ public class AntvX6 extends Div {
     */
     public void removeNodeBackground(){
         getElement().callJsFunction("removeBackground");
+        renderedCells.remove(nodeBackground.getId());
         nodeBackground.setId("");
         nodeBackground.setGeometry(new Geometry(0, 0 , 0, 0));
         nodeBackground.setImgUrl("");
@@ -343,6 +618,7 @@ public class AntvX6 extends Div {
     */
     public void removeCell(String id){
         removeX6Cell(id);
+        renderedCells.remove(id);
         getElement().callJsFunction("removeCell", id);
     }
     
@@ -363,7 +639,9 @@ public class AntvX6 extends Div {
     * @return true if the node was removed; false otherwise
     */
     public boolean removeX6Node(String id) {
-        return nodes.removeIf(node -> node.getId().equals(id));
+        if (spatialIndex != null)
+            spatialIndex.remove(id);
+        return nodes.remove(id) != null;
     }
 
     /**
@@ -373,7 +651,7 @@ public class AntvX6 extends Div {
     * @return true if the text node was removed; false otherwise
     */
     public boolean removeX6NodeText(String id) {
-        return textNodes.removeIf(text -> text.getId().equals(id));
+        return textNodes.remove(id) != null;
     }
 
     /**
@@ -383,13 +661,57 @@ public class AntvX6 extends Div {
     * @return true if the edge was removed; false otherwise
     */
     public boolean removeX6Edge(String id) {
-        return edges.removeIf(edge -> edge.getId().equals(id));
+        return edges.remove(id) != null;
     }
     
     // </editor-fold>
     
     // <editor-fold desc="AntV X6 Plugins">
     
+    /**
+    * Enables virtual rendering on an existing graph: only the cells that intersect the visible
+    * area plus the given margin get a view in the browser, and the rendered area follows the
+    * viewport while panning, zooming and scrolling (also with the scroller plugin).
+    * 
+    * Recommended for diagrams with thousands of cells.
+    *
+    * @param margin the margin (in pixels) around the visible area where cells are still rendered
+    */
+    public void enableVirtualRender(int margin) {
+        getElement().callJsFunction("enableVirtualRender", margin);
+    }
+    
+    /**
+    * Disables virtual rendering, rendering every cell of the graph.
+    */
+    public void disableVirtualRender() {
+        getElement().callJsFunction("disableVirtualRender");
+    }
+    
+    /**
+    * Enables the level of detail mode on an existing graph: when zoomed out below the thresholds,
+    * the browser stops rendering the details of the cells and shows them again on zoom-in.
+    * <ul>
+    * <li>Below the reduced zoom, node labels, ports, edge labels and tools are hidden.</li>
+    * <li>Below the overview zoom, images, dashes, filters and edge markers are also dropped,
+    * leaving the nodes as plain shapes.</li>
+    * </ul>
+    * The cells are not modified, so the details come back without a round trip to the server.
+    *
+    * @param reducedZoom the zoom below which labels, ports, edge labels and tools are hidden, e.g. 0.5
+    * @param overviewZoom the zoom below which the nodes are drawn as plain shapes, e.g. 0.25
+    */
+    public void enableLevelOfDetail(double reducedZoom, double overviewZoom) {
+        getElement().callJsFunction("enableLevelOfDetail", reducedZoom, overviewZoom);
+    }
+    
+    /**
+    * Disables the level of detail mode, rendering every detail at any zoom.
+    */
+    public void disableLevelOfDetail() {
+        getElement().callJsFunction("disableLevelOfDetail");
+    }
+    
     /**
     * Adds a scroller plugin to the graph, allowing users to pan and scroll within the canvas.
     *
@@ -494,6 +816,37 @@ public class AntvX6 extends Div {
     
     // <editor-fold desc="Draw Elements">
     
+    /**
+    * Sets whether the cells are sent to the web component in the compact format: short keys,
+    * positional geometry and vertices, and without the values equal to their defaults.
+    * Reduces the size of the payloads several times, at no cost for the client.
+    * 
+    * It should be set before drawing; cells drawn before the change are resent in the
+    * new format by the next incremental refresh.
+    *
+    * @param compact true to use the compact format, false to use the verbose JSON
+    * @see JsonStreamGenerator
+    */
+    public void setCompactWireFormat(boolean compact) {
+        jsonGenerator.setCompact(compact);
+    }
+    
+    public boolean isCompactWireFormat() {
+        return jsonGenerator.isCompact();
+    }
+    
+    /**
+    * Sends to the web component the interned styles referenced for the first time by the
+    * cells serialized since the last call. Must be called before sending those cells.
+    *
+    * @see com.neotropic.flow.component.antvx6.styles.X6StyleRegistry
+    */
+    private void sendStyleDefinitions() {
+        String stylesData = jsonGenerator.takeStyleDefinitions();
+        if (stylesData != null)
+            getElement().callJsFunction("defineStyles", stylesData);
+    }
+    
     /**
     * Draws the node background for a graph.
     * 
@@ -502,8 +855,12 @@ public class AntvX6 extends Div {
     * @param background the X6NodeBackground object
     */
     public void drawNodeBackground(X6NodeBackground background) {
-        JsonObject backgroundData = JsonGenerator.generateJsonBackground(background);
-        getElement().callJsFunction("drawBackground", backgroundData.toString());
+        String backgroundData = jsonGenerator.generateBackground(background);
+        sendStyleDefinitions();
+        getElement().callJsFunction("drawBackground", backgroundData);
+        if (nodeBackground != null && nodeBackground.getId() != null)
+            renderedCells.remove(nodeBackground.getId());
+        renderedCells.put(background.getId(), hashJson(backgroundData));
         if(nodeBackground == null && nodeBackground.getId().isBlank())
             nodeBackground = background;
     }
@@ -514,10 +871,12 @@ public class AntvX6 extends Div {
     * @param node the X6Node object to be draw.
     */
     public void drawNode(X6Node node) {
-        JsonObject nodeData = JsonGenerator.generateJsonNode(node);
-        getElement().callJsFunction("drawNode", nodeData.toString());
-        if(getNodeById(node.getId()) == null)
-            nodes.add(node);
+        String nodeData = jsonGenerator.generateNode(node);
+        sendStyleDefinitions();
+        getElement().callJsFunction("drawNode", nodeData);
+        renderedCells.put(node.getId(), hashJson(nodeData));
+        if (nodes.add(node))
+            indexNode(node);
     }
     
     /**
@@ -526,8 +885,10 @@ public class AntvX6 extends Div {
     * @param node the instance to be drawn on the graph
     */
     public void drawNodeCenter(X6Node node) {
-        JsonObject nodeData = JsonGenerator.generateJsonNode(node);
-        getElement().callJsFunction("drawNode", nodeData.toString());
+        String nodeData = jsonGenerator.generateNode(node);
+        sendStyleDefinitions();
+        getElement().callJsFunction("drawNode", nodeData);
+        renderedCells.put(node.getId(), hashJson(nodeData));
     }
 
     /**
@@ -536,10 +897,11 @@ public class AntvX6 extends Div {
     * @param nodeText the X6NodeText object to be draw
     */
     public void drawText(X6NodeText nodeText) {
-        JsonObject textData = JsonGenerator.generateJsonNodeText(nodeText);
-        getElement().callJsFunction("drawText", textData.toString());
-        if(this.getNodeTextById(nodeText.getId()) == null)
-            textNodes.add(nodeText);
+        String textData = jsonGenerator.generateNodeText(nodeText);
+        sendStyleDefinitions();
+        getElement().callJsFunction("drawText", textData);
+        renderedCells.put(nodeText.getId(), hashJson(textData));
+        textNodes.add(nodeText);
     }
     
     /**
@@ -548,10 +910,89 @@ public class AntvX6 extends Div {
     * @param edge the X6Edge object to be draw.
     */
     public void drawEdge(X6Edge edge) {
-        JsonObject edgeData = JsonGenerator.generateJsonEdge(edge);
-        getElement().callJsFunction("drawEdge", edgeData.toString());
-        if(getEdgeById(edge.getId()) == null)
-            edges.add(edge);
+        String edgeData = jsonGenerator.generateEdge(edge);
+        sendStyleDefinitions();
+        getElement().callJsFunction("drawEdge", edgeData);
+        renderedCells.put(edge.getId(), hashJson(edgeData));
+        edges.add(edge);
+    }
+    
+    /**
+    * Draws a batch of cells (background, nodes, text nodes and edges) with a single
+    * call to the web component, which adds them in one graph update.
+    * 
+    * Use this method instead of drawing the cells one by one when loading large diagrams.
+    * 
+    * @param cells the cells to be drawn
+    */
+    public void drawCells(Collection<? extends X6Cell> cells) {
+        if (cells == null || cells.isEmpty())
+            return;
+        
+        sendCells(cells);
+        for (X6Cell cell : cells) {
+            if (cell instanceof X6Node node) {
+                if (nodes.add(node))
+                    indexNode(node);
+            }
+            else if (cell instanceof X6NodeText nodeText)
+                textNodes.add(nodeText);
+            else if (cell instanceof X6Edge edge)
+                edges.add(edge);
+            else if (cell instanceof X6NodeBackground background)
+                nodeBackground = background;
+        }
+    }
+    
+    /**
+    * Replaces the cells of the web component with the given cells in a single fromJSON call.
+    * The drawn cells are recorded as {@link #sendCells} does, since the incremental refresh and
+    * the expansion and collapse of clusters and bundles rely on them.
+    *
+    * @param cells the cells to be drawn
+    */
+    private void loadCellsFromJSON(Collection<? extends X6Cell> cells) {
+        renderedCells.clear();
+        for (X6Cell cell : cells)
+            renderedCells.put(cell.getId(), hashJson(jsonGenerator.generateCell(cell)));
+        String cellsData = nativeJsonGenerator.generateCells(cells);
+        // do not keep a buffer the size of the whole graph
+        nativeJsonGenerator.reset().getBuilder().trimToSize();
+        getElement().callJsFunction("loadFromJSON", cellsData);
+    }
+    
+    /**
+    * Hashes the JSON of a cell (64-bit FNV-1a over its characters), see {@link #renderedCells}.
+    *
+    * @param json the JSON of the cell
+    * @return the hash of the JSON
+    */
+    private static long hashJson(String json) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < json.length(); i++) {
+            hash ^= json.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+    
+    /**
+    * Sends a batch of cells to the web component without registering them.
+    *
+    * @param cells the cells to be drawn
+    */
+    private void sendCells(Collection<? extends X6Cell> cells) {
+        if (cells.isEmpty())
+            return;
+        
+        CellsPayload cellsData = new CellsPayload();
+        for (X6Cell cell : cells) {
+            String json = jsonGenerator.generateCell(cell);
+            cellsData.add(cell, json);
+            renderedCells.put(cell.getId(), hashJson(json));
+        }
+        sendStyleDefinitions();
+        getElement().callJsFunction("drawCells", cellsData.toString());
     }
     
     /**
@@ -702,6 +1143,28 @@ public class AntvX6 extends Div {
         getElement().callJsFunction("eventNodeChanged");
     }
     
+    /**
+    * Initializes the coalesced event for when nodes are moved. The new positions are
+    * delivered together in a single {@link NodesMovedEvent} instead of one event per node.
+    * 
+    * @param interval the milliseconds during which the moves are accumulated; 0 to deliver
+    *                 them once per animation frame
+    */
+    public void initEventNodesMovedCoalesced(int interval) {
+        getElement().callJsFunction("eventNodesMovedCoalesced", interval);
+    }
+    
+    /**
+    * Initializes the coalesced event for when nodes are changed. The last state of every
+    * changed node is delivered in a single {@link NodesChangedEvent} instead of one event per change.
+    * 
+    * @param interval the milliseconds during which the changes are accumulated; 0 to deliver
+    *                 them once per animation frame
+    */
+    public void initEventNodesChangedCoalesced(int interval) {
+        getElement().callJsFunction("eventNodesChangedCoalesced", interval);
+    }
+    
     /**
     * Initializes the event for when the background node changes.
     */
@@ -793,6 +1256,35 @@ public class AntvX6 extends Div {
         getElement().callJsFunction("eventEdgeChanged");
     }
     
+    /**
+    * Applies the change of the route and endpoints of an edge made in the browser to the edge
+    * held by this component, so that it stays in step with the vertex deltas of the events.
+    * 
+    * @param event the event of the change
+    */
+    private void applyEdgeChange(EdgeChangedEvent event) {
+        X6Edge edge = getEdgeById(event.getId());
+        if (edge == null)
+            return;
+        event.applyTo(edge);
+        if (isValidEndpoint(edge, event.getIdSource()))
+            edge.setIdSource(event.getIdSource());
+        if (isValidEndpoint(edge, event.getIdTarget()))
+            edge.setIdTarget(event.getIdTarget());
+    }
+    
+    /**
+    * Checks if a node reported by the browser can be the endpoint of an edge. The edges of the
+    * columnar store can only be connected to the nodes of the store.
+    */
+    private boolean isValidEndpoint(X6Edge edge, String nodeId) {
+        if (nodeId == null)
+            return false;
+        if (columnarStore != null && columnarStore.indexOfEdge(edge.getId()) >= 0)
+            return columnarStore.indexOfNode(nodeId) >= 0;
+        return true;
+    }
+    
     /**
     * Initializes the event for when a cell is removed.
     */
@@ -949,6 +1441,26 @@ public class AntvX6 extends Div {
         return addListener(NodeMovedEvent.class, listener);
     }
 
+   /**
+    * Adds a listener for when several nodes are moved, see {@link #initEventNodesMovedCoalesced(int)}.
+    * 
+    * @param listener the listener to handle the event
+    * @return a registration for removing the listener
+    */
+    public Registration addNodesMovedListener(ComponentEventListener<NodesMovedEvent> listener) {
+        return addListener(NodesMovedEvent.class, listener);
+    }
+
+   /**
+    * Adds a listener for when several nodes are changed, see {@link #initEventNodesChangedCoalesced(int)}.
+    * 
+    * @param listener the listener to handle the event
+    * @return a registration for removing the listener
+    */
+    public Registration addNodesChangedListener(ComponentEventListener<NodesChangedEvent> listener) {
+        return addListener(NodesChangedEvent.class, listener);
+    }
+
    /**
     * Adds a listener for when the background node is resized.
     * 
@@ -990,7 +1502,8 @@ public class AntvX6 extends Div {
     }
 
    /**
-    * Adds a listener for when an edge is changed.
+    * Adds a listener for when an edge is changed. The change is already applied to the edge
+    * held by this component when the listener runs.
     * 
     * @param listener the listener to handle the event
     * @return a registration for removing the listener
@@ -1021,43 +1534,768 @@ public class AntvX6 extends Div {
 
     // </editor-fold>
     
+    // <editor-fold desc="Cell Collections">
+    
+    /**
+    * Gets the nodes present in the graph.
+    *
+    * @return a read-only live view of the nodes in insertion order; use {@link #setNodes},
+    *         the draw methods or {@link #removeX6Node} to change them
+    */
+    public List<X6Node> getNodes() {
+        return nodes.asList();
+    }
+    
+    /**
+    * Replaces the nodes present in the graph (only the local data, the canvas is not redrawn).
+    *
+    * @param nodes the new nodes; repeated ids keep the first occurrence
+    */
+    public void setNodes(List<X6Node> nodes) {
+        this.nodes.setAll(nodes);
+        if (spatialIndex != null)
+            rebuildSpatialIndex();
+    }
+    
     /**
-    * Retrieves a node from the list by its unique ID.
+    * Gets the text nodes present in the graph.
+    *
+    * @return a read-only live view of the text nodes in insertion order; use {@link #setTextNodes},
+    *         the draw methods or {@link #removeX6NodeText} to change them
+    */
+    public List<X6NodeText> getTextNodes() {
+        return textNodes.asList();
+    }
+    
+    /**
+    * Replaces the text nodes present in the graph (only the local data, the canvas is not redrawn).
+    *
+    * @param textNodes the new text nodes; repeated ids keep the first occurrence
+    */
+    public void setTextNodes(List<X6NodeText> textNodes) {
+        this.textNodes.setAll(textNodes);
+    }
+    
+    /**
+    * Gets the edges present in the graph.
+    *
+    * @return a read-only live view of the edges in insertion order; use {@link #setEdges},
+    *         the draw methods or {@link #removeX6Edge} to change them
+    */
+    public List<X6Edge> getEdges() {
+        return edges.asList();
+    }
+    
+    /**
+    * Replaces the edges present in the graph (only the local data, the canvas is not redrawn).
+    *
+    * @param edges the new edges; repeated ids keep the first occurrence
+    */
+    public void setEdges(List<X6Edge> edges) {
+        this.edges.setAll(edges);
+    }
+    
+    /**
+    * Retrieves a node by its unique ID.
     *
     * @param id the ID of the node to retrieve
     * @return the X6Node with the specified ID, or null.
     */
     public X6Node getNodeById(String id) {
-        return nodes.stream()
-                    .filter(node -> node.getId().equals(id))
-                    .findFirst()
-                    .orElse(null);
+        X6Node node = nodes.get(id);
+        if (node == null && columnarStore != null) {
+            int index = columnarStore.indexOfNode(id);
+            if (index >= 0)
+                return columnarStore.getNode(index);
+        }
+        return node;
     }
 
     /**
-     * Retrieves an edge from the list by its unique ID.
+     * Retrieves an edge by its unique ID.
      *
      * @param id the ID of the edge to retrieve
      * @return the X6Edge with the specified ID, or null.
      */
     public X6Edge getEdgeById(String id) {
-        return edges.stream()
-                    .filter(edge -> edge.getId().equals(id))
-                    .findFirst()
-                    .orElse(null);
+        X6Edge edge = edges.get(id);
+        if (edge == null && columnarStore != null) {
+            int index = columnarStore.indexOfEdge(id);
+            if (index >= 0)
+                return columnarStore.getEdge(index);
+        }
+        return edge;
     }
     
     /**
-    * Retrieves a text node from the list by its unique ID.
+    * Retrieves a text node by its unique ID.
     *
     * @param id the ID of the text node to retrieve
     * @return the X6NodeText with the specified ID, or null.
     */
     public X6NodeText getNodeTextById(String id) {
-        return textNodes.stream()
-                        .filter(text -> text.getId().equals(id))
-                        .findFirst()
-                        .orElse(null);
+        return textNodes.get(id);
+    }
+    
+    // </editor-fold>
+    
+    // <editor-fold desc="Spatial Index">
+    
+    /**
+    * Enables the spatial index over the nodes with the default bucket size.
+    * 
+    * @see #enableSpatialIndex(double)
+    */
+    public void enableSpatialIndex() {
+        enableSpatialIndex(X6SpatialIndex.DEFAULT_CELL_SIZE);
+    }
+    
+    /**
+    * Enables a spatial index over the bounding boxes of the nodes, used by {@link #findNodesInRect}
+    * and {@link #findNearestNode} to answer without scanning every node.
+    * 
+    * The index follows the nodes drawn, set and removed through this component, and the
+    * positions and sizes reported by the node moved and node changed events (single or coalesced),
+    * so those events must be initialized to track the changes made in the browser. Those positions
+    * and sizes are written into the geometry of the nodes before they are indexed, so the index,
+    * the scan done without it and any later rebuild agree with the browser.
+    * Changes made to the geometry of a node on the server must be reported with {@link #updateSpatialIndex(X6Node)}.
+    *
+    * @param cellSize the size of the buckets of the index in graph units; a few times the size of a typical node
+    */
+    public void enableSpatialIndex(double cellSize) {
+        disableSpatialIndex();
+        spatialIndex = new X6SpatialIndex(cellSize);
+        rebuildSpatialIndex();
+        spatialIndexListeners.add(addNodeMovedListener(event -> moveNode(event.getId(), event.getX(), event.getY())));
+        spatialIndexListeners.add(addNodesMovedListener(event -> {
+            for (X6NodeChange change : event.getNodes())
+                moveNode(change.getId(), change.getX(), change.getY());
+        }));
+        spatialIndexListeners.add(addNodeChangedListener(event -> changeNode(event.getId(),
+                event.getX(), event.getY(), event.getWidth(), event.getHeight())));
+        spatialIndexListeners.add(addNodesChangedListener(event -> {
+            for (X6NodeChange change : event.getNodes())
+                changeNode(change.getId(), change.getX(), change.getY(), change.getWidth(), change.getHeight());
+        }));
+    }
+    
+    /**
+    * Disables the spatial index and releases its memory.
+    */
+    public void disableSpatialIndex() {
+        spatialIndexListeners.forEach(Registration::remove);
+        spatialIndexListeners.clear();
+        spatialIndex = null;
+    }
+    
+    public boolean isSpatialIndexEnabled() {
+        return spatialIndex != null;
     }
+    
+    /**
+    * Updates the bounding box of a node in the spatial index after its geometry was changed on the server.
+    *
+    * @param node the node whose geometry changed
+    */
+    public void updateSpatialIndex(X6Node node) {
+        if (spatialIndex != null && node != null && nodes.contains(node.getId()))
+            indexNode(node);
+    }
+    
+    /**
+    * Finds the nodes whose bounding box intersects or touches a rectangle.
+    * When the spatial index is disabled, the nodes are scanned.
+    *
+    * @param x the x coordinate of the top left corner of the rectangle
+    * @param y the y coordinate of the top left corner of the rectangle
+    * @param width the width of the rectangle
+    * @param height the height of the rectangle
+    * @return the nodes found, in no particular order
+    */
+    public List<X6Node> findNodesInRect(double x, double y, double width, double height) {
+        List<X6Node> found = new ArrayList<>();
+        if (spatialIndex == null) {
+            if (width < 0 || height < 0)
+                return found;
+            for (X6Node node : nodes.asList()) {
+                Geometry geometry = node.getGeometry();
+                if (geometry != null && geometry.getX() <= x + width && geometry.getX() + geometry.getWidth() >= x
+                        && geometry.getY() <= y + height && geometry.getY() + geometry.getHeight() >= y)
+                    found.add(node);
+            }
+            return found;
+        }
+        for (String id : spatialIndex.findInRect(x, y, width, height)) {
+            X6Node node = nodes.get(id);
+            if (node != null)
+                found.add(node);
+        }
+        return found;
+    }
+    
+    /**
+    * Finds the node closest to a point, measuring the distance to the bounding box of
+    * the nodes (0 when the point is inside). When the spatial index is disabled, the nodes are scanned.
+    *
+    * @param x the x coordinate of the point
+    * @param y the y coordinate of the point
+    * @return the closest node, or null if there are no nodes
+    */
+    public X6Node findNearestNode(double x, double y) {
+        if (spatialIndex != null)
+            return nodes.get(spatialIndex.findNearest(x, y));
+        X6Node nearest = null;
+        double nearestDistance = Double.POSITIVE_INFINITY;
+        for (X6Node node : nodes.asList()) {
+            Geometry geometry = node.getGeometry();
+            if (geometry == null)
+                continue;
+            double dx = Math.max(Math.max(geometry.getX() - x, 0), x - (geometry.getX() + geometry.getWidth()));
+            double dy = Math.max(Math.max(geometry.getY() - y, 0), y - (geometry.getY() + geometry.getHeight()));
+            double distance = dx * dx + dy * dy;
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = node;
+            }
+        }
+        return nearest;
+    }
+    
+    /*
+    * Writes the position of a node moved in the browser into its geometry and indexes it.
+    */
+    private void moveNode(String id, double x, double y) {
+        X6Node node = nodes.get(id);
+        if (node == null)
+            return;
+        if (node.getGeometry() == null)
+            node.setGeometry(new Geometry());
+        node.getGeometry().setPosition(x, y);
+        indexNode(node);
+    }
+    
+    /*
+    * Writes the position and size of a node changed in the browser into its geometry and indexes it.
+    */
+    private void changeNode(String id, double x, double y, double width, double height) {
+        X6Node node = nodes.get(id);
+        if (node == null)
+            return;
+        if (node.getGeometry() == null)
+            node.setGeometry(new Geometry());
+        node.getGeometry().setPosition(x, y);
+        node.getGeometry().setSize(width, height);
+        indexNode(node);
+    }
+    
+    private void indexNode(X6Node node) {
+        if (spatialIndex != null)
+            indexNode(spatialIndex, node);
+    }
+    
+    private void rebuildSpatialIndex() {
+        spatialIndex.clear();
+        for (X6Node node : nodes.asList())
+            indexNode(spatialIndex, node);
+    }
+    
+    private static void indexNode(X6SpatialIndex index, X6Node node) {
+        Geometry geometry = node.getGeometry();
+        if (geometry == null)
+            return;
+        index.put(node.getId(), geometry.getX(), geometry.getY(), geometry.getWidth(), geometry.getHeight());
+    }
+    
+    // </editor-fold>
+    
+    // <editor-fold desc="Layout">
+    
+    /**
+    * Computes the position of the nodes with the given layout and writes it into their geometry.
+    * The canvas is not redrawn; call {@link #refreshCanvas()} or {@link #drawCells} afterwards.
+    *
+    * @param layout the layout to apply, e.g. {@link X6LayeredLayout}
+    */
+    public void applyLayout(X6Layout layout) {
+        applyLayout(layout.compute(nodes.asList(), edges.asList()));
+    }
+    
+    /**
+    * Computes the position of the nodes with the given layout in a background executor.
+    * The nodes are not modified until the result is applied with {@link #applyLayout(X6LayoutResult)},
+    * which must be done holding the session lock, e.g.:
+    * <pre>
+    * antvX6.computeLayoutAsync(new X6LayeredLayout(), executor)
+    *       .thenAccept(result -&gt; ui.access(() -&gt; {
+    *           antvX6.applyLayout(result);
+    *           antvX6.refreshCanvas();
+    *       }));
+    * </pre>
+    * The geometry of the nodes must not be changed while the layout is computed.
+    *
+    * @param layout the layout to compute
+    * @param executor the executor where the layout runs
+    * @return the future result of the layout
+    */
+    public CompletableFuture<X6LayoutResult> computeLayoutAsync(X6Layout layout, Executor executor) {
+        // the layout runs on another thread, it gets a copy of the cells
+        List<X6Node> layoutNodes = new ArrayList<>(nodes.asList());
+        List<X6Edge> layoutEdges = new ArrayList<>(edges.asList());
+        return CompletableFuture.supplyAsync(() -> layout.compute(layoutNodes, layoutEdges), executor);
+    }
+    
+    /**
+    * Writes the positions computed by a layout into the geometry of the nodes.
+    * The canvas is not redrawn; call {@link #refreshCanvas()} or {@link #drawCells} afterwards.
+    *
+    * @param result the result of a layout
+    */
+    public void applyLayout(X6LayoutResult result) {
+        result.apply();
+        if (spatialIndex != null) {
+            for (X6AbstractNode node : result.getNodes()) {
+                if (node instanceof X6Node x6Node)
+                    updateSpatialIndex(x6Node);
+            }
+        }
+    }
+    
+    /**
+    * Writes the positions computed by a layout into the geometry of the nodes and moves
+    * the nodes already drawn in the canvas, in a single batch update, without redrawing them.
+    * Meant to show the intermediate results of a layout, see {@link X6BarnesHutLayout#setProgressListener}.
+    *
+    * @param result the result of a layout
+    */
+    public void moveNodes(X6LayoutResult result) {
+        applyLayout(result);
+        getElement().callJsFunction("setNodePositions", jsonGenerator.generatePositions(result.getNodes()));
+    }
+    
+    // </editor-fold>
+    
+    // <editor-fold desc="Edge Bundling">
+    
+    /**
+    * Enables edge bundling: when the canvas is refreshed, groups of at least the given number
+    * of edges between the same pair of nodes are drawn as a single edge labeled with their count.
+    * Edges drawn one by one with {@link #drawEdge} or {@link #drawCells} are not bundled.
+    *
+    * @param minBundleSize the minimum number of edges between two nodes to bundle them
+    * @see #expandEdgeBundle(String)
+    */
+    public void enableEdgeBundling(int minBundleSize) {
+        enableEdgeBundling(new X6EdgeBundler(minBundleSize));
+    }
+    
+    /**
+    * Enables edge bundling with a custom bundler, e.g. one that groups the edges by route.
+    *
+    * @param bundler the bundler used when the canvas is refreshed
+    */
+    public void enableEdgeBundling(X6EdgeBundler bundler) {
+        this.edgeBundler = bundler;
+    }
+    
+    /**
+    * Disables edge bundling; the next refresh of the canvas draws every edge.
+    */
+    public void disableEdgeBundling() {
+        this.edgeBundler = null;
+    }
+    
+    public X6EdgeBundler getEdgeBundler() {
+        return edgeBundler;
+    }
+    
+    /**
+    * Checks whether a drawn edge is a bundle, e.g. in an {@link EdgeDblClickEvent}.
+    *
+    * @param id the id of the edge
+    * @return true if the edge is a bundle
+    */
+    public boolean isEdgeBundle(String id) {
+        return edgeBundler != null && edgeBundler.isBundle(id);
+    }
+    
+    /**
+    * Replaces a bundle in the canvas by the edges it stands for.
+    *
+    * @param bundleId the id of the bundle edge
+    */
+    public void expandEdgeBundle(String bundleId) {
+        if (edgeBundler != null && edgeBundler.expand(bundleId))
+            syncCells(edgeBundler.getBundledEdges(bundleId), List.of(bundleId));
+    }
+    
+    /**
+    * Replaces the edges of an expanded bundle in the canvas by the bundle.
+    *
+    * @param bundleId the id of the bundle edge
+    */
+    public void collapseEdgeBundle(String bundleId) {
+        if (edgeBundler != null && edgeBundler.collapse(bundleId)) {
+            List<String> edgeIds = new ArrayList<>();
+            for (X6Edge edge : edgeBundler.getBundledEdges(bundleId))
+                edgeIds.add(edge.getId());
+            syncCells(List.of(edgeBundler.getBundleEdge(bundleId)), edgeIds);
+        }
+    }
+    
+    // </editor-fold>
+    
+    // <editor-fold desc="Node Clustering">
+    
+    /**
+    * Enables node clustering: when the canvas is refreshed, the nodes grouped by the clusterer
+    * are drawn as a single node per cluster, and the edges that reach them as a single edge
+    * per pair of visible nodes, until the cluster is expanded. The members of a collapsed
+    * cluster are not sent to the browser.
+    *
+    * @param clusterer the clusterer, e.g. {@link X6NodeClusterer#byParent()} or {@link X6NodeClusterer#spatial(double)}
+    * @see #expandNodeCluster(String)
+    */
+    public void enableNodeClustering(X6NodeClusterer clusterer) {
+        this.nodeClusterer = clusterer;
+    }
+    
+    /**
+    * Disables node clustering; the next refresh of the canvas draws every node.
+    */
+    public void disableNodeClustering() {
+        this.nodeClusterer = null;
+    }
+    
+    public X6NodeClusterer getNodeClusterer() {
+        return nodeClusterer;
+    }
+    
+    /**
+    * Checks whether a drawn node stands for a cluster, e.g. in a {@link CellSelectedEvent}.
+    *
+    * @param id the id of the node
+    * @return true if the node is a cluster, collapsed or expanded
+    */
+    public boolean isNodeCluster(String id) {
+        return nodeClusterer != null && nodeClusterer.isCluster(id);
+    }
+    
+    /**
+    * Replaces a collapsed cluster in the canvas by its members, their text nodes and edges.
+    *
+    * @param clusterId the id of the cluster
+    */
+    public void expandNodeCluster(String clusterId) {
+        if (nodeClusterer != null && nodeClusterer.expand(clusterId))
+            syncNodeCluster(clusterId);
+    }
+    
+    /**
+    * Replaces the members of an expanded cluster in the canvas by the cluster.
+    *
+    * @param clusterId the id of the cluster
+    */
+    public void collapseNodeCluster(String clusterId) {
+        if (nodeClusterer != null && nodeClusterer.collapse(clusterId))
+            syncNodeCluster(clusterId);
+    }
+    
+    /**
+    * Sends only the cells that changed because a cluster was expanded or collapsed.
+    * Bundles are computed over all the edges, so with bundling enabled the whole canvas is synchronized.
+    */
+    private void syncNodeCluster(String clusterId) {
+        if (edgeBundler != null) {
+            refreshCanvasIncremental();
+            return;
+        }
+        // the cells drawn for the cluster before the change, removed if they are no longer drawn
+        Set<String> previous = new HashSet<>(nodeClusterer.getRelatedCellIds(clusterId));
+        List<X6Cell> cells = collectCanvasCells();
+        Set<String> related = nodeClusterer.getRelatedCellIds(clusterId);
+        List<X6Cell> changed = new ArrayList<>();
+        for (X6Cell cell : cells) {
+            if (related.contains(cell.getId()))
+                changed.add(cell);
+        }
+        syncCells(changed, previous);
+    }
+    
+    // </editor-fold>
+    
+    // <editor-fold desc="Columnar Store">
+    
+    /**
+    * Draws every cell of a columnar store with a single call to the web component. The cells
+    * are written straight from the columns of the store, without creating a cell per object or
+    * keeping their JSON. The store is draw-only: its cells are found by {@link #getNodeById}
+    * and {@link #getEdgeById} (as flyweight views), drawn again by {@link #refreshCanvas()} and
+    * exported, but they are not part of {@link #getNodes()}/{@link #getEdges()}, the spatial
+    * index, the layouts, the clustering, the incremental refresh or the snapshots.
+    *
+    * @param store the store to draw
+    */
+    public void drawColumnarStore(X6ColumnarStore store) {
+        this.columnarStore = store;
+        sendColumnarStore();
+    }
+    
+    public X6ColumnarStore getColumnarStore() {
+        return columnarStore;
+    }
+    
+    /**
+    * Sends the cells of the columnar store, if any, in a single drawCells call.
+    */
+    private void sendColumnarStore() {
+        if (columnarStore == null || columnarStore.isEmpty())
+            return;
+        jsonGenerator.reset();
+        columnarStore.appendPayload(jsonGenerator);
+        String payload = jsonGenerator.toString();
+        // do not keep a buffer the size of the whole store
+        jsonGenerator.reset().getBuilder().trimToSize();
+        sendStyleDefinitions();
+        getElement().callJsFunction("drawCells", payload);
+    }
+    
+    // </editor-fold>
+    
+    // <editor-fold desc="Snapshots">
+    
+    /**
+    * Takes a snapshot of the graph: the background (if any), the nodes, the text nodes and the
+    * edges with their styles. The cells of the columnar store are not included.
+    *
+    * @return the snapshot of the graph
+    */
+    public X6Snapshot createSnapshot() {
+        X6NodeBackground background = nodeBackground != null && nodeBackground.getId() != null 
+                && !nodeBackground.getId().isBlank() ? nodeBackground : null;
+        return new X6Snapshot(background, nodes.asList(), textNodes.asList(), edges.asList());
+    }
+    
+    /**
+    * Saves a snapshot of the graph to a file, see {@link #createSnapshot()}.
+    *
+    * @param target the file where the snapshot is written
+    * @throws IOException if the snapshot cannot be written
+    */
+    public void saveSnapshot(Path target) throws IOException {
+        createSnapshot().write(target);
+    }
+    
+    /**
+    * Opens a snapshot saved with {@link #saveSnapshot(Path)}. The file is mapped in memory and
+    * read once, see {@link X6Snapshot#read(Path)}.
+    *
+    * @param source the file of the snapshot
+    * @throws IOException if the file cannot be read or is not a valid snapshot
+    */
+    public void loadSnapshot(Path source) throws IOException {
+        loadSnapshot(X6Snapshot.read(source));
+    }
+    
+    /**
+    * Replaces the graph with the cells of a snapshot and draws them with a single fromJSON call,
+    * see {@link #refreshCanvasFromJSON()}. The columnar store, if any, is dropped.
+    *
+    * @param snapshot the snapshot to load
+    */
+    public void loadSnapshot(X6Snapshot snapshot) {
+        nodeBackground = snapshot.getBackground() != null ? snapshot.getBackground() : new X6NodeBackground();
+        setNodes(snapshot.getNodes());
+        setTextNodes(snapshot.getTextNodes());
+        setEdges(snapshot.getEdges());
+        columnarStore = null;
+        loadCellsFromJSON(collectCanvasCells());
+    }
+    
+    // </editor-fold>
+    
+    // <editor-fold desc="Server-side Export">
+    
+    /**
+    * Takes a snapshot of the canvas to export it without the browser: the background, the nodes,
+    * the text nodes and the edges as {@link #refreshCanvas()} would draw them (with the clusters and
+    * bundles, if enabled) and the cells of the columnar store. The scene can then be exported from
+    * any thread, see {@link X6RasterExporter}, {@link com.neotropic.flow.component.antvx6.export.X6SvgExporter}
+    * and {@link com.neotropic.flow.component.antvx6.export.X6BatchExporter}.
+    *
+    * @return the scene of the canvas
+    */
+    public X6Scene createExportScene() {
+        List<X6Cell> cells = collectCanvasCells();
+        if (columnarStore != null && !columnarStore.isEmpty()) {
+            cells.addAll(columnarStore.getNodes());
+            cells.addAll(columnarStore.getEdges());
+        }
+        return new X6Scene(cells);
+    }
+    
+    /**
+    * Exports the canvas on the server, unlike {@link #exportGraphAsJPEG(String)} that downloads
+    * the image rendered by the browser. The stream is not closed.
+    *
+    * @param format the format of the image
+    * @param out the stream where the image is written
+    * @throws IOException if the stream cannot be written
+    */
+    public void exportGraph(X6ExportFormat format, OutputStream out) throws IOException {
+        exportGraph(format, out, new X6ExportOptions());
+    }
+    
+    /**
+    * Exports the canvas on the server with the given options. The stream is not closed.
+    *
+    * @param format the format of the image
+    * @param out the stream where the image is written
+    * @param options the options of the export, e.g. its scale and padding
+    * @throws IOException if the stream cannot be written
+    */
+    public void exportGraph(X6ExportFormat format, OutputStream out, X6ExportOptions options) throws IOException {
+        new X6RasterExporter(options).write(createExportScene(), format, out);
+    }
+    
+    // </editor-fold>
+    
+    // <editor-fold desc="Tiled Export">
+    
+    /**
+    * A tiled export in progress.
+    */
+    private static final class TiledExport {
+        private final String id;
+        private final X6ExportFormat format;
+        private final X6TileSink sink;
+        private final CompletableFuture<Void> future;
+        
+        private TiledExport(String id, X6ExportFormat format, X6TileSink sink) {
+            this.id = id;
+            this.format = format;
+            this.sink = sink;
+            this.future = new CompletableFuture<>();
+        }
+    }
+    
+    /**
+    * Exports the graph as the browser renders it, region by region, so diagrams far larger
+    * than the canvas of the browser can be exported at any resolution (e.g. an A0 sheet at
+    * 300 dpi). The web component renders a tile, sends it and waits for it to be received
+    * before rendering the next one; the tiles go to the sink as they arrive.
+    * SVG documents are sent as chunks of text instead of tiles.
+    * 
+    * The export uses the scale (or dpi), padding, background color, tile size and JPEG quality
+    * of the options. Virtual rendering is suspended while the graph is serialized.
+    *
+    * @param format the format of the tiles
+    * @param options the options of the export
+    * @param sink receives the tiles
+    * @return a future completed when the export ends, or exceptionally if it fails
+    */
+    public CompletableFuture<Void> exportGraphTiled(X6ExportFormat format, X6ExportOptions options, X6TileSink sink) {
+        if (options.getScale() <= 0)
+            throw new IllegalArgumentException("The scale must be positive");
+        if (tiledExportListener == null)
+            tiledExportListener = addListener(TiledExportEvent.class, this::onTiledExportEvent);
+        TiledExport export = new TiledExport(UUID.randomUUID().toString(), format, sink);
+        tiledExports.put(export.id, export);
+        
+        JsonObject exportOptions = new JsonObject();
+        exportOptions.addProperty("format", format.getExtension());
+        exportOptions.addProperty("mimeType", format.getMimeType());
+        exportOptions.addProperty("scale", options.getScale());
+        exportOptions.addProperty("padding", options.getPadding());
+        exportOptions.addProperty("backgroundColor", options.getBackgroundColor());
+        exportOptions.addProperty("tileSize", options.getTileSize() > 0 ? options.getTileSize() : X6ExportOptions.DEFAULT_TILE_SIZE);
+        exportOptions.addProperty("quality", options.getJpegQuality());
+        getElement().callJsFunction("exportGraphTiled", export.id, exportOptions.toString());
+        return export.future;
+    }
+    
+    /**
+    * Exports the graph as the browser renders it, region by region, and assembles the tiles in a
+    * single image written to a stream, see {@link X6TileAssembler}. The stream is not closed.
+    *
+    * @param format the format of the image
+    * @param options the options of the export
+    * @param out the stream where the image is written
+    * @return a future completed when the image is written, or exceptionally if the export fails
+    */
+    public CompletableFuture<Void> exportGraphTiled(X6ExportFormat format, X6ExportOptions options, OutputStream out) {
+        return exportGraphTiled(format, options, new X6TileAssembler(out, options));
+    }
+    
+    /**
+    * Gets the SVG document of the graph as the browser renders it. The document is sent by the
+    * web component in chunks, one message each, and can be read as a stream while it arrives
+    * or served as a download, e.g.:
+    * <pre>
+    * antvX6.exportSvg().getCompletion().thenAccept(svg -&gt; archive.store(svg.getInputStream()));
+    * anchor.setHref(antvX6.exportSvg().toStreamResource("diagram.svg"));
+    * </pre>
+    *
+    * @return the document being received
+    */
+    public X6SvgStream exportSvg() {
+        return exportSvg(new X6ExportOptions());
+    }
+    
+    /**
+    * Gets the SVG document of the graph as the browser renders it, with the padding and background color of the options.
+    *
+    * @param options the options of the export
+    * @return the document being received
+    * @see #exportSvg()
+    */
+    public X6SvgStream exportSvg(X6ExportOptions options) {
+        X6SvgStream svg = new X6SvgStream();
+        exportGraphTiled(X6ExportFormat.SVG, options, svg);
+        return svg;
+    }
+    
+    /**
+    * Cancels the tiled exports in progress, completing their futures exceptionally.
+    */
+    public void cancelTiledExports() {
+        for (TiledExport export : new ArrayList<>(tiledExports.values()))
+            failTiledExport(export, new IOException("The export was cancelled"));
+    }
+    
+    private void onTiledExportEvent(TiledExportEvent event) {
+        TiledExport export = tiledExports.get(event.getExportId());
+        if (export == null)
+            return;
+        try {
+            switch (event.getStatus()) {
+                case TiledExportEvent.STATUS_START -> export.sink.begin(new X6TileGrid(export.format, 
+                        event.getColumns(), event.getRows(), event.getTileSize(), event.getWidth(), event.getHeight()));
+                case TiledExportEvent.STATUS_TILE -> export.sink.tile(event.getColumn(), event.getRow(), 
+                        export.format == X6ExportFormat.SVG 
+                                ? event.getData().getBytes(StandardCharsets.UTF_8) 
+                                : Base64.getDecoder().decode(event.getData()));
+                case TiledExportEvent.STATUS_END -> {
+                    tiledExports.remove(export.id);
+                    export.sink.end();
+                    export.future.complete(null);
+                    return;
+                }
+                default -> throw new IOException("The graph could not be exported: " + event.getMessage());
+            }
+            getElement().callJsFunction("continueTiledExport", export.id);
+        } catch (IOException | RuntimeException ex) {
+            failTiledExport(export, ex);
+        }
+    }
+    
+    private void failTiledExport(TiledExport export, Exception cause) {
+        tiledExports.remove(export.id);
+        getElement().callJsFunction("cancelTiledExport", export.id);
+        export.sink.cancel(cause);
+        export.future.completeExceptionally(cause);
+    }
+    
+    // </editor-fold>
  
 }
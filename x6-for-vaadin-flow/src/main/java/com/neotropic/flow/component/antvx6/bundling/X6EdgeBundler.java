@@ -0,0 +1,232 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.bundling;
+
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import com.neotropic.flow.component.antvx6.utilities.X6EdgeUtilities;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Collapses the edges that connect the same pair of nodes into a single bundle edge
+ * labeled with the number of edges it stands for, so dense views draw one path per
+ * pair instead of one per edge.
+ * 
+ * By default the edges are grouped by their endpoints regardless of direction; a custom
+ * key function can group them by any other criteria, e.g. the route they belong to.
+ * Bundles can be expanded to show their edges and collapsed again.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6EdgeBundler {
+    /**
+    * Prefix of the id of the bundle edges.
+    */
+    public static final String BUNDLE_PREFIX = "bundle:";
+    /*
+    * Minimum number of edges in a group to collapse it into a bundle.
+    */
+    private int minBundleSize;
+    /*
+    * Computes the group of an edge; edges with a null key are never bundled.
+    */
+    private Function<X6Edge, String> keyFunction;
+    /*
+    * Ids of the bundles currently expanded.
+    */
+    private final Set<String> expanded;
+    /*
+    * Edges of every bundle found by the last call to bundle, indexed by bundle id.
+    */
+    private final Map<String, List<X6Edge>> bundles;
+
+    public X6EdgeBundler() {
+        this(2);
+    }
+
+    /**
+    * Creates a bundler that groups the edges by their endpoints, regardless of direction.
+    *
+    * @param minBundleSize the minimum number of edges between two nodes to bundle them
+    */
+    public X6EdgeBundler(int minBundleSize) {
+        this(minBundleSize, X6EdgeBundler::endpointsKey);
+    }
+
+    /**
+    * Creates a bundler that groups the edges with the given key function.
+    *
+    * @param minBundleSize the minimum number of edges in a group to bundle them
+    * @param keyFunction computes the group of an edge; the edges of a group must share
+    *                    their endpoints, since the bundle is drawn between the endpoints
+    *                    of the first one. A null key leaves the edge out of any bundle.
+    */
+    public X6EdgeBundler(int minBundleSize, Function<X6Edge, String> keyFunction) {
+        this.minBundleSize = Math.max(2, minBundleSize);
+        this.keyFunction = keyFunction;
+        this.expanded = new HashSet<>();
+        this.bundles = new HashMap<>();
+    }
+
+    /**
+    * Groups the edges by the endpoints they connect, regardless of direction.
+    *
+    * @param edge the edge
+    * @return the key of the pair of endpoints
+    */
+    public static String endpointsKey(X6Edge edge) {
+        String source = edge.getIdSource();
+        String target = edge.getIdTarget();
+        if (source == null || target == null)
+            return null;
+        return source.compareTo(target) <= 0 ? source + "|" + target : target + "|" + source;
+    }
+
+    /**
+    * Replaces the groups of edges by their bundles, except the expanded ones.
+    * The result keeps the order of the edges; a bundle takes the place of its first edge.
+    *
+    * @param edges the edges to bundle
+    * @return the edges that were not bundled and the bundle edges
+    */
+    public List<X6Edge> bundle(List<X6Edge> edges) {
+        bundles.clear();
+        String[] keys = new String[edges.size()];
+        Map<String, List<X6Edge>> groups = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            X6Edge edge = edges.get(i);
+            keys[i] = keyFunction.apply(edge);
+            if (keys[i] != null)
+                groups.computeIfAbsent(keys[i], k -> new ArrayList<>(2)).add(edge);
+        }
+        List<X6Edge> result = new ArrayList<>(edges.size());
+        Set<String> emitted = new HashSet<>();
+        for (int i = 0; i < keys.length; i++) {
+            X6Edge edge = edges.get(i);
+            String key = keys[i];
+            List<X6Edge> group = key != null ? groups.get(key) : null;
+            if (group == null || group.size() < minBundleSize) {
+                result.add(edge);
+                continue;
+            }
+            String bundleId = BUNDLE_PREFIX + key;
+            bundles.put(bundleId, group);
+            if (expanded.contains(bundleId))
+                result.add(edge);
+            else if (emitted.add(bundleId))
+                result.add(createBundleEdge(bundleId, group));
+        }
+        expanded.retainAll(bundles.keySet());
+        return result;
+    }
+
+    /**
+    * Creates the edge drawn in place of a group: it connects the endpoints of the first edge,
+    * with its style and a stroke that grows with the number of edges.
+    *
+    * @param bundleId the id of the bundle
+    * @param group the edges of the bundle
+    * @return the bundle edge
+    */
+    protected X6Edge createBundleEdge(String bundleId, List<X6Edge> group) {
+        X6Edge first = group.get(0);
+        return X6EdgeUtilities.createAggregateEdge(bundleId, first.getIdSource(), first.getIdTarget(), String.valueOf(group.size()), group);
+    }
+
+    /**
+    * Creates the edge drawn in place of a bundle found by the last call to {@link #bundle}.
+    *
+    * @param bundleId the id of the bundle
+    * @return the bundle edge, or null if there is no such bundle
+    */
+    public X6Edge getBundleEdge(String bundleId) {
+        List<X6Edge> group = bundleId != null ? bundles.get(bundleId) : null;
+        return group != null ? createBundleEdge(bundleId, group) : null;
+    }
+
+    /**
+    * Checks whether an id belongs to a bundle found by the last call to {@link #bundle}.
+    *
+    * @param id the id of the cell
+    * @return true if the id is a bundle
+    */
+    public boolean isBundle(String id) {
+        return id != null && bundles.containsKey(id);
+    }
+
+    /**
+    * Gets the edges of a bundle found by the last call to {@link #bundle}.
+    *
+    * @param bundleId the id of the bundle
+    * @return the edges of the bundle, empty if there is no such bundle
+    */
+    public List<X6Edge> getBundledEdges(String bundleId) {
+        List<X6Edge> group = bundleId != null ? bundles.get(bundleId) : null;
+        return group != null ? Collections.unmodifiableList(group) : Collections.emptyList();
+    }
+
+    /**
+    * Marks a bundle as expanded, so its edges are drawn instead of the bundle.
+    *
+    * @param bundleId the id of the bundle
+    * @return true if the bundle exists and was collapsed
+    */
+    public boolean expand(String bundleId) {
+        return isBundle(bundleId) && expanded.add(bundleId);
+    }
+
+    /**
+    * Marks a bundle as collapsed, so it is drawn instead of its edges.
+    *
+    * @param bundleId the id of the bundle
+    * @return true if the bundle was expanded
+    */
+    public boolean collapse(String bundleId) {
+        return bundleId != null && expanded.remove(bundleId);
+    }
+
+    /**
+    * Collapses every bundle.
+    */
+    public void collapseAll() {
+        expanded.clear();
+    }
+
+    public boolean isExpanded(String bundleId) {
+        return bundleId != null && expanded.contains(bundleId);
+    }
+
+    public int getMinBundleSize() {
+        return minBundleSize;
+    }
+
+    public void setMinBundleSize(int minBundleSize) {
+        this.minBundleSize = Math.max(2, minBundleSize);
+    }
+
+    public Function<X6Edge, String> getKeyFunction() {
+        return keyFunction;
+    }
+
+    public void setKeyFunction(Function<X6Edge, String> keyFunction) {
+        this.keyFunction = keyFunction;
+    }
+}
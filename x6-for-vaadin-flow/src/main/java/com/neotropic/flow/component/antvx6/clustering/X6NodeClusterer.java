@@ -0,0 +1,434 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.clustering;
+
+import com.neotropic.flow.component.antvx6.constants.X6Constants;
+import com.neotropic.flow.component.antvx6.objects.Geometry;
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import com.neotropic.flow.component.antvx6.objects.X6Node;
+import com.neotropic.flow.component.antvx6.objects.X6NodeText;
+import com.neotropic.flow.component.antvx6.utilities.X6EdgeUtilities;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.Getter;
+
+/**
+ * Groups nodes into clusters that are drawn collapsed, as a single node, until they are
+ * expanded. Only the collapsed representation reaches the client: the members of a
+ * collapsed cluster and their text nodes are left out, and the edges that reach them
+ * are redirected to the cluster, merging the ones that end up between the same pair of
+ * visible nodes into one edge labeled with their count.
+ * 
+ * The nodes can be grouped by their parent (the parent node, when present, stands for
+ * its collapsed children and clusters can be nested), by a key computed from each node
+ * or spatially, by the cell of a grid that contains their center.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6NodeClusterer {
+    /**
+    * Prefix of the id of the nodes created to represent a cluster.
+    */
+    public static final String CLUSTER_PREFIX = "cluster:";
+    /**
+    * Prefix of the id of the edges that merge the edges between two visible nodes.
+    */
+    public static final String CLUSTER_EDGE_PREFIX = "cluster-edge:";
+    /**
+    * Maximum nesting of clusters followed when finding the visible node of a member.
+    */
+    private static final int MAX_NESTING = 64;
+    /*
+    * Computes the cluster key of a node; nodes with a null key are not clustered.
+    */
+    private final Function<X6Node, String> keyFunction;
+    /*
+    * Whether an existing node with the id of the key stands for the cluster (clustering by parent).
+    */
+    private final boolean keyIsRepresentative;
+    /*
+    * Whether the label of the cluster nodes includes the key.
+    */
+    private final boolean keyInLabel;
+    /*
+    * Minimum number of members of a cluster.
+    */
+    private int minClusterSize;
+    /*
+    * Size of the nodes created to represent a cluster.
+    */
+    private double clusterWidth;
+    private double clusterHeight;
+    /*
+    * Ids of the clusters currently expanded.
+    */
+    private final Set<String> expanded;
+    /*
+    * Members of every cluster found by the last call to cluster, indexed by cluster id.
+    */
+    private final Map<String, List<X6Node>> clusters;
+    /*
+    * Ids of the cells of the last result affected by expanding or collapsing each cluster.
+    */
+    private final Map<String, Set<String>> relatedCells;
+
+    /**
+    * The cells to draw once the nodes are clustered.
+    */
+    @Getter
+    public static class ClusteredCells {
+        private final List<X6Node> nodes;
+        private final List<X6NodeText> textNodes;
+        private final List<X6Edge> edges;
+
+        private ClusteredCells(List<X6Node> nodes, List<X6NodeText> textNodes, List<X6Edge> edges) {
+            this.nodes = nodes;
+            this.textNodes = textNodes;
+            this.edges = edges;
+        }
+    }
+
+    private X6NodeClusterer(Function<X6Node, String> keyFunction, boolean keyIsRepresentative, boolean keyInLabel) {
+        this.keyFunction = keyFunction;
+        this.keyIsRepresentative = keyIsRepresentative;
+        this.keyInLabel = keyInLabel;
+        this.minClusterSize = 2;
+        this.clusterWidth = 120;
+        this.clusterHeight = 60;
+        this.expanded = new HashSet<>();
+        this.clusters = new HashMap<>();
+        this.relatedCells = new HashMap<>();
+    }
+
+    /**
+    * Creates a clusterer that groups the nodes by their parent. The parent node, if it is drawn,
+    * stands for its collapsed children; otherwise a cluster node is created.
+    *
+    * @return the clusterer
+    */
+    public static X6NodeClusterer byParent() {
+        return new X6NodeClusterer(node -> node.getParentId() == null || node.getParentId().isBlank() ? null : node.getParentId(), true, true);
+    }
+
+    /**
+    * Creates a clusterer that groups the nodes by a key, e.g. the site or the type of the object.
+    *
+    * @param keyFunction computes the key of a node; null leaves the node out of any cluster
+    * @return the clusterer
+    */
+    public static X6NodeClusterer byKey(Function<X6Node, String> keyFunction) {
+        return new X6NodeClusterer(keyFunction, false, true);
+    }
+
+    /**
+    * Creates a clusterer that groups the nodes whose center falls in the same cell of a grid.
+    *
+    * @param cellSize the size of the cells of the grid
+    * @return the clusterer
+    */
+    public static X6NodeClusterer spatial(double cellSize) {
+        return new X6NodeClusterer(node -> {
+            Geometry geometry = node.getGeometry();
+            if (geometry == null)
+                return null;
+            double x = geometry.getX() + geometry.getWidth() / 2;
+            double y = geometry.getY() + geometry.getHeight() / 2;
+            return (long) Math.floor(x / cellSize) + "," + (long) Math.floor(y / cellSize);
+        }, false, false);
+    }
+
+    /**
+    * Computes the cells to draw: the nodes outside collapsed clusters, a node per collapsed
+    * cluster, the text nodes of the visible nodes and the edges between visible nodes.
+    *
+    * @param nodes the nodes of the graph
+    * @param textNodes the text nodes of the graph
+    * @param edges the edges of the graph
+    * @return the cells to draw
+    */
+    public ClusteredCells cluster(List<X6Node> nodes, List<X6NodeText> textNodes, List<X6Edge> edges) {
+        clusters.clear();
+        relatedCells.clear();
+        Set<String> nodeIds = new HashSet<>(nodes.size() * 4 / 3 + 1);
+        for (X6Node node : nodes)
+            nodeIds.add(node.getId());
+
+        Map<String, String> keys = new HashMap<>(nodes.size() * 4 / 3 + 1);
+        Map<String, List<X6Node>> groups = new LinkedHashMap<>();
+        for (X6Node node : nodes) {
+            String key = keyFunction.apply(node);
+            if (key != null) {
+                keys.put(node.getId(), key);
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(node);
+            }
+        }
+        // cluster of every member, and node that stands for every cluster
+        Map<String, String> memberOf = new HashMap<>(nodes.size() * 4 / 3 + 1);
+        Map<String, String> representatives = new HashMap<>();
+        for (Map.Entry<String, List<X6Node>> group : groups.entrySet()) {
+            if (group.getValue().size() < minClusterSize)
+                continue;
+            String key = group.getKey();
+            String clusterId = keyIsRepresentative && nodeIds.contains(key) ? key : CLUSTER_PREFIX + key;
+            clusters.put(clusterId, group.getValue());
+            representatives.put(clusterId, clusterId);
+            for (X6Node member : group.getValue())
+                memberOf.put(member.getId(), clusterId);
+        }
+        expanded.retainAll(clusters.keySet());
+
+        List<X6Node> visibleNodes = new ArrayList<>(nodes.size());
+        Set<String> createdClusters = new HashSet<>();
+        for (X6Node node : nodes) {
+            String visible = resolve(node.getId(), memberOf);
+            if (visible.equals(node.getId()))
+                visibleNodes.add(node);
+            else if (visible.startsWith(CLUSTER_PREFIX) && createdClusters.add(visible)) {
+                List<X6Node> members = clusters.get(visible);
+                visibleNodes.add(createClusterNode(visible, keys.get(members.get(0).getId()), members));
+                related(visible).add(visible);
+            }
+            relate(node.getId(), node.getId(), memberOf);
+        }
+
+        List<X6NodeText> visibleTexts = new ArrayList<>(textNodes.size());
+        for (X6NodeText textNode : textNodes) {
+            String parentId = textNode.getParentId();
+            if (parentId == null || !memberOf.containsKey(parentId)) {
+                visibleTexts.add(textNode);
+                continue;
+            }
+            relate(parentId, textNode.getId(), memberOf);
+            if (resolve(parentId, memberOf).equals(parentId))
+                visibleTexts.add(textNode);
+        }
+
+        List<X6Edge> visibleEdges = new ArrayList<>(edges.size());
+        Map<String, List<X6Edge>> merged = new LinkedHashMap<>();
+        Map<String, String[]> mergedEnds = new HashMap<>();
+        for (X6Edge edge : edges) {
+            String source = edge.getIdSource();
+            String target = edge.getIdTarget();
+            if (source == null || target == null || (!memberOf.containsKey(source) && !memberOf.containsKey(target))) {
+                visibleEdges.add(edge);
+                continue;
+            }
+            String visibleSource = resolve(source, memberOf);
+            String visibleTarget = resolve(target, memberOf);
+            String cellId;
+            if (visibleSource.equals(visibleTarget))
+                cellId = null;
+            else if (visibleSource.equals(source) && visibleTarget.equals(target)) {
+                visibleEdges.add(edge);
+                cellId = edge.getId();
+            } else {
+                cellId = CLUSTER_EDGE_PREFIX + visibleSource + "|" + visibleTarget;
+                List<X6Edge> group = merged.get(cellId);
+                if (group == null) {
+                    group = new ArrayList<>();
+                    merged.put(cellId, group);
+                    mergedEnds.put(cellId, new String[] {visibleSource, visibleTarget});
+                    // placeholder, replaced once every edge of the group is known
+                    visibleEdges.add(null);
+                }
+                group.add(edge);
+            }
+            if (cellId != null) {
+                relate(source, cellId, memberOf);
+                relate(target, cellId, memberOf);
+            }
+        }
+        if (!merged.isEmpty()) {
+            int next = 0;
+            List<X6Edge> mergedEdges = new ArrayList<>(merged.size());
+            for (Map.Entry<String, List<X6Edge>> group : merged.entrySet()) {
+                String[] ends = mergedEnds.get(group.getKey());
+                mergedEdges.add(createClusterEdge(group.getKey(), ends[0], ends[1], group.getValue()));
+            }
+            for (int i = 0; i < visibleEdges.size(); i++) {
+                if (visibleEdges.get(i) == null)
+                    visibleEdges.set(i, mergedEdges.get(next++));
+            }
+        }
+        return new ClusteredCells(visibleNodes, visibleTexts, visibleEdges);
+    }
+
+    /**
+    * Finds the node that is drawn for a node: itself, or the node of the outermost collapsed
+    * cluster that contains it.
+    *
+    * @param nodeId the id of the node
+    * @param memberOf the cluster of every member
+    * @return the id of the visible node
+    */
+    private String resolve(String nodeId, Map<String, String> memberOf) {
+        String visible = nodeId;
+        String current = nodeId;
+        for (int depth = 0; depth < MAX_NESTING; depth++) {
+            String clusterId = memberOf.get(current);
+            if (clusterId == null)
+                break;
+            if (!expanded.contains(clusterId))
+                visible = clusterId;
+            current = clusterId;
+        }
+        return visible;
+    }
+
+    /**
+    * Records that a cell of the result changes when any of the clusters that contain a node is expanded or collapsed.
+    */
+    private void relate(String nodeId, String cellId, Map<String, String> memberOf) {
+        String current = nodeId;
+        for (int depth = 0; depth < MAX_NESTING; depth++) {
+            String clusterId = memberOf.get(current);
+            if (clusterId == null)
+                break;
+            related(clusterId).add(cellId);
+            current = clusterId;
+        }
+    }
+
+    private Set<String> related(String clusterId) {
+        return relatedCells.computeIfAbsent(clusterId, k -> new HashSet<>());
+    }
+
+    /**
+    * Creates the node drawn for a collapsed cluster, centered on its members.
+    *
+    * @param clusterId the id of the cluster
+    * @param key the key shared by the members
+    * @param members the members of the cluster
+    * @return the cluster node
+    */
+    protected X6Node createClusterNode(String clusterId, String key, List<X6Node> members) {
+        double sumX = 0;
+        double sumY = 0;
+        for (X6Node member : members) {
+            Geometry geometry = member.getGeometry();
+            if (geometry != null) {
+                sumX += geometry.getX() + geometry.getWidth() / 2;
+                sumY += geometry.getY() + geometry.getHeight() / 2;
+            }
+        }
+        X6Node node = new X6Node(clusterId, sumX / members.size() - clusterWidth / 2, sumY / members.size() - clusterHeight / 2,
+                clusterWidth, clusterHeight, X6Constants.SHAPE_RECT);
+        node.setLabel(keyInLabel ? key + " (" + members.size() + ")" : String.valueOf(members.size()));
+        return node;
+    }
+
+    /**
+    * Creates the edge that merges the edges between two visible nodes, labeled with their count.
+    *
+    * @param edgeId the id of the edge
+    * @param source the id of the visible source
+    * @param target the id of the visible target
+    * @param edges the merged edges
+    * @return the cluster edge
+    */
+    protected X6Edge createClusterEdge(String edgeId, String source, String target, List<X6Edge> edges) {
+        String label = edges.size() > 1 ? String.valueOf(edges.size()) : null;
+        return X6EdgeUtilities.createAggregateEdge(edgeId, source, target, label, edges);
+    }
+
+    /**
+    * Checks whether an id belongs to a cluster found by the last call to {@link #cluster}.
+    *
+    * @param id the id of the cluster, which is the id of the node that stands for it
+    * @return true if the id is a cluster
+    */
+    public boolean isCluster(String id) {
+        return id != null && clusters.containsKey(id);
+    }
+
+    /**
+    * Gets the members of a cluster found by the last call to {@link #cluster}.
+    *
+    * @param clusterId the id of the cluster
+    * @return the members, empty if there is no such cluster
+    */
+    public List<X6Node> getMembers(String clusterId) {
+        List<X6Node> members = clusterId != null ? clusters.get(clusterId) : null;
+        return members != null ? Collections.unmodifiableList(members) : Collections.emptyList();
+    }
+
+    /**
+    * Gets the ids of the cells of the last result that change when a cluster is expanded or collapsed.
+    *
+    * @param clusterId the id of the cluster
+    * @return the ids of the cells, empty if there is no such cluster
+    */
+    public Set<String> getRelatedCellIds(String clusterId) {
+        Set<String> cells = clusterId != null ? relatedCells.get(clusterId) : null;
+        return cells != null ? Collections.unmodifiableSet(cells) : Collections.emptySet();
+    }
+
+    /**
+    * Marks a cluster as expanded, so its members are drawn instead of the cluster.
+    *
+    * @param clusterId the id of the cluster
+    * @return true if the cluster exists and was collapsed
+    */
+    public boolean expand(String clusterId) {
+        return isCluster(clusterId) && expanded.add(clusterId);
+    }
+
+    /**
+    * Marks a cluster as collapsed.
+    *
+    * @param clusterId the id of the cluster
+    * @return true if the cluster was expanded
+    */
+    public boolean collapse(String clusterId) {
+        return clusterId != null && expanded.remove(clusterId);
+    }
+
+    /**
+    * Collapses every cluster.
+    */
+    public void collapseAll() {
+        expanded.clear();
+    }
+
+    public boolean isExpanded(String clusterId) {
+        return clusterId != null && expanded.contains(clusterId);
+    }
+
+    public int getMinClusterSize() {
+        return minClusterSize;
+    }
+
+    public void setMinClusterSize(int minClusterSize) {
+        this.minClusterSize = Math.max(2, minClusterSize);
+    }
+
+    /**
+    * Sets the size of the nodes created for the collapsed clusters.
+    *
+    * @param width the width of the cluster nodes
+    * @param height the height of the cluster nodes
+    */
+    public void setClusterSize(double width, double height) {
+        this.clusterWidth = width;
+        this.clusterHeight = height;
+    }
+}
@@ -16,12 +16,24 @@
 package com.neotropic.flow.component.antvx6.events;
 
 import com.neotropic.flow.component.antvx6.AntvX6;
+import com.neotropic.flow.component.antvx6.objects.Vertex;
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import com.neotropic.flow.component.antvx6.objects.X6Polyline;
 import com.vaadin.flow.component.ComponentEvent;
 import com.vaadin.flow.component.DomEvent;
 import com.vaadin.flow.component.EventData;
+import elemental.json.JsonArray;
+import java.util.List;
 
 /**
-* Event fired when a edge has changed its internal structure.
+* Event fired when the route or the endpoints of an edge have changed.
+* 
+* Only the vertices that changed since the previous event of the same edge are sent,
+* use {@link #applyTo(List)} to bring a list of vertices up to date. The changes are relative
+* to the previous event: the component applies every event to the edge it holds before the
+* listeners run, and a listener that keeps its own copy of the route must apply every event
+* of the edge to keep it in step with the browser. The first event of each edge carries the
+* whole route, see {@link #isComplete()}.
 * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
 */
 @DomEvent("edge-changed")
@@ -29,18 +41,32 @@ public class EdgeChangedEvent extends ComponentEvent<AntvX6> {
     private final String id;
     private final String idSource;
     private final String idTarget;
-    private final String verticesJson; 
+    private final int vertexCount;
+    private final boolean complete;
+    private final int[] changedIndices;
+    private final double[] changedCoordinates;
 
     public EdgeChangedEvent(AntvX6 source, boolean fromClient,
                             @EventData("event.detail.edge.id") String id,
                             @EventData("event.detail.edge.idSource") String idSource,
                             @EventData("event.detail.edge.idTarget") String idTarget,
-                            @EventData("event.detail.edge.vertices") String verticesJson) {
+                            @EventData("event.detail.edge.vertexCount") int vertexCount,
+                            @EventData("event.detail.edge.complete") boolean complete,
+                            @EventData("event.detail.edge.changed") JsonArray changed) {
         super(source, fromClient);
         this.id = id;
         this.idSource = idSource;
         this.idTarget = idTarget;
-        this.verticesJson = verticesJson; 
+        this.vertexCount = vertexCount;
+        this.complete = complete;
+        int count = changed != null ? changed.length() / 3 : 0;
+        this.changedIndices = new int[count];
+        this.changedCoordinates = new double[count * 2];
+        for (int i = 0; i < count; i++) {
+            changedIndices[i] = (int) changed.getNumber(i * 3);
+            changedCoordinates[i * 2] = changed.getNumber(i * 3 + 1);
+            changedCoordinates[i * 2 + 1] = changed.getNumber(i * 3 + 2);
+        }
     }
 
     public String getId() {
@@ -55,7 +81,139 @@ public class EdgeChangedEvent extends ComponentEvent<AntvX6> {
         return idTarget;
     }
 
+    /**
+    * Gets the number of vertices of the edge after the change.
+    * 
+    * @return the number of vertices
+    */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+    * Tells if the event carries every vertex of the route, which is the case of the first event
+    * of each edge, so that the route can be known without a previous one.
+    * 
+    * @return true if every vertex is part of the change
+    */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+    * Gets the number of vertices that changed, were added or were shifted by an insertion.
+    * 
+    * @return the number of changed vertices
+    */
+    public int getChangedCount() {
+        return changedIndices.length;
+    }
+
+    /**
+    * Gets the position in the route of a changed vertex.
+    * 
+    * @param i the index of the change, from 0 to {@link #getChangedCount()} - 1
+    * @return the index of the vertex in the route
+    */
+    public int getChangedIndex(int i) {
+        return changedIndices[i];
+    }
+
+    public double getChangedX(int i) {
+        return changedCoordinates[i * 2];
+    }
+
+    public double getChangedY(int i) {
+        return changedCoordinates[i * 2 + 1];
+    }
+
+    /**
+    * Gets the route of the edge after the change as a JSON array of {@code {"x": x, "y": y}}
+    * objects, as the event used to carry it.
+    * 
+    * @return the vertices of the edge as JSON
+    * @deprecated the event only carries the vertices that changed, use {@link #applyTo(X6Edge)}
+    * or read the edge from the component instead. Unless the event is complete, the route is
+    * taken from the edge held by the component, to which the component applies every event
+    * before the listeners run.
+    */
+    @Deprecated
     public String getVerticesJson() {
-        return verticesJson; 
+        X6Polyline route = new X6Polyline(vertexCount);
+        if (!complete) {
+            X6Edge edge = getSource().getEdgeById(id);
+            if (edge != null)
+                route.addAll(edge.getPolyline().toArray());
+        }
+        applyTo(route);
+        StringBuilder json = new StringBuilder(route.size() * 24 + 2).append('[');
+        for (int i = 0; i < route.size(); i++) {
+            if (i > 0)
+                json.append(',');
+            json.append("{\"x\":");
+            appendNumber(json, route.getX(i));
+            json.append(",\"y\":");
+            appendNumber(json, route.getY(i));
+            json.append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    /*
+    * Writes whole numbers without a fraction, as JSON.stringify does.
+    */
+    private static void appendNumber(StringBuilder json, double value) {
+        if (value == (long) value)
+            json.append((long) value);
+        else
+            json.append(value);
+    }
+
+    /**
+    * Updates a list of vertices, which must hold the route of the edge before the change,
+    * in place: the vertices beyond the new count are removed and the changed ones are
+    * replaced or appended.
+    * 
+    * @param vertices the vertices of the edge
+    * @return the same list, updated
+    */
+    public List<Vertex> applyTo(List<Vertex> vertices) {
+        while (vertices.size() > vertexCount)
+            vertices.remove(vertices.size() - 1);
+        for (int i = 0; i < changedIndices.length; i++) {
+            int index = changedIndices[i];
+            if (index < vertices.size())
+                vertices.set(index, new Vertex(changedCoordinates[i * 2], changedCoordinates[i * 2 + 1]));
+            else
+                vertices.add(new Vertex(changedCoordinates[i * 2], changedCoordinates[i * 2 + 1]));
+        }
+        return vertices;
+    }
+
+    /**
+    * Updates a polyline, which must hold the route of the edge before the change, in place.
+    * 
+    * @param polyline the route of the edge
+    * @return the same polyline, updated
+    */
+    public X6Polyline applyTo(X6Polyline polyline) {
+        polyline.truncate(vertexCount);
+        for (int i = 0; i < changedIndices.length; i++) {
+            int index = changedIndices[i];
+            if (index < polyline.size())
+                polyline.set(index, changedCoordinates[i * 2], changedCoordinates[i * 2 + 1]);
+            else
+                polyline.add(changedCoordinates[i * 2], changedCoordinates[i * 2 + 1]);
+        }
+        return polyline;
+    }
+
+    /**
+    * Updates the vertices of an edge with the change.
+    * 
+    * @param edge the edge, whose vertices must hold the route before the change
+    */
+    public void applyTo(X6Edge edge) {
+        applyTo(edge.getPolyline());
     }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.events;
+
+import com.neotropic.flow.component.antvx6.AntvX6;
+import com.neotropic.flow.component.antvx6.objects.X6NodeChange;
+import com.vaadin.flow.component.ComponentEvent;
+import com.vaadin.flow.component.DomEvent;
+import com.vaadin.flow.component.EventData;
+import elemental.json.JsonArray;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+* Event fired, when the coalesced node moved event is enabled, with the new positions
+* of all the nodes moved since the previous event.
+* @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+*/
+@DomEvent("nodes-moved")
+public class NodesMovedEvent extends ComponentEvent<AntvX6> {
+    private final List<X6NodeChange> nodes;
+
+    public NodesMovedEvent(AntvX6 source, boolean fromClient,
+                          @EventData("event.detail.nodes") JsonArray nodes) {
+        super(source, fromClient);
+        List<X6NodeChange> changes = new ArrayList<>(nodes != null ? nodes.length() : 0);
+        if (nodes != null) {
+            for (int i = 0; i < nodes.length(); i++)
+                changes.add(X6NodeChange.fromJson(nodes.getObject(i)));
+        }
+        this.nodes = Collections.unmodifiableList(changes);
+    }
+
+    public List<X6NodeChange> getNodes() {
+        return nodes;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.events;
+
+import com.neotropic.flow.component.antvx6.AntvX6;
+import com.vaadin.flow.component.ComponentEvent;
+import com.vaadin.flow.component.DomEvent;
+import com.vaadin.flow.component.EventData;
+
+/**
+* Event fired by the web component during a tiled export: when the export starts, for each
+* tile rendered, when it ends and if it fails. Handled by {@link AntvX6#exportGraphTiled}.
+* @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+*/
+@DomEvent("export-tile")
+public class TiledExportEvent extends ComponentEvent<AntvX6> {
+    public static final String STATUS_START = "start";
+    public static final String STATUS_TILE = "tile";
+    public static final String STATUS_END = "end";
+    public static final String STATUS_ERROR = "error";
+    
+    private final String exportId;
+    private final String status;
+    private final int column;
+    private final int row;
+    private final int columns;
+    private final int rows;
+    private final int tileSize;
+    private final int width;
+    private final int height;
+    private final String data;
+    private final String message;
+
+    public TiledExportEvent(AntvX6 source, boolean fromClient,
+                            @EventData("event.detail.exportId") String exportId,
+                            @EventData("event.detail.status") String status,
+                            @EventData("event.detail.column") int column,
+                            @EventData("event.detail.row") int row,
+                            @EventData("event.detail.columns") int columns,
+                            @EventData("event.detail.rows") int rows,
+                            @EventData("event.detail.tileSize") int tileSize,
+                            @EventData("event.detail.width") int width,
+                            @EventData("event.detail.height") int height,
+                            @EventData("event.detail.data") String data,
+                            @EventData("event.detail.message") String message) {
+        super(source, fromClient);
+        this.exportId = exportId;
+        this.status = status;
+        this.column = column;
+        this.row = row;
+        this.columns = columns;
+        this.rows = rows;
+        this.tileSize = tileSize;
+        this.width = width;
+        this.height = height;
+        this.data = data;
+        this.message = message;
+    }
+
+    public String getExportId() {
+        return exportId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+    * Gets the data of a tile: the image encoded in base 64 for PNG and JPEG, the text of the chunk for SVG.
+    * 
+    * @return the data of the tile, null for the other statuses
+    */
+    public String getData() {
+        return data;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
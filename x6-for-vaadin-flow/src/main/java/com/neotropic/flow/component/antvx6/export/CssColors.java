@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.export;
+
+import java.awt.Color;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parses the CSS colors used in the styles of the cells: hexadecimal colors, rgb()/rgba()
+ * and the common named colors.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+final class CssColors {
+    /*
+    * Marks the colors that paint nothing, since the cache cannot store null.
+    */
+    private static final Color NONE = new Color(0, 0, 0, 0);
+    private static final Map<String, Color> NAMED = new HashMap<>();
+    private static final Map<String, Color> CACHE = new ConcurrentHashMap<>();
+    
+    static {
+        NAMED.put("black", Color.BLACK);
+        NAMED.put("white", Color.WHITE);
+        NAMED.put("red", new Color(0xff0000));
+        NAMED.put("green", new Color(0x008000));
+        NAMED.put("blue", new Color(0x0000ff));
+        NAMED.put("yellow", new Color(0xffff00));
+        NAMED.put("orange", new Color(0xffa500));
+        NAMED.put("purple", new Color(0x800080));
+        NAMED.put("gray", new Color(0x808080));
+        NAMED.put("grey", new Color(0x808080));
+        NAMED.put("lightgray", new Color(0xd3d3d3));
+        NAMED.put("lightgrey", new Color(0xd3d3d3));
+        NAMED.put("darkgray", new Color(0xa9a9a9));
+        NAMED.put("darkgrey", new Color(0xa9a9a9));
+        NAMED.put("silver", new Color(0xc0c0c0));
+        NAMED.put("maroon", new Color(0x800000));
+        NAMED.put("navy", new Color(0x000080));
+        NAMED.put("teal", new Color(0x008080));
+        NAMED.put("olive", new Color(0x808000));
+        NAMED.put("lime", new Color(0x00ff00));
+        NAMED.put("aqua", new Color(0x00ffff));
+        NAMED.put("cyan", new Color(0x00ffff));
+        NAMED.put("fuchsia", new Color(0xff00ff));
+        NAMED.put("magenta", new Color(0xff00ff));
+        NAMED.put("brown", new Color(0xa52a2a));
+        NAMED.put("pink", new Color(0xffc0cb));
+        NAMED.put("gold", new Color(0xffd700));
+        NAMED.put("lightblue", new Color(0xadd8e6));
+        NAMED.put("lightgreen", new Color(0x90ee90));
+        NAMED.put("darkblue", new Color(0x00008b));
+        NAMED.put("darkgreen", new Color(0x006400));
+        NAMED.put("darkred", new Color(0x8b0000));
+        NAMED.put("whitesmoke", new Color(0xf5f5f5));
+        NAMED.put("transparent", NONE);
+        NAMED.put("none", NONE);
+    }
+    
+    private CssColors() {
+    }
+    
+    /**
+    * Parses a CSS color.
+    * 
+    * @param value the color, e.g. "#f8f9fa", "rgb(10, 20, 30)" or "black"
+    * @param fallback the color used when the value is empty or cannot be parsed
+    * @return the color, or null if it paints nothing ("none" or "transparent")
+    */
+    static Color parse(String value, Color fallback) {
+        if (value == null || value.isBlank())
+            return fallback;
+        Color color = CACHE.get(value);
+        if (color == null) {
+            color = parse(value.trim().toLowerCase(Locale.ROOT));
+            if (color == null)
+                return fallback;
+            CACHE.putIfAbsent(value, color);
+        }
+        return color == NONE ? null : color;
+    }
+    
+    private static Color parse(String value) {
+        try {
+            if (value.startsWith("#")) {
+                String hex = value.substring(1);
+                if (hex.length() == 3 || hex.length() == 4) {
+                    StringBuilder expanded = new StringBuilder(8);
+                    for (char c : hex.toCharArray())
+                        expanded.append(c).append(c);
+                    hex = expanded.toString();
+                }
+                if (hex.length() == 6)
+                    return new Color(Integer.parseInt(hex, 16));
+                if (hex.length() == 8) {
+                    long rgba = Long.parseLong(hex, 16);
+                    return new Color((int) (rgba >> 24) & 0xff, (int) (rgba >> 16) & 0xff, 
+                            (int) (rgba >> 8) & 0xff, (int) rgba & 0xff);
+                }
+                return null;
+            }
+            if (value.startsWith("rgb") && value.endsWith(")")) {
+                String[] parts = value.substring(value.indexOf('(') + 1, value.length() - 1).split("[,\\s/]+");
+                if (parts.length < 3)
+                    return null;
+                int alpha = 255;
+                if (parts.length > 3) {
+                    String a = parts[3];
+                    alpha = (int) Math.round(255 * (a.endsWith("%") 
+                            ? Double.parseDouble(a.substring(0, a.length() - 1)) / 100 : Double.parseDouble(a)));
+                }
+                return new Color(channel(parts[0]), channel(parts[1]), channel(parts[2]), clamp(alpha));
+            }
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        return NAMED.get(value);
+    }
+    
+    private static int channel(String value) {
+        if (value.endsWith("%"))
+            return clamp((int) Math.round(Double.parseDouble(value.substring(0, value.length() - 1)) * 2.55));
+        return clamp((int) Math.round(Double.parseDouble(value)));
+    }
+    
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+}
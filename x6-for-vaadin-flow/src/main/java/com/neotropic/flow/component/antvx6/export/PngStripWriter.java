@@ -0,0 +1,189 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.export;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes a PNG image strip by strip, so an image larger than the memory available can be
+ * written by rendering it in horizontal strips. The image is written as 8 bit RGBA with the
+ * Sub filter on every row.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+final class PngStripWriter {
+    private static final byte[] SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n' };
+    private static final int CHUNK_SIZE = 1 << 16;
+    
+    private final OutputStream out;
+    private final int width;
+    private final int height;
+    private final byte[] row;
+    private final Deflater deflater;
+    private final ChunkStream chunks;
+    private final DeflaterOutputStream data;
+    private int writtenRows;
+    
+    /**
+    * Starts an image, writing its header.
+    * 
+    * @param out the stream, it is not closed
+    * @param width the width of the image in pixels
+    * @param height the height of the image in pixels
+    * @param dpi the resolution written in the image, 0 to leave it out
+    * @throws IOException if the stream cannot be written
+    */
+    PngStripWriter(OutputStream out, int width, int height, double dpi) throws IOException {
+        this.out = out;
+        this.width = width;
+        this.height = height;
+        this.row = new byte[1 + 4 * width];
+        this.row[0] = 1;
+        out.write(SIGNATURE);
+        byte[] header = new byte[13];
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8] = 8;
+        header[9] = 6;
+        writeChunk(out, "IHDR", header, header.length);
+        if (dpi > 0) {
+            byte[] density = new byte[9];
+            int pixelsPerMeter = (int) Math.round(dpi / 0.0254);
+            putInt(density, 0, pixelsPerMeter);
+            putInt(density, 4, pixelsPerMeter);
+            density[8] = 1;
+            writeChunk(out, "pHYs", density, density.length);
+        }
+        this.deflater = new Deflater(Deflater.BEST_SPEED);
+        this.chunks = new ChunkStream();
+        this.data = new DeflaterOutputStream(chunks, deflater, CHUNK_SIZE);
+    }
+    
+    /**
+    * Writes the next rows of the image.
+    * 
+    * @param strip an image of type {@link BufferedImage#TYPE_INT_ARGB} as wide as the PNG image
+    * @param rows the number of rows of the strip to write, from its top
+    * @throws IOException if the stream cannot be written
+    */
+    void writeRows(BufferedImage strip, int rows) throws IOException {
+        if (strip.getType() != BufferedImage.TYPE_INT_ARGB || strip.getWidth() != width)
+            throw new IllegalArgumentException("The strip must be an ARGB image as wide as the PNG image");
+        if (writtenRows + rows > height)
+            throw new IllegalArgumentException("The strip has more rows than the rest of the image");
+        int[] pixels = ((DataBufferInt) strip.getRaster().getDataBuffer()).getData();
+        for (int y = 0; y < rows; y++) {
+            int offset = y * width;
+            int previous = 0;
+            for (int x = 0; x < width; x++) {
+                int argb = pixels[offset + x];
+                int i = 1 + 4 * x;
+                row[i] = (byte) ((argb >> 16) - (previous >> 16));
+                row[i + 1] = (byte) ((argb >> 8) - (previous >> 8));
+                row[i + 2] = (byte) (argb - previous);
+                row[i + 3] = (byte) ((argb >>> 24) - (previous >>> 24));
+                previous = argb;
+            }
+            data.write(row);
+        }
+        writtenRows += rows;
+    }
+    
+    /**
+    * Ends the image, after all its rows were written.
+    * 
+    * @throws IOException if the stream cannot be written
+    */
+    void finish() throws IOException {
+        if (writtenRows != height)
+            throw new IllegalStateException("Only " + writtenRows + " of " + height + " rows were written");
+        data.finish();
+        deflater.end();
+        chunks.flushChunk();
+        writeChunk(out, "IEND", new byte[0], 0);
+        out.flush();
+    }
+    
+    /**
+    * Releases the compressor of an image that will not be finished.
+    */
+    void abort() {
+        deflater.end();
+    }
+    
+    /**
+    * Splits the compressed data in IDAT chunks.
+    */
+    private final class ChunkStream extends OutputStream {
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private int size;
+        
+        @Override
+        public void write(int b) throws IOException {
+            if (size == buffer.length)
+                flushChunk();
+            buffer[size++] = (byte) b;
+        }
+        
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (size == buffer.length)
+                    flushChunk();
+                int count = Math.min(length, buffer.length - size);
+                System.arraycopy(bytes, offset, buffer, size, count);
+                size += count;
+                offset += count;
+                length -= count;
+            }
+        }
+        
+        private void flushChunk() throws IOException {
+            if (size > 0) {
+                writeChunk(out, "IDAT", buffer, size);
+                size = 0;
+            }
+        }
+    }
+    
+    private static void writeChunk(OutputStream out, String type, byte[] data, int length) throws IOException {
+        byte[] header = new byte[8];
+        putInt(header, 0, length);
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(typeBytes, 0, header, 4, 4);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        out.write(header);
+        out.write(data, 0, length);
+        byte[] trailer = new byte[4];
+        putInt(trailer, 0, (int) crc.getValue());
+        out.write(trailer);
+    }
+    
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+}
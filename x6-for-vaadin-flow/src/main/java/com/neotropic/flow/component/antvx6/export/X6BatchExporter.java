@@ -0,0 +1,176 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Exports many diagrams in parallel, e.g. the nightly images of every site.
+ * 
+ * Each export runs in the executor: the scene is obtained from its supplier when the export
+ * starts, so only the diagrams being exported are kept in memory, and the file is written to
+ * a temporary file that replaces the target once complete, so readers never see half an image.
+ * An export that fails completes its future exceptionally without stopping the others.
+ * 
+ * The scenes must not be built from cells that are attached to a UI unless the supplier holds
+ * the session lock; build them from data loaded for the export, or with
+ * {@code AntvX6.createExportScene()} before submitting them.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6BatchExporter implements AutoCloseable {
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+    private final X6ExportOptions options;
+    private final Executor executor;
+    /*
+    * The executor created by this exporter, shut down on close; null if it was given.
+    */
+    private final ExecutorService ownExecutor;
+    
+    /**
+    * Creates an exporter with one thread per processor.
+    * 
+    * @param options the options of every export
+    */
+    public X6BatchExporter(X6ExportOptions options) {
+        this(options, Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+    * Creates an exporter with its own pool of threads, shut down by {@link #close()}.
+    * 
+    * @param options the options of every export
+    * @param threads the number of exports that run at the same time
+    */
+    public X6BatchExporter(X6ExportOptions options, int threads) {
+        this.options = options;
+        int pool = POOL_NUMBER.incrementAndGet();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "x6-export-" + pool + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.ownExecutor = Executors.newFixedThreadPool(Math.max(1, threads), factory);
+        this.executor = ownExecutor;
+    }
+    
+    /**
+    * Creates an exporter that runs in an existing executor, which is not shut down by {@link #close()}.
+    * 
+    * @param options the options of every export
+    * @param executor the executor where the exports run
+    */
+    public X6BatchExporter(X6ExportOptions options, Executor executor) {
+        this.options = options;
+        this.executor = executor;
+        this.ownExecutor = null;
+    }
+    
+    public X6ExportOptions getOptions() {
+        return options;
+    }
+    
+    /**
+    * Exports a diagram to a file.
+    * 
+    * @param scene supplies the scene when the export starts
+    * @param format the format of the file
+    * @param target the file, its directory is created if needed
+    * @return a future completed with the target once it is written
+    */
+    public CompletableFuture<Path> submit(Supplier<X6Scene> scene, X6ExportFormat format, Path target) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                export(scene.get(), format, target);
+                return target;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, executor);
+    }
+    
+    /**
+    * Exports several diagrams to files.
+    * 
+    * @param scenes the scenes to export indexed by their target file
+    * @param format the format of the files
+    * @return a future completed with the files written once every export ends, or completed
+    *         exceptionally with the first failure after every export ends
+    */
+    public CompletableFuture<List<Path>> submitAll(Map<Path, Supplier<X6Scene>> scenes, X6ExportFormat format) {
+        List<CompletableFuture<Path>> futures = new ArrayList<>(scenes.size());
+        scenes.forEach((target, scene) -> futures.add(submit(scene, format, target)));
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            List<Path> files = new ArrayList<>(futures.size());
+            for (CompletableFuture<Path> future : futures)
+                files.add(future.join());
+            return files;
+        });
+    }
+    
+    private void export(X6Scene scene, X6ExportFormat format, Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, ".x6-export-", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                new X6RasterExporter(options).write(scene, format, out);
+            }
+            try {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+    
+    /**
+    * Stops accepting exports and waits for the ones already submitted, if the exporter owns its threads.
+    */
+    @Override
+    public void close() {
+        if (ownExecutor == null)
+            return;
+        ownExecutor.shutdown();
+        try {
+            while (!ownExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // keep waiting for the exports in progress
+            }
+        } catch (InterruptedException ex) {
+            ownExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.export;
+
+/**
+ * Formats supported by the server-side export.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public enum X6ExportFormat {
+    SVG("svg", "image/svg+xml"),
+    PNG("png", "image/png"),
+    JPEG("jpeg", "image/jpeg");
+    
+    private final String extension;
+    private final String mimeType;
+    
+    X6ExportFormat(String extension, String mimeType) {
+        this.extension = extension;
+        this.mimeType = mimeType;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+    
+    public String getMimeType() {
+        return mimeType;
+    }
+    
+    /**
+    * Whether the format is a raster image, rendered by {@link X6RasterExporter}.
+    * 
+    * @return true for PNG and JPEG; false for SVG
+    */
+    public boolean isRaster() {
+        return this != SVG;
+    }
+}
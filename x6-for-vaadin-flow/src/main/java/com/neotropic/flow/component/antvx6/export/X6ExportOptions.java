@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.export;
+
+import com.neotropic.flow.component.antvx6.constants.X6Constants;
+import java.awt.image.BufferedImage;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Options of the server-side export, shared by the SVG and raster exporters.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+@Getter
+@Setter
+public class X6ExportOptions {
+    /**
+    * Default padding around the diagram, the same used by the export of the web component.
+    */
+    public static final int DEFAULT_PADDING = 20;
+    /**
+    * Default size of the tiles and of the strips used to write large images.
+    */
+    public static final int DEFAULT_TILE_SIZE = 1024;
+    /**
+    * Pixels per inch of the screen, the resolution of the graph units at scale 1.
+    */
+    public static final double SCREEN_DPI = 96;
+    /**
+    * Default limit of pixels of an image rendered at once (about 256 MB in memory).
+    */
+    public static final long DEFAULT_MAX_PIXELS = 64L * 1024 * 1024;
+    
+    /**
+    * Pixels per graph unit.
+    */
+    private double scale;
+    /**
+    * Space around the diagram, in graph units.
+    */
+    private int padding;
+    /**
+    * CSS color painted behind the diagram, null for a transparent background (JPEG uses white).
+    */
+    private String backgroundColor;
+    /**
+    * Whether shapes and text are antialiased.
+    */
+    private boolean antialiasing;
+    /**
+    * Size in pixels of the tiles and of the strips used to write PNG images.
+    */
+    private int tileSize;
+    /**
+    * Largest number of pixels of an image rendered at once; larger diagrams must be rendered in tiles or written as PNG.
+    */
+    private long maxPixels;
+    /**
+    * Quality of the JPEG images, between 0 and 1.
+    */
+    private float jpegQuality;
+    /**
+    * Loads the images of the image nodes from their URL for the raster export, null to draw a placeholder.
+    * It is called once per URL and export, and it may be called from several threads at the same time.
+    */
+    private Function<String, BufferedImage> imageLoader;
+    
+    public X6ExportOptions() {
+        this.scale = 1;
+        this.padding = DEFAULT_PADDING;
+        this.backgroundColor = X6Constants.GRAPH_BACKGROUND_COLOR;
+        this.antialiasing = true;
+        this.tileSize = DEFAULT_TILE_SIZE;
+        this.maxPixels = DEFAULT_MAX_PIXELS;
+        this.jpegQuality = 0.9f;
+    }
+    
+    /**
+    * Gets the resolution of the images, written in the PNG images so they print at the size of the diagram.
+    * 
+    * @return the pixels per inch, the scale times {@link #SCREEN_DPI}
+    */
+    public double getDpi() {
+        return scale * SCREEN_DPI;
+    }
+    
+    /**
+    * Sets the scale from the resolution the images must have when printed, e.g. 300 for a plotter.
+    * 
+    * @param dpi the pixels per inch
+    */
+    public void setDpi(double dpi) {
+        this.scale = dpi / SCREEN_DPI;
+    }
+    
+    /**
+    * Gets the size of the image for a scene, in pixels.
+    * 
+    * @param scene the scene
+    * @return the width and height of the image
+    */
+    public int[] getImageSize(X6Scene scene) {
+        return new int[] {
+            Math.max(1, (int) Math.ceil((scene.getWidth() + 2 * padding) * scale)),
+            Math.max(1, (int) Math.ceil((scene.getHeight() + 2 * padding) * scale))
+        };
+    }
+}
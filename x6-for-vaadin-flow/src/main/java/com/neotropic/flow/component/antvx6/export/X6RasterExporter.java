@@ -0,0 +1,438 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.export;
+
+import com.neotropic.flow.component.antvx6.constants.X6Constants;
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Renders a scene to images with Java2D, without a browser, in the same way the SVG exporter
+ * draws it.
+ * 
+ * Large scenes are rendered in tiles: only the elements that overlap a tile are painted for
+ * it and the same buffer is reused for every tile, so the memory used depends on the size of
+ * the tiles and not on the size of the diagram. PNG images are always written in strips this
+ * way; JPEG images and {@link #render(X6Scene)} need the whole image in memory and are limited
+ * by {@link X6ExportOptions#getMaxPixels()}.
+ * 
+ * The exporter keeps no state between calls and can be used from several threads at the same time.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6RasterExporter {
+    private static final Color PLACEHOLDER_COLOR = new Color(0xced4da);
+    private final X6ExportOptions options;
+    
+    /**
+    * Receives the tiles of a scene.
+    */
+    @FunctionalInterface
+    public interface TileConsumer {
+        /**
+        * Receives a tile. The image is reused for the next tile, so it must be written or copied before returning.
+        * 
+        * @param column the column of the tile, from the left
+        * @param row the row of the tile, from the top
+        * @param tile the image of the tile; the tiles of the last column and row may be smaller
+        * @throws IOException if the tile cannot be written
+        */
+        void accept(int column, int row, BufferedImage tile) throws IOException;
+    }
+    
+    public X6RasterExporter() {
+        this(new X6ExportOptions());
+    }
+    
+    public X6RasterExporter(X6ExportOptions options) {
+        this.options = options;
+    }
+    
+    public X6ExportOptions getOptions() {
+        return options;
+    }
+    
+    /**
+    * Renders a whole scene in a single ARGB image.
+    * 
+    * @param scene the scene to render
+    * @return the image
+    * @throws IllegalArgumentException if the image would have more pixels than the limit of the options
+    */
+    public BufferedImage render(X6Scene scene) {
+        return render(scene, BufferedImage.TYPE_INT_ARGB);
+    }
+    
+    /**
+    * Renders a whole scene in a single image.
+    * 
+    * @param scene the scene to render
+    * @param imageType the type of the image, e.g. {@link BufferedImage#TYPE_INT_RGB}
+    * @return the image
+    * @throws IllegalArgumentException if the image would have more pixels than the limit of the options
+    */
+    public BufferedImage render(X6Scene scene, int imageType) {
+        int[] size = imageSize(scene);
+        if ((long) size[0] * size[1] > options.getMaxPixels())
+            throw new IllegalArgumentException(String.format(
+                    "The image of %dx%d pixels exceeds the limit of %d pixels, render it in tiles or as PNG", 
+                    size[0], size[1], options.getMaxPixels()));
+        BufferedImage image = new BufferedImage(size[0], size[1], imageType);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            new Painter().paint(scene, graphics, 0, 0, size[0], size[1], imageType == BufferedImage.TYPE_INT_RGB);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+    
+    /**
+    * Paints a region of the image of a scene on a graphics context, e.g. one provided by a
+    * printing or PDF library. The pixel (0, 0) of the graphics is the pixel ({@code x}, {@code y})
+    * of the image.
+    * 
+    * @param scene the scene to paint
+    * @param graphics the graphics context
+    * @param x the left of the region, in pixels of the image
+    * @param y the top of the region, in pixels of the image
+    * @param width the width of the region in pixels
+    * @param height the height of the region in pixels
+    */
+    public void paint(X6Scene scene, Graphics2D graphics, int x, int y, int width, int height) {
+        imageSize(scene);
+        Graphics2D copy = (Graphics2D) graphics.create();
+        try {
+            new Painter().paint(scene, copy, x, y, width, height, false);
+        } finally {
+            copy.dispose();
+        }
+    }
+    
+    /**
+    * Renders a scene in square tiles, reusing the same buffer for every tile.
+    * 
+    * @param scene the scene to render
+    * @param consumer receives the tiles, row by row from the top left corner
+    * @throws IOException if the consumer fails to write a tile
+    */
+    public void renderTiles(X6Scene scene, TileConsumer consumer) throws IOException {
+        int[] size = imageSize(scene);
+        int tileSize = tileSize();
+        BufferedImage buffer = new BufferedImage(Math.min(tileSize, size[0]), Math.min(tileSize, size[1]), 
+                BufferedImage.TYPE_INT_ARGB);
+        Painter painter = new Painter();
+        int columns = (size[0] + tileSize - 1) / tileSize;
+        int rows = (size[1] + tileSize - 1) / tileSize;
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int width = Math.min(tileSize, size[0] - column * tileSize);
+                int height = Math.min(tileSize, size[1] - row * tileSize);
+                Graphics2D graphics = buffer.createGraphics();
+                try {
+                    painter.paint(scene, graphics, column * tileSize, row * tileSize, width, height, false);
+                } finally {
+                    graphics.dispose();
+                }
+                consumer.accept(column, row, width == buffer.getWidth() && height == buffer.getHeight() 
+                        ? buffer : buffer.getSubimage(0, 0, width, height));
+            }
+        }
+    }
+    
+    /**
+    * Renders a scene in tiles written as files named {@code tile-<row>-<column>.<extension>}.
+    * 
+    * @param scene the scene to render
+    * @param format the format of the tiles, PNG or JPEG
+    * @param directory the directory where the tiles are written, it is created if needed
+    * @return the files written
+    * @throws IOException if a tile cannot be written
+    */
+    public List<Path> writeTiles(X6Scene scene, X6ExportFormat format, Path directory) throws IOException {
+        if (!format.isRaster())
+            throw new IllegalArgumentException("Tiles can only be written as PNG or JPEG");
+        Files.createDirectories(directory);
+        List<Path> files = new ArrayList<>();
+        renderTiles(scene, (column, row, tile) -> {
+            Path file = directory.resolve("tile-" + row + "-" + column + "." + format.getExtension());
+            try (OutputStream out = Files.newOutputStream(file)) {
+                writeImage(tile, format, options.getJpegQuality(), out);
+            }
+            files.add(file);
+        });
+        return files;
+    }
+    
+    /**
+    * Writes the image of a scene. SVG is written by {@link X6SvgExporter}, PNG is rendered and
+    * written in strips whatever its size and JPEG is rendered at once. The stream is not closed.
+    * 
+    * @param scene the scene to write
+    * @param format the format of the image
+    * @param out the stream
+    * @throws IOException if the stream cannot be written
+    */
+    public void write(X6Scene scene, X6ExportFormat format, OutputStream out) throws IOException {
+        switch (format) {
+            case SVG -> new X6SvgExporter(options).export(scene, out);
+            case PNG -> writePng(scene, out);
+            case JPEG -> writeImage(render(scene, BufferedImage.TYPE_INT_RGB), format, options.getJpegQuality(), out);
+        }
+    }
+    
+    private void writePng(X6Scene scene, OutputStream out) throws IOException {
+        int[] size = imageSize(scene);
+        // strips of about the same number of pixels as a tile
+        int stripHeight = (int) Math.max(1, Math.min(size[1], (long) tileSize() * tileSize() / size[0]));
+        BufferedImage strip = new BufferedImage(size[0], stripHeight, BufferedImage.TYPE_INT_ARGB);
+        PngStripWriter writer = new PngStripWriter(out, size[0], size[1], options.getDpi());
+        Painter painter = new Painter();
+        try {
+            for (int y = 0; y < size[1]; y += stripHeight) {
+                int height = Math.min(stripHeight, size[1] - y);
+                Graphics2D graphics = strip.createGraphics();
+                try {
+                    painter.paint(scene, graphics, 0, y, size[0], height, false);
+                } finally {
+                    graphics.dispose();
+                }
+                writer.writeRows(strip, height);
+            }
+            writer.finish();
+        } catch (IOException | RuntimeException ex) {
+            writer.abort();
+            throw ex;
+        }
+    }
+    
+    /**
+    * Encodes an image as PNG or JPEG, dropping the alpha channel for JPEG.
+    * 
+    * @param image the image
+    * @param format the format, PNG or JPEG
+    * @param quality the quality of JPEG images, between 0 and 1
+    * @param out the stream, it is not closed
+    * @throws IOException if the stream cannot be written
+    */
+    static void writeImage(BufferedImage image, X6ExportFormat format, float quality, OutputStream out) throws IOException {
+        if (format == X6ExportFormat.PNG) {
+            ImageIO.write(image, "png", out);
+            return;
+        }
+        if (image.getType() != BufferedImage.TYPE_INT_RGB) {
+            // JPEG has no alpha channel
+            BufferedImage opaque = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = opaque.createGraphics();
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            graphics.drawImage(image, 0, 0, null);
+            graphics.dispose();
+            image = opaque;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(Math.max(0, Math.min(1, quality)));
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+    
+    private int[] imageSize(X6Scene scene) {
+        if (options.getScale() <= 0)
+            throw new IllegalArgumentException("The scale must be positive");
+        return options.getImageSize(scene);
+    }
+    
+    private int tileSize() {
+        return options.getTileSize() > 0 ? options.getTileSize() : X6ExportOptions.DEFAULT_TILE_SIZE;
+    }
+    
+    private static float[] parseDash(String dash) {
+        if (dash == null || dash.isBlank())
+            return null;
+        String[] parts = dash.trim().split("[,\\s]+");
+        float[] values = new float[parts.length];
+        float total = 0;
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                values[i] = Float.parseFloat(parts[i]);
+                if (values[i] < 0)
+                    return null;
+                total += values[i];
+            }
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        // a dash array adding up to 0 draws a solid line
+        return total > 0 ? values : null;
+    }
+    
+    /**
+    * Paints the regions of a single export, keeping the images already loaded.
+    */
+    private class Painter {
+        private final Map<String, BufferedImage> images = new HashMap<>();
+        
+        private void paint(X6Scene scene, Graphics2D graphics, int x, int y, int width, int height, boolean opaque) {
+            graphics.setComposite(AlphaComposite.Src);
+            Color background = CssColors.parse(options.getBackgroundColor(), null);
+            graphics.setColor(background != null ? background : opaque ? Color.WHITE : new Color(0, 0, 0, 0));
+            graphics.fillRect(0, 0, width, height);
+            graphics.setComposite(AlphaComposite.SrcOver);
+            graphics.clipRect(0, 0, width, height);
+            if (options.isAntialiasing()) {
+                graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            }
+            graphics.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+            graphics.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            
+            double scale = options.getScale();
+            double originX = scene.getMinX() - options.getPadding() + x / scale;
+            double originY = scene.getMinY() - options.getPadding() + y / scale;
+            graphics.scale(scale, scale);
+            graphics.translate(-originX, -originY);
+            // one pixel of margin for the antialiasing
+            double margin = 1 / scale;
+            for (X6Scene.Element element : scene.findInRegion(originX - margin, originY - margin, 
+                    width / scale + 2 * margin, height / scale + 2 * margin)) {
+                if (element.kind == X6Scene.KIND_EDGE)
+                    paintEdge(element, graphics);
+                else
+                    paintNode(element, graphics);
+                for (X6Scene.Label label : element.labels)
+                    paintLabel(label, graphics);
+            }
+        }
+        
+        private void paintNode(X6Scene.Element node, Graphics2D graphics) {
+            if (X6Constants.SHAPE_IMAGE.equals(node.shape)) {
+                paintImage(node, graphics);
+                return;
+            }
+            Shape shape;
+            if (X6Constants.SHAPE_ELLIPSE.equals(node.shape) || X6Constants.SHAPE_CIRCLE.equals(node.shape))
+                shape = new Ellipse2D.Double(node.x, node.y, node.width, node.height);
+            else if (node.radius > 0)
+                shape = new RoundRectangle2D.Double(node.x, node.y, node.width, node.height, 2 * node.radius, 2 * node.radius);
+            else
+                shape = new Rectangle2D.Double(node.x, node.y, node.width, node.height);
+            Color fill = CssColors.parse(node.fill, null);
+            if (fill != null) {
+                graphics.setColor(fill);
+                graphics.fill(shape);
+            }
+            stroke(node, shape, graphics);
+        }
+        
+        private void paintImage(X6Scene.Element node, Graphics2D graphics) {
+            Function<String, BufferedImage> loader = options.getImageLoader();
+            BufferedImage image = null;
+            if (loader != null && node.imageUrl != null && !node.imageUrl.isEmpty()) {
+                if (images.containsKey(node.imageUrl))
+                    image = images.get(node.imageUrl);
+                else {
+                    image = loader.apply(node.imageUrl);
+                    images.put(node.imageUrl, image);
+                }
+            }
+            if (image == null || image.getWidth() <= 0 || image.getHeight() <= 0) {
+                graphics.setColor(PLACEHOLDER_COLOR);
+                graphics.setStroke(new BasicStroke(1));
+                graphics.draw(new Rectangle2D.Double(node.x, node.y, node.width, node.height));
+                return;
+            }
+            // fitted and centered, as preserveAspectRatio="xMidYMid meet"
+            double fit = Math.min(node.width / image.getWidth(), node.height / image.getHeight());
+            double imageWidth = image.getWidth() * fit, imageHeight = image.getHeight() * fit;
+            AffineTransform transform = AffineTransform.getTranslateInstance(
+                    node.x + (node.width - imageWidth) / 2, node.y + (node.height - imageHeight) / 2);
+            transform.scale(fit, fit);
+            graphics.drawImage(image, transform, null);
+        }
+        
+        private void paintEdge(X6Scene.Element edge, Graphics2D graphics) {
+            stroke(edge, edge.route(), graphics);
+        }
+        
+        private void paintLabel(X6Scene.Label label, Graphics2D graphics) {
+            if (label.boxed) {
+                Shape box = label.boxRadius > 0 
+                        ? new RoundRectangle2D.Double(label.boxX, label.boxY, label.boxWidth, label.boxHeight, 
+                                2 * label.boxRadius, 2 * label.boxRadius)
+                        : new Rectangle2D.Double(label.boxX, label.boxY, label.boxWidth, label.boxHeight);
+                Color fill = CssColors.parse(label.boxFill, null);
+                if (fill != null) {
+                    graphics.setColor(fill);
+                    graphics.fill(box);
+                }
+                graphics.setColor(Color.BLACK);
+                graphics.setStroke(new BasicStroke(1));
+                graphics.draw(box);
+            }
+            Color color = CssColors.parse(label.color, Color.BLACK);
+            if (color == null)
+                return;
+            graphics.setColor(color);
+            graphics.setFont(label.font);
+            for (int i = 0; i < label.lines.length; i++) {
+                String line = label.lines[i];
+                if (!line.isEmpty())
+                    graphics.drawString(line, (float) (label.centerX - X6Scene.lineWidth(label, line) / 2), 
+                            (float) (label.baseline + i * label.lineHeight));
+            }
+        }
+        
+        private void stroke(X6Scene.Element element, Shape shape, Graphics2D graphics) {
+            Color stroke = CssColors.parse(element.stroke, null);
+            if (stroke == null || element.strokeWidth <= 0)
+                return;
+            graphics.setColor(stroke);
+            graphics.setStroke(new BasicStroke((float) element.strokeWidth, BasicStroke.CAP_BUTT, 
+                    BasicStroke.JOIN_MITER, 4, parseDash(element.dash), 0));
+            graphics.draw(shape);
+        }
+    }
+}
@@ -0,0 +1,472 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.export;
+
+import com.neotropic.flow.component.antvx6.constants.X6Constants;
+import com.neotropic.flow.component.antvx6.objects.X6AbstractNode;
+import com.neotropic.flow.component.antvx6.objects.X6Cell;
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import com.neotropic.flow.component.antvx6.objects.X6EdgeLabel;
+import com.neotropic.flow.component.antvx6.objects.X6NodeBackground;
+import com.neotropic.flow.component.antvx6.objects.X6Polyline;
+import com.neotropic.flow.component.antvx6.spatial.X6SpatialIndex;
+import com.neotropic.flow.component.antvx6.styles.X6EdgeLabelStyles;
+import com.neotropic.flow.component.antvx6.styles.X6EdgeStyles;
+import com.neotropic.flow.component.antvx6.styles.X6NodeLabelStyles;
+import com.neotropic.flow.component.antvx6.styles.X6NodeStyles;
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineMetrics;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Snapshot of the cells of a diagram prepared to be exported without a browser.
+ * 
+ * The scene copies what the exporters need from the cells (geometry, styles, labels and the
+ * route of the edges, clipped to the boundary of their endpoints like the web component does),
+ * so once it is built the cells can change and the scene can be rendered from any thread,
+ * e.g. by {@link X6BatchExporter}. Elements are kept in drawing order: the background first,
+ * then the rest sorted by z-index, keeping the order of the cells for equal z-indexes.
+ * 
+ * Build it with {@code AntvX6.createExportScene()} to export what the canvas shows, or
+ * directly from a list of cells.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6Scene {
+    static final int KIND_NODE = 0;
+    static final int KIND_EDGE = 1;
+    /*
+    * Space between the labels of the nodes placed at the bottom and the node, as in the web component.
+    */
+    private static final double LABEL_BOTTOM_GAP = 4;
+    /*
+    * Padding of the box drawn behind the labels of the edges, as in the web component.
+    */
+    private static final double EDGE_LABEL_PADDING_X = 4;
+    private static final double EDGE_LABEL_PADDING_Y = 2;
+    private static final double EDGE_LABEL_EXTRA_HEIGHT = 5;
+    /*
+    * Text is measured with fractional metrics, the same hints used by the raster exporter.
+    */
+    static final FontRenderContext FONT_CONTEXT = new FontRenderContext(null, true, true);
+    private static final Map<String, Font> FONTS = new ConcurrentHashMap<>();
+    
+    /*
+    * Elements in drawing order.
+    */
+    private final List<Element> elements;
+    /*
+    * Bounds of the drawn content.
+    */
+    private final double minX, minY, maxX, maxY;
+    /*
+    * Index of the bounds of the elements, keyed by position, built on the first region query.
+    */
+    private X6SpatialIndex index;
+    
+    /**
+    * A node, text node, background or edge ready to be drawn.
+    */
+    static final class Element {
+        final int kind;
+        final String id;
+        final int zIndex;
+        String shape;
+        double x, y, width, height;
+        String fill;
+        String stroke;
+        double strokeWidth;
+        String dash;
+        double radius;
+        String imageUrl;
+        /*
+        * Route of an edge: x and y of each point, from the source to the target.
+        */
+        double[] points;
+        final List<Label> labels = new ArrayList<>(1);
+        double minX, minY, maxX, maxY;
+        
+        private Element(int kind, String id, int zIndex) {
+            this.kind = kind;
+            this.id = id;
+            this.zIndex = zIndex;
+        }
+        
+        /**
+        * Builds the path of the route of an edge, rounding its corners with the radius of the edge.
+        * 
+        * @return the path of the route
+        */
+        Path2D.Double route() {
+            Path2D.Double path = new Path2D.Double();
+            int count = points.length / 2;
+            path.moveTo(points[0], points[1]);
+            for (int i = 1; i < count - 1; i++) {
+                double px = points[2 * i], py = points[2 * i + 1];
+                if (radius > 0) {
+                    double inX = px - points[2 * i - 2], inY = py - points[2 * i - 1];
+                    double outX = points[2 * i + 2] - px, outY = points[2 * i + 3] - py;
+                    double inLength = Math.hypot(inX, inY), outLength = Math.hypot(outX, outY);
+                    double cut = Math.min(radius, Math.min(inLength, outLength) / 2);
+                    if (cut > 0) {
+                        path.lineTo(px - inX / inLength * cut, py - inY / inLength * cut);
+                        path.quadTo(px, py, px + outX / outLength * cut, py + outY / outLength * cut);
+                        continue;
+                    }
+                }
+                path.lineTo(px, py);
+            }
+            path.lineTo(points[points.length - 2], points[points.length - 1]);
+            return path;
+        }
+        
+        private void include(double left, double top, double right, double bottom) {
+            minX = Math.min(minX, left);
+            minY = Math.min(minY, top);
+            maxX = Math.max(maxX, right);
+            maxY = Math.max(maxY, bottom);
+        }
+    }
+    
+    /**
+    * A label, as lines of text centered on a point, optionally drawn over a box.
+    */
+    static final class Label {
+        String[] lines;
+        String fontFamily;
+        double fontSize;
+        String color;
+        Font font;
+        double centerX;
+        /*
+        * Baseline of the first line and distance between the baselines.
+        */
+        double baseline, lineHeight;
+        boolean boxed;
+        String boxFill;
+        double boxRadius;
+        double boxX, boxY, boxWidth, boxHeight;
+    }
+    
+    /**
+    * Creates a scene from the cells of a diagram, in the same order they would be drawn.
+    * Nodes, text nodes and backgrounds are recognized by their class; edges whose source or
+    * target is not in the cells are left out, as the web component does.
+    * 
+    * @param cells the cells of the diagram
+    */
+    public X6Scene(Collection<? extends X6Cell> cells) {
+        List<Element> background = new ArrayList<>(1);
+        List<Element> drawn = new ArrayList<>(cells.size());
+        Map<String, Element> nodesById = new HashMap<>();
+        List<X6Edge> edges = new ArrayList<>();
+        for (X6Cell cell : cells) {
+            if (cell instanceof X6AbstractNode node) {
+                Element element = createNode(node);
+                nodesById.putIfAbsent(element.id, element);
+                (node instanceof X6NodeBackground ? background : drawn).add(element);
+            } else if (cell instanceof X6Edge edge)
+                edges.add(edge);
+        }
+        for (X6Edge edge : edges) {
+            Element element = createEdge(edge, nodesById.get(edge.getIdSource()), nodesById.get(edge.getIdTarget()));
+            if (element != null)
+                drawn.add(element);
+        }
+        // stable, so cells with the same z-index keep their order
+        drawn.sort((a, b) -> Integer.compare(a.zIndex, b.zIndex));
+        background.addAll(drawn);
+        this.elements = Collections.unmodifiableList(background);
+        
+        double left = Double.POSITIVE_INFINITY, top = Double.POSITIVE_INFINITY;
+        double right = Double.NEGATIVE_INFINITY, bottom = Double.NEGATIVE_INFINITY;
+        for (Element element : elements) {
+            left = Math.min(left, element.minX);
+            top = Math.min(top, element.minY);
+            right = Math.max(right, element.maxX);
+            bottom = Math.max(bottom, element.maxY);
+        }
+        if (elements.isEmpty()) {
+            left = top = right = bottom = 0;
+        }
+        this.minX = left;
+        this.minY = top;
+        this.maxX = right;
+        this.maxY = bottom;
+    }
+    
+    public boolean isEmpty() {
+        return elements.isEmpty();
+    }
+    
+    /**
+    * Gets the number of drawn elements, edges whose endpoints are missing are not counted.
+    * 
+    * @return the number of elements
+    */
+    public int size() {
+        return elements.size();
+    }
+    
+    public double getMinX() {
+        return minX;
+    }
+    
+    public double getMinY() {
+        return minY;
+    }
+    
+    public double getWidth() {
+        return maxX - minX;
+    }
+    
+    public double getHeight() {
+        return maxY - minY;
+    }
+    
+    List<Element> getElements() {
+        return elements;
+    }
+    
+    /**
+    * Finds the elements that may be visible in a region, used to render tiles of a large scene
+    * without walking every element for each tile.
+    * 
+    * @param x the x coordinate of the top left corner of the region
+    * @param y the y coordinate of the top left corner of the region
+    * @param width the width of the region
+    * @param height the height of the region
+    * @return the elements in drawing order
+    */
+    List<Element> findInRegion(double x, double y, double width, double height) {
+        if (x <= minX && y <= minY && x + width >= maxX && y + height >= maxY)
+            return elements;
+        List<String> found;
+        synchronized (this) {
+            if (index == null) {
+                index = new X6SpatialIndex();
+                for (int i = 0; i < elements.size(); i++) {
+                    Element element = elements.get(i);
+                    index.put(Integer.toString(i), element.minX, element.minY,
+                            element.maxX - element.minX, element.maxY - element.minY);
+                }
+            }
+            found = index.findInRect(x, y, width, height);
+        }
+        int[] positions = new int[found.size()];
+        for (int i = 0; i < positions.length; i++)
+            positions[i] = Integer.parseInt(found.get(i));
+        Arrays.sort(positions);
+        List<Element> region = new ArrayList<>(positions.length);
+        for (int position : positions)
+            region.add(elements.get(position));
+        return region;
+    }
+    
+    private static Element createNode(X6AbstractNode node) {
+        X6NodeStyles styles = node.getNodeStyles() != null ? node.getNodeStyles() : new X6NodeStyles();
+        Element element = new Element(KIND_NODE, node.getId(), styles.getZIndex());
+        element.shape = node.getShape() != null ? node.getShape() : X6Constants.SHAPE_RECT;
+        if (node.getGeometry() != null) {
+            element.x = node.getGeometry().getX();
+            element.y = node.getGeometry().getY();
+            element.width = Math.max(0, node.getGeometry().getWidth());
+            element.height = Math.max(0, node.getGeometry().getHeight());
+        }
+        element.fill = styles.getFillColor();
+        element.stroke = styles.getStrokeColor();
+        element.strokeWidth = styles.getStrokeWidth();
+        element.dash = styles.getDash();
+        element.radius = styles.getBorderRadius();
+        element.imageUrl = node.getImgUrl();
+        double half = element.strokeWidth / 2;
+        element.minX = element.x - half;
+        element.minY = element.y - half;
+        element.maxX = element.x + element.width + half;
+        element.maxY = element.y + element.height + half;
+        
+        X6NodeLabelStyles labelStyles = node.getNodeLabelStyles() != null ? node.getNodeLabelStyles() : new X6NodeLabelStyles();
+        if (node.getLabel() != null && !node.getLabel().isEmpty()
+                && !X6Constants.LABEL_NODE_HIDDEN.equals(labelStyles.getVisibility())) {
+            Label label = createLabel(node.getLabel(), labelStyles.getFontFamily(), labelStyles.getFontSize(), labelStyles.getFontColor());
+            double blockHeight = label.lines.length * label.lineHeight;
+            double top = X6Constants.LABEL_NODE_POSITION_BOTTOM.equals(labelStyles.getLabelPosition())
+                    ? element.y + element.height + LABEL_BOTTOM_GAP
+                    : element.y + (element.height - blockHeight) / 2;
+            placeLabel(label, element.x + element.width / 2, top);
+            element.labels.add(label);
+            double labelWidth = textWidth(label);
+            element.include(label.centerX - labelWidth / 2, top, label.centerX + labelWidth / 2, top + blockHeight);
+        }
+        return element;
+    }
+    
+    private static Element createEdge(X6Edge edge, Element source, Element target) {
+        if (source == null || target == null)
+            return null;
+        X6EdgeStyles styles = edge.getEdgeStyles() != null ? edge.getEdgeStyles() : new X6EdgeStyles();
+        Element element = new Element(KIND_EDGE, edge.getId(), styles.getZIndex());
+        element.stroke = styles.getStrokeColor();
+        element.strokeWidth = styles.getStrokeWidth();
+        element.dash = styles.getDash() > 0 ? formatNumber(styles.getDash()) : null;
+        element.radius = styles.getBorderRadius();
+        
+        X6Polyline polyline = edge.getPolyline();
+        int count = polyline.size() + 2;
+        double[] points = new double[2 * count];
+        points[0] = source.x + source.width / 2;
+        points[1] = source.y + source.height / 2;
+        for (int i = 0; i < polyline.size(); i++) {
+            points[2 * i + 2] = polyline.getX(i);
+            points[2 * i + 3] = polyline.getY(i);
+        }
+        points[2 * count - 2] = target.x + target.width / 2;
+        points[2 * count - 1] = target.y + target.height / 2;
+        // the ends are the intersection of the first and last segments with the boundary of the nodes
+        clipToBoundary(source, points, 0, 2);
+        clipToBoundary(target, points, 2 * count - 2, 2 * count - 4);
+        element.points = points;
+        
+        element.minX = element.maxX = points[0];
+        element.minY = element.maxY = points[1];
+        for (int i = 2; i < points.length; i += 2)
+            element.include(points[i], points[i + 1], points[i], points[i + 1]);
+        double half = element.strokeWidth / 2;
+        element.include(element.minX - half, element.minY - half, element.maxX + half, element.maxY + half);
+        
+        if (edge.getEdgeLabels() != null) {
+            double length = 0;
+            for (int i = 2; i < points.length; i += 2)
+                length += Math.hypot(points[i] - points[i - 2], points[i + 1] - points[i - 1]);
+            for (X6EdgeLabel edgeLabel : edge.getEdgeLabels()) {
+                if (edgeLabel == null || edgeLabel.getLabel() == null || edgeLabel.getLabel().isEmpty()
+                        || edgeLabel.getDistance() < 0 || edgeLabel.getDistance() > 1)
+                    continue;
+                X6EdgeLabelStyles labelStyles = edgeLabel.getEdgeLabelStyles() != null 
+                        ? edgeLabel.getEdgeLabelStyles() : new X6EdgeLabelStyles();
+                Label label = createLabel(edgeLabel.getLabel(), labelStyles.getFontFamily(), 
+                        labelStyles.getFontSize(), labelStyles.getFontColor());
+                double[] point = pointAt(points, length * edgeLabel.getDistance());
+                double textWidth = textWidth(label);
+                double textHeight = label.lines.length * label.lineHeight;
+                placeLabel(label, point[0], point[1] - textHeight / 2);
+                label.boxed = true;
+                label.boxFill = labelStyles.getFillColor();
+                label.boxRadius = labelStyles.getBorderRadius();
+                label.boxX = point[0] - textWidth / 2 - EDGE_LABEL_PADDING_X;
+                label.boxY = point[1] - textHeight / 2 - EDGE_LABEL_PADDING_Y;
+                label.boxWidth = textWidth + 2 * EDGE_LABEL_PADDING_X;
+                label.boxHeight = textHeight + EDGE_LABEL_EXTRA_HEIGHT;
+                element.labels.add(label);
+                element.include(label.boxX - 0.5, label.boxY - 0.5, 
+                        label.boxX + label.boxWidth + 0.5, label.boxY + label.boxHeight + 0.5);
+            }
+        }
+        return element;
+    }
+    
+    /**
+    * Moves an end of a route from the center of its node to the boundary of the node,
+    * along the segment towards the next point.
+    */
+    private static void clipToBoundary(Element node, double[] points, int end, int next) {
+        double dx = points[next] - points[end];
+        double dy = points[next + 1] - points[end + 1];
+        double halfWidth = node.width / 2, halfHeight = node.height / 2;
+        if ((dx == 0 && dy == 0) || halfWidth == 0 || halfHeight == 0)
+            return;
+        double t;
+        if (X6Constants.SHAPE_ELLIPSE.equals(node.shape) || X6Constants.SHAPE_CIRCLE.equals(node.shape))
+            t = 1 / Math.sqrt((dx * dx) / (halfWidth * halfWidth) + (dy * dy) / (halfHeight * halfHeight));
+        else
+            t = Math.min(dx != 0 ? halfWidth / Math.abs(dx) : Double.POSITIVE_INFINITY,
+                    dy != 0 ? halfHeight / Math.abs(dy) : Double.POSITIVE_INFINITY);
+        // the next point is inside the node
+        if (t >= 1)
+            return;
+        points[end] += dx * t;
+        points[end + 1] += dy * t;
+    }
+    
+    private static double[] pointAt(double[] points, double distance) {
+        for (int i = 2; i < points.length; i += 2) {
+            double segment = Math.hypot(points[i] - points[i - 2], points[i + 1] - points[i - 1]);
+            if (distance <= segment && segment > 0) {
+                double t = distance / segment;
+                return new double[] {
+                    points[i - 2] + (points[i] - points[i - 2]) * t,
+                    points[i - 1] + (points[i + 1] - points[i - 1]) * t
+                };
+            }
+            distance -= segment;
+        }
+        return new double[] { points[points.length - 2], points[points.length - 1] };
+    }
+    
+    private static Label createLabel(String text, String fontFamily, double fontSize, String color) {
+        Label label = new Label();
+        label.lines = text.split("\n", -1);
+        label.fontFamily = fontFamily != null ? fontFamily : "Arial";
+        label.fontSize = fontSize > 0 ? fontSize : 14;
+        label.color = color;
+        label.font = font(label.fontFamily, label.fontSize);
+        LineMetrics metrics = label.font.getLineMetrics("Xg", FONT_CONTEXT);
+        label.lineHeight = metrics.getAscent() + metrics.getDescent() + metrics.getLeading();
+        label.baseline = metrics.getAscent();
+        return label;
+    }
+    
+    private static void placeLabel(Label label, double centerX, double top) {
+        label.centerX = centerX;
+        label.baseline += top;
+    }
+    
+    static double textWidth(Label label) {
+        double width = 0;
+        for (String line : label.lines)
+            width = Math.max(width, label.font.getStringBounds(line, FONT_CONTEXT).getWidth());
+        return width;
+    }
+    
+    static double lineWidth(Label label, String line) {
+        return label.font.getStringBounds(line, FONT_CONTEXT).getWidth();
+    }
+    
+    private static Font font(String family, double size) {
+        return FONTS.computeIfAbsent(family + '/' + size, 
+                key -> new Font(family, Font.PLAIN, 1).deriveFont((float) size));
+    }
+    
+    /**
+    * Formats a number for SVG attributes, without decimals when it is whole.
+    * 
+    * @param value the number
+    * @return the formatted number
+    */
+    static String formatNumber(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15)
+            return Long.toString((long) value);
+        return Double.toString(Math.round(value * 1000) / 1000.0);
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.export;
+
+import static com.neotropic.flow.component.antvx6.export.X6Scene.formatNumber;
+
+import com.neotropic.flow.component.antvx6.constants.X6Constants;
+import java.awt.geom.PathIterator;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a scene as an SVG document without a browser. The document is streamed to the
+ * output element by element, so large diagrams are not built in memory.
+ * 
+ * The nodes are drawn as rectangles (with their border radius), ellipses or images and the
+ * edges as paths from the boundary of the source to the boundary of the target through their
+ * vertices, with the labels placed as the web component places them.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6SvgExporter {
+    private final X6ExportOptions options;
+    
+    public X6SvgExporter() {
+        this(new X6ExportOptions());
+    }
+    
+    public X6SvgExporter(X6ExportOptions options) {
+        this.options = options;
+    }
+    
+    public X6ExportOptions getOptions() {
+        return options;
+    }
+    
+    /**
+    * Writes a scene as an SVG document.
+    * 
+    * @param scene the scene to write
+    * @return the SVG document
+    */
+    public String export(X6Scene scene) {
+        StringBuilder builder = new StringBuilder(256 + scene.size() * 160);
+        try {
+            export(scene, builder);
+        } catch (IOException ex) {
+            // StringBuilder does not throw
+            throw new UncheckedIOException(ex);
+        }
+        return builder.toString();
+    }
+    
+    /**
+    * Writes a scene as an SVG document encoded in UTF-8. The stream is flushed but not closed.
+    * 
+    * @param scene the scene to write
+    * @param out the stream
+    * @throws IOException if the stream cannot be written
+    */
+    public void export(X6Scene scene, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        export(scene, writer);
+        writer.flush();
+    }
+    
+    /**
+    * Writes a scene as an SVG document.
+    * 
+    * @param scene the scene to write
+    * @param out where the document is appended
+    * @throws IOException if the output cannot be written
+    */
+    public void export(X6Scene scene, Appendable out) throws IOException {
+        if (options.getScale() <= 0)
+            throw new IllegalArgumentException("The scale must be positive");
+        int[] size = options.getImageSize(scene);
+        double x = scene.getMinX() - options.getPadding();
+        double y = scene.getMinY() - options.getPadding();
+        double width = size[0] / options.getScale();
+        double height = size[1] / options.getScale();
+        
+        out.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+           .append("<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"")
+           .append(Integer.toString(size[0])).append("\" height=\"").append(Integer.toString(size[1]))
+           .append("\" viewBox=\"").append(formatNumber(x)).append(' ').append(formatNumber(y)).append(' ')
+           .append(formatNumber(width)).append(' ').append(formatNumber(height)).append("\">\n");
+        if (CssColors.parse(options.getBackgroundColor(), null) != null) {
+            out.append("<rect x=\"").append(formatNumber(x)).append("\" y=\"").append(formatNumber(y))
+               .append("\" width=\"").append(formatNumber(width)).append("\" height=\"").append(formatNumber(height))
+               .append("\" fill=\"");
+            escape(options.getBackgroundColor(), out);
+            out.append("\"/>\n");
+        }
+        for (X6Scene.Element element : scene.getElements()) {
+            out.append("<g data-cell-id=\"");
+            escape(element.id, out);
+            out.append("\">");
+            if (element.kind == X6Scene.KIND_EDGE)
+                writeEdge(element, out);
+            else
+                writeNode(element, out);
+            for (X6Scene.Label label : element.labels)
+                writeLabel(label, out);
+            out.append("</g>\n");
+        }
+        out.append("</svg>\n");
+    }
+    
+    private void writeNode(X6Scene.Element node, Appendable out) throws IOException {
+        if (X6Constants.SHAPE_IMAGE.equals(node.shape)) {
+            if (node.imageUrl != null && !node.imageUrl.isEmpty()) {
+                out.append("<image x=\"").append(formatNumber(node.x)).append("\" y=\"").append(formatNumber(node.y))
+                   .append("\" width=\"").append(formatNumber(node.width)).append("\" height=\"").append(formatNumber(node.height))
+                   .append("\" preserveAspectRatio=\"xMidYMid meet\" xlink:href=\"");
+                escape(node.imageUrl, out);
+                out.append("\"/>");
+            }
+            return;
+        }
+        if (X6Constants.SHAPE_ELLIPSE.equals(node.shape) || X6Constants.SHAPE_CIRCLE.equals(node.shape)) {
+            out.append("<ellipse cx=\"").append(formatNumber(node.x + node.width / 2))
+               .append("\" cy=\"").append(formatNumber(node.y + node.height / 2))
+               .append("\" rx=\"").append(formatNumber(node.width / 2))
+               .append("\" ry=\"").append(formatNumber(node.height / 2)).append('"');
+        } else {
+            out.append("<rect x=\"").append(formatNumber(node.x)).append("\" y=\"").append(formatNumber(node.y))
+               .append("\" width=\"").append(formatNumber(node.width)).append("\" height=\"").append(formatNumber(node.height)).append('"');
+            if (node.radius > 0) {
+                out.append(" rx=\"").append(formatNumber(node.radius))
+                   .append("\" ry=\"").append(formatNumber(node.radius)).append('"');
+            }
+        }
+        appendPaint(" fill", node.fill, out);
+        appendStroke(node, out);
+        out.append("/>");
+    }
+    
+    private void writeEdge(X6Scene.Element edge, Appendable out) throws IOException {
+        out.append("<path d=\"");
+        double[] coordinates = new double[6];
+        PathIterator iterator = edge.route().getPathIterator(null);
+        while (!iterator.isDone()) {
+            switch (iterator.currentSegment(coordinates)) {
+                case PathIterator.SEG_MOVETO -> out.append('M').append(formatNumber(coordinates[0]))
+                        .append(' ').append(formatNumber(coordinates[1]));
+                case PathIterator.SEG_LINETO -> out.append(" L").append(formatNumber(coordinates[0]))
+                        .append(' ').append(formatNumber(coordinates[1]));
+                case PathIterator.SEG_QUADTO -> out.append(" Q").append(formatNumber(coordinates[0]))
+                        .append(' ').append(formatNumber(coordinates[1])).append(' ')
+                        .append(formatNumber(coordinates[2])).append(' ').append(formatNumber(coordinates[3]));
+                default -> { }
+            }
+            iterator.next();
+        }
+        out.append("\" fill=\"none\"");
+        appendStroke(edge, out);
+        out.append("/>");
+    }
+    
+    private void writeLabel(X6Scene.Label label, Appendable out) throws IOException {
+        if (label.boxed) {
+            out.append("<rect x=\"").append(formatNumber(label.boxX)).append("\" y=\"").append(formatNumber(label.boxY))
+               .append("\" width=\"").append(formatNumber(label.boxWidth)).append("\" height=\"").append(formatNumber(label.boxHeight)).append('"');
+            if (label.boxRadius > 0) {
+                out.append(" rx=\"").append(formatNumber(label.boxRadius))
+                   .append("\" ry=\"").append(formatNumber(label.boxRadius)).append('"');
+            }
+            appendPaint(" fill", label.boxFill, out);
+            out.append(" stroke=\"black\" stroke-width=\"1\"/>");
+        }
+        out.append("<text text-anchor=\"middle\" font-family=\"");
+        escape(label.fontFamily, out);
+        out.append("\" font-size=\"").append(formatNumber(label.fontSize)).append('"');
+        appendPaint(" fill", label.color, out);
+        out.append('>');
+        for (int i = 0; i < label.lines.length; i++) {
+            out.append("<tspan x=\"").append(formatNumber(label.centerX))
+               .append("\" y=\"").append(formatNumber(label.baseline + i * label.lineHeight)).append("\">");
+            escape(label.lines[i], out);
+            out.append("</tspan>");
+        }
+        out.append("</text>");
+    }
+    
+    private void appendStroke(X6Scene.Element element, Appendable out) throws IOException {
+        appendPaint(" stroke", element.stroke, out);
+        out.append(" stroke-width=\"").append(formatNumber(element.strokeWidth)).append('"');
+        if (element.dash != null && !element.dash.isBlank() && !"0".equals(element.dash.trim())) {
+            out.append(" stroke-dasharray=\"");
+            escape(element.dash, out);
+            out.append('"');
+        }
+    }
+    
+    private static void appendPaint(String attribute, String color, Appendable out) throws IOException {
+        out.append(attribute).append("=\"");
+        escape(color != null && !color.isBlank() ? color : "none", out);
+        out.append('"');
+    }
+    
+    private static void escape(String text, Appendable out) throws IOException {
+        if (text == null)
+            return;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                default -> {
+                    // characters not allowed in XML 1.0
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r')
+                        out.append(c);
+                }
+            }
+        }
+    }
+}
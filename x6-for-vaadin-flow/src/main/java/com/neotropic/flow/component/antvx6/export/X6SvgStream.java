@@ -0,0 +1,214 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.export;
+
+import com.vaadin.flow.server.InputStreamFactory;
+import com.vaadin.flow.server.StreamResource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * SVG document of a graph as the browser renders it, received in chunks, see
+ * {@code AntvX6.exportSvg()}. The chunks are kept as they arrive, without joining them, and can be
+ * read as many times as needed through {@link #getInputStream()}, written to a stream or served
+ * with {@link #toStreamResource(String)}.
+ * 
+ * Streams opened before the document is complete return the chunks already received and block
+ * waiting for the rest, so they must not be read holding the session lock: the chunks arrive
+ * with it. Read them from another thread, or once {@link #getCompletion()} completes.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6SvgStream implements X6TileSink {
+    public static final String MIME_TYPE = X6ExportFormat.SVG.getMimeType();
+    /*
+    * Chunks received, guarded by the instance.
+    */
+    private final List<byte[]> chunks;
+    private long size;
+    private boolean complete;
+    private IOException failure;
+    private final CompletableFuture<X6SvgStream> completion;
+    
+    public X6SvgStream() {
+        this.chunks = new ArrayList<>();
+        this.completion = new CompletableFuture<>();
+    }
+    
+    @Override
+    public void begin(X6TileGrid grid) throws IOException {
+        if (grid.getFormat() != X6ExportFormat.SVG)
+            throw new IOException("Only SVG exports can be received as an SVG stream");
+    }
+    
+    @Override
+    public synchronized void tile(int column, int row, byte[] data) {
+        if (data.length == 0)
+            return;
+        chunks.add(data);
+        size += data.length;
+        notifyAll();
+    }
+    
+    @Override
+    public void end() {
+        synchronized (this) {
+            complete = true;
+            notifyAll();
+        }
+        completion.complete(this);
+    }
+    
+    @Override
+    public void cancel(Exception cause) {
+        IOException exception = cause instanceof IOException io ? io 
+                : new IOException("The SVG export did not complete", cause);
+        synchronized (this) {
+            failure = exception;
+            notifyAll();
+        }
+        completion.completeExceptionally(exception);
+    }
+    
+    /**
+    * Gets a future completed with this stream once the whole document was received, or
+    * completed exceptionally if the export fails.
+    * 
+    * @return the future
+    */
+    public CompletableFuture<X6SvgStream> getCompletion() {
+        return completion;
+    }
+    
+    public synchronized boolean isComplete() {
+        return complete;
+    }
+    
+    /**
+    * Gets the number of bytes received so far.
+    * 
+    * @return the size in bytes
+    */
+    public synchronized long getSize() {
+        return size;
+    }
+    
+    /**
+    * Opens a stream over the document encoded in UTF-8. It blocks waiting for the chunks not
+    * received yet and fails with an {@link IOException} if the export fails.
+    * 
+    * @return a new stream
+    */
+    public InputStream getInputStream() {
+        return new ChunkInputStream();
+    }
+    
+    /**
+    * Writes the whole document, waiting for the chunks not received yet.
+    * 
+    * @param out the stream, it is not closed
+    * @throws IOException if the stream cannot be written or the export fails
+    */
+    public void writeTo(OutputStream out) throws IOException {
+        try (InputStream in = getInputStream()) {
+            in.transferTo(out);
+        }
+    }
+    
+    /**
+    * Gets the whole document, waiting for the chunks not received yet.
+    * 
+    * @return the document encoded in UTF-8
+    * @throws IOException if the export fails
+    */
+    public byte[] toByteArray() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(Integer.MAX_VALUE - 8, getSize()));
+        writeTo(out);
+        return out.toByteArray();
+    }
+    
+    /**
+    * Creates a resource that serves the document, e.g. for an {@code Anchor} that downloads it.
+    * The document is streamed without the session lock, as the chunks arrive.
+    * 
+    * @param fileName the name of the file
+    * @return the resource
+    */
+    public StreamResource toStreamResource(String fileName) {
+        StreamResource resource = new StreamResource(fileName, new InputStreamFactory() {
+            @Override
+            public InputStream createInputStream() {
+                return getInputStream();
+            }
+            
+            @Override
+            public boolean requiresLock() {
+                return false;
+            }
+        });
+        resource.setContentType(MIME_TYPE);
+        return resource;
+    }
+    
+    /**
+    * Reads the chunks in order, waiting for the ones not received yet.
+    */
+    private class ChunkInputStream extends InputStream {
+        private int chunk;
+        private int offset;
+        
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+        
+        @Override
+        public int read(byte[] buffer, int off, int length) throws IOException {
+            if (length == 0)
+                return 0;
+            byte[] current;
+            synchronized (X6SvgStream.this) {
+                while (chunk == chunks.size() && !complete && failure == null) {
+                    try {
+                        X6SvgStream.this.wait();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted waiting for the SVG export");
+                    }
+                }
+                if (failure != null)
+                    throw new IOException(failure.getMessage(), failure);
+                if (chunk == chunks.size())
+                    return -1;
+                current = chunks.get(chunk);
+            }
+            int count = Math.min(length, current.length - offset);
+            System.arraycopy(current, offset, buffer, off, count);
+            offset += count;
+            if (offset == current.length) {
+                chunk++;
+                offset = 0;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.export;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.imageio.ImageIO;
+
+/**
+ * Assembles the tiles of a tiled export in a single image written to a stream.
+ * 
+ * PNG images are written a row of tiles at a time, so only a strip as tall as a tile is kept in
+ * memory whatever the size of the image, and they carry the resolution of the export so they
+ * print at the size of the diagram. JPEG images need the whole image in memory and are limited
+ * by {@link X6ExportOptions#getMaxPixels()}. The chunks of SVG documents are copied as they come.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6TileAssembler implements X6TileSink {
+    private final OutputStream out;
+    private final X6ExportOptions options;
+    private X6TileGrid grid;
+    private PngStripWriter pngWriter;
+    /*
+    * Row of tiles of a PNG image or whole JPEG image being assembled.
+    */
+    private BufferedImage canvas;
+    private int row;
+    private int receivedInRow;
+    
+    /**
+    * Creates an assembler.
+    * 
+    * @param out the stream where the image is written, it is not closed
+    * @param options the options of the export
+    */
+    public X6TileAssembler(OutputStream out, X6ExportOptions options) {
+        this.out = out;
+        this.options = options;
+    }
+    
+    @Override
+    public void begin(X6TileGrid grid) throws IOException {
+        this.grid = grid;
+        this.row = 0;
+        this.receivedInRow = 0;
+        switch (grid.getFormat()) {
+            case PNG -> {
+                pngWriter = new PngStripWriter(out, grid.getWidth(), grid.getHeight(), options.getDpi());
+                canvas = new BufferedImage(grid.getWidth(), Math.min(grid.getTileSize(), grid.getHeight()), 
+                        BufferedImage.TYPE_INT_ARGB);
+            }
+            case JPEG -> {
+                if ((long) grid.getWidth() * grid.getHeight() > options.getMaxPixels())
+                    throw new IOException(String.format(
+                            "The image of %dx%d pixels exceeds the limit of %d pixels, export it as PNG", 
+                            grid.getWidth(), grid.getHeight(), options.getMaxPixels()));
+                canvas = new BufferedImage(grid.getWidth(), grid.getHeight(), BufferedImage.TYPE_INT_RGB);
+            }
+            case SVG -> { }
+        }
+    }
+    
+    @Override
+    public void tile(int column, int row, byte[] data) throws IOException {
+        if (grid == null)
+            throw new IllegalStateException("The export has not begun");
+        if (grid.getFormat() == X6ExportFormat.SVG) {
+            out.write(data);
+            return;
+        }
+        if (row != this.row)
+            throw new IOException("Tile " + column + "," + row + " received while assembling row " + this.row);
+        BufferedImage tile = ImageIO.read(new ByteArrayInputStream(data));
+        if (tile == null)
+            throw new IOException("Tile " + column + "," + row + " is not a valid image");
+        Graphics2D graphics = canvas.createGraphics();
+        try {
+            graphics.setComposite(AlphaComposite.Src);
+            int y = grid.getFormat() == X6ExportFormat.PNG ? 0 : row * grid.getTileSize();
+            graphics.drawImage(tile, column * grid.getTileSize(), y, null);
+        } finally {
+            graphics.dispose();
+        }
+        if (++receivedInRow == grid.getColumns()) {
+            if (pngWriter != null)
+                pngWriter.writeRows(canvas, Math.min(grid.getTileSize(), grid.getHeight() - row * grid.getTileSize()));
+            this.row++;
+            this.receivedInRow = 0;
+        }
+    }
+    
+    @Override
+    public void end() throws IOException {
+        if (grid == null)
+            throw new IllegalStateException("The export has not begun");
+        switch (grid.getFormat()) {
+            case PNG -> {
+                pngWriter.finish();
+                pngWriter = null;
+            }
+            case JPEG -> X6RasterExporter.writeImage(canvas, X6ExportFormat.JPEG, options.getJpegQuality(), out);
+            case SVG -> out.flush();
+        }
+        cancel(null);
+    }
+    
+    @Override
+    public void cancel(Exception cause) {
+        if (pngWriter != null)
+            pngWriter.abort();
+        canvas = null;
+        pngWriter = null;
+    }
+}
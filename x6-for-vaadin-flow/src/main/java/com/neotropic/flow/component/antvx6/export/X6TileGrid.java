@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.export;
+
+import lombok.Getter;
+
+/**
+ * Layout of the tiles of a tiled export. Raster images are split in square tiles sent row by
+ * row from the top left corner; SVG documents are split in consecutive chunks of text, sent as
+ * the columns of a single row.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+@Getter
+public class X6TileGrid {
+    private final X6ExportFormat format;
+    private final int columns;
+    private final int rows;
+    /**
+    * Size of the tiles in pixels, or of the chunks in characters for SVG.
+    */
+    private final int tileSize;
+    /**
+    * Size of the whole image in pixels (graph units for SVG).
+    */
+    private final int width;
+    private final int height;
+    
+    public X6TileGrid(X6ExportFormat format, int columns, int rows, int tileSize, int width, int height) {
+        this.format = format;
+        this.columns = columns;
+        this.rows = rows;
+        this.tileSize = tileSize;
+        this.width = width;
+        this.height = height;
+    }
+    
+    public int getTileCount() {
+        return columns * rows;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.export;
+
+import java.io.IOException;
+
+/**
+ * Receives the tiles of a tiled export made by the browser, see {@code AntvX6.exportGraphTiled}.
+ * The methods are called holding the session lock, in order: {@link #begin}, {@link #tile} once
+ * per tile and {@link #end}, or {@link #cancel(Exception)} if the export fails. The browser renders the
+ * next tile only after the previous one was received, so a slow sink slows the export down
+ * instead of piling up tiles in memory.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public interface X6TileSink {
+    /**
+    * Starts the export.
+    * 
+    * @param grid the layout of the tiles
+    * @throws IOException if the export cannot be started, it is cancelled
+    */
+    void begin(X6TileGrid grid) throws IOException;
+    
+    /**
+    * Receives a tile.
+    * 
+    * @param column the column of the tile
+    * @param row the row of the tile
+    * @param data the tile encoded in the format of the export
+    * @throws IOException if the tile cannot be written, the export is cancelled
+    */
+    void tile(int column, int row, byte[] data) throws IOException;
+    
+    /**
+    * Ends the export, after every tile was received.
+    * 
+    * @throws IOException if the export cannot be completed
+    */
+    void end() throws IOException;
+    
+    /**
+    * Called when the export fails or is cancelled, to release what the sink holds.
+    * 
+    * @param cause why the export did not complete
+    */
+    default void cancel(Exception cause) {
+    }
+}
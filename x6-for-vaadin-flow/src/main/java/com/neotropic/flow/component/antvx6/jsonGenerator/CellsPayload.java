@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.jsonGenerator;
+
+import com.neotropic.flow.component.antvx6.objects.X6Cell;
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import com.neotropic.flow.component.antvx6.objects.X6Node;
+import com.neotropic.flow.component.antvx6.objects.X6NodeBackground;
+import com.neotropic.flow.component.antvx6.objects.X6NodeText;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects already serialized cells and assembles the batch payload read by the
+ * drawCells and updateCells functions of the web component.
+ *
+ * The payload has the same shape as {@link JsonGenerator#generateJsonCells},
+ * but it is built by concatenating the serialized cells instead of a Gson tree.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class CellsPayload {
+    private String background;
+    private final List<String> nodes;
+    private final List<String> texts;
+    private final List<String> edges;
+
+    public CellsPayload() {
+        this.nodes = new ArrayList<>();
+        this.texts = new ArrayList<>();
+        this.edges = new ArrayList<>();
+    }
+
+    /**
+    * Adds a serialized cell to the group that matches its type.
+    *
+    * @param cell the cell that was serialized
+    * @param json the serialized cell
+    */
+    public void add(X6Cell cell, String json) {
+        if (cell instanceof X6Node)
+            nodes.add(json);
+        else if (cell instanceof X6NodeText)
+            texts.add(json);
+        else if (cell instanceof X6Edge)
+            edges.add(json);
+        else if (cell instanceof X6NodeBackground)
+            background = json;
+    }
+
+    public boolean isEmpty() {
+        return background == null && nodes.isEmpty() && texts.isEmpty() && edges.isEmpty();
+    }
+
+    /**
+    * Appends the payload to the given builder.
+    *
+    * @param builder the builder where the payload is written
+    */
+    public void appendTo(StringBuilder builder) {
+        builder.append('{');
+        if (background != null)
+            builder.append("\"background\":").append(background).append(',');
+        appendArray(builder, "nodes", nodes);
+        builder.append(',');
+        appendArray(builder, "texts", texts);
+        builder.append(',');
+        appendArray(builder, "edges", edges);
+        builder.append('}');
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        appendTo(builder);
+        return builder.toString();
+    }
+
+    private static void appendArray(StringBuilder builder, String name, List<String> items) {
+        builder.append('"').append(name).append("\":[");
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0)
+                builder.append(',');
+            builder.append(items.get(i));
+        }
+        builder.append(']');
+    }
+}
@@ -17,12 +17,14 @@ package com.neotropic.flow.component.antvx6.jsonGenerator;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import com.neotropic.flow.component.antvx6.objects.Vertex;
+import com.neotropic.flow.component.antvx6.objects.X6Cell;
 import com.neotropic.flow.component.antvx6.objects.X6Edge;
 import com.neotropic.flow.component.antvx6.objects.X6EdgeLabel;
 import com.neotropic.flow.component.antvx6.objects.X6Node;
 import com.neotropic.flow.component.antvx6.objects.X6NodeBackground;
 import com.neotropic.flow.component.antvx6.objects.X6NodeText;
+import com.neotropic.flow.component.antvx6.objects.X6Polyline;
+import java.util.Collection;
 
 /**
  * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
@@ -36,13 +38,13 @@ public class JsonGenerator {
 
         JsonObject geometry = new JsonObject();
         JsonObject coordinates = new JsonObject();
-        coordinates.addProperty("x", node.getGeometry() != null ? node.getGeometry().getCoordinates().getX() : 0);
-        coordinates.addProperty("y", node.getGeometry() != null ? node.getGeometry().getCoordinates().getY() : 0);
+        coordinates.addProperty("x", node.getGeometry() != null ? node.getGeometry().getX() : 0);
+        coordinates.addProperty("y", node.getGeometry() != null ? node.getGeometry().getY() : 0);
         geometry.add("coordinates", coordinates);
 
         JsonObject dimensions = new JsonObject();
-        dimensions.addProperty("width", node.getGeometry() != null ? node.getGeometry().getDimensions().getWidth() : 0);
-        dimensions.addProperty("height", node.getGeometry() != null ? node.getGeometry().getDimensions().getHeight() : 0);
+        dimensions.addProperty("width", node.getGeometry() != null ? node.getGeometry().getWidth() : 0);
+        dimensions.addProperty("height", node.getGeometry() != null ? node.getGeometry().getHeight() : 0);
         geometry.add("dimensions", dimensions);
 
         nodeData.add("geometry", geometry);
@@ -89,13 +91,13 @@ public class JsonGenerator {
 
         JsonObject geometry = new JsonObject();
         JsonObject coordinates = new JsonObject();
-        coordinates.addProperty("x", nodeText.getGeometry() != null ? nodeText.getGeometry().getCoordinates().getX() : 0);
-        coordinates.addProperty("y", nodeText.getGeometry() != null ? nodeText.getGeometry().getCoordinates().getY() : 0);
+        coordinates.addProperty("x", nodeText.getGeometry() != null ? nodeText.getGeometry().getX() : 0);
+        coordinates.addProperty("y", nodeText.getGeometry() != null ? nodeText.getGeometry().getY() : 0);
         geometry.add("coordinates", coordinates);
 
         JsonObject dimensions = new JsonObject();
-        dimensions.addProperty("width", nodeText.getGeometry() != null ? nodeText.getGeometry().getDimensions().getWidth() : 0);
-        dimensions.addProperty("height", nodeText.getGeometry() != null ? nodeText.getGeometry().getDimensions().getHeight() : 0);
+        dimensions.addProperty("width", nodeText.getGeometry() != null ? nodeText.getGeometry().getWidth() : 0);
+        dimensions.addProperty("height", nodeText.getGeometry() != null ? nodeText.getGeometry().getHeight() : 0);
         geometry.add("dimensions", dimensions);
 
         textData.add("geometry", geometry);
@@ -133,13 +135,13 @@ public class JsonGenerator {
 
         JsonObject geometry = new JsonObject();
         JsonObject coordinates = new JsonObject();
-        coordinates.addProperty("x", background.getGeometry() != null ? background.getGeometry().getCoordinates().getX() : 0);
-        coordinates.addProperty("y", background.getGeometry() != null ? background.getGeometry().getCoordinates().getY() : 0);
+        coordinates.addProperty("x", background.getGeometry() != null ? background.getGeometry().getX() : 0);
+        coordinates.addProperty("y", background.getGeometry() != null ? background.getGeometry().getY() : 0);
         geometry.add("coordinates", coordinates);
 
         JsonObject dimensions = new JsonObject();
-        dimensions.addProperty("width", background.getGeometry() != null ? background.getGeometry().getDimensions().getWidth() : 0);
-        dimensions.addProperty("height", background.getGeometry() != null ? background.getGeometry().getDimensions().getHeight() : 0);
+        dimensions.addProperty("width", background.getGeometry() != null ? background.getGeometry().getWidth() : 0);
+        dimensions.addProperty("height", background.getGeometry() != null ? background.getGeometry().getHeight() : 0);
         geometry.add("dimensions", dimensions);
 
         backgroundData.add("geometry", geometry);
@@ -178,13 +180,12 @@ public class JsonGenerator {
         edgeData.addProperty("idTarget", edge.getIdTarget() != null ? edge.getIdTarget() : "");
 
         JsonArray verticesArray = new JsonArray();
-        if (edge.getVertices() != null) {
-            for (Vertex vertex : edge.getVertices()) {
-                JsonObject vertexObj = new JsonObject();
-                vertexObj.addProperty("x", vertex != null ? vertex.getX() : 0);
-                vertexObj.addProperty("y", vertex != null ? vertex.getY() : 0);
-                verticesArray.add(vertexObj);
-            }
+        X6Polyline polyline = edge.getPolyline();
+        for (int i = 0; i < polyline.size(); i++) {
+            JsonObject vertexObj = new JsonObject();
+            vertexObj.addProperty("x", polyline.getX(i));
+            vertexObj.addProperty("y", polyline.getY(i));
+            verticesArray.add(vertexObj);
         }
         edgeData.add("vertices", verticesArray);
 
@@ -218,4 +219,55 @@ public class JsonGenerator {
         
         return edgeData;
     }
+    
+    /**
+    * Generates the JSON of a cell according to its type.
+    * 
+    * @param cell the node, text node, background node or edge to serialize
+    * @return the JSON of the cell, or null if the type of the cell is not supported
+    */
+    public static JsonObject generateJsonCell(X6Cell cell){
+        if (cell instanceof X6Node node)
+            return generateJsonNode(node);
+        if (cell instanceof X6NodeText nodeText)
+            return generateJsonNodeText(nodeText);
+        if (cell instanceof X6Edge edge)
+            return generateJsonEdge(edge);
+        if (cell instanceof X6NodeBackground background)
+            return generateJsonBackground(background);
+        return null;
+    }
+    
+    /**
+    * Generates the payload of a batch of cells drawn in a single client call.
+    * Nodes, text nodes and edges are grouped so the client can add them in order;
+    * if the batch contains a background node, the last one is used.
+    * 
+    * @param cells the cells to serialize
+    * @return an object with the "background", "nodes", "texts" and "edges" entries
+    */
+    public static JsonObject generateJsonCells(Collection<? extends X6Cell> cells){
+        JsonObject cellsData = new JsonObject();
+        JsonArray nodesArray = new JsonArray();
+        JsonArray textsArray = new JsonArray();
+        JsonArray edgesArray = new JsonArray();
+        
+        if (cells != null) {
+            for (X6Cell cell : cells) {
+                if (cell instanceof X6Node node)
+                    nodesArray.add(generateJsonNode(node));
+                else if (cell instanceof X6NodeText nodeText)
+                    textsArray.add(generateJsonNodeText(nodeText));
+                else if (cell instanceof X6Edge edge)
+                    edgesArray.add(generateJsonEdge(edge));
+                else if (cell instanceof X6NodeBackground background)
+                    cellsData.add("background", generateJsonBackground(background));
+            }
+        }
+        cellsData.add("nodes", nodesArray);
+        cellsData.add("texts", textsArray);
+        cellsData.add("edges", edgesArray);
+        
+        return cellsData;
+    }
 }
@@ -0,0 +1,665 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.jsonGenerator;
+
+import com.neotropic.flow.component.antvx6.constants.X6Constants;
+import com.neotropic.flow.component.antvx6.objects.Geometry;
+import com.neotropic.flow.component.antvx6.objects.X6AbstractNode;
+import com.neotropic.flow.component.antvx6.objects.X6Cell;
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import com.neotropic.flow.component.antvx6.objects.X6EdgeLabel;
+import com.neotropic.flow.component.antvx6.objects.X6Node;
+import com.neotropic.flow.component.antvx6.objects.X6NodeBackground;
+import com.neotropic.flow.component.antvx6.objects.X6NodeText;
+import com.neotropic.flow.component.antvx6.objects.X6Polyline;
+import com.neotropic.flow.component.antvx6.styles.X6EdgeLabelStyles;
+import com.neotropic.flow.component.antvx6.styles.X6EdgeStyles;
+import com.neotropic.flow.component.antvx6.styles.X6NodeLabelStyles;
+import com.neotropic.flow.component.antvx6.styles.X6NodeStyles;
+import com.neotropic.flow.component.antvx6.styles.X6StyleRegistry;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializes cells by appending their JSON directly to a reusable buffer, without
+ * building intermediate Gson trees.
+ *
+ * The output is the same produced by {@link JsonGenerator} (same keys, order, number
+ * format and escaping), so both can be used interchangeably. Instances are not thread-safe.
+ *
+ * In compact mode (see {@link #setCompact(boolean)}) the cells are written with short keys,
+ * the geometry as an {@code [x, y, width, height]} array, the vertices as a flat
+ * {@code [x0, y0, x1, y1, ...]} array, and every value equal to its default (empty strings,
+ * the default styles, shape "rect", movable, no port...) is omitted. The web component
+ * expands those cells back before drawing them:
+ * <pre>
+ * node/text/background: i id, g geometry, s shape, u imgUrl, m movable (0), p parentId, l label,
+ *                       t tools, o port (1), n nodeStyles, b nodeLabelStyles
+ * edge:                 i id, a idSource, b idTarget, v vertices, l edgeLabels, e edgeStyles
+ * edge label:           l label, d distance, s edgeLabelStyles
+ * styles:               f fillColor, c strokeColor/fontColor, w strokeWidth, d dash,
+ *                       r borderRadius, z zIndex, s fontSize, a fontFamily,
+ *                       p labelPosition, v visibility
+ * </pre>
+ * Styles interned with {@link X6StyleRegistry} are written as their numeric id instead;
+ * their content is sent once, see {@link #takeStyleDefinitions()}.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class JsonStreamGenerator {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final String DEFAULT_SHAPE = X6Constants.SHAPE_RECT;
+    private static final double DEFAULT_LABEL_DISTANCE = 0.5;
+    private static final X6NodeStyles DEFAULT_NODE_STYLES = new X6NodeStyles();
+    private static final X6NodeLabelStyles DEFAULT_NODE_LABEL_STYLES = new X6NodeLabelStyles();
+    private static final X6EdgeStyles DEFAULT_EDGE_STYLES = new X6EdgeStyles();
+    private static final X6EdgeLabelStyles DEFAULT_EDGE_LABEL_STYLES = new X6EdgeLabelStyles();
+    private final StringBuilder builder;
+    /*
+    * Whether the cells are written in the compact format.
+    */
+    private boolean compact;
+    /*
+    * Ids of the interned styles already defined in the web component.
+    */
+    private final BitSet sentStyles;
+    /*
+    * The interned styles already defined in the web component, kept alive so that their ids
+    * are not given to other styles while the web component still refers to them.
+    */
+    private final List<Object> sentStyleInstances;
+    /*
+    * Definitions of the interned styles not yet sent to the web component, indexed by style id.
+    */
+    private final Map<Integer, String> styleDefinitions;
+
+    public JsonStreamGenerator() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public JsonStreamGenerator(int capacity) {
+        this.builder = new StringBuilder(capacity);
+        this.sentStyles = new BitSet();
+        this.sentStyleInstances = new ArrayList<>();
+        this.styleDefinitions = new LinkedHashMap<>();
+    }
+
+    /**
+    * Clears the buffer, keeping its capacity.
+    *
+    * @return this generator
+    */
+    public JsonStreamGenerator reset() {
+        builder.setLength(0);
+        return this;
+    }
+
+    /**
+    * Gets the buffer where the JSON is written.
+    *
+    * @return the underlying buffer
+    */
+    public StringBuilder getBuilder() {
+        return builder;
+    }
+
+    public boolean isCompact() {
+        return compact;
+    }
+
+    /**
+    * Sets whether the cells are written in the compact format instead of the verbose one.
+    *
+    * @param compact true to use the compact format
+    */
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+    }
+
+    @Override
+    public String toString() {
+        return builder.toString();
+    }
+
+    /**
+    * Serializes a cell according to its type.
+    *
+    * @param cell the node, text node, background node or edge to serialize
+    * @return the JSON of the cell, or null if the type of the cell is not supported
+    */
+    public String generateCell(X6Cell cell) {
+        reset();
+        return appendCell(cell) ? builder.toString() : null;
+    }
+
+    public String generateNode(X6Node node) {
+        return reset().appendNode(node).toString();
+    }
+
+    public String generateNodeText(X6NodeText nodeText) {
+        return reset().appendNodeText(nodeText).toString();
+    }
+
+    public String generateBackground(X6NodeBackground background) {
+        return reset().appendBackground(background).toString();
+    }
+
+    public String generateEdge(X6Edge edge) {
+        return reset().appendEdge(edge).toString();
+    }
+
+    /**
+    * Serializes the position of several nodes for the setNodePositions function of the web component,
+    * as the list of ids and the flat list of their coordinates: {"i":[id,...],"p":[x,y,...]}.
+    *
+    * @param nodes the nodes whose position is written
+    * @return the JSON of the positions
+    */
+    public String generatePositions(List<? extends X6AbstractNode> nodes) {
+        reset();
+        builder.append("{\"i\":[");
+        for (int i = 0; i < nodes.size(); i++) {
+            if (i > 0)
+                builder.append(',');
+            appendQuoted(nodes.get(i).getId());
+        }
+        builder.append("],\"p\":[");
+        for (int i = 0; i < nodes.size(); i++) {
+            Geometry geometry = nodes.get(i).getGeometry();
+            if (i > 0)
+                builder.append(',');
+            appendNumber(geometry != null ? geometry.getX() : 0);
+            builder.append(',');
+            appendNumber(geometry != null ? geometry.getY() : 0);
+        }
+        return builder.append("]}").toString();
+    }
+
+    /**
+    * Appends the JSON of a cell according to its type.
+    *
+    * @param cell the cell to serialize
+    * @return true if the cell was written; false if its type is not supported
+    */
+    public boolean appendCell(X6Cell cell) {
+        if (cell instanceof X6Node node)
+            appendNode(node);
+        else if (cell instanceof X6NodeText nodeText)
+            appendNodeText(nodeText);
+        else if (cell instanceof X6Edge edge)
+            appendEdge(edge);
+        else if (cell instanceof X6NodeBackground background)
+            appendBackground(background);
+        else
+            return false;
+        return true;
+    }
+
+    public JsonStreamGenerator appendNode(X6Node node) {
+        if (compact)
+            return appendCompactNode(node, true);
+        builder.append('{');
+        appendString("id", node.getId());
+        appendGeometry(node.getGeometry());
+        key("tools").append('[');
+        if (node.getTools() != null) {
+            boolean first = true;
+            for (String tool : node.getTools()) {
+                if (!first)
+                    builder.append(',');
+                appendQuoted(tool);
+                first = false;
+            }
+        }
+        builder.append(']');
+        appendNodeProperties(node);
+        appendNodeStyles(node.getNodeStyles(), false);
+        appendNodeLabelStyles(node.getNodeLabelStyles());
+        key("port").append(node.isPort());
+        builder.append('}');
+        return this;
+    }
+
+    public JsonStreamGenerator appendNodeText(X6NodeText nodeText) {
+        if (compact)
+            return appendCompactNode(nodeText, false);
+        builder.append('{');
+        appendString("id", nodeText.getId());
+        appendGeometry(nodeText.getGeometry());
+        appendNodeProperties(nodeText);
+        appendNodeStyles(nodeText.getNodeStyles(), true);
+        appendNodeLabelStyles(nodeText.getNodeLabelStyles());
+        builder.append('}');
+        return this;
+    }
+
+    public JsonStreamGenerator appendBackground(X6NodeBackground background) {
+        if (compact)
+            return appendCompactNode(background, false);
+        builder.append('{');
+        appendString("id", background.getId());
+        appendGeometry(background.getGeometry());
+        appendNodeProperties(background);
+        appendNodeStyles(background.getNodeStyles(), false);
+        appendNodeLabelStyles(background.getNodeLabelStyles());
+        builder.append('}');
+        return this;
+    }
+
+    public JsonStreamGenerator appendEdge(X6Edge edge) {
+        if (compact)
+            return appendCompactEdge(edge);
+        builder.append('{');
+        appendString("id", edge.getId());
+        appendString("idSource", edge.getIdSource());
+        appendString("idTarget", edge.getIdTarget());
+
+        key("vertices").append('[');
+        X6Polyline polyline = edge.getPolyline();
+        for (int i = 0; i < polyline.size(); i++) {
+            if (i > 0)
+                builder.append(',');
+            builder.append('{');
+            appendDouble("x", polyline.getX(i));
+            appendDouble("y", polyline.getY(i));
+            builder.append('}');
+        }
+        builder.append(']');
+
+        key("edgeLabels").append('[');
+        if (edge.getEdgeLabels() != null) {
+            boolean first = true;
+            for (X6EdgeLabel label : edge.getEdgeLabels()) {
+                if (!first)
+                    builder.append(',');
+                X6EdgeLabelStyles styles = label.getEdgeLabelStyles();
+                builder.append('{');
+                appendString("label", label.getLabel());
+                appendDouble("distance", label.getDistance());
+                key("edgeLabelStyles").append('{');
+                appendString("fillColor", styles != null ? styles.getFillColor() : null);
+                appendString("fontColor", styles != null ? styles.getFontColor() : null);
+                appendDouble("fontSize", styles != null ? styles.getFontSize() : 0);
+                appendString("fontFamily", styles != null ? styles.getFontFamily() : null);
+                appendInt("borderRadius", styles != null ? styles.getBorderRadius() : 0);
+                builder.append("}}");
+                first = false;
+            }
+        }
+        builder.append(']');
+
+        X6EdgeStyles styles = edge.getEdgeStyles();
+        key("edgeStyles").append('{');
+        appendString("strokeColor", styles != null ? styles.getStrokeColor() : null);
+        appendDouble("strokeWidth", styles != null ? styles.getStrokeWidth() : 0);
+        appendDouble("dash", styles != null ? styles.getDash() : 0);
+        appendInt("borderRadius", styles != null ? styles.getBorderRadius() : 0);
+        appendInt("zIndex", styles != null ? styles.getZIndex() : 0);
+        builder.append("}}");
+        return this;
+    }
+
+    /**
+    * Appends a node, text node or background node in the compact format.
+    *
+    * @param node the node to write
+    * @param full true to also write the tools and the port flag, as done for the nodes
+    */
+    private JsonStreamGenerator appendCompactNode(X6AbstractNode node, boolean full) {
+        builder.append('{');
+        appendString("i", node.getId());
+        Geometry geometry = node.getGeometry();
+        key("g").append('[');
+        appendNumber(geometry != null ? geometry.getX() : 0);
+        builder.append(',');
+        appendNumber(geometry != null ? geometry.getY() : 0);
+        builder.append(',');
+        appendNumber(geometry != null ? geometry.getWidth() : 0);
+        builder.append(',');
+        appendNumber(geometry != null ? geometry.getHeight() : 0);
+        builder.append(']');
+        appendStringIfNot("s", node.getShape(), DEFAULT_SHAPE);
+        appendStringIfNot("u", node.getImgUrl(), "");
+        if (!node.isMovable())
+            key("m").append(0);
+        appendStringIfNot("p", node.getParentId(), "");
+        appendStringIfNot("l", node.getLabel(), "");
+        if (full && node.getTools() != null && !node.getTools().isEmpty()) {
+            key("t").append('[');
+            boolean first = true;
+            for (String tool : node.getTools()) {
+                if (!first)
+                    builder.append(',');
+                appendQuoted(tool);
+                first = false;
+            }
+            builder.append(']');
+        }
+        if (full && node instanceof X6Node x6Node && x6Node.isPort())
+            key("o").append(1);
+
+        X6NodeStyles styles = node.getNodeStyles();
+        appendCompactStyle("n", styles, DEFAULT_NODE_STYLES, () -> {
+            appendStringIfNot("f", styles != null ? styles.getFillColor() : null, DEFAULT_NODE_STYLES.getFillColor());
+            appendStringIfNot("c", styles != null ? styles.getStrokeColor() : null, DEFAULT_NODE_STYLES.getStrokeColor());
+            appendNumberIfNot("w", styles != null ? styles.getStrokeWidth() : 0, DEFAULT_NODE_STYLES.getStrokeWidth());
+            appendStringIfNot("d", styles != null ? styles.getDash() : null, DEFAULT_NODE_STYLES.getDash());
+            appendNumberIfNot("r", styles != null ? styles.getBorderRadius() : 0, DEFAULT_NODE_STYLES.getBorderRadius());
+            appendNumberIfNot("z", styles != null ? styles.getZIndex() : 0, DEFAULT_NODE_STYLES.getZIndex());
+        });
+
+        X6NodeLabelStyles labelStyles = node.getNodeLabelStyles();
+        appendCompactStyle("b", labelStyles, DEFAULT_NODE_LABEL_STYLES, () -> {
+            appendStringIfNot("c", labelStyles != null ? labelStyles.getFontColor() : null, DEFAULT_NODE_LABEL_STYLES.getFontColor());
+            appendNumberIfNot("s", labelStyles != null ? labelStyles.getFontSize() : 0, DEFAULT_NODE_LABEL_STYLES.getFontSize());
+            appendStringIfNot("a", labelStyles != null ? labelStyles.getFontFamily() : null, DEFAULT_NODE_LABEL_STYLES.getFontFamily());
+            appendStringIfNot("p", labelStyles != null ? labelStyles.getLabelPosition() : null, DEFAULT_NODE_LABEL_STYLES.getLabelPosition());
+            appendStringIfNot("v", labelStyles != null ? labelStyles.getVisibility() : null, DEFAULT_NODE_LABEL_STYLES.getVisibility());
+        });
+        builder.append('}');
+        return this;
+    }
+
+    /**
+    * Appends an edge in the compact format.
+    */
+    private JsonStreamGenerator appendCompactEdge(X6Edge edge) {
+        builder.append('{');
+        appendString("i", edge.getId());
+        appendStringIfNot("a", edge.getIdSource(), "");
+        appendStringIfNot("b", edge.getIdTarget(), "");
+
+        X6Polyline polyline = edge.getPolyline();
+        if (!polyline.isEmpty()) {
+            key("v").append('[');
+            for (int i = 0; i < polyline.size(); i++) {
+                if (i > 0)
+                    builder.append(',');
+                appendNumber(polyline.getX(i));
+                builder.append(',');
+                appendNumber(polyline.getY(i));
+            }
+            builder.append(']');
+        }
+
+        if (edge.getEdgeLabels() != null && !edge.getEdgeLabels().isEmpty()) {
+            key("l").append('[');
+            boolean first = true;
+            for (X6EdgeLabel label : edge.getEdgeLabels()) {
+                if (!first)
+                    builder.append(',');
+                X6EdgeLabelStyles styles = label.getEdgeLabelStyles();
+                builder.append('{');
+                appendString("l", label.getLabel());
+                appendNumberIfNot("d", label.getDistance(), DEFAULT_LABEL_DISTANCE);
+                appendCompactStyle("s", styles, DEFAULT_EDGE_LABEL_STYLES, () -> {
+                    appendStringIfNot("f", styles != null ? styles.getFillColor() : null, DEFAULT_EDGE_LABEL_STYLES.getFillColor());
+                    appendStringIfNot("c", styles != null ? styles.getFontColor() : null, DEFAULT_EDGE_LABEL_STYLES.getFontColor());
+                    appendNumberIfNot("s", styles != null ? styles.getFontSize() : 0, DEFAULT_EDGE_LABEL_STYLES.getFontSize());
+                    appendStringIfNot("a", styles != null ? styles.getFontFamily() : null, DEFAULT_EDGE_LABEL_STYLES.getFontFamily());
+                    appendNumberIfNot("r", styles != null ? styles.getBorderRadius() : 0, DEFAULT_EDGE_LABEL_STYLES.getBorderRadius());
+                });
+                builder.append('}');
+                first = false;
+            }
+            builder.append(']');
+        }
+
+        X6EdgeStyles styles = edge.getEdgeStyles();
+        appendCompactStyle("e", styles, DEFAULT_EDGE_STYLES, () -> {
+            appendStringIfNot("c", styles != null ? styles.getStrokeColor() : null, DEFAULT_EDGE_STYLES.getStrokeColor());
+            appendNumberIfNot("w", styles != null ? styles.getStrokeWidth() : 0, DEFAULT_EDGE_STYLES.getStrokeWidth());
+            appendNumberIfNot("d", styles != null ? styles.getDash() : 0, DEFAULT_EDGE_STYLES.getDash());
+            appendNumberIfNot("r", styles != null ? styles.getBorderRadius() : 0, DEFAULT_EDGE_STYLES.getBorderRadius());
+            appendNumberIfNot("z", styles != null ? styles.getZIndex() : 0, DEFAULT_EDGE_STYLES.getZIndex());
+        });
+        builder.append('}');
+        return this;
+    }
+
+    /**
+    * Appends a style object of the compact format. Interned styles (see {@link X6StyleRegistry})
+    * are written as a reference to their id; the first time an interned style is written, its
+    * content is kept as a pending definition (see {@link #takeStyleDefinitions()}).
+    * Styles that are not interned are written inline.
+    *
+    * @param name the key of the style
+    * @param styles the style, may be null
+    * @param defaultStyles the default style, omitted from the output
+    * @param writer writes the values of the style
+    */
+    private void appendCompactStyle(String name, Object styles, Object defaultStyles, Runnable writer) {
+        int styleId = X6StyleRegistry.getStyleId(styles);
+        if (styleId >= 0 && !styles.equals(defaultStyles)) {
+            key(name).append(styleId);
+            if (!sentStyles.get(styleId)) {
+                sentStyles.set(styleId);
+                sentStyleInstances.add(styles);
+                int mark = builder.length();
+                builder.append('{');
+                writer.run();
+                builder.append('}');
+                styleDefinitions.put(styleId, builder.substring(mark));
+                builder.setLength(mark);
+            }
+        } else {
+            int mark = openCompactObject(name);
+            writer.run();
+            closeCompactObject(mark);
+        }
+    }
+
+    /**
+    * Gets the definitions of the interned styles referenced for the first time since the
+    * last call, and clears them.
+    *
+    * @return the definitions as a JSON object indexed by style id, or null if there are none
+    */
+    public String takeStyleDefinitions() {
+        if (styleDefinitions.isEmpty())
+            return null;
+        StringBuilder definitions = new StringBuilder(styleDefinitions.size() * 48).append('{');
+        for (Map.Entry<Integer, String> definition : styleDefinitions.entrySet()) {
+            if (definitions.length() > 1)
+                definitions.append(',');
+            definitions.append('"').append(definition.getKey()).append("\":").append(definition.getValue());
+        }
+        styleDefinitions.clear();
+        return definitions.append('}').toString();
+    }
+
+    /**
+    * Forgets the styles already defined, so they are defined again the next time they are written.
+    * Must be called when the web component loses its style dictionary (e.g. when it is recreated).
+    */
+    public void resetStyleDefinitions() {
+        sentStyles.clear();
+        sentStyleInstances.clear();
+        styleDefinitions.clear();
+    }
+
+    /**
+    * Opens a nested object of the compact format.
+    *
+    * @return the position of the buffer before the object, used to discard it if it stays empty
+    */
+    private int openCompactObject(String name) {
+        int mark = builder.length();
+        key(name).append('{');
+        return mark;
+    }
+
+    /**
+    * Closes a nested object of the compact format, removing it if none of its values was written.
+    */
+    private void closeCompactObject(int mark) {
+        if (builder.charAt(builder.length() - 1) == '{')
+            builder.setLength(mark);
+        else
+            builder.append('}');
+    }
+
+    private void appendStringIfNot(String name, String value, String defaultValue) {
+        String actual = value != null ? value : "";
+        if (!actual.equals(defaultValue != null ? defaultValue : ""))
+            appendString(name, actual);
+    }
+
+    private void appendNumberIfNot(String name, double value, double defaultValue) {
+        if (Double.compare(value, defaultValue) != 0) {
+            key(name);
+            appendNumber(value);
+        }
+    }
+
+    /**
+    * Appends a number, without the decimal part when it is integral. NaN and the infinities
+    * are not valid JSON, they are written as 0.
+    */
+    private void appendNumber(double value) {
+        if (!Double.isFinite(value))
+            builder.append(0);
+        else if (value == Math.rint(value) && Math.abs(value) < 1e15)
+            builder.append((long) value);
+        else
+            builder.append(value);
+    }
+
+    private void appendGeometry(Geometry geometry) {
+        key("geometry").append('{');
+        key("coordinates").append('{');
+        appendDouble("x", geometry != null ? geometry.getX() : 0);
+        appendDouble("y", geometry != null ? geometry.getY() : 0);
+        builder.append('}');
+        key("dimensions").append('{');
+        appendDouble("width", geometry != null ? geometry.getWidth() : 0);
+        appendDouble("height", geometry != null ? geometry.getHeight() : 0);
+        builder.append("}}");
+    }
+
+    private void appendNodeProperties(X6AbstractNode node) {
+        appendString("shape", node.getShape());
+        appendString("imgUrl", node.getImgUrl());
+        key("movable").append(node.isMovable());
+        appendString("parentId", node.getParentId());
+        appendString("label", node.getLabel());
+    }
+
+    /**
+    * Appends the node styles. Text nodes write the border radius first, as
+    * {@link JsonGenerator#generateJsonNodeText} does.
+    */
+    private void appendNodeStyles(X6NodeStyles styles, boolean borderRadiusFirst) {
+        key("nodeStyles").append('{');
+        if (borderRadiusFirst)
+            appendInt("borderRadius", styles != null ? styles.getBorderRadius() : 0);
+        appendString("fillColor", styles != null ? styles.getFillColor() : null);
+        appendString("strokeColor", styles != null ? styles.getStrokeColor() : null);
+        appendDouble("strokeWidth", styles != null ? styles.getStrokeWidth() : 0);
+        appendString("dash", styles != null ? styles.getDash() : null);
+        if (!borderRadiusFirst)
+            appendInt("borderRadius", styles != null ? styles.getBorderRadius() : 0);
+        appendInt("zIndex", styles != null ? styles.getZIndex() : 0);
+        builder.append('}');
+    }
+
+    private void appendNodeLabelStyles(X6NodeLabelStyles styles) {
+        key("nodeLabelStyles").append('{');
+        appendString("fontColor", styles != null ? styles.getFontColor() : null);
+        appendDouble("fontSize", styles != null ? styles.getFontSize() : 0);
+        appendString("fontFamily", styles != null ? styles.getFontFamily() : null);
+        appendString("labelPosition", styles != null ? styles.getLabelPosition() : null);
+        appendString("visibility", styles != null ? styles.getVisibility() : null);
+        builder.append('}');
+    }
+
+    /**
+    * Writes the name of a property, preceded by a comma unless it is the first
+    * entry of the current object.
+    */
+    private StringBuilder key(String name) {
+        char last = builder.charAt(builder.length() - 1);
+        if (last != '{' && last != '[')
+            builder.append(',');
+        return builder.append('"').append(name).append("\":");
+    }
+
+    private void appendString(String name, String value) {
+        key(name);
+        appendQuoted(value);
+    }
+
+    private void appendDouble(String name, double value) {
+        if (Double.isFinite(value))
+            key(name).append(value);
+        else
+            key(name).append(0);
+    }
+
+    private void appendInt(String name, int value) {
+        key(name).append(value);
+    }
+
+    private void appendQuoted(String value) {
+        appendQuoted(builder, value);
+    }
+
+    /**
+    * Appends a quoted string (null is written as an empty string), escaping it the
+    * same way Gson does by default.
+    */
+    static void appendQuoted(StringBuilder builder, String value) {
+        builder.append('"');
+        if (value != null) {
+            int start = 0;
+            int length = value.length();
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                String replacement;
+                if (c == '"')
+                    replacement = "\\\"";
+                else if (c == '\\')
+                    replacement = "\\\\";
+                else if (c == '\u2028')
+                    replacement = "\\u2028";
+                else if (c == '\u2029')
+                    replacement = "\\u2029";
+                else if (c < 0x20)
+                    replacement = controlCharacter(c);
+                else
+                    continue;
+                builder.append(value, start, i).append(replacement);
+                start = i + 1;
+            }
+            builder.append(value, start, length);
+        }
+        builder.append('"');
+    }
+
+    private static String controlCharacter(char c) {
+        switch (c) {
+            case '\t': return "\\t";
+            case '\b': return "\\b";
+            case '\n': return "\\n";
+            case '\r': return "\\r";
+            case '\f': return "\\f";
+            default: return "\\u00" + HEX[c >> 4] + HEX[c & 0xf];
+        }
+    }
+}
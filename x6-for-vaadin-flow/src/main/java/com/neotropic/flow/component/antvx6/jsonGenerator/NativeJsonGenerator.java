@@ -0,0 +1,397 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.jsonGenerator;
+
+import com.neotropic.flow.component.antvx6.constants.X6Constants;
+import com.neotropic.flow.component.antvx6.objects.Geometry;
+import com.neotropic.flow.component.antvx6.objects.X6AbstractNode;
+import com.neotropic.flow.component.antvx6.objects.X6Cell;
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import com.neotropic.flow.component.antvx6.objects.X6EdgeLabel;
+import com.neotropic.flow.component.antvx6.objects.X6Node;
+import com.neotropic.flow.component.antvx6.objects.X6NodeBackground;
+import com.neotropic.flow.component.antvx6.objects.X6NodeText;
+import com.neotropic.flow.component.antvx6.objects.X6Polyline;
+import com.neotropic.flow.component.antvx6.styles.X6EdgeLabelStyles;
+import com.neotropic.flow.component.antvx6.styles.X6EdgeStyles;
+import com.neotropic.flow.component.antvx6.styles.X6NodeLabelStyles;
+import com.neotropic.flow.component.antvx6.styles.X6NodeStyles;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serializes cells as the cell metadata of AntV X6 itself, the JSON read by {@code graph.fromJSON}:
+ * <pre>
+ * {"backgroundId": id, "nodes": [background, nodes..., text nodes...], "edges": [edges...]}
+ * </pre>
+ * The attributes, labels, ports, connectors, tools and parent/children links are resolved on the
+ * server exactly as the {@code get*Metadata} functions of the web component resolve them for
+ * {@code drawCells}, so the web component loads the whole graph with a single {@code fromJSON}
+ * call instead of configuring each cell, see {@code loadFromJSON}.
+ *
+ * Keep in sync with the "Objects Configuration" section of x-6.ts. Instances are not thread-safe.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class NativeJsonGenerator {
+    private static final int DEFAULT_CAPACITY = 1024;
+    /*
+    * Ports of the nodes with a port, see getNodePortConfiguration in x-6.ts.
+    */
+    private static final String PORTS = "{\"groups\":{\"group1\":{\"position\":{\"name\":\"absolute\","
+            + "\"args\":{\"x\":\"100%\",\"y\":\"90%\"}},\"attrs\":{\"circle\":{\"r\":6,\"magnet\":true,"
+            + "\"stroke\":\"#31d0c6\",\"fill\":\"#fff\",\"strokeWidth\":2}}}},"
+            + "\"items\":[{\"id\":\"port1\",\"group\":\"group1\"}]}";
+    /*
+    * The node editor tool, see setNodeEditorTool in x-6.ts.
+    */
+    private static final String NODE_EDITOR_TOOL = "{\"name\":\"" + X6Constants.NODE_EDITOR + "\",\"args\":{"
+            + "\"x\":\"20%\",\"y\":\"50%\",\"getText\":\"label/text\",\"setText\":\"label/text\"}}";
+    private final StringBuilder builder;
+    /*
+    * Ids of the children and of the parent of each node, filled before the cells are written.
+    */
+    private final Map<String, List<String>> children;
+    private final Map<String, String> parents;
+
+    public NativeJsonGenerator() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public NativeJsonGenerator(int capacity) {
+        this.builder = new StringBuilder(capacity);
+        this.children = new HashMap<>();
+        this.parents = new HashMap<>();
+    }
+
+    /**
+    * Clears the buffer, keeping its capacity.
+    *
+    * @return this generator
+    */
+    public NativeJsonGenerator reset() {
+        builder.setLength(0);
+        return this;
+    }
+
+    /**
+    * Gets the buffer where the JSON is written.
+    *
+    * @return the underlying buffer
+    */
+    public StringBuilder getBuilder() {
+        return builder;
+    }
+
+    @Override
+    public String toString() {
+        return builder.toString();
+    }
+
+    /**
+    * Serializes a batch of cells, see {@link #appendCells(Collection)}.
+    *
+    * @param cells the background, nodes, text nodes and edges
+    * @return the JSON of the cells
+    */
+    public String generateCells(Collection<? extends X6Cell> cells) {
+        reset();
+        appendCells(cells);
+        return builder.toString();
+    }
+
+    /**
+    * Appends a batch of cells: the background first, then the nodes, the text nodes and the
+    * edges, each group in the order of the collection. A node is made a child of its parent
+    * only if the parent is one of the nodes of the batch, as {@code setParent} does when the
+    * cells are drawn one by one.
+    *
+    * @param cells the background, nodes, text nodes and edges
+    * @return this generator
+    */
+    public NativeJsonGenerator appendCells(Collection<? extends X6Cell> cells) {
+        X6NodeBackground background = null;
+        Set<String> nodeIds = new HashSet<>(cells.size() * 4 / 3 + 1);
+        for (X6Cell cell : cells) {
+            if (cell instanceof X6NodeBackground nodeBackground)
+                background = nodeBackground;
+            if (cell instanceof X6AbstractNode)
+                nodeIds.add(cell.getId());
+        }
+        children.clear();
+        parents.clear();
+        for (X6Cell cell : cells) {
+            if (cell instanceof X6Node node)
+                addChild(node, nodeIds);
+        }
+        for (X6Cell cell : cells) {
+            if (cell instanceof X6NodeText nodeText)
+                addChild(nodeText, nodeIds);
+        }
+
+        builder.append('{');
+        if (background != null) {
+            key("backgroundId");
+            JsonStreamGenerator.appendQuoted(builder, background.getId());
+        }
+        key("nodes").append('[');
+        if (background != null)
+            appendNode(background, false, true);
+        for (X6Cell cell : cells) {
+            if (cell instanceof X6Node node)
+                appendNode(node, node.isPort(), true);
+        }
+        for (X6Cell cell : cells) {
+            if (cell instanceof X6NodeText nodeText)
+                appendNode(nodeText, false, false);
+        }
+        builder.append(']');
+        key("edges").append('[');
+        for (X6Cell cell : cells) {
+            if (cell instanceof X6Edge edge)
+                appendEdge(edge);
+        }
+        builder.append("]}");
+        children.clear();
+        parents.clear();
+        return this;
+    }
+
+    private void addChild(X6AbstractNode node, Set<String> nodeIds) {
+        String parentId = node.getParentId();
+        if (parentId != null && !parentId.isEmpty() && node.getId() != null && !node.getId().isEmpty() 
+                && nodeIds.contains(parentId)) {
+            children.computeIfAbsent(parentId, key -> new ArrayList<>()).add(node.getId());
+            parents.put(node.getId(), parentId);
+        }
+    }
+
+    /**
+    * Appends a node, text node or background node.
+    *
+    * @param node the node
+    * @param port whether the node has a port
+    * @param full true to also write the image, the ports and the z-index, as done for the
+    *             nodes and the background but not for the text nodes
+    */
+    private void appendNode(X6AbstractNode node, boolean port, boolean full) {
+        Geometry geometry = node.getGeometry();
+        X6NodeStyles styles = node.getNodeStyles();
+        comma();
+        builder.append('{');
+        appendString("id", node.getId());
+        appendString("shape", node.getShape());
+        appendDouble("x", geometry != null ? geometry.getX() : 0);
+        appendDouble("y", geometry != null ? geometry.getY() : 0);
+        appendDouble("width", geometry != null ? geometry.getWidth() : 0);
+        appendDouble("height", geometry != null ? geometry.getHeight() : 0);
+        key("data").append('{');
+        key("enableMove").append(node.isMovable());
+        builder.append('}');
+        if (full)
+            appendString("imageUrl", node.getImgUrl());
+
+        key("attrs").append('{');
+        key("body").append('{');
+        appendString("fill", styles != null ? styles.getFillColor() : null);
+        appendString("stroke", styles != null ? styles.getStrokeColor() : null);
+        appendDouble("strokeWidth", styles != null ? styles.getStrokeWidth() : 0);
+        appendString("strokeDasharray", styles != null ? styles.getDash() : null);
+        appendInt("rx", styles != null ? styles.getBorderRadius() : 0);
+        appendInt("ry", styles != null ? styles.getBorderRadius() : 0);
+        builder.append('}');
+        appendNodeLabel(node.getLabel(), node.getNodeLabelStyles());
+        builder.append('}');
+
+        if (full) {
+            if (!(node instanceof X6NodeBackground))
+                key("ports").append(port ? PORTS : "{}");
+            appendInt("zIndex", styles != null ? styles.getZIndex() : 0);
+        }
+        if (node instanceof X6Node && node.getTools() != null && node.getTools().contains(X6Constants.NODE_EDITOR))
+            key("tools").append('[').append(NODE_EDITOR_TOOL).append(']');
+        String parentId = parents.get(node.getId());
+        if (parentId != null && !(node instanceof X6NodeBackground))
+            appendString("parent", parentId);
+        List<String> nodeChildren = children.get(node.getId());
+        if (nodeChildren != null) {
+            key("children").append('[');
+            for (String child : nodeChildren) {
+                comma();
+                JsonStreamGenerator.appendQuoted(builder, child);
+            }
+            builder.append(']');
+        }
+        builder.append('}');
+    }
+
+    /**
+    * Appends the label of a node, centered or below the node, see getNodeLabelConfiguration in x-6.ts.
+    */
+    private void appendNodeLabel(String label, X6NodeLabelStyles styles) {
+        boolean bottom = styles != null && X6Constants.LABEL_NODE_POSITION_BOTTOM.equals(styles.getLabelPosition());
+        key("label").append('{');
+        appendString("text", label);
+        appendDouble("fontSize", styles != null ? styles.getFontSize() : 0);
+        appendString("fontFamily", styles != null ? styles.getFontFamily() : null);
+        appendString("fill", styles != null ? styles.getFontColor() : null);
+        appendDouble("refX", 0.5);
+        if (bottom) {
+            appendString("refY", "100%");
+            appendInt("refY2", 4);
+        } else {
+            appendDouble("refY", 0.5);
+        }
+        appendString("textAnchor", "middle");
+        appendString("textVerticalAnchor", bottom ? "top" : "middle");
+        appendString("visibility", styles != null ? styles.getVisibility() : null);
+        builder.append('}');
+    }
+
+    /**
+    * Appends an edge with its connector, labels and vertices, see getEdgeMetadata in x-6.ts.
+    */
+    private void appendEdge(X6Edge edge) {
+        X6EdgeStyles styles = edge.getEdgeStyles();
+        int borderRadius = styles != null ? styles.getBorderRadius() : 0;
+        comma();
+        builder.append('{');
+        appendString("id", edge.getId());
+        appendString("source", edge.getIdSource());
+        appendString("target", edge.getIdTarget());
+        appendInt("zIndex", styles != null ? styles.getZIndex() : 0);
+        key("connector").append('{');
+        if (borderRadius > 0) {
+            appendString("name", "rounded");
+            key("args").append('{');
+            appendInt("radius", borderRadius);
+            builder.append('}');
+        } else {
+            appendString("name", "normal");
+        }
+        builder.append('}');
+
+        key("attrs").append('{');
+        key("line").append('{');
+        key("sourceMarker").append("null");
+        key("targetMarker").append("null");
+        appendString("stroke", styles != null ? styles.getStrokeColor() : null);
+        appendDouble("strokeWidth", styles != null ? styles.getStrokeWidth() : 0);
+        appendDouble("strokeDasharray", styles != null ? styles.getDash() : 0);
+        builder.append("}}");
+
+        key("labels").append('[');
+        if (edge.getEdgeLabels() != null) {
+            for (X6EdgeLabel label : edge.getEdgeLabels()) {
+                if (label.getLabel() != null && !label.getLabel().isEmpty() 
+                        && label.getDistance() >= 0 && label.getDistance() <= 1)
+                    appendEdgeLabel(label);
+            }
+        }
+        builder.append(']');
+
+        key("vertices").append('[');
+        X6Polyline polyline = edge.getPolyline();
+        for (int i = 0; i < polyline.size(); i++) {
+            comma();
+            builder.append('{');
+            appendDouble("x", polyline.getX(i));
+            appendDouble("y", polyline.getY(i));
+            builder.append('}');
+        }
+        builder.append("]}");
+    }
+
+    /**
+    * Appends a label of an edge, see getEdgeLabelsConfiguration in x-6.ts.
+    */
+    private void appendEdgeLabel(X6EdgeLabel label) {
+        X6EdgeLabelStyles styles = label.getEdgeLabelStyles();
+        int borderRadius = styles != null ? styles.getBorderRadius() : 0;
+        comma();
+        builder.append('{');
+        key("attrs").append('{');
+        key("text").append('{');
+        appendString("text", label.getLabel());
+        appendDouble("fontSize", styles != null ? styles.getFontSize() : 0);
+        appendString("fontFamily", styles != null ? styles.getFontFamily() : null);
+        appendString("fill", styles != null ? styles.getFontColor() : null);
+        appendString("textAnchor", "middle");
+        appendString("textVerticalAnchor", "middle");
+        builder.append('}');
+        key("rect").append('{');
+        appendString("fill", styles != null ? styles.getFillColor() : null);
+        appendString("ref", "text");
+        appendInt("refX", -4);
+        appendInt("refY", -2);
+        appendString("refWidth", "100%");
+        appendString("refHeight", "100%");
+        appendInt("refWidth2", 8);
+        appendInt("refHeight2", 5);
+        appendString("stroke", "black");
+        appendInt("strokeWidth", 1);
+        appendInt("rx", borderRadius);
+        appendInt("ry", borderRadius);
+        builder.append("}}");
+        key("position").append('{');
+        appendDouble("distance", label.getDistance());
+        appendInt("offset", 0);
+        builder.append("}}");
+    }
+
+    /**
+    * Writes a comma unless the next value is the first of the current array.
+    */
+    private void comma() {
+        if (builder.charAt(builder.length() - 1) != '[')
+            builder.append(',');
+    }
+
+    /**
+    * Writes the name of a property, preceded by a comma unless it is the first
+    * entry of the current object.
+    */
+    private StringBuilder key(String name) {
+        char last = builder.charAt(builder.length() - 1);
+        if (last != '{' && last != '[')
+            builder.append(',');
+        return builder.append('"').append(name).append("\":");
+    }
+
+    private void appendString(String name, String value) {
+        key(name);
+        JsonStreamGenerator.appendQuoted(builder, value);
+    }
+
+    /**
+    * Writes a number; NaN and the infinities are not valid JSON and would make the web
+    * component reject the whole graph, they are written as 0.
+    */
+    private void appendDouble(String name, double value) {
+        if (Double.isFinite(value))
+            key(name).append(value);
+        else
+            key(name).append(0);
+    }
+
+    private void appendInt(String name, int value) {
+        key(name).append(value);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.layout;
+
+import com.neotropic.flow.component.antvx6.objects.Geometry;
+import com.neotropic.flow.component.antvx6.objects.X6AbstractNode;
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact representation of the graph handed to a layout: the nodes are numbered by
+ * their position in the input list and the edges are stored as adjacency arrays
+ * (offsets plus neighbours), so the algorithms work on primitive arrays only.
+ * 
+ * Edges whose endpoints are not among the nodes, and self loops, are ignored.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+final class LayoutGraph {
+    /**
+    * The nodes, in the order used to number them.
+    */
+    final List<? extends X6AbstractNode> nodes;
+    /**
+    * Number of nodes.
+    */
+    final int size;
+    final double[] widths;
+    final double[] heights;
+    /**
+    * Current position (top left corner) of the nodes.
+    */
+    final double[] x;
+    final double[] y;
+    /**
+    * The targets of node i are outTargets[outOffsets[i] .. outOffsets[i + 1] - 1].
+    */
+    final int[] outOffsets;
+    final int[] outTargets;
+    /**
+    * The sources of node i are inSources[inOffsets[i] .. inOffsets[i + 1] - 1].
+    */
+    final int[] inOffsets;
+    final int[] inSources;
+
+    private LayoutGraph(List<? extends X6AbstractNode> nodes, int edgeCount) {
+        this.nodes = nodes;
+        this.size = nodes.size();
+        this.widths = new double[size];
+        this.heights = new double[size];
+        this.x = new double[size];
+        this.y = new double[size];
+        this.outOffsets = new int[size + 1];
+        this.outTargets = new int[edgeCount];
+        this.inOffsets = new int[size + 1];
+        this.inSources = new int[edgeCount];
+    }
+
+    /**
+    * Builds the graph of the given nodes and edges.
+    *
+    * @param nodes the nodes, numbered by their position in the list
+    * @param edges the edges between the nodes
+    * @return the graph
+    */
+    static LayoutGraph of(List<? extends X6AbstractNode> nodes, Collection<X6Edge> edges) {
+        int size = nodes.size();
+        Map<String, Integer> indexes = new HashMap<>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; i++)
+            indexes.putIfAbsent(nodes.get(i).getId(), i);
+
+        int edgeCount = 0;
+        int[] sources = new int[edges != null ? edges.size() : 0];
+        int[] targets = new int[sources.length];
+        if (edges != null) {
+            for (X6Edge edge : edges) {
+                Integer source = indexes.get(edge.getIdSource());
+                Integer target = indexes.get(edge.getIdTarget());
+                if (source != null && target != null && !source.equals(target)) {
+                    sources[edgeCount] = source;
+                    targets[edgeCount] = target;
+                    edgeCount++;
+                }
+            }
+        }
+
+        LayoutGraph graph = new LayoutGraph(nodes, edgeCount);
+        for (int i = 0; i < size; i++) {
+            Geometry geometry = nodes.get(i).getGeometry();
+            if (geometry != null) {
+                graph.widths[i] = geometry.getWidth();
+                graph.heights[i] = geometry.getHeight();
+                graph.x[i] = geometry.getX();
+                graph.y[i] = geometry.getY();
+            }
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            graph.outOffsets[sources[e] + 1]++;
+            graph.inOffsets[targets[e] + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            graph.outOffsets[i + 1] += graph.outOffsets[i];
+            graph.inOffsets[i + 1] += graph.inOffsets[i];
+        }
+        int[] outNext = new int[size];
+        int[] inNext = new int[size];
+        for (int e = 0; e < edgeCount; e++) {
+            int source = sources[e];
+            int target = targets[e];
+            graph.outTargets[graph.outOffsets[source] + outNext[source]++] = target;
+            graph.inSources[graph.inOffsets[target] + inNext[target]++] = source;
+        }
+        return graph;
+    }
+
+    int outDegree(int node) {
+        return outOffsets[node + 1] - outOffsets[node];
+    }
+
+    int inDegree(int node) {
+        return inOffsets[node + 1] - inOffsets[node];
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.layout;
+
+import java.util.Arrays;
+
+/**
+ * Quadtree of point masses used by the Barnes-Hut approximation, stored in flat arrays
+ * so it can be rebuilt every iteration without allocating one object per cell.
+ * 
+ * Every cell keeps the number of bodies it contains and the sum of their positions;
+ * a leaf also keeps its body. Bodies that keep sharing a cell at the maximum depth are
+ * merged into that leaf. Once built, the tree is only read, so it can be traversed
+ * from several threads.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+final class QuadTree {
+    /**
+    * Depth after which the cells are not split any more.
+    */
+    static final int MAX_DEPTH = 48;
+    /**
+    * Marks an empty leaf.
+    */
+    static final int EMPTY = -1;
+    /**
+    * Marks a leaf that merged several bodies.
+    */
+    static final int MERGED = -2;
+
+    int cells;
+    double[] minX;
+    double[] minY;
+    double[] sizes;
+    double[] sumX;
+    double[] sumY;
+    int[] masses;
+    /**
+    * Index of the first of the four consecutive children of a cell, or -1 for a leaf.
+    */
+    int[] firstChild;
+    int[] bodies;
+
+    QuadTree(int capacity) {
+        allocate(Math.max(capacity, 4));
+    }
+
+    /**
+    * Builds the tree of the given bodies, reusing the arrays of the previous build.
+    *
+    * @param x the x coordinates of the bodies
+    * @param y the y coordinates of the bodies
+    */
+    void build(double[] x, double[] y) {
+        double left = Double.POSITIVE_INFINITY, top = Double.POSITIVE_INFINITY;
+        double right = Double.NEGATIVE_INFINITY, bottom = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < x.length; i++) {
+            left = Math.min(left, x[i]);
+            top = Math.min(top, y[i]);
+            right = Math.max(right, x[i]);
+            bottom = Math.max(bottom, y[i]);
+        }
+        cells = 0;
+        newCell(left, top, Math.max(Math.max(right - left, bottom - top), 1) * 1.0001);
+        for (int i = 0; i < x.length; i++)
+            insert(i, x[i], y[i]);
+    }
+
+    private void insert(int body, double x, double y) {
+        int cell = 0;
+        for (int depth = 0; ; depth++) {
+            if (firstChild[cell] < 0) {
+                if (masses[cell] == 0) {
+                    bodies[cell] = body;
+                    addMass(cell, x, y);
+                    return;
+                }
+                if (depth >= MAX_DEPTH) {
+                    bodies[cell] = MERGED;
+                    addMass(cell, x, y);
+                    return;
+                }
+                // split the leaf and move its body down
+                int existing = bodies[cell];
+                double existingX = sumX[cell];
+                double existingY = sumY[cell];
+                split(cell);
+                int child = quadrant(cell, existingX, existingY);
+                bodies[child] = existing;
+                addMass(child, existingX, existingY);
+            }
+            addMass(cell, x, y);
+            cell = quadrant(cell, x, y);
+        }
+    }
+
+    private void split(int cell) {
+        double half = sizes[cell] / 2;
+        double left = minX[cell];
+        double top = minY[cell];
+        bodies[cell] = EMPTY;
+        int first = newCell(left, top, half);
+        newCell(left + half, top, half);
+        newCell(left, top + half, half);
+        newCell(left + half, top + half, half);
+        firstChild[cell] = first;
+    }
+
+    private int quadrant(int cell, double x, double y) {
+        double half = sizes[cell] / 2;
+        int index = (x >= minX[cell] + half ? 1 : 0) + (y >= minY[cell] + half ? 2 : 0);
+        return firstChild[cell] + index;
+    }
+
+    private void addMass(int cell, double x, double y) {
+        sumX[cell] += x;
+        sumY[cell] += y;
+        masses[cell]++;
+    }
+
+    private int newCell(double left, double top, double size) {
+        if (cells == sizes.length)
+            allocate(cells * 2);
+        int cell = cells++;
+        minX[cell] = left;
+        minY[cell] = top;
+        sizes[cell] = size;
+        sumX[cell] = 0;
+        sumY[cell] = 0;
+        masses[cell] = 0;
+        firstChild[cell] = -1;
+        bodies[cell] = EMPTY;
+        return cell;
+    }
+
+    private void allocate(int capacity) {
+        minX = minX == null ? new double[capacity] : Arrays.copyOf(minX, capacity);
+        minY = minY == null ? new double[capacity] : Arrays.copyOf(minY, capacity);
+        sizes = sizes == null ? new double[capacity] : Arrays.copyOf(sizes, capacity);
+        sumX = sumX == null ? new double[capacity] : Arrays.copyOf(sumX, capacity);
+        sumY = sumY == null ? new double[capacity] : Arrays.copyOf(sumY, capacity);
+        masses = masses == null ? new int[capacity] : Arrays.copyOf(masses, capacity);
+        firstChild = firstChild == null ? new int[capacity] : Arrays.copyOf(firstChild, capacity);
+        bodies = bodies == null ? new int[capacity] : Arrays.copyOf(bodies, capacity);
+    }
+
+    /**
+    * Checks whether a point lies inside the square of a cell.
+    */
+    boolean contains(int cell, double x, double y) {
+        return x >= minX[cell] && x < minX[cell] + sizes[cell]
+                && y >= minY[cell] && y < minY[cell] + sizes[cell];
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.layout;
+
+import com.neotropic.flow.component.antvx6.objects.X6AbstractNode;
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import java.util.Collection;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Base class of the layouts: converts the nodes and edges into a {@link LayoutGraph},
+ * runs the algorithm over its arrays and moves the result so its top left corner
+ * is at the origin.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+@Getter
+@Setter
+public abstract class X6AbstractLayout implements X6Layout {
+    /**
+    * The x coordinate of the top left corner of the laid out graph.
+    */
+    private double originX;
+    /**
+    * The y coordinate of the top left corner of the laid out graph.
+    */
+    private double originY;
+
+    @Override
+    public X6LayoutResult compute(List<? extends X6AbstractNode> nodes, Collection<X6Edge> edges) {
+        LayoutGraph graph = LayoutGraph.of(nodes, edges);
+        double[] x = new double[graph.size];
+        double[] y = new double[graph.size];
+        if (graph.size > 0)
+            layout(graph, x, y);
+        return createResult(graph, x, y);
+    }
+
+    /**
+    * Creates the result of the layout, moving the positions so the graph starts at the origin.
+    *
+    * @param graph the graph that was laid out
+    * @param x the x coordinates of the nodes, modified in place
+    * @param y the y coordinates of the nodes, modified in place
+    * @return the result
+    */
+    X6LayoutResult createResult(LayoutGraph graph, double[] x, double[] y) {
+        if (graph.size > 0)
+            translate(x, y);
+        return new X6LayoutResult(graph.nodes, x, y);
+    }
+
+    /**
+    * Computes the position of the top left corner of every node.
+    *
+    * @param graph the graph to lay out
+    * @param x where the x coordinates are written
+    * @param y where the y coordinates are written
+    */
+    abstract void layout(LayoutGraph graph, double[] x, double[] y);
+
+    private void translate(double[] x, double[] y) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < x.length; i++) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+        }
+        double dx = originX - minX;
+        double dy = originY - minY;
+        for (int i = 0; i < x.length; i++) {
+            x[i] += dx;
+            y[i] += dy;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.layout;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Force-directed layout for large graphs. It simulates the same forces as
+ * {@link X6ForceDirectedLayout}, but the repulsion is approximated with a quadtree
+ * (the Barnes-Hut method): a group of distant nodes pushes like a single node placed at
+ * its center of mass, which makes every iteration O(n log n) instead of quadratic.
+ * The forces of each iteration are computed by a fork/join task split across the cores.
+ * 
+ * The simulation stops after the maximum number of iterations, or before when the mean
+ * movement of the nodes in an iteration falls below the convergence threshold.
+ * To show the progress, a listener receives a snapshot of the positions every few iterations,
+ * which can be sent to the browser while the layout goes on, e.g.:
+ * <pre>
+ * layout.setProgressListener(snapshot -&gt; ui.access(() -&gt; antvX6.moveNodes(snapshot)));
+ * antvX6.computeLayoutAsync(layout, executor)
+ *       .thenAccept(result -&gt; ui.access(() -&gt; antvX6.moveNodes(result)));
+ * </pre>
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+@Getter
+@Setter
+public class X6BarnesHutLayout extends X6AbstractLayout {
+    /**
+    * Number of nodes below which a task computes the forces instead of splitting.
+    */
+    private static final int TASK_SIZE = 256;
+    /**
+    * Maximum number of iterations of the simulation.
+    */
+    private int maxIterations;
+    /**
+    * Mean movement of the nodes in an iteration under which the simulation is considered settled.
+    */
+    private double convergenceThreshold;
+    /**
+    * Accuracy of the approximation: a group is treated as a single node when its size divided
+    * by its distance is below this value. Lower is more accurate and slower; 0 is exact.
+    */
+    private double theta;
+    /**
+    * Desired distance between the centers of two connected nodes.
+    */
+    private double idealEdgeLength;
+    /**
+    * Strength of the pull towards the center of the graph.
+    */
+    private double gravity;
+    /**
+    * Pool where the forces are computed; null to use the common pool.
+    */
+    private ForkJoinPool pool;
+    /**
+    * Number of iterations between two progress snapshots.
+    */
+    private int progressInterval;
+    /**
+    * Receives a snapshot of the positions every {@link #progressInterval} iterations; may be null.
+    * It is called from the thread that computes the layout.
+    */
+    private Consumer<X6LayoutResult> progressListener;
+
+    public X6BarnesHutLayout() {
+        this(500, 0.5, 1.0);
+    }
+
+    public X6BarnesHutLayout(int maxIterations, double convergenceThreshold, double theta) {
+        this.maxIterations = maxIterations;
+        this.convergenceThreshold = convergenceThreshold;
+        this.theta = theta;
+        this.idealEdgeLength = 150;
+        this.gravity = 0.05;
+        this.progressInterval = 20;
+    }
+
+    @Override
+    void layout(LayoutGraph graph, double[] x, double[] y) {
+        int size = graph.size;
+        Simulation simulation = new Simulation(graph);
+        X6ForceDirectedLayout.initialCenters(graph, simulation.cx, simulation.cy, idealEdgeLength);
+        ForkJoinPool forkJoinPool = pool != null ? pool : ForkJoinPool.commonPool();
+        double startTemperature = idealEdgeLength * Math.max(1, Math.sqrt(size)) / 2;
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            simulation.prepare();
+            forkJoinPool.invoke(simulation.new Forces(0, size));
+            double temperature = startTemperature * (1 - (double) iteration / maxIterations);
+            double movement = simulation.move(temperature);
+            boolean settled = movement / size < convergenceThreshold;
+
+            if (progressListener != null && progressInterval > 0 && !settled
+                    && (iteration + 1) % progressInterval == 0 && iteration + 1 < maxIterations) {
+                double[] snapshotX = new double[size];
+                double[] snapshotY = new double[size];
+                simulation.corners(snapshotX, snapshotY);
+                progressListener.accept(createResult(graph, snapshotX, snapshotY));
+            }
+            if (settled)
+                break;
+        }
+        simulation.corners(x, y);
+    }
+
+    /**
+    * State of the simulation: the centers of the nodes, the forces of the current iteration
+    * and the quadtree of the centers.
+    */
+    private final class Simulation {
+        private final LayoutGraph graph;
+        private final double[] cx;
+        private final double[] cy;
+        private final double[] forceX;
+        private final double[] forceY;
+        private final QuadTree tree;
+        private double meanX;
+        private double meanY;
+
+        private Simulation(LayoutGraph graph) {
+            this.graph = graph;
+            this.cx = new double[graph.size];
+            this.cy = new double[graph.size];
+            this.forceX = new double[graph.size];
+            this.forceY = new double[graph.size];
+            this.tree = new QuadTree(graph.size * 2);
+        }
+
+        private void prepare() {
+            tree.build(cx, cy);
+            meanX = tree.sumX[0] / graph.size;
+            meanY = tree.sumY[0] / graph.size;
+        }
+
+        /**
+        * Moves every node along its force, limited by the temperature.
+        *
+        * @return the sum of the movements
+        */
+        private double move(double temperature) {
+            double movement = 0;
+            for (int i = 0; i < graph.size; i++) {
+                double length = Math.sqrt(forceX[i] * forceX[i] + forceY[i] * forceY[i]);
+                if (length > 0) {
+                    double step = Math.min(length, temperature);
+                    cx[i] += forceX[i] * step / length;
+                    cy[i] += forceY[i] * step / length;
+                    movement += step;
+                }
+            }
+            return movement;
+        }
+
+        private void corners(double[] x, double[] y) {
+            for (int i = 0; i < graph.size; i++) {
+                x[i] = cx[i] - graph.widths[i] / 2;
+                y[i] = cy[i] - graph.heights[i] / 2;
+            }
+        }
+
+        private void computeForce(int i, int[] stack) {
+            double k = idealEdgeLength;
+            double k2 = k * k;
+            double xi = cx[i];
+            double yi = cy[i];
+            double fx = 0;
+            double fy = 0;
+
+            int top = 0;
+            stack[top++] = 0;
+            while (top > 0) {
+                int cell = stack[--top];
+                int mass = tree.masses[cell];
+                if (mass == 0)
+                    continue;
+                boolean leaf = tree.firstChild[cell] < 0;
+                if (leaf && tree.bodies[cell] == i)
+                    continue;
+                double centerX = tree.sumX[cell] / mass;
+                double centerY = tree.sumY[cell] / mass;
+                double deltaX = xi - centerX;
+                double deltaY = yi - centerY;
+                double distance2 = deltaX * deltaX + deltaY * deltaY;
+                if (!leaf && (tree.contains(cell, xi, yi) || tree.sizes[cell] * tree.sizes[cell] >= theta * theta * distance2)) {
+                    int first = tree.firstChild[cell];
+                    stack[top++] = first;
+                    stack[top++] = first + 1;
+                    stack[top++] = first + 2;
+                    stack[top++] = first + 3;
+                    continue;
+                }
+                if (leaf && tree.bodies[cell] == QuadTree.MERGED && tree.contains(cell, xi, yi)) {
+                    // the merged leaf includes this node, which must not push itself
+                    if (--mass == 0)
+                        continue;
+                }
+                if (distance2 < 1e-4) {
+                    deltaX = 0.01;
+                    deltaY = 0.01;
+                    distance2 = 2e-4;
+                }
+                double repulsion = k2 * mass / distance2;
+                fx += deltaX * repulsion;
+                fy += deltaY * repulsion;
+            }
+
+            for (int e = graph.outOffsets[i]; e < graph.outOffsets[i + 1]; e++) {
+                int other = graph.outTargets[e];
+                double deltaX = xi - cx[other];
+                double deltaY = yi - cy[other];
+                double pull = Math.sqrt(deltaX * deltaX + deltaY * deltaY) / k;
+                fx -= deltaX * pull;
+                fy -= deltaY * pull;
+            }
+            for (int e = graph.inOffsets[i]; e < graph.inOffsets[i + 1]; e++) {
+                int other = graph.inSources[e];
+                double deltaX = xi - cx[other];
+                double deltaY = yi - cy[other];
+                double pull = Math.sqrt(deltaX * deltaX + deltaY * deltaY) / k;
+                fx -= deltaX * pull;
+                fy -= deltaY * pull;
+            }
+            forceX[i] = fx - gravity * (xi - meanX);
+            forceY[i] = fy - gravity * (yi - meanY);
+        }
+
+        /**
+        * Computes the forces of a range of nodes, splitting the range while it is large.
+        */
+        @SuppressWarnings("serial")
+        private final class Forces extends RecursiveAction {
+            private final int from;
+            private final int to;
+
+            private Forces(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from > TASK_SIZE) {
+                    int middle = (from + to) >>> 1;
+                    invokeAll(new Forces(from, middle), new Forces(middle, to));
+                    return;
+                }
+                int[] stack = new int[3 * QuadTree.MAX_DEPTH + 4];
+                for (int i = from; i < to; i++)
+                    computeForce(i, stack);
+            }
+        }
+    }
+}
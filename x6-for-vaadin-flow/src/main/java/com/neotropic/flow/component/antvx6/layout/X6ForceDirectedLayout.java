@@ -0,0 +1,170 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.layout;
+
+import java.util.stream.IntStream;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Places the nodes by simulating forces (the Fruchterman-Reingold method): every pair of
+ * nodes repels each other, the edges pull their endpoints together and a weak gravity
+ * keeps the disconnected parts close. The movement allowed per iteration decreases until
+ * the nodes settle.
+ * 
+ * The simulation starts from the current position of the nodes; when they all share the
+ * same position, they are first spread on a spiral. The repulsion between every pair of
+ * nodes is computed in parallel on the common fork-join pool, which makes each iteration
+ * quadratic in the number of nodes, so this layout is meant for graphs of a few thousand nodes.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+@Getter
+@Setter
+public class X6ForceDirectedLayout extends X6AbstractLayout {
+    /**
+    * Below this number of nodes the forces are computed in the calling thread.
+    */
+    private static final int PARALLEL_THRESHOLD = 512;
+    /**
+    * Number of iterations of the simulation.
+    */
+    private int iterations;
+    /**
+    * Desired distance between the centers of two connected nodes.
+    */
+    private double idealEdgeLength;
+    /**
+    * Strength of the pull towards the center of the graph.
+    */
+    private double gravity;
+    /**
+    * Whether the forces are computed in parallel.
+    */
+    private boolean parallel;
+
+    public X6ForceDirectedLayout() {
+        this(300, 150, 0.05, true);
+    }
+
+    public X6ForceDirectedLayout(int iterations, double idealEdgeLength, double gravity, boolean parallel) {
+        this.iterations = iterations;
+        this.idealEdgeLength = idealEdgeLength;
+        this.gravity = gravity;
+        this.parallel = parallel;
+    }
+
+    @Override
+    void layout(LayoutGraph graph, double[] x, double[] y) {
+        int size = graph.size;
+        double[] cx = new double[size];
+        double[] cy = new double[size];
+        initialCenters(graph, cx, cy, idealEdgeLength);
+        double[] dx = new double[size];
+        double[] dy = new double[size];
+        double k = idealEdgeLength;
+        double startTemperature = k * Math.max(1, Math.sqrt(size)) / 2;
+        boolean inParallel = parallel && size >= PARALLEL_THRESHOLD;
+
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            double temperature = startTemperature * (1 - (double) iteration / iterations);
+            double centerX = 0;
+            double centerY = 0;
+            for (int i = 0; i < size; i++) {
+                centerX += cx[i];
+                centerY += cy[i];
+            }
+            final double meanX = centerX / size;
+            final double meanY = centerY / size;
+            IntStream nodes = IntStream.range(0, size);
+            (inParallel ? nodes.parallel() : nodes).forEach(i -> {
+                double forceX = 0;
+                double forceY = 0;
+                double xi = cx[i];
+                double yi = cy[i];
+                for (int j = 0; j < size; j++) {
+                    if (j == i)
+                        continue;
+                    double deltaX = xi - cx[j];
+                    double deltaY = yi - cy[j];
+                    double distance2 = deltaX * deltaX + deltaY * deltaY;
+                    if (distance2 < 1e-4) {
+                        // coincident nodes: push them apart in a direction given by their indexes
+                        deltaX = i < j ? 0.01 : -0.01;
+                        deltaY = 0.01;
+                        distance2 = 2e-4;
+                    }
+                    double repulsion = k * k / distance2;
+                    forceX += deltaX * repulsion;
+                    forceY += deltaY * repulsion;
+                }
+                // the edges pull proportionally to their squared length, in both directions
+                for (int e = graph.outOffsets[i]; e < graph.outOffsets[i + 1]; e++) {
+                    int other = graph.outTargets[e];
+                    double deltaX = xi - cx[other];
+                    double deltaY = yi - cy[other];
+                    double pull = Math.sqrt(deltaX * deltaX + deltaY * deltaY) / k;
+                    forceX -= deltaX * pull;
+                    forceY -= deltaY * pull;
+                }
+                for (int e = graph.inOffsets[i]; e < graph.inOffsets[i + 1]; e++) {
+                    int other = graph.inSources[e];
+                    double deltaX = xi - cx[other];
+                    double deltaY = yi - cy[other];
+                    double pull = Math.sqrt(deltaX * deltaX + deltaY * deltaY) / k;
+                    forceX -= deltaX * pull;
+                    forceY -= deltaY * pull;
+                }
+                forceX -= gravity * (xi - meanX);
+                forceY -= gravity * (yi - meanY);
+                dx[i] = forceX;
+                dy[i] = forceY;
+            });
+            for (int i = 0; i < size; i++) {
+                double length = Math.sqrt(dx[i] * dx[i] + dy[i] * dy[i]);
+                if (length > 0) {
+                    double step = Math.min(length, temperature) / length;
+                    cx[i] += dx[i] * step;
+                    cy[i] += dy[i] * step;
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            x[i] = cx[i] - graph.widths[i] / 2;
+            y[i] = cy[i] - graph.heights[i] / 2;
+        }
+    }
+
+    /**
+    * Sets the initial centers of the nodes: their current centers, or a spiral when they all coincide.
+    */
+    static void initialCenters(LayoutGraph graph, double[] cx, double[] cy, double spacing) {
+        boolean coincident = true;
+        for (int i = 0; i < graph.size; i++) {
+            cx[i] = graph.x[i] + graph.widths[i] / 2;
+            cy[i] = graph.y[i] + graph.heights[i] / 2;
+            if (i > 0 && (cx[i] != cx[0] || cy[i] != cy[0]))
+                coincident = false;
+        }
+        if (coincident && graph.size > 1) {
+            double goldenAngle = Math.PI * (3 - Math.sqrt(5));
+            for (int i = 0; i < graph.size; i++) {
+                double radius = spacing * Math.sqrt(i);
+                cx[i] = radius * Math.cos(i * goldenAngle);
+                cy[i] = radius * Math.sin(i * goldenAngle);
+            }
+        }
+    }
+}
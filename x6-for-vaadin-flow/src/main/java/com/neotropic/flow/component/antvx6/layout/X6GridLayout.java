@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.layout;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Places the nodes in a grid, row by row in the order they are given, ignoring the edges.
+ * Every grid cell has the size of the largest node and the nodes are centered in their cell.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+@Getter
+@Setter
+public class X6GridLayout extends X6AbstractLayout {
+    /**
+    * Number of columns; 0 or less to use a square grid.
+    */
+    private int columns;
+    /**
+    * Horizontal space between two grid cells.
+    */
+    private double horizontalGap;
+    /**
+    * Vertical space between two grid cells.
+    */
+    private double verticalGap;
+
+    public X6GridLayout() {
+        this(0, 40, 40);
+    }
+
+    public X6GridLayout(int columns, double horizontalGap, double verticalGap) {
+        this.columns = columns;
+        this.horizontalGap = horizontalGap;
+        this.verticalGap = verticalGap;
+    }
+
+    @Override
+    void layout(LayoutGraph graph, double[] x, double[] y) {
+        int columnCount = columns > 0 ? columns : (int) Math.ceil(Math.sqrt(graph.size));
+        double cellWidth = 0;
+        double cellHeight = 0;
+        for (int i = 0; i < graph.size; i++) {
+            cellWidth = Math.max(cellWidth, graph.widths[i]);
+            cellHeight = Math.max(cellHeight, graph.heights[i]);
+        }
+        for (int i = 0; i < graph.size; i++) {
+            int column = i % columnCount;
+            int row = i / columnCount;
+            x[i] = column * (cellWidth + horizontalGap) + (cellWidth - graph.widths[i]) / 2;
+            y[i] = row * (cellHeight + verticalGap) + (cellHeight - graph.heights[i]) / 2;
+        }
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.layout;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Places the nodes in layers so that most edges point in the same direction
+ * (the Sugiyama method), well suited for flows and dependency graphs.
+ * 
+ * The layout runs the usual phases: cycles are broken by reversing the edges that
+ * close them, every node is assigned to the layer after its longest incoming path,
+ * long edges are split by virtual nodes, the order inside the layers is improved
+ * with barycenter sweeps to reduce crossings and finally each node is moved towards
+ * the center of its neighbours without overlapping the others in its layer.
+ * Only the nodes are placed; the edges are left for the router of the web component.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+@Getter
+@Setter
+public class X6LayeredLayout extends X6AbstractLayout {
+    /**
+    * Whether the layers go from left to right instead of from top to bottom.
+    */
+    private boolean horizontal;
+    /**
+    * Space between two nodes of the same layer.
+    */
+    private double nodeGap;
+    /**
+    * Space between two layers.
+    */
+    private double layerGap;
+    /**
+    * Number of down and up sweeps used to reduce the crossings.
+    */
+    private int sweeps;
+
+    public X6LayeredLayout() {
+        this(false, 40, 80, 4);
+    }
+
+    public X6LayeredLayout(boolean horizontal, double nodeGap, double layerGap, int sweeps) {
+        this.horizontal = horizontal;
+        this.nodeGap = nodeGap;
+        this.layerGap = layerGap;
+        this.sweeps = sweeps;
+    }
+
+    @Override
+    void layout(LayoutGraph graph, double[] x, double[] y) {
+        int size = graph.size;
+        boolean[] reversed = findReversedEdges(graph);
+        int[] layer = assignLayers(graph, reversed);
+
+        // virtual nodes: one per layer crossed by a long edge
+        int items = size;
+        int segments = 0;
+        int layers = 0;
+        for (int node = 0; node < size; node++) {
+            layers = Math.max(layers, layer[node] + 1);
+            for (int e = graph.outOffsets[node]; e < graph.outOffsets[node + 1]; e++) {
+                int span = Math.abs(layer[graph.outTargets[e]] - layer[node]);
+                items += span - 1;
+                segments += span;
+            }
+        }
+        int[] itemLayer = new int[items];
+        System.arraycopy(layer, 0, itemLayer, 0, size);
+        int[] segmentUpper = new int[segments];
+        int[] segmentLower = new int[segments];
+        int nextItem = size;
+        int segment = 0;
+        for (int node = 0; node < size; node++) {
+            for (int e = graph.outOffsets[node]; e < graph.outOffsets[node + 1]; e++) {
+                int upper = reversed[e] ? graph.outTargets[e] : node;
+                int lower = reversed[e] ? node : graph.outTargets[e];
+                int previous = upper;
+                for (int l = layer[upper] + 1; l < layer[lower]; l++) {
+                    itemLayer[nextItem] = l;
+                    segmentUpper[segment] = previous;
+                    segmentLower[segment++] = nextItem;
+                    previous = nextItem++;
+                }
+                segmentUpper[segment] = previous;
+                segmentLower[segment++] = lower;
+            }
+        }
+        // neighbours in the layer above and below of every item
+        int[] upOffsets = new int[items + 1];
+        int[] downOffsets = new int[items + 1];
+        for (int s = 0; s < segments; s++) {
+            upOffsets[segmentLower[s] + 1]++;
+            downOffsets[segmentUpper[s] + 1]++;
+        }
+        for (int i = 0; i < items; i++) {
+            upOffsets[i + 1] += upOffsets[i];
+            downOffsets[i + 1] += downOffsets[i];
+        }
+        int[] up = new int[segments];
+        int[] down = new int[segments];
+        int[] upNext = new int[items];
+        int[] downNext = new int[items];
+        for (int s = 0; s < segments; s++) {
+            up[upOffsets[segmentLower[s]] + upNext[segmentLower[s]]++] = segmentUpper[s];
+            down[downOffsets[segmentUpper[s]] + downNext[segmentUpper[s]]++] = segmentLower[s];
+        }
+
+        // items of every layer, initially in index order
+        int[] layerOffsets = new int[layers + 1];
+        for (int i = 0; i < items; i++)
+            layerOffsets[itemLayer[i] + 1]++;
+        for (int l = 0; l < layers; l++)
+            layerOffsets[l + 1] += layerOffsets[l];
+        int[] order = new int[items];
+        int[] layerNext = new int[layers];
+        int[] rank = new int[items];
+        for (int i = 0; i < items; i++) {
+            int l = itemLayer[i];
+            rank[i] = layerNext[l];
+            order[layerOffsets[l] + layerNext[l]++] = i;
+        }
+
+        double[] keys = new double[items];
+        int[] buffer = new int[items];
+        for (int sweep = 0; sweep < sweeps; sweep++) {
+            for (int l = 1; l < layers; l++)
+                reorder(order, layerOffsets[l], layerOffsets[l + 1], upOffsets, up, rank, keys, buffer);
+            for (int l = layers - 2; l >= 0; l--)
+                reorder(order, layerOffsets[l], layerOffsets[l + 1], downOffsets, down, rank, keys, buffer);
+        }
+
+        // breadth coordinates (centers), packed and centered at first
+        double[] breadths = horizontal ? graph.heights : graph.widths;
+        double[] depths = horizontal ? graph.widths : graph.heights;
+        double[] center = new double[items];
+        for (int l = 0; l < layers; l++) {
+            double position = 0;
+            for (int i = layerOffsets[l]; i < layerOffsets[l + 1]; i++) {
+                int item = order[i];
+                double breadth = item < size ? breadths[item] : 0;
+                center[item] = position + breadth / 2;
+                position += breadth + nodeGap;
+            }
+            double shift = -(position - nodeGap) / 2;
+            for (int i = layerOffsets[l]; i < layerOffsets[l + 1]; i++)
+                center[order[i]] += shift;
+        }
+        double[] left = new double[items];
+        for (int l = 1; l < layers; l++)
+            align(order, layerOffsets[l], layerOffsets[l + 1], upOffsets, up, size, breadths, center, keys, left);
+        for (int l = layers - 2; l >= 0; l--)
+            align(order, layerOffsets[l], layerOffsets[l + 1], downOffsets, down, size, breadths, center, keys, left);
+
+        // depth coordinates
+        double[] layerSizes = new double[layers];
+        for (int node = 0; node < size; node++)
+            layerSizes[layer[node]] = Math.max(layerSizes[layer[node]], depths[node]);
+        double[] layerPositions = new double[layers];
+        for (int l = 1; l < layers; l++)
+            layerPositions[l] = layerPositions[l - 1] + layerSizes[l - 1] + layerGap;
+
+        for (int node = 0; node < size; node++) {
+            double breadth = center[node] - breadths[node] / 2;
+            double depth = layerPositions[layer[node]] + (layerSizes[layer[node]] - depths[node]) / 2;
+            x[node] = horizontal ? depth : breadth;
+            y[node] = horizontal ? breadth : depth;
+        }
+    }
+
+    /**
+    * Finds a set of edges whose reversal makes the graph acyclic: the edges that point
+    * back to a node in the current path of a depth-first traversal.
+    */
+    private static boolean[] findReversedEdges(LayoutGraph graph) {
+        int size = graph.size;
+        boolean[] reversed = new boolean[graph.outTargets.length];
+        byte[] state = new byte[size]; // 0 new, 1 in the current path, 2 done
+        int[] stack = new int[size];
+        int[] cursor = new int[size];
+        for (int root = 0; root < size; root++) {
+            if (state[root] != 0)
+                continue;
+            int top = 0;
+            stack[top] = root;
+            cursor[root] = graph.outOffsets[root];
+            state[root] = 1;
+            while (top >= 0) {
+                int node = stack[top];
+                if (cursor[node] < graph.outOffsets[node + 1]) {
+                    int e = cursor[node]++;
+                    int target = graph.outTargets[e];
+                    if (state[target] == 1)
+                        reversed[e] = true;
+                    else if (state[target] == 0) {
+                        state[target] = 1;
+                        cursor[target] = graph.outOffsets[target];
+                        stack[++top] = target;
+                    }
+                } else {
+                    state[node] = 2;
+                    top--;
+                }
+            }
+        }
+        return reversed;
+    }
+
+    /**
+    * Assigns each node to the layer after the longest path that reaches it,
+    * following a topological order of the acyclic graph.
+    */
+    private static int[] assignLayers(LayoutGraph graph, boolean[] reversed) {
+        int size = graph.size;
+        int[] incoming = new int[size];
+        for (int node = 0; node < size; node++) {
+            for (int e = graph.outOffsets[node]; e < graph.outOffsets[node + 1]; e++)
+                incoming[reversed[e] ? node : graph.outTargets[e]]++;
+        }
+        // every edge as seen from its upper end, after the reversals
+        int[] lowerOffsets = new int[size + 1];
+        for (int node = 0; node < size; node++) {
+            for (int e = graph.outOffsets[node]; e < graph.outOffsets[node + 1]; e++)
+                lowerOffsets[(reversed[e] ? graph.outTargets[e] : node) + 1]++;
+        }
+        for (int node = 0; node < size; node++)
+            lowerOffsets[node + 1] += lowerOffsets[node];
+        int[] lower = new int[graph.outTargets.length];
+        int[] lowerNext = new int[size];
+        for (int node = 0; node < size; node++) {
+            for (int e = graph.outOffsets[node]; e < graph.outOffsets[node + 1]; e++) {
+                int upper = reversed[e] ? graph.outTargets[e] : node;
+                lower[lowerOffsets[upper] + lowerNext[upper]++] = reversed[e] ? node : graph.outTargets[e];
+            }
+        }
+
+        int[] layer = new int[size];
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        for (int node = 0; node < size; node++) {
+            if (incoming[node] == 0)
+                queue[tail++] = node;
+        }
+        while (head < tail) {
+            int node = queue[head++];
+            for (int e = lowerOffsets[node]; e < lowerOffsets[node + 1]; e++) {
+                int target = lower[e];
+                layer[target] = Math.max(layer[target], layer[node] + 1);
+                if (--incoming[target] == 0)
+                    queue[tail++] = target;
+            }
+        }
+        return layer;
+    }
+
+    /**
+    * Sorts the items of a layer by the barycenter of their neighbours in the adjacent layer.
+    * Items without neighbours keep their rank as key.
+    */
+    private static void reorder(int[] order, int from, int to, int[] offsets, int[] neighbours,
+            int[] rank, double[] keys, int[] buffer) {
+        for (int i = from; i < to; i++) {
+            int item = order[i];
+            int count = offsets[item + 1] - offsets[item];
+            if (count == 0)
+                keys[item] = rank[item];
+            else {
+                double sum = 0;
+                for (int n = offsets[item]; n < offsets[item + 1]; n++)
+                    sum += rank[neighbours[n]];
+                keys[item] = sum / count;
+            }
+        }
+        sortByKey(order, from, to, keys, buffer);
+        for (int i = from; i < to; i++)
+            rank[order[i]] = i - from;
+    }
+
+    /**
+    * Moves the items of a layer towards the mean center of their neighbours in the adjacent
+    * layer, keeping their order and the gap between them. The result is the average of
+    * packing the items from the left and from the right, so both bounds are respected.
+    */
+    private void align(int[] order, int from, int to, int[] offsets, int[] neighbours, int size,
+            double[] breadths, double[] center, double[] desired, double[] left) {
+        if (from >= to)
+            return;
+        for (int i = from; i < to; i++) {
+            int item = order[i];
+            int count = offsets[item + 1] - offsets[item];
+            if (count == 0)
+                desired[item] = center[item];
+            else {
+                double sum = 0;
+                for (int n = offsets[item]; n < offsets[item + 1]; n++)
+                    sum += center[neighbours[n]];
+                desired[item] = sum / count;
+            }
+        }
+        double previousEnd = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            int item = order[i];
+            double half = (item < size ? breadths[item] : 0) / 2;
+            left[item] = Math.max(desired[item], previousEnd + nodeGap + half);
+            previousEnd = left[item] + half;
+        }
+        double nextStart = Double.POSITIVE_INFINITY;
+        for (int i = to - 1; i >= from; i--) {
+            int item = order[i];
+            double half = (item < size ? breadths[item] : 0) / 2;
+            double right = Math.min(desired[item], nextStart - nodeGap - half);
+            nextStart = right - half;
+            center[item] = (left[item] + right) / 2;
+        }
+    }
+
+    /**
+    * Stable merge sort of a range of items by their keys.
+    */
+    private static void sortByKey(int[] items, int from, int to, double[] keys, int[] buffer) {
+        for (int width = 1; width < to - from; width *= 2) {
+            for (int start = from; start < to - width; start += 2 * width) {
+                int middle = start + width;
+                int end = Math.min(start + 2 * width, to);
+                if (keys[items[middle - 1]] <= keys[items[middle]])
+                    continue;
+                System.arraycopy(items, start, buffer, start, end - start);
+                int a = start, b = middle, k = start;
+                while (a < middle && b < end)
+                    items[k++] = keys[buffer[b]] < keys[buffer[a]] ? buffer[b++] : buffer[a++];
+                while (a < middle)
+                    items[k++] = buffer[a++];
+                while (b < end)
+                    items[k++] = buffer[b++];
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.layout;
+
+import com.neotropic.flow.component.antvx6.objects.X6AbstractNode;
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Computes the position of the nodes of a graph.
+ * 
+ * Implementations only read the nodes and edges, the positions are returned in a
+ * {@link X6LayoutResult} and written to the nodes when it is applied.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public interface X6Layout {
+    /**
+    * Computes the position of the nodes.
+    *
+    * @param nodes the nodes to place
+    * @param edges the edges between the nodes; edges to other nodes are ignored
+    * @return the computed positions
+    */
+    X6LayoutResult compute(List<? extends X6AbstractNode> nodes, Collection<X6Edge> edges);
+}
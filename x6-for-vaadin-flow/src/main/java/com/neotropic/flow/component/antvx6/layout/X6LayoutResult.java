@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.layout;
+
+import com.neotropic.flow.component.antvx6.objects.Geometry;
+import com.neotropic.flow.component.antvx6.objects.X6AbstractNode;
+import java.util.List;
+
+/**
+ * Positions computed by a layout, kept apart from the nodes until they are applied, so the
+ * layout can run in a background thread while the nodes are still used by the UI.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6LayoutResult {
+    private final List<? extends X6AbstractNode> nodes;
+    private final double[] x;
+    private final double[] y;
+
+    X6LayoutResult(List<? extends X6AbstractNode> nodes, double[] x, double[] y) {
+        this.nodes = nodes;
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+    * Gets the nodes that were laid out, in the same order as the positions.
+    *
+    * @return the nodes
+    */
+    public List<? extends X6AbstractNode> getNodes() {
+        return nodes;
+    }
+
+    public int size() {
+        return x.length;
+    }
+
+    /**
+    * Gets the computed x coordinate of the top left corner of a node.
+    *
+    * @param index the position of the node in {@link #getNodes()}
+    * @return the x coordinate
+    */
+    public double getX(int index) {
+        return x[index];
+    }
+
+    /**
+    * Gets the computed y coordinate of the top left corner of a node.
+    *
+    * @param index the position of the node in {@link #getNodes()}
+    * @return the y coordinate
+    */
+    public double getY(int index) {
+        return y[index];
+    }
+
+    /**
+    * Writes the computed positions into the geometry of the nodes.
+    */
+    public void apply() {
+        for (int i = 0; i < x.length; i++) {
+            X6AbstractNode node = nodes.get(i);
+            if (node.getGeometry() == null)
+                node.setGeometry(new Geometry());
+            node.getGeometry().setPosition(x[i], y[i]);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.layout;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Places the nodes as a tree that grows from the roots, with every parent centered over
+ * its children and each level at its own depth.
+ * 
+ * The roots are the nodes without incoming edges; nodes that can not be reached from them
+ * (e.g. in a cycle) start new trees. Edges that do not belong to the spanning tree found by
+ * a breadth-first traversal do not affect the positions.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+@Getter
+@Setter
+public class X6TreeLayout extends X6AbstractLayout {
+    /**
+    * Whether the tree grows from left to right instead of from top to bottom.
+    */
+    private boolean horizontal;
+    /**
+    * Space between two siblings, and between two trees.
+    */
+    private double siblingGap;
+    /**
+    * Space between two levels.
+    */
+    private double levelGap;
+
+    public X6TreeLayout() {
+        this(false, 40, 80);
+    }
+
+    public X6TreeLayout(boolean horizontal, double siblingGap, double levelGap) {
+        this.horizontal = horizontal;
+        this.siblingGap = siblingGap;
+        this.levelGap = levelGap;
+    }
+
+    @Override
+    void layout(LayoutGraph graph, double[] x, double[] y) {
+        int size = graph.size;
+        double[] breadths = horizontal ? graph.heights : graph.widths;
+        double[] depths = horizontal ? graph.widths : graph.heights;
+
+        // breadth-first traversal; the children of a node end up contiguous in the order
+        int[] order = new int[size];
+        int[] childStart = new int[size];
+        int[] childCount = new int[size];
+        int[] level = new int[size];
+        int[] roots = new int[size];
+        boolean[] visited = new boolean[size];
+        int tail = 0;
+        int rootCount = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            for (int root = 0; root < size; root++) {
+                if (visited[root] || (pass == 0 && graph.inDegree(root) > 0))
+                    continue;
+                visited[root] = true;
+                roots[rootCount++] = root;
+                int head = tail;
+                order[tail++] = root;
+                while (head < tail) {
+                    int node = order[head++];
+                    childStart[node] = tail;
+                    for (int e = graph.outOffsets[node]; e < graph.outOffsets[node + 1]; e++) {
+                        int child = graph.outTargets[e];
+                        if (!visited[child]) {
+                            visited[child] = true;
+                            level[child] = level[node] + 1;
+                            order[tail++] = child;
+                        }
+                    }
+                    childCount[node] = tail - childStart[node];
+                }
+            }
+        }
+
+        // breadth of every subtree, from the leaves up
+        double[] subtree = new double[size];
+        double[] children = new double[size];
+        int levels = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            int node = order[i];
+            double total = 0;
+            for (int c = childStart[node]; c < childStart[node] + childCount[node]; c++)
+                total += subtree[order[c]];
+            if (childCount[node] > 1)
+                total += siblingGap * (childCount[node] - 1);
+            children[node] = total;
+            subtree[node] = Math.max(breadths[node], total);
+            levels = Math.max(levels, level[node] + 1);
+        }
+
+        // position of every level along the depth axis
+        double[] levelSizes = new double[levels];
+        for (int node = 0; node < size; node++)
+            levelSizes[level[node]] = Math.max(levelSizes[level[node]], depths[node]);
+        double[] levelPositions = new double[levels];
+        for (int l = 1; l < levels; l++)
+            levelPositions[l] = levelPositions[l - 1] + levelSizes[l - 1] + levelGap;
+
+        // position along the breadth axis, from the roots down
+        double[] slots = new double[size];
+        double next = 0;
+        for (int r = 0; r < rootCount; r++) {
+            slots[roots[r]] = next;
+            next += subtree[roots[r]] + siblingGap;
+        }
+        for (int i = 0; i < size; i++) {
+            int node = order[i];
+            double breadth = slots[node] + (subtree[node] - breadths[node]) / 2;
+            double depth = levelPositions[level[node]] + (levelSizes[level[node]] - depths[node]) / 2;
+            x[node] = horizontal ? depth : breadth;
+            y[node] = horizontal ? breadth : depth;
+
+            double slot = slots[node] + (subtree[node] - children[node]) / 2;
+            for (int c = childStart[node]; c < childStart[node] + childCount[node]; c++) {
+                int child = order[c];
+                slots[child] = slot;
+                slot += subtree[child] + siblingGap;
+            }
+        }
+    }
+}
@@ -15,25 +15,147 @@
  */
 package com.neotropic.flow.component.antvx6.objects;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 /**
  * Represents the geometric properties of a cell.
  * Contains the coordinates and dimensions.
+ * 
+ * The values are kept in primitive fields; {@link #getCoordinates()} and {@link #getDimensions()}
+ * return views that read and write them, created once per geometry.
  * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
  */
 @Data
 public class Geometry {
-    private Coordinate coordinates;
-    private Dimension dimensions;
+    private double x;
+    private double y;
+    private double width;
+    private double height;
+    /*
+    * Views of the coordinates and dimensions, created on first use.
+    */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient Coordinate coordinatesView;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient Dimension dimensionsView;
     
-    public Geometry(){
-        this.coordinates = new Coordinate();
-        this.dimensions = new Dimension();
-    }
+    public Geometry(){}
     
     public Geometry(double x, double y, double width, double height){
-        this.coordinates = new Coordinate(x, y);
-        this.dimensions = new Dimension(width, height);
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+    
+    /**
+    * Gets the coordinates as a view: changing them changes this geometry.
+    * 
+    * @return the coordinates of the top left corner
+    */
+    public Coordinate getCoordinates() {
+        if (coordinatesView == null)
+            coordinatesView = new CoordinateView();
+        return coordinatesView;
+    }
+    
+    /**
+    * Copies the given coordinates; null moves the geometry to the origin. The geometry does
+    * not keep the given instance, later changes to it are not seen by the geometry.
+    * 
+    * @param coordinates the coordinates of the top left corner
+    */
+    public void setCoordinates(Coordinate coordinates) {
+        setPosition(coordinates != null ? coordinates.getX() : 0, coordinates != null ? coordinates.getY() : 0);
+    }
+    
+    /**
+    * Gets the dimensions as a view: changing them changes this geometry.
+    * 
+    * @return the width and height
+    */
+    public Dimension getDimensions() {
+        if (dimensionsView == null)
+            dimensionsView = new DimensionView();
+        return dimensionsView;
+    }
+    
+    /**
+    * Copies the given dimensions; null sets them to zero. The geometry does not keep the
+    * given instance, later changes to it are not seen by the geometry.
+    * 
+    * @param dimensions the width and height
+    */
+    public void setDimensions(Dimension dimensions) {
+        setSize(dimensions != null ? dimensions.getWidth() : 0, dimensions != null ? dimensions.getHeight() : 0);
+    }
+    
+    public void setPosition(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+    
+    public void setSize(double width, double height) {
+        this.width = width;
+        this.height = height;
+    }
+    
+    /*
+    * The views go through the accessors, so they also work for geometries that keep
+    * their values elsewhere.
+    */
+    private class CoordinateView extends Coordinate {
+        @Override
+        public double getX() {
+            return Geometry.this.getX();
+        }
+        
+        @Override
+        public double getY() {
+            return Geometry.this.getY();
+        }
+        
+        @Override
+        public void setX(double x) {
+            Geometry.this.setX(x);
+        }
+        
+        @Override
+        public void setY(double y) {
+            Geometry.this.setY(y);
+        }
+    }
+    
+    private class DimensionView extends Dimension {
+        @Override
+        public double getWidth() {
+            return Geometry.this.getWidth();
+        }
+        
+        @Override
+        public double getHeight() {
+            return Geometry.this.getHeight();
+        }
+        
+        @Override
+        public void setWidth(double width) {
+            Geometry.this.setWidth(width);
+        }
+        
+        @Override
+        public void setHeight(double height) {
+            Geometry.this.setHeight(height);
+        }
     }
 }
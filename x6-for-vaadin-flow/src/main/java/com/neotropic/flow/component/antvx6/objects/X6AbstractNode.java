@@ -58,4 +58,14 @@ public abstract class X6AbstractNode extends X6Cell {
         this.nodeStyles = new X6NodeStyles();
         this.nodeLabelStyles = new X6NodeLabelStyles();
     }
+    
+    /**
+    * Creates a node with only its id and type, see {@link X6Cell#X6Cell(String, String)}.
+    * 
+    * @param id the id of the node
+    * @param cellType the type of the cell
+    */
+    protected X6AbstractNode(String id, String cellType) {
+        super(id, cellType);
+    }
 }
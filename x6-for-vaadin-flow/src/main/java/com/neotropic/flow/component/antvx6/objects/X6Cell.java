@@ -54,6 +54,19 @@ public class X6Cell {
         this.tools = new ArrayList<>();
     }
     
+    /**
+    * Creates a cell with only its id and type, leaving the rest of its state null, for the
+    * subclasses that keep their state elsewhere and override the accessors, such as the
+    * views of a columnar store.
+    * 
+    * @param id the id of the cell
+    * @param cellType the type of the cell
+    */
+    protected X6Cell(String id, String cellType) {
+        this.id = id;
+        this.cellType = cellType;
+    }
+    
     public boolean isEdge(){
         return this.cellType.equals(X6Constants.CELL_EDGE);
     }
@@ -63,6 +76,8 @@ public class X6Cell {
     }
     
     public void setStyle(String style, String value){
+        if (styles == null)
+            styles = new HashMap<>();
         styles.put(style, value);
     }
 }
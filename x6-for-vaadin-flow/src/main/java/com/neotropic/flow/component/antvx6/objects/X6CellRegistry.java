@@ -0,0 +1,197 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.objects;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Insertion-ordered collection of cells indexed by their id.
+ * Lookups, insertions and removals by id run in constant time, while
+ * iteration keeps the order in which the cells were added.
+ * @param <T> the type of cell stored in the registry
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6CellRegistry<T extends X6Cell> {
+    /*
+    * Cells indexed by id, in insertion order.
+    */
+    private final LinkedHashMap<String, T> cells;
+    /*
+    * Live read-only list view of the cells.
+    */
+    private final List<T> view;
+    /*
+    * Copy of the cells used by the indexed access of the view, rebuilt lazily after a modification.
+    */
+    private List<T> indexed;
+
+    public X6CellRegistry() {
+        this.cells = new LinkedHashMap<>();
+        this.view = new CellsView();
+    }
+
+    /**
+    * Adds a cell to the registry if no other cell with the same id is present.
+    *
+    * @param cell the cell to add
+    * @return true if the cell was added; false if its id was already registered
+    */
+    public boolean add(T cell) {
+        if (cell == null || cell.getId() == null || cells.containsKey(cell.getId()))
+            return false;
+        cells.put(cell.getId(), cell);
+        indexed = null;
+        return true;
+    }
+
+    /**
+    * Adds or replaces the cell registered under the id of the given cell.
+    *
+    * @param cell the cell to store
+    * @return the previous cell with the same id, or null.
+    */
+    public T put(T cell) {
+        if (cell == null || cell.getId() == null)
+            return null;
+        T previous = cells.put(cell.getId(), cell);
+        indexed = null;
+        return previous;
+    }
+
+    /**
+    * Adds all the given cells, skipping the ones whose id is already registered.
+    *
+    * @param newCells the cells to add
+    */
+    public void addAll(Collection<? extends T> newCells) {
+        if (newCells != null) {
+            for (T cell : newCells)
+                add(cell);
+        }
+    }
+
+    /**
+    * Retrieves a cell by its id.
+    *
+    * @param id the id of the cell
+    * @return the cell with the specified id, or null.
+    */
+    public T get(String id) {
+        return id != null ? cells.get(id) : null;
+    }
+
+    /**
+    * Checks whether a cell with the given id is registered.
+    *
+    * @param id the id of the cell
+    * @return true if the cell is registered; false otherwise
+    */
+    public boolean contains(String id) {
+        return id != null && cells.containsKey(id);
+    }
+
+    /**
+    * Removes a cell by its id.
+    *
+    * @param id the id of the cell
+    * @return the removed cell, or null if no cell was registered with that id.
+    */
+    public T remove(String id) {
+        if (id == null)
+            return null;
+        T removed = cells.remove(id);
+        if (removed != null)
+            indexed = null;
+        return removed;
+    }
+
+    /**
+    * Removes every cell from the registry.
+    */
+    public void clear() {
+        cells.clear();
+        indexed = null;
+    }
+
+    /**
+    * Replaces the content of the registry with the given cells.
+    *
+    * @param newCells the cells to store, may be null
+    */
+    public void setAll(Collection<? extends T> newCells) {
+        clear();
+        addAll(newCells);
+    }
+
+    public int size() {
+        return cells.size();
+    }
+
+    public boolean isEmpty() {
+        return cells.isEmpty();
+    }
+
+    /**
+    * Gets the registered cells in insertion order.
+    *
+    * @return a read-only live view of the cells, that reflects later changes to the registry
+    */
+    public List<T> asList() {
+        return view;
+    }
+
+    /**
+    * Read-only list backed by the map of cells. Iterating reads the map directly; the indexed
+    * access copies the cells once after each modification of the registry.
+    */
+    private final class CellsView extends AbstractList<T> {
+        @Override
+        public T get(int index) {
+            if (indexed == null)
+                indexed = new ArrayList<>(cells.values());
+            return indexed.get(index);
+        }
+
+        @Override
+        public int size() {
+            return cells.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return cells.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof X6Cell cell) || cell.getId() == null)
+                return false;
+            T registered = cells.get(cell.getId());
+            return registered != null && registered.equals(o);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return Collections.unmodifiableCollection(cells.values()).iterator();
+        }
+    }
+}
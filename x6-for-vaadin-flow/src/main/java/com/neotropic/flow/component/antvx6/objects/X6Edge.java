@@ -19,8 +19,11 @@ import com.neotropic.flow.component.antvx6.constants.X6Constants;
 import com.neotropic.flow.component.antvx6.styles.X6EdgeStyles;
 import java.util.ArrayList;
 import java.util.List;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
 /**
@@ -33,14 +36,19 @@ import lombok.experimental.SuperBuilder;
 public class X6Edge extends X6Cell{
     private String idSource;
     private String idTarget;
-    private List<Vertex> vertices;
+    /*
+    * The vertices of the route, stored as primitive coordinates.
+    */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private X6Polyline polyline;
     private List<X6EdgeLabel> edgeLabels;
     private X6EdgeStyles edgeStyles;
     
     public X6Edge(){
         super();
         super.setCellType(X6Constants.CELL_EDGE);
-        this.vertices = new ArrayList<>();
+        this.polyline = new X6Polyline();
         this.edgeLabels = new ArrayList<>();
         this.edgeStyles = new X6EdgeStyles();
     }
@@ -51,7 +59,7 @@ public class X6Edge extends X6Cell{
         this.idSource = idSource;
         this.idTarget = idTarget;
         super.setCellType(X6Constants.CELL_EDGE);
-        this.vertices = new ArrayList<>();
+        this.polyline = new X6Polyline();
         this.edgeLabels = new ArrayList<>();
         this.edgeStyles = new X6EdgeStyles();
     }
@@ -62,7 +70,7 @@ public class X6Edge extends X6Cell{
         this.idSource = idSource;
         this.idTarget = idTarget;
         super.setCellType(X6Constants.CELL_EDGE);
-        this.vertices = new ArrayList<>();
+        this.polyline = new X6Polyline();
         this.edgeLabels = new ArrayList<>();
         this.edgeStyles = new X6EdgeStyles();
         this.edgeLabels.add(new X6EdgeLabel(label, 0.5));
@@ -74,11 +82,59 @@ public class X6Edge extends X6Cell{
         this.idSource = idSource;
         this.idTarget = idTarget;
         super.setCellType(X6Constants.CELL_EDGE);
-        this.vertices = new ArrayList<>();
+        this.polyline = new X6Polyline();
         this.edgeLabels = edgeLabels;
         this.edgeStyles = new X6EdgeStyles();
     }
     
+    /**
+    * Creates an edge with only its id and type, see {@link X6Cell#X6Cell(String, String)}.
+    * 
+    * @param id the id of the edge
+    * @param cellType the type of the cell
+    */
+    protected X6Edge(String id, String cellType) {
+        super(id, cellType);
+    }
+    
+    /**
+    * Gets the route of the edge as primitive coordinates, the cheapest way to read or change it.
+    * 
+    * @return the route of the edge
+    */
+    public X6Polyline getPolyline() {
+        if (polyline == null)
+            polyline = new X6Polyline();
+        return polyline;
+    }
+    
+    public void setPolyline(X6Polyline polyline) {
+        this.polyline = polyline;
+    }
+    
+    /**
+    * Gets a view of the route as a list of vertices. Adding, inserting, replacing and removing
+    * vertices through the view changes the route, and so does changing a vertex it returns,
+    * which stays bound to its position in the route (see {@link X6Polyline#asVertices()}).
+    * Once vertices are added or removed, the vertices returned before throw a
+    * {@link java.util.ConcurrentModificationException}; get them again.
+    * Vertices added to the view are copied, later changes to them do not reach the route.
+    * 
+    * @return the vertices of the edge
+    */
+    public List<Vertex> getVertices() {
+        return getPolyline().asVertices();
+    }
+    
+    /**
+    * Replaces the route with a copy of the given vertices.
+    * 
+    * @param vertices the vertices of the edge
+    */
+    public void setVertices(List<Vertex> vertices) {
+        this.polyline = vertices != null ? X6Polyline.fromVertices(vertices) : new X6Polyline();
+    }
+    
     public void addLabel(String label, double distance){
         if(edgeLabels != null)
             edgeLabels.add(new X6EdgeLabel(label, distance));
@@ -90,4 +146,18 @@ public class X6Edge extends X6Cell{
         return null;
     }
     
-}
\ No newline at end of file
+    /**
+    * Builder of edges that also takes the route as a list of vertices.
+    */
+    public static abstract class X6EdgeBuilder<C extends X6Edge, B extends X6EdgeBuilder<C, B>> extends X6Cell.X6CellBuilder<C, B> {
+        /**
+        * Sets the route of the edge to a copy of the given vertices.
+        * 
+        * @param vertices the vertices of the edge
+        * @return this builder
+        */
+        public B vertices(List<Vertex> vertices) {
+            return polyline(vertices != null ? X6Polyline.fromVertices(vertices) : null);
+        }
+    }
+}
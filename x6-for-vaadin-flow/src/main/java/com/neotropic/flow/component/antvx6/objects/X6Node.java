@@ -37,4 +37,14 @@ public class X6Node extends X6AbstractNode{
         super(id, x ,y ,width, height, shape);
         this.port = false;
     }
+    
+    /**
+    * Creates a node with only its id and type, see {@link X6Cell#X6Cell(String, String)}.
+    * 
+    * @param id the id of the node
+    * @param cellType the type of the cell
+    */
+    protected X6Node(String id, String cellType) {
+        super(id, cellType);
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.objects;
+
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import java.io.Serializable;
+import lombok.Data;
+
+/**
+ * Represents the state of a node reported by the web component after it was moved or changed.
+ * When the node was only moved, the width, height and label are not reported.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+@Data
+public class X6NodeChange implements Serializable {
+    private String id;
+    private double x;
+    private double y;
+    private double width;
+    private double height;
+    private String newLabel;
+    
+    public X6NodeChange(){}
+    
+    public X6NodeChange(String id, double x, double y){
+        this.id = id;
+        this.x = x;
+        this.y = y;
+    }
+    
+    /**
+    * Reads the change of a node from the details sent by the web component.
+    * 
+    * @param node the details of the node
+    * @return the change of the node
+    */
+    public static X6NodeChange fromJson(JsonObject node){
+        X6NodeChange change = new X6NodeChange(node.getString("id"), getNumber(node, "x"), getNumber(node, "y"));
+        change.setWidth(getNumber(node, "width"));
+        change.setHeight(getNumber(node, "height"));
+        if (node.hasKey("newLabel") && node.get("newLabel").getType() == JsonType.STRING)
+            change.setNewLabel(node.getString("newLabel"));
+        return change;
+    }
+    
+    private static double getNumber(JsonObject node, String key){
+        return node.hasKey(key) && node.get(key).getType() == JsonType.NUMBER ? node.getNumber(key) : 0;
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.objects;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The vertices of the route of an edge, stored as consecutive x and y coordinates in a
+ * single array instead of an object per vertex.
+ * 
+ * {@link #asVertices()} gives a {@code List<Vertex>} view for the code that works with vertices.
+ * Only the used part of the array is serialized.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6Polyline implements Serializable {
+    private static final double[] EMPTY = new double[0];
+    /*
+    * x0, y0, x1, y1, ... the slots past size * 2 are unused.
+    */
+    private transient double[] coordinates;
+    private int size;
+    /*
+    * Number of times vertices were added or removed, the vertices of the view fail once it changes.
+    */
+    private transient int modCount;
+
+    public X6Polyline() {
+        this.coordinates = EMPTY;
+    }
+
+    /**
+    * Creates an empty polyline with room for a number of vertices.
+    * 
+    * @param capacity the expected number of vertices
+    */
+    public X6Polyline(int capacity) {
+        this.coordinates = capacity > 0 ? new double[capacity * 2] : EMPTY;
+    }
+
+    /**
+    * Creates a polyline with the coordinates of a list of vertices.
+    * 
+    * @param vertices the vertices
+    * @return the polyline
+    */
+    public static X6Polyline fromVertices(List<Vertex> vertices) {
+        X6Polyline polyline = new X6Polyline(vertices.size());
+        for (Vertex vertex : vertices)
+            polyline.add(vertex != null ? vertex.getX() : 0, vertex != null ? vertex.getY() : 0);
+        return polyline;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double getX(int index) {
+        checkIndex(index);
+        return coordinates[index * 2];
+    }
+
+    public double getY(int index) {
+        checkIndex(index);
+        return coordinates[index * 2 + 1];
+    }
+
+    /**
+    * Appends a vertex.
+    * 
+    * @param x the x coordinate of the vertex
+    * @param y the y coordinate of the vertex
+    */
+    public void add(double x, double y) {
+        ensureCapacity(size + 1);
+        coordinates[size * 2] = x;
+        coordinates[size * 2 + 1] = y;
+        size++;
+        modCount++;
+    }
+
+    /**
+    * Inserts a vertex, shifting the following ones.
+    * 
+    * @param index the index of the new vertex, from 0 to {@link #size()}
+    * @param x the x coordinate of the vertex
+    * @param y the y coordinate of the vertex
+    */
+    public void insert(int index, double x, double y) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        ensureCapacity(size + 1);
+        System.arraycopy(coordinates, index * 2, coordinates, index * 2 + 2, (size - index) * 2);
+        coordinates[index * 2] = x;
+        coordinates[index * 2 + 1] = y;
+        size++;
+        modCount++;
+    }
+
+    /**
+    * Removes a vertex, shifting the following ones.
+    * 
+    * @param index the index of the vertex
+    */
+    public void remove(int index) {
+        checkIndex(index);
+        System.arraycopy(coordinates, index * 2 + 2, coordinates, index * 2, (size - index - 1) * 2);
+        size--;
+        modCount++;
+    }
+
+    /**
+    * Appends several vertices.
+    * 
+    * @param xy the coordinates of the vertices as x0, y0, x1, y1, ...
+    */
+    public void addAll(double[] xy) {
+        int count = xy.length / 2;
+        ensureCapacity(size + count);
+        System.arraycopy(xy, 0, coordinates, size * 2, count * 2);
+        size += count;
+        modCount++;
+    }
+
+    /**
+    * Moves a vertex.
+    * 
+    * @param index the index of the vertex
+    * @param x the new x coordinate
+    * @param y the new y coordinate
+    */
+    public void set(int index, double x, double y) {
+        checkIndex(index);
+        coordinates[index * 2] = x;
+        coordinates[index * 2 + 1] = y;
+    }
+
+    /**
+    * Removes every vertex, keeping the allocated room.
+    */
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    /**
+    * Removes the vertices past a given count.
+    * 
+    * @param count the number of vertices to keep
+    */
+    public void truncate(int count) {
+        if (count < size) {
+            size = Math.max(0, count);
+            modCount++;
+        }
+    }
+
+    /**
+    * Makes room for a number of vertices without further allocations.
+    * 
+    * @param capacity the number of vertices
+    */
+    public void ensureCapacity(int capacity) {
+        if (capacity * 2 > coordinates.length)
+            coordinates = Arrays.copyOf(coordinates, Math.max(capacity * 2, Math.max(8, coordinates.length * 2)));
+    }
+
+    /**
+    * Copies the coordinates.
+    * 
+    * @return the coordinates as x0, y0, x1, y1, ...
+    */
+    public double[] toArray() {
+        return Arrays.copyOf(coordinates, size * 2);
+    }
+
+    /**
+    * Gets a view of the polyline as a list of vertices. A vertex returned by the view reads and
+    * writes the coordinates at its position in the polyline, so {@code get(i).setX(x)} moves the
+    * vertex. Once vertices are added or removed, through the view or the polyline, the vertices
+    * returned before throw a {@link ConcurrentModificationException} instead of reading or
+    * writing another position; get them again.
+    * 
+    * @return the view
+    */
+    public List<Vertex> asVertices() {
+        return new VertexView();
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        for (int i = 0; i < size * 2; i++)
+            out.writeDouble(coordinates[i]);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        coordinates = size > 0 ? new double[size * 2] : EMPTY;
+        for (int i = 0; i < size * 2; i++)
+            coordinates[i] = in.readDouble();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof X6Polyline))
+            return false;
+        X6Polyline other = (X6Polyline) obj;
+        return size == other.size && Arrays.equals(coordinates, 0, size * 2, other.coordinates, 0, size * 2);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size * 2; i++)
+            hash = 31 * hash + Double.hashCode(coordinates[i]);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "X6Polyline" + asVertices();
+    }
+
+    /*
+    * Vertices read from the view are bound to their position, the ones it gives back when they
+    * are replaced or removed are copies; a null vertex is stored as (0, 0), as the JSON generators write it.
+    */
+    private class VertexView extends AbstractList<Vertex> implements RandomAccess, Serializable {
+        @Override
+        public Vertex get(int index) {
+            checkIndex(index);
+            return new BoundVertex(index);
+        }
+
+        @Override
+        public Vertex set(int index, Vertex vertex) {
+            Vertex previous = new Vertex(getX(index), getY(index));
+            X6Polyline.this.set(index, vertex != null ? vertex.getX() : 0, vertex != null ? vertex.getY() : 0);
+            return previous;
+        }
+
+        @Override
+        public void add(int index, Vertex vertex) {
+            insert(index, vertex != null ? vertex.getX() : 0, vertex != null ? vertex.getY() : 0);
+            modCount++;
+        }
+
+        @Override
+        public Vertex remove(int index) {
+            Vertex previous = new Vertex(getX(index), getY(index));
+            X6Polyline.this.remove(index);
+            modCount++;
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            X6Polyline.this.clear();
+            modCount++;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /*
+    * A vertex of the view, stored in the polyline; it is written as a plain vertex when serialized.
+    */
+    private class BoundVertex extends Vertex {
+        private final int index;
+        private final int expectedModCount;
+
+        BoundVertex(int index) {
+            this.index = index;
+            this.expectedModCount = X6Polyline.this.modCount;
+        }
+
+        @Override
+        public double getX() {
+            checkForComodification();
+            return X6Polyline.this.getX(index);
+        }
+
+        @Override
+        public double getY() {
+            checkForComodification();
+            return X6Polyline.this.getY(index);
+        }
+
+        @Override
+        public void setX(double x) {
+            checkForComodification();
+            X6Polyline.this.set(index, x, X6Polyline.this.getY(index));
+        }
+
+        @Override
+        public void setY(double y) {
+            checkForComodification();
+            X6Polyline.this.set(index, X6Polyline.this.getX(index), y);
+        }
+
+        private void checkForComodification() {
+            if (X6Polyline.this.modCount != expectedModCount)
+                throw new ConcurrentModificationException("Vertices were added or removed after the vertex " + index + " was read");
+        }
+
+        private Object writeReplace() {
+            return new Vertex(getX(), getY());
+        }
+    }
+}
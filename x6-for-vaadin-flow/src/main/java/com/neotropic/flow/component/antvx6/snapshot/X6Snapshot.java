@@ -0,0 +1,652 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.snapshot;
+
+import com.neotropic.flow.component.antvx6.objects.Geometry;
+import com.neotropic.flow.component.antvx6.objects.X6AbstractNode;
+import com.neotropic.flow.component.antvx6.objects.X6Cell;
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import com.neotropic.flow.component.antvx6.objects.X6EdgeLabel;
+import com.neotropic.flow.component.antvx6.objects.X6Node;
+import com.neotropic.flow.component.antvx6.objects.X6NodeBackground;
+import com.neotropic.flow.component.antvx6.objects.X6NodeText;
+import com.neotropic.flow.component.antvx6.objects.X6Polyline;
+import com.neotropic.flow.component.antvx6.styles.X6EdgeLabelStyles;
+import com.neotropic.flow.component.antvx6.styles.X6EdgeStyles;
+import com.neotropic.flow.component.antvx6.styles.X6NodeLabelStyles;
+import com.neotropic.flow.component.antvx6.styles.X6NodeStyles;
+import com.neotropic.flow.component.antvx6.styles.X6StyleRegistry;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Saved state of a graph: the background, the nodes, the text nodes and the edges with their
+ * styles, in a compact binary format meant to be opened with a single read.
+ *
+ * The file starts with a table of the distinct strings (ids, shapes, labels, colors, ...) and
+ * tables of the distinct styles, written once and referenced by index from fixed layout records,
+ * so a diagram of tens of thousands of cells that share a few styles takes little more than its
+ * geometry. Snapshots are read from a memory mapped file, see {@link #read(Path)}, and decoded
+ * straight into cells ready to be drawn with one call to the web component.
+ *
+ * Styles that were interned (see {@link X6StyleRegistry}) when the snapshot was written are
+ * interned again when it is read; the other styles are given to each cell as its own copy.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+@Getter
+public class X6Snapshot {
+    /*
+    * "X6SN" followed by the version of the format.
+    */
+    private static final int MAGIC = 0x5836534E;
+    private static final int VERSION = 1;
+    /*
+    * Flags of the cell records.
+    */
+    private static final int FLAG_MOVABLE = 1;
+    private static final int FLAG_PORT = 1 << 1;
+    private static final int FLAG_GEOMETRY = 1 << 2;
+    /*
+    * Flag of the style records.
+    */
+    private static final int FLAG_INTERNED = 1;
+    /*
+    * Size in bytes of the style records: flags, string references and numbers.
+    */
+    private static final int NODE_STYLES_SIZE = 1 + 4 + 4 + 8 + 4 + 4 + 4;
+    private static final int NODE_LABEL_STYLES_SIZE = 1 + 4 + 8 + 4 + 4 + 4;
+    private static final int EDGE_STYLES_SIZE = 1 + 4 + 8 + 8 + 4 + 4;
+    private static final int EDGE_LABEL_STYLES_SIZE = 1 + 4 + 4 + 8 + 4 + 4;
+    /*
+    * Reference to a null string or style.
+    */
+    private static final int NONE = -1;
+    
+    /*
+    * The background node, null if the graph has none.
+    */
+    private final X6NodeBackground background;
+    private final List<X6Node> nodes;
+    private final List<X6NodeText> textNodes;
+    private final List<X6Edge> edges;
+    
+    /**
+    * Creates a snapshot of the given cells. The cells are not copied: the snapshot reflects
+    * their state at the time it is written.
+    *
+    * @param background the background node, may be null
+    * @param nodes the nodes
+    * @param textNodes the text nodes
+    * @param edges the edges
+    */
+    public X6Snapshot(X6NodeBackground background, Collection<X6Node> nodes, 
+            Collection<X6NodeText> textNodes, Collection<X6Edge> edges) {
+        this.background = background;
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+        this.textNodes = Collections.unmodifiableList(new ArrayList<>(textNodes));
+        this.edges = Collections.unmodifiableList(new ArrayList<>(edges));
+    }
+    
+    /**
+    * Gets the number of cells of the snapshot, counting the background.
+    *
+    * @return the number of cells
+    */
+    public int getCellCount() {
+        return (background != null ? 1 : 0) + nodes.size() + textNodes.size() + edges.size();
+    }
+    
+    // <editor-fold desc="Writing">
+    
+    /**
+    * Writes the snapshot to a stream. The stream is not closed.
+    *
+    * @param out the stream where the snapshot is written
+    * @throws IOException if the snapshot cannot be written
+    */
+    public void write(OutputStream out) throws IOException {
+        new Writer().write(this, out);
+    }
+    
+    /**
+    * Writes the snapshot to a file. The file is written next to the target and then moved
+    * in place, so a reader never finds a partial snapshot.
+    *
+    * @param target the file where the snapshot is written
+    * @throws IOException if the snapshot cannot be written
+    */
+    public void write(Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, ".x6-snapshot-", ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16)) {
+                write(out);
+            }
+            try {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+    
+    /**
+    * Writes the records of the cells while it collects the strings and styles they use, then
+    * writes the tables followed by the records.
+    */
+    private static final class Writer {
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final List<String> stringTable = new ArrayList<>();
+        private final StyleTable<X6NodeStyles> nodeStyles = new StyleTable<>();
+        private final StyleTable<X6NodeLabelStyles> nodeLabelStyles = new StyleTable<>();
+        private final StyleTable<X6EdgeStyles> edgeStyles = new StyleTable<>();
+        private final StyleTable<X6EdgeLabelStyles> edgeLabelStyles = new StyleTable<>();
+        
+        private void write(X6Snapshot snapshot, OutputStream target) throws IOException {
+            ByteArrayOutputStream records = new ByteArrayOutputStream(64 + snapshot.getCellCount() * 96);
+            DataOutputStream body = new DataOutputStream(records);
+            body.writeBoolean(snapshot.background != null);
+            if (snapshot.background != null)
+                writeNode(body, snapshot.background, false);
+            body.writeInt(snapshot.nodes.size());
+            for (X6Node node : snapshot.nodes)
+                writeNode(body, node, node.isPort());
+            body.writeInt(snapshot.textNodes.size());
+            for (X6NodeText textNode : snapshot.textNodes)
+                writeNode(body, textNode, false);
+            body.writeInt(snapshot.edges.size());
+            for (X6Edge edge : snapshot.edges)
+                writeEdge(body, edge);
+            body.flush();
+            
+            // the style tables refer to strings too, so they are written before the string table
+            ByteArrayOutputStream styleTables = new ByteArrayOutputStream();
+            DataOutputStream tables = new DataOutputStream(styleTables);
+            tables.writeInt(nodeStyles.entries.size());
+            for (X6NodeStyles styles : nodeStyles.entries) {
+                tables.writeByte(X6StyleRegistry.isInterned(styles) ? FLAG_INTERNED : 0);
+                tables.writeInt(string(styles.getFillColor()));
+                tables.writeInt(string(styles.getStrokeColor()));
+                tables.writeDouble(styles.getStrokeWidth());
+                tables.writeInt(string(styles.getDash()));
+                tables.writeInt(styles.getBorderRadius());
+                tables.writeInt(styles.getZIndex());
+            }
+            tables.writeInt(nodeLabelStyles.entries.size());
+            for (X6NodeLabelStyles styles : nodeLabelStyles.entries) {
+                tables.writeByte(X6StyleRegistry.isInterned(styles) ? FLAG_INTERNED : 0);
+                tables.writeInt(string(styles.getFontColor()));
+                tables.writeDouble(styles.getFontSize());
+                tables.writeInt(string(styles.getFontFamily()));
+                tables.writeInt(string(styles.getLabelPosition()));
+                tables.writeInt(string(styles.getVisibility()));
+            }
+            tables.writeInt(edgeStyles.entries.size());
+            for (X6EdgeStyles styles : edgeStyles.entries) {
+                tables.writeByte(X6StyleRegistry.isInterned(styles) ? FLAG_INTERNED : 0);
+                tables.writeInt(string(styles.getStrokeColor()));
+                tables.writeDouble(styles.getStrokeWidth());
+                tables.writeDouble(styles.getDash());
+                tables.writeInt(styles.getBorderRadius());
+                tables.writeInt(styles.getZIndex());
+            }
+            tables.writeInt(edgeLabelStyles.entries.size());
+            for (X6EdgeLabelStyles styles : edgeLabelStyles.entries) {
+                tables.writeByte(X6StyleRegistry.isInterned(styles) ? FLAG_INTERNED : 0);
+                tables.writeInt(string(styles.getFillColor()));
+                tables.writeInt(string(styles.getFontColor()));
+                tables.writeDouble(styles.getFontSize());
+                tables.writeInt(string(styles.getFontFamily()));
+                tables.writeInt(styles.getBorderRadius());
+            }
+            tables.flush();
+            
+            DataOutputStream out = new DataOutputStream(target);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(stringTable.size());
+            for (String string : stringTable) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            styleTables.writeTo(out);
+            records.writeTo(out);
+            out.flush();
+        }
+        
+        /**
+        * Writes a node, text node or background node.
+        */
+        private void writeNode(DataOutputStream out, X6AbstractNode node, boolean port) throws IOException {
+            Geometry geometry = node.getGeometry();
+            out.writeInt(string(node.getId()));
+            out.writeInt(string(node.getShape()));
+            out.writeInt(string(node.getImgUrl()));
+            out.writeInt(string(node.getLabel()));
+            out.writeInt(string(node.getParentId()));
+            out.writeByte((node.isMovable() ? FLAG_MOVABLE : 0) | (port ? FLAG_PORT : 0) 
+                    | (geometry != null ? FLAG_GEOMETRY : 0));
+            if (geometry != null)
+                writeGeometry(out, geometry);
+            out.writeInt(nodeStyles.indexOf(node.getNodeStyles()));
+            out.writeInt(nodeLabelStyles.indexOf(node.getNodeLabelStyles()));
+            writeCellProperties(out, node);
+        }
+        
+        private void writeEdge(DataOutputStream out, X6Edge edge) throws IOException {
+            out.writeInt(string(edge.getId()));
+            out.writeInt(string(edge.getIdSource()));
+            out.writeInt(string(edge.getIdTarget()));
+            out.writeByte(edge.getGeometry() != null ? FLAG_GEOMETRY : 0);
+            if (edge.getGeometry() != null)
+                writeGeometry(out, edge.getGeometry());
+            out.writeInt(edgeStyles.indexOf(edge.getEdgeStyles()));
+            X6Polyline polyline = edge.getPolyline();
+            out.writeInt(polyline.size());
+            for (int i = 0; i < polyline.size(); i++) {
+                out.writeDouble(polyline.getX(i));
+                out.writeDouble(polyline.getY(i));
+            }
+            List<X6EdgeLabel> labels = edge.getEdgeLabels();
+            if (labels == null) {
+                out.writeInt(NONE);
+            } else {
+                out.writeInt(labels.size());
+                for (X6EdgeLabel label : labels) {
+                    out.writeInt(string(label.getLabel()));
+                    out.writeDouble(label.getDistance());
+                    out.writeInt(edgeLabelStyles.indexOf(label.getEdgeLabelStyles()));
+                }
+            }
+            writeCellProperties(out, edge);
+        }
+        
+        private void writeGeometry(DataOutputStream out, Geometry geometry) throws IOException {
+            out.writeDouble(geometry.getX());
+            out.writeDouble(geometry.getY());
+            out.writeDouble(geometry.getWidth());
+            out.writeDouble(geometry.getHeight());
+        }
+        
+        /**
+        * Writes the tools and the styles of the cell.
+        */
+        private void writeCellProperties(DataOutputStream out, X6Cell cell) throws IOException {
+            List<String> tools = cell.getTools();
+            out.writeInt(tools != null ? tools.size() : NONE);
+            if (tools != null) {
+                for (String tool : tools)
+                    out.writeInt(string(tool));
+            }
+            Map<String, String> styles = cell.getStyles();
+            out.writeInt(styles != null ? styles.size() : NONE);
+            if (styles != null) {
+                for (Map.Entry<String, String> style : styles.entrySet()) {
+                    out.writeInt(string(style.getKey()));
+                    out.writeInt(string(style.getValue()));
+                }
+            }
+        }
+        
+        private int string(String value) {
+            if (value == null)
+                return NONE;
+            Integer index = strings.get(value);
+            if (index == null) {
+                index = stringTable.size();
+                strings.put(value, index);
+                stringTable.add(value);
+            }
+            return index;
+        }
+    }
+    
+    /**
+    * Distinct styles of one kind, in order of appearance. Interned and modifiable styles with
+    * the same content are different entries, so each cell gets back the kind of style it had.
+    */
+    private static final class StyleTable<T> {
+        private final Map<T, Integer> interned = new HashMap<>();
+        private final Map<T, Integer> mutable = new HashMap<>();
+        private final List<T> entries = new ArrayList<>();
+        
+        private int indexOf(T styles) {
+            if (styles == null)
+                return NONE;
+            Map<T, Integer> indexes = X6StyleRegistry.isInterned(styles) ? interned : mutable;
+            Integer index = indexes.get(styles);
+            if (index == null) {
+                index = entries.size();
+                indexes.put(styles, index);
+                entries.add(styles);
+            }
+            return index;
+        }
+    }
+    
+    // </editor-fold>
+    
+    // <editor-fold desc="Reading">
+    
+    /**
+    * Reads a snapshot from a file, mapping it in memory instead of copying it through a stream.
+    *
+    * @param source the file to read
+    * @return the snapshot
+    * @throws IOException if the file cannot be read or is not a valid snapshot
+    */
+    public static X6Snapshot read(Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new IOException("The snapshot is too large: " + size + " bytes");
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return read(buffer);
+        }
+    }
+    
+    /**
+    * Reads a snapshot from a stream. The stream is read to its end but not closed.
+    *
+    * @param in the stream to read
+    * @return the snapshot
+    * @throws IOException if the stream cannot be read or does not hold a valid snapshot
+    */
+    public static X6Snapshot read(InputStream in) throws IOException {
+        return read(ByteBuffer.wrap(in.readAllBytes()));
+    }
+    
+    /**
+    * Reads a snapshot from the remaining bytes of a buffer. The position of the buffer is not changed.
+    *
+    * @param buffer the buffer to read
+    * @return the snapshot
+    * @throws IOException if the buffer does not hold a valid snapshot
+    */
+    public static X6Snapshot read(ByteBuffer buffer) throws IOException {
+        try {
+            return new Reader(buffer.slice()).read();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            throw new IOException("The snapshot is truncated or corrupted", ex);
+        }
+    }
+    
+    /**
+    * Decodes a snapshot. The records are read in order; the style records have a fixed size and
+    * are decoded where they are, by position, when a cell refers to them.
+    */
+    private static final class Reader {
+        private final ByteBuffer buffer;
+        private String[] strings;
+        private int nodeStylesStart;
+        private int nodeLabelStylesStart;
+        private int edgeStylesStart;
+        private int edgeLabelStylesStart;
+        /*
+        * Interned styles already decoded, by index.
+        */
+        private X6NodeStyles[] nodeStyles;
+        private X6NodeLabelStyles[] nodeLabelStyles;
+        private X6EdgeStyles[] edgeStyles;
+        private X6EdgeLabelStyles[] edgeLabelStyles;
+        
+        private Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+        
+        private X6Snapshot read() throws IOException {
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC)
+                throw new IOException("Not an X6 snapshot");
+            int version = buffer.getInt();
+            if (version != VERSION)
+                throw new IOException("Unsupported snapshot version: " + version);
+            
+            strings = new String[count(4)];
+            byte[] bytes = new byte[64];
+            for (int i = 0; i < strings.length; i++) {
+                int length = count(1);
+                if (bytes.length < length)
+                    bytes = new byte[Math.max(length, bytes.length * 2)];
+                buffer.get(bytes, 0, length);
+                strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+            nodeStyles = new X6NodeStyles[count(NODE_STYLES_SIZE)];
+            nodeStylesStart = skip(nodeStyles.length, NODE_STYLES_SIZE);
+            nodeLabelStyles = new X6NodeLabelStyles[count(NODE_LABEL_STYLES_SIZE)];
+            nodeLabelStylesStart = skip(nodeLabelStyles.length, NODE_LABEL_STYLES_SIZE);
+            edgeStyles = new X6EdgeStyles[count(EDGE_STYLES_SIZE)];
+            edgeStylesStart = skip(edgeStyles.length, EDGE_STYLES_SIZE);
+            edgeLabelStyles = new X6EdgeLabelStyles[count(EDGE_LABEL_STYLES_SIZE)];
+            edgeLabelStylesStart = skip(edgeLabelStyles.length, EDGE_LABEL_STYLES_SIZE);
+            
+            X6NodeBackground background = null;
+            if (buffer.get() != 0)
+                background = readNode(new X6NodeBackground());
+            int nodeCount = count(4);
+            List<X6Node> nodes = new ArrayList<>(nodeCount);
+            for (int i = 0; i < nodeCount; i++)
+                nodes.add(readNode(new X6Node()));
+            int textNodeCount = count(4);
+            List<X6NodeText> textNodes = new ArrayList<>(textNodeCount);
+            for (int i = 0; i < textNodeCount; i++)
+                textNodes.add(readNode(new X6NodeText()));
+            int edgeCount = count(4);
+            List<X6Edge> edges = new ArrayList<>(edgeCount);
+            for (int i = 0; i < edgeCount; i++)
+                edges.add(readEdge());
+            return new X6Snapshot(background, nodes, textNodes, edges);
+        }
+        
+        private <T extends X6AbstractNode> T readNode(T node) {
+            node.setId(string(buffer.getInt()));
+            node.setShape(string(buffer.getInt()));
+            node.setImgUrl(string(buffer.getInt()));
+            node.setLabel(string(buffer.getInt()));
+            node.setParentId(string(buffer.getInt()));
+            int flags = buffer.get();
+            node.setMovable((flags & FLAG_MOVABLE) != 0);
+            if (node instanceof X6Node port)
+                port.setPort((flags & FLAG_PORT) != 0);
+            if ((flags & FLAG_GEOMETRY) != 0)
+                node.setGeometry(readGeometry());
+            node.setNodeStyles(nodeStyles(buffer.getInt()));
+            node.setNodeLabelStyles(nodeLabelStyles(buffer.getInt()));
+            readCellProperties(node);
+            return node;
+        }
+        
+        private X6Edge readEdge() throws IOException {
+            X6Edge edge = new X6Edge();
+            edge.setId(string(buffer.getInt()));
+            edge.setIdSource(string(buffer.getInt()));
+            edge.setIdTarget(string(buffer.getInt()));
+            if ((buffer.get() & FLAG_GEOMETRY) != 0)
+                edge.setGeometry(readGeometry());
+            edge.setEdgeStyles(edgeStyles(buffer.getInt()));
+            int vertices = count(16);
+            if (vertices > 0) {
+                X6Polyline polyline = new X6Polyline(vertices);
+                for (int i = 0; i < vertices; i++)
+                    polyline.add(buffer.getDouble(), buffer.getDouble());
+                edge.setPolyline(polyline);
+            }
+            int labels = buffer.getInt();
+            if (labels == NONE) {
+                edge.setEdgeLabels(null);
+            } else {
+                for (int i = 0; i < labels; i++) {
+                    X6EdgeLabel label = new X6EdgeLabel(string(buffer.getInt()), buffer.getDouble());
+                    label.setEdgeLabelStyles(edgeLabelStyles(buffer.getInt()));
+                    edge.getEdgeLabels().add(label);
+                }
+            }
+            readCellProperties(edge);
+            return edge;
+        }
+        
+        private Geometry readGeometry() {
+            return new Geometry(buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+        }
+        
+        private void readCellProperties(X6Cell cell) {
+            int tools = buffer.getInt();
+            if (tools == NONE) {
+                cell.setTools(null);
+            } else {
+                for (int i = 0; i < tools; i++)
+                    cell.getTools().add(string(buffer.getInt()));
+            }
+            int styles = buffer.getInt();
+            if (styles == NONE) {
+                cell.setStyles(null);
+            } else {
+                for (int i = 0; i < styles; i++)
+                    cell.getStyles().put(string(buffer.getInt()), string(buffer.getInt()));
+            }
+        }
+        
+        /**
+        * Gets the node styles at an index: the shared instance if they were interned, otherwise a new copy.
+        */
+        private X6NodeStyles nodeStyles(int index) {
+            if (index == NONE)
+                return null;
+            if (nodeStyles[index] != null)
+                return nodeStyles[index];
+            int at = nodeStylesStart + index * NODE_STYLES_SIZE;
+            X6NodeStyles styles = new X6NodeStyles();
+            styles.setFillColor(string(buffer.getInt(at + 1)));
+            styles.setStrokeColor(string(buffer.getInt(at + 5)));
+            styles.setStrokeWidth(buffer.getDouble(at + 9));
+            styles.setDash(string(buffer.getInt(at + 17)));
+            styles.setBorderRadius(buffer.getInt(at + 21));
+            styles.setZIndex(buffer.getInt(at + 25));
+            if ((buffer.get(at) & FLAG_INTERNED) == 0)
+                return styles;
+            return nodeStyles[index] = X6StyleRegistry.intern(styles);
+        }
+        
+        private X6NodeLabelStyles nodeLabelStyles(int index) {
+            if (index == NONE)
+                return null;
+            if (nodeLabelStyles[index] != null)
+                return nodeLabelStyles[index];
+            int at = nodeLabelStylesStart + index * NODE_LABEL_STYLES_SIZE;
+            X6NodeLabelStyles styles = new X6NodeLabelStyles();
+            styles.setFontColor(string(buffer.getInt(at + 1)));
+            styles.setFontSize(buffer.getDouble(at + 5));
+            styles.setFontFamily(string(buffer.getInt(at + 13)));
+            styles.setLabelPosition(string(buffer.getInt(at + 17)));
+            styles.setVisibility(string(buffer.getInt(at + 21)));
+            if ((buffer.get(at) & FLAG_INTERNED) == 0)
+                return styles;
+            return nodeLabelStyles[index] = X6StyleRegistry.intern(styles);
+        }
+        
+        private X6EdgeStyles edgeStyles(int index) {
+            if (index == NONE)
+                return null;
+            if (edgeStyles[index] != null)
+                return edgeStyles[index];
+            int at = edgeStylesStart + index * EDGE_STYLES_SIZE;
+            X6EdgeStyles styles = new X6EdgeStyles();
+            styles.setStrokeColor(string(buffer.getInt(at + 1)));
+            styles.setStrokeWidth(buffer.getDouble(at + 5));
+            styles.setDash(buffer.getDouble(at + 13));
+            styles.setBorderRadius(buffer.getInt(at + 21));
+            styles.setZIndex(buffer.getInt(at + 25));
+            if ((buffer.get(at) & FLAG_INTERNED) == 0)
+                return styles;
+            return edgeStyles[index] = X6StyleRegistry.intern(styles);
+        }
+        
+        private X6EdgeLabelStyles edgeLabelStyles(int index) {
+            if (index == NONE)
+                return null;
+            if (edgeLabelStyles[index] != null)
+                return edgeLabelStyles[index];
+            int at = edgeLabelStylesStart + index * EDGE_LABEL_STYLES_SIZE;
+            X6EdgeLabelStyles styles = new X6EdgeLabelStyles();
+            styles.setFillColor(string(buffer.getInt(at + 1)));
+            styles.setFontColor(string(buffer.getInt(at + 5)));
+            styles.setFontSize(buffer.getDouble(at + 9));
+            styles.setFontFamily(string(buffer.getInt(at + 17)));
+            styles.setBorderRadius(buffer.getInt(at + 21));
+            if ((buffer.get(at) & FLAG_INTERNED) == 0)
+                return styles;
+            return edgeLabelStyles[index] = X6StyleRegistry.intern(styles);
+        }
+        
+        private String string(int index) {
+            return index == NONE ? null : strings[index];
+        }
+        
+        /**
+        * Reads a count and checks it against the bytes left before anything is allocated from it,
+        * so that a corrupted file fails early instead of running out of memory.
+        *
+        * @param itemSize the least number of bytes taken by each item
+        */
+        private int count(int itemSize) throws IOException {
+            int count = buffer.getInt();
+            if (count < 0)
+                throw new IOException("The snapshot is corrupted: negative count " + count);
+            if ((long) count * itemSize > buffer.remaining())
+                throw new IOException("The snapshot is truncated");
+            return count;
+        }
+        
+        /**
+        * Skips a table of fixed size records.
+        *
+        * @return the position of the first record
+        */
+        private int skip(int records, int recordSize) throws IOException {
+            int start = buffer.position();
+            if ((long) records * recordSize > buffer.remaining())
+                throw new IOException("The snapshot is truncated");
+            buffer.position(start + records * recordSize);
+            return start;
+        }
+    }
+    
+    // </editor-fold>
+}
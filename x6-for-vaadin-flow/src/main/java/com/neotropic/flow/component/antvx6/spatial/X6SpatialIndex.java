@@ -0,0 +1,357 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.spatial;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform grid over the bounding boxes of the nodes, used to answer range and nearest
+ * neighbour queries without scanning every node.
+ *
+ * The plane is divided into square buckets of a fixed size and every box is stored in
+ * each bucket it overlaps, so a query only visits the buckets that cover the searched area.
+ * Moving a box within its buckets only updates its coordinates.
+ *
+ * The index is not thread-safe, it is meant to be used under the session lock like the
+ * component that owns it.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6SpatialIndex {
+    /**
+    * Default size of the buckets, in graph units.
+    */
+    public static final double DEFAULT_CELL_SIZE = 256;
+    /*
+    * Size of the buckets.
+    */
+    private final double cellSize;
+    /*
+    * Boxes stored in each bucket, indexed by the packed column and row of the bucket.
+    */
+    private final Map<Long, List<Entry>> grid;
+    /*
+    * Boxes indexed by id.
+    */
+    private final Map<String, Entry> entries;
+    /*
+    * Marks the boxes already visited by the current query, since a box may be in several buckets.
+    */
+    private int queryStamp;
+    /*
+    * Buckets that contained a box at some point. They only grow, to bound the nearest neighbour search.
+    */
+    private int minColumn, minRow, maxColumn, maxRow;
+
+    /**
+    * A box stored in the index.
+    */
+    private static final class Entry {
+        private final String id;
+        private double x, y, width, height;
+        private int fromColumn, fromRow, toColumn, toRow;
+        private int stamp;
+
+        private Entry(String id) {
+            this.id = id;
+        }
+    }
+
+    public X6SpatialIndex() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+    * Creates an empty index.
+    *
+    * @param cellSize the size of the buckets in graph units; a good value is a few times
+    *                 the size of a typical node
+    */
+    public X6SpatialIndex(double cellSize) {
+        this.cellSize = cellSize > 0 ? cellSize : DEFAULT_CELL_SIZE;
+        this.grid = new HashMap<>();
+        this.entries = new HashMap<>();
+        this.minColumn = Integer.MAX_VALUE;
+        this.minRow = Integer.MAX_VALUE;
+        this.maxColumn = Integer.MIN_VALUE;
+        this.maxRow = Integer.MIN_VALUE;
+    }
+
+    /**
+    * Adds a box, or replaces the box already stored with the same id.
+    *
+    * @param id the id of the node
+    * @param x the x coordinate of the top left corner
+    * @param y the y coordinate of the top left corner
+    * @param width the width of the box
+    * @param height the height of the box
+    */
+    public void put(String id, double x, double y, double width, double height) {
+        if (id == null)
+            return;
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            entry = new Entry(id);
+            entries.put(id, entry);
+        }
+        else
+            unlink(entry);
+        entry.x = x;
+        entry.y = y;
+        entry.width = Math.max(0, width);
+        entry.height = Math.max(0, height);
+        link(entry);
+    }
+
+    /**
+    * Moves a stored box keeping its size. Does nothing if the id is not stored.
+    *
+    * @param id the id of the node
+    * @param x the new x coordinate of the top left corner
+    * @param y the new y coordinate of the top left corner
+    */
+    public void move(String id, double x, double y) {
+        Entry entry = id != null ? entries.get(id) : null;
+        if (entry != null) {
+            if (column(x) == entry.fromColumn && row(y) == entry.fromRow
+                    && column(x + entry.width) == entry.toColumn && row(y + entry.height) == entry.toRow) {
+                entry.x = x;
+                entry.y = y;
+            } else
+                put(id, x, y, entry.width, entry.height);
+        }
+    }
+
+    /**
+    * Removes a box.
+    *
+    * @param id the id of the node
+    * @return true if the box was stored; false otherwise
+    */
+    public boolean remove(String id) {
+        Entry entry = id != null ? entries.remove(id) : null;
+        if (entry == null)
+            return false;
+        unlink(entry);
+        return true;
+    }
+
+    /**
+    * Removes every box from the index.
+    */
+    public void clear() {
+        grid.clear();
+        entries.clear();
+        minColumn = Integer.MAX_VALUE;
+        minRow = Integer.MAX_VALUE;
+        maxColumn = Integer.MIN_VALUE;
+        maxRow = Integer.MIN_VALUE;
+    }
+
+    public boolean contains(String id) {
+        return id != null && entries.containsKey(id);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+    * Finds the boxes that intersect or touch a rectangle.
+    *
+    * @param x the x coordinate of the top left corner of the rectangle
+    * @param y the y coordinate of the top left corner of the rectangle
+    * @param width the width of the rectangle
+    * @param height the height of the rectangle
+    * @return the ids of the boxes found, in no particular order
+    */
+    public List<String> findInRect(double x, double y, double width, double height) {
+        List<String> found = new ArrayList<>();
+        if (entries.isEmpty() || width < 0 || height < 0)
+            return found;
+        double right = x + width;
+        double bottom = y + height;
+        int fromColumn = Math.max(column(x), minColumn);
+        int fromRow = Math.max(row(y), minRow);
+        int toColumn = Math.min(column(right), maxColumn);
+        int toRow = Math.min(row(bottom), maxRow);
+        if (fromColumn > toColumn || fromRow > toRow)
+            return found;
+
+        if ((long) (toColumn - fromColumn + 1) * (toRow - fromRow + 1) > entries.size()) {
+            // the rectangle covers more buckets than there are boxes
+            for (Entry entry : entries.values()) {
+                if (intersects(entry, x, y, right, bottom))
+                    found.add(entry.id);
+            }
+            return found;
+        }
+        int stamp = nextStamp();
+        for (int column = fromColumn; column <= toColumn; column++) {
+            for (int row = fromRow; row <= toRow; row++) {
+                List<Entry> bucket = grid.get(key(column, row));
+                if (bucket == null)
+                    continue;
+                for (Entry entry : bucket) {
+                    if (entry.stamp != stamp) {
+                        entry.stamp = stamp;
+                        if (intersects(entry, x, y, right, bottom))
+                            found.add(entry.id);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+    * Finds the box closest to a point. The distance to a box is 0 when the point is inside it.
+    *
+    * @param x the x coordinate of the point
+    * @param y the y coordinate of the point
+    * @return the id of the closest box, or null if the index is empty
+    */
+    public String findNearest(double x, double y) {
+        if (entries.isEmpty())
+            return null;
+        int centerColumn = column(x);
+        int centerRow = row(y);
+        int maxRing = Math.max(Math.max(centerColumn - minColumn, maxColumn - centerColumn),
+                Math.max(centerRow - minRow, maxRow - centerRow));
+        if (maxRing < 0)
+            maxRing = 0;
+
+        Entry nearest = null;
+        double nearestDistance = Double.POSITIVE_INFINITY;
+        int stamp = nextStamp();
+        long visited = 0;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // the boxes not visited yet are in this ring or beyond, at least this far from the point
+            double bound = Math.max(0, ring - 1) * cellSize;
+            if (nearest != null && nearestDistance <= bound * bound)
+                break;
+            visited += ring == 0 ? 1 : 8L * ring;
+            if (visited > entries.size())
+                return findNearestByScan(x, y);
+
+            for (int column = centerColumn - ring; column <= centerColumn + ring; column++) {
+                boolean edgeColumn = column == centerColumn - ring || column == centerColumn + ring;
+                for (int row = centerRow - ring; row <= centerRow + ring; row += edgeColumn ? 1 : 2 * ring) {
+                    List<Entry> bucket = grid.get(key(column, row));
+                    if (bucket != null) {
+                        for (Entry entry : bucket) {
+                            if (entry.stamp != stamp) {
+                                entry.stamp = stamp;
+                                double distance = squaredDistance(entry, x, y);
+                                if (distance < nearestDistance) {
+                                    nearestDistance = distance;
+                                    nearest = entry;
+                                }
+                            }
+                        }
+                    }
+                    if (ring == 0)
+                        break;
+                }
+            }
+        }
+        return nearest != null ? nearest.id : null;
+    }
+
+    private String findNearestByScan(double x, double y) {
+        Entry nearest = null;
+        double nearestDistance = Double.POSITIVE_INFINITY;
+        for (Entry entry : entries.values()) {
+            double distance = squaredDistance(entry, x, y);
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = entry;
+            }
+        }
+        return nearest != null ? nearest.id : null;
+    }
+
+    private void link(Entry entry) {
+        entry.fromColumn = column(entry.x);
+        entry.fromRow = row(entry.y);
+        entry.toColumn = column(entry.x + entry.width);
+        entry.toRow = row(entry.y + entry.height);
+        minColumn = Math.min(minColumn, entry.fromColumn);
+        minRow = Math.min(minRow, entry.fromRow);
+        maxColumn = Math.max(maxColumn, entry.toColumn);
+        maxRow = Math.max(maxRow, entry.toRow);
+        for (int column = entry.fromColumn; column <= entry.toColumn; column++) {
+            for (int row = entry.fromRow; row <= entry.toRow; row++)
+                grid.computeIfAbsent(key(column, row), k -> new ArrayList<>(4)).add(entry);
+        }
+    }
+
+    private void unlink(Entry entry) {
+        for (int column = entry.fromColumn; column <= entry.toColumn; column++) {
+            for (int row = entry.fromRow; row <= entry.toRow; row++) {
+                Long key = key(column, row);
+                List<Entry> bucket = grid.get(key);
+                if (bucket != null) {
+                    bucket.remove(entry);
+                    if (bucket.isEmpty())
+                        grid.remove(key);
+                }
+            }
+        }
+    }
+
+    private int nextStamp() {
+        if (++queryStamp == 0) {
+            for (Entry entry : entries.values())
+                entry.stamp = 0;
+            queryStamp = 1;
+        }
+        return queryStamp;
+    }
+
+    private int column(double x) {
+        return (int) Math.floor(x / cellSize);
+    }
+
+    private int row(double y) {
+        return (int) Math.floor(y / cellSize);
+    }
+
+    private static long key(int column, int row) {
+        return ((long) column << 32) | (row & 0xffffffffL);
+    }
+
+    private static boolean intersects(Entry entry, double x, double y, double right, double bottom) {
+        return entry.x <= right && entry.x + entry.width >= x
+                && entry.y <= bottom && entry.y + entry.height >= y;
+    }
+
+    private static double squaredDistance(Entry entry, double x, double y) {
+        double dx = Math.max(Math.max(entry.x - x, 0), x - (entry.x + entry.width));
+        double dy = Math.max(Math.max(entry.y - y, 0), y - (entry.y + entry.height));
+        return dx * dx + dy * dy;
+    }
+}
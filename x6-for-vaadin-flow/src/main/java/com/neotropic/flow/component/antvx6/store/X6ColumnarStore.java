@@ -0,0 +1,896 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.store;
+
+import com.neotropic.flow.component.antvx6.constants.X6Constants;
+import com.neotropic.flow.component.antvx6.jsonGenerator.JsonStreamGenerator;
+import com.neotropic.flow.component.antvx6.objects.Geometry;
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import com.neotropic.flow.component.antvx6.objects.X6EdgeLabel;
+import com.neotropic.flow.component.antvx6.objects.X6Node;
+import com.neotropic.flow.component.antvx6.objects.X6Polyline;
+import com.neotropic.flow.component.antvx6.styles.X6EdgeStyles;
+import com.neotropic.flow.component.antvx6.styles.X6NodeLabelStyles;
+import com.neotropic.flow.component.antvx6.styles.X6NodeStyles;
+import com.neotropic.flow.component.antvx6.styles.X6StyleRegistry;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Column oriented store of nodes and edges for very large diagrams. Instead of an object
+ * graph per cell, the ids, geometry, labels, parents, shapes, styles and edge endpoints are
+ * kept in arrays indexed by the position of the cell; shapes and styles are stored once, in
+ * tables of interned values, and referenced by index.
+ *
+ * {@link #getNode(int)} and {@link #getEdge(int)} return flyweight views, regular
+ * {@link X6Node}/{@link X6Edge} instances that read and write the arrays. A view is created on
+ * each call; it holds only its index, none of the maps, lists and styles of a regular cell.
+ * The store is written to the payload of {@code drawCells} directly from the arrays, see
+ * {@link #appendPayload(JsonStreamGenerator)}.
+ *
+ * This is a draw-only store: the canvas draws it with {@code AntvX6.drawColumnarStore}, finds
+ * its cells with {@code getNodeById}/{@code getEdgeById}, applies the edge changes made in the
+ * browser to it and includes it in the exports, but its cells are not part of
+ * {@code getNodes}/{@code getEdges}, the spatial index, the layouts, the clustering, the
+ * incremental refresh or the snapshots. Use regular cells for anything else.
+ *
+ * Cells can be added and changed but not removed; rebuild the store to drop cells.
+ * The store is not thread-safe.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6ColumnarStore {
+    private static final X6NodeStyles DEFAULT_NODE_STYLES = X6StyleRegistry.intern(new X6NodeStyles());
+    private static final X6NodeLabelStyles DEFAULT_NODE_LABEL_STYLES = X6StyleRegistry.intern(new X6NodeLabelStyles());
+    private static final X6EdgeStyles DEFAULT_EDGE_STYLES = X6StyleRegistry.intern(new X6EdgeStyles());
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final X6Polyline NO_VERTICES = new X6Polyline();
+    /*
+    * Node columns. The geometry holds x, y, width and height of each node; a parent of -1 means
+    * no parent in the store, see externalParents.
+    */
+    private int nodeCount;
+    private String[] nodeIds;
+    private double[] nodeGeometry;
+    private String[] nodeLabels;
+    private int[] nodeParents;
+    private int[] nodeShapes;
+    private int[] nodeStyles;
+    private int[] nodeLabelStyles;
+    private final Map<String, Integer> nodeIndex;
+    /*
+    * Parents that are not nodes of the store (e.g. the background node), by node index.
+    */
+    private final Map<Integer, String> externalParents;
+    /*
+    * Edge columns. The endpoints are node indices; the vertices are null for straight edges.
+    */
+    private int edgeCount;
+    private String[] edgeIds;
+    private int[] edgeSources;
+    private int[] edgeTargets;
+    private String[] edgeLabels;
+    private int[] edgeStyles;
+    private X6Polyline[] edgeVertices;
+    private final Map<String, Integer> edgeIndex;
+    /*
+    * Tables of the distinct shapes and interned styles, referenced by index from the columns.
+    */
+    private final ValueTable<String> shapes;
+    private final ValueTable<X6NodeStyles> nodeStyleTable;
+    private final ValueTable<X6NodeLabelStyles> nodeLabelStyleTable;
+    private final ValueTable<X6EdgeStyles> edgeStyleTable;
+
+    public X6ColumnarStore() {
+        this(DEFAULT_CAPACITY, DEFAULT_CAPACITY);
+    }
+
+    /**
+    * Creates an empty store with room for a number of cells.
+    *
+    * @param nodeCapacity the expected number of nodes
+    * @param edgeCapacity the expected number of edges
+    */
+    public X6ColumnarStore(int nodeCapacity, int edgeCapacity) {
+        nodeCapacity = Math.max(1, nodeCapacity);
+        edgeCapacity = Math.max(1, edgeCapacity);
+        this.nodeIds = new String[nodeCapacity];
+        this.nodeGeometry = new double[nodeCapacity * 4];
+        this.nodeLabels = new String[nodeCapacity];
+        this.nodeParents = new int[nodeCapacity];
+        this.nodeShapes = new int[nodeCapacity];
+        this.nodeStyles = new int[nodeCapacity];
+        this.nodeLabelStyles = new int[nodeCapacity];
+        this.nodeIndex = new HashMap<>(nodeCapacity * 4 / 3 + 1);
+        this.externalParents = new HashMap<>();
+        this.edgeIds = new String[edgeCapacity];
+        this.edgeSources = new int[edgeCapacity];
+        this.edgeTargets = new int[edgeCapacity];
+        this.edgeLabels = new String[edgeCapacity];
+        this.edgeStyles = new int[edgeCapacity];
+        this.edgeVertices = new X6Polyline[edgeCapacity];
+        this.edgeIndex = new HashMap<>(edgeCapacity * 4 / 3 + 1);
+        this.shapes = new ValueTable<>(X6Constants.SHAPE_RECT);
+        this.nodeStyleTable = new ValueTable<>(DEFAULT_NODE_STYLES);
+        this.nodeLabelStyleTable = new ValueTable<>(DEFAULT_NODE_LABEL_STYLES);
+        this.edgeStyleTable = new ValueTable<>(DEFAULT_EDGE_STYLES);
+    }
+
+    // <editor-fold desc="Nodes">
+
+    /**
+    * Adds a rectangular node with the default styles.
+    *
+    * @param id the id of the node
+    * @param x the x coordinate of the top left corner
+    * @param y the y coordinate of the top left corner
+    * @param width the width of the node
+    * @param height the height of the node
+    * @param label the label of the node, may be null
+    * @return the index of the node
+    */
+    public int addNode(String id, double x, double y, double width, double height, String label) {
+        return addNode(id, x, y, width, height, X6Constants.SHAPE_RECT, label, null, null, null);
+    }
+
+    /**
+    * Adds a node.
+    *
+    * @param id the id of the node
+    * @param x the x coordinate of the top left corner
+    * @param y the y coordinate of the top left corner
+    * @param width the width of the node
+    * @param height the height of the node
+    * @param shape the shape of the node, null for a rectangle
+    * @param label the label of the node, may be null
+    * @param parentId the id of the parent node, null or blank for none
+    * @param styles the styles of the node, interned when stored; null for the default ones
+    * @param labelStyles the styles of the label, interned when stored; null for the default ones
+    * @return the index of the node
+    * @throws IllegalArgumentException if the id is null or already used by another node
+    */
+    public int addNode(String id, double x, double y, double width, double height, String shape, String label,
+            String parentId, X6NodeStyles styles, X6NodeLabelStyles labelStyles) {
+        if (id == null || nodeIndex.containsKey(id))
+            throw new IllegalArgumentException("The node id is null or already in the store: " + id);
+        if (nodeCount == nodeIds.length)
+            growNodes();
+        int index = nodeCount++;
+        nodeIndex.put(id, index);
+        nodeIds[index] = id;
+        nodeGeometry[index * 4] = x;
+        nodeGeometry[index * 4 + 1] = y;
+        nodeGeometry[index * 4 + 2] = width;
+        nodeGeometry[index * 4 + 3] = height;
+        nodeLabels[index] = label;
+        nodeShapes[index] = shapes.indexOf(shape);
+        nodeStyles[index] = nodeStyleTable.indexOf(X6StyleRegistry.intern(styles));
+        nodeLabelStyles[index] = nodeLabelStyleTable.indexOf(X6StyleRegistry.intern(labelStyles));
+        nodeParents[index] = -1;
+        setNodeParent(index, parentId);
+        return index;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+    * Finds the index of a node.
+    *
+    * @param id the id of the node
+    * @return the index of the node, or -1 if it is not in the store
+    */
+    public int indexOfNode(String id) {
+        Integer index = id != null ? nodeIndex.get(id) : null;
+        return index != null ? index : -1;
+    }
+
+    public String getNodeId(int index) {
+        return nodeIds[checkNode(index)];
+    }
+
+    public double getNodeX(int index) {
+        return nodeGeometry[checkNode(index) * 4];
+    }
+
+    public double getNodeY(int index) {
+        return nodeGeometry[checkNode(index) * 4 + 1];
+    }
+
+    public double getNodeWidth(int index) {
+        return nodeGeometry[checkNode(index) * 4 + 2];
+    }
+
+    public double getNodeHeight(int index) {
+        return nodeGeometry[checkNode(index) * 4 + 3];
+    }
+
+    public void setNodePosition(int index, double x, double y) {
+        checkNode(index);
+        nodeGeometry[index * 4] = x;
+        nodeGeometry[index * 4 + 1] = y;
+    }
+
+    public void setNodeSize(int index, double width, double height) {
+        checkNode(index);
+        nodeGeometry[index * 4 + 2] = width;
+        nodeGeometry[index * 4 + 3] = height;
+    }
+
+    public String getNodeLabel(int index) {
+        String label = nodeLabels[checkNode(index)];
+        return label != null ? label : "";
+    }
+
+    public void setNodeLabel(int index, String label) {
+        nodeLabels[checkNode(index)] = label;
+    }
+
+    /**
+    * Gets the index of the parent of a node.
+    *
+    * @param index the index of the node
+    * @return the index of the parent, or -1 if the node has no parent in the store
+    */
+    public int getNodeParent(int index) {
+        return nodeParents[checkNode(index)];
+    }
+
+    /**
+    * Gets the id of the parent of a node, which may not be in the store.
+    *
+    * @param index the index of the node
+    * @return the id of the parent, or an empty string if the node has no parent
+    */
+    public String getNodeParentId(int index) {
+        int parent = nodeParents[checkNode(index)];
+        if (parent >= 0)
+            return nodeIds[parent];
+        String external = externalParents.get(index);
+        return external != null ? external : "";
+    }
+
+    /**
+    * Sets the parent of a node. A parent that is not in the store, or not yet, is kept by id.
+    *
+    * @param index the index of the node
+    * @param parentId the id of the parent, null or blank for none
+    */
+    public void setNodeParent(int index, String parentId) {
+        checkNode(index);
+        externalParents.remove(index);
+        nodeParents[index] = -1;
+        if (parentId == null || parentId.isBlank())
+            return;
+        int parent = indexOfNode(parentId);
+        if (parent >= 0)
+            nodeParents[index] = parent;
+        else
+            externalParents.put(index, parentId);
+    }
+
+    public String getNodeShape(int index) {
+        return shapes.get(nodeShapes[checkNode(index)]);
+    }
+
+    public void setNodeShape(int index, String shape) {
+        nodeShapes[checkNode(index)] = shapes.indexOf(shape);
+    }
+
+    /**
+    * Gets the styles of a node, shared with every node that has the same styles.
+    *
+    * @param index the index of the node
+    * @return the interned styles of the node
+    */
+    public X6NodeStyles getNodeStyles(int index) {
+        return nodeStyleTable.get(nodeStyles[checkNode(index)]);
+    }
+
+    public void setNodeStyles(int index, X6NodeStyles styles) {
+        nodeStyles[checkNode(index)] = nodeStyleTable.indexOf(X6StyleRegistry.intern(styles));
+    }
+
+    public X6NodeLabelStyles getNodeLabelStyles(int index) {
+        return nodeLabelStyleTable.get(nodeLabelStyles[checkNode(index)]);
+    }
+
+    public void setNodeLabelStyles(int index, X6NodeLabelStyles styles) {
+        nodeLabelStyles[checkNode(index)] = nodeLabelStyleTable.indexOf(X6StyleRegistry.intern(styles));
+    }
+
+    /**
+    * Gets a flyweight view of a node: reading or changing it reads or changes the store.
+    * Changes to properties not kept by the store (tools, image, port...) are discarded.
+    *
+    * @param index the index of the node
+    * @return the view of the node
+    */
+    public X6Node getNode(int index) {
+        return new NodeView(checkNode(index));
+    }
+
+    /**
+    * Gets the nodes as a list of flyweight views.
+    *
+    * @return an unmodifiable view of the nodes
+    */
+    public List<X6Node> getNodes() {
+        return new CellList<>() {
+            @Override
+            public X6Node get(int index) {
+                return getNode(index);
+            }
+
+            @Override
+            public int size() {
+                return nodeCount;
+            }
+        };
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Edges">
+
+    /**
+    * Adds an edge with the default styles.
+    *
+    * @param id the id of the edge
+    * @param sourceId the id of the source node
+    * @param targetId the id of the target node
+    * @param label the label of the edge, may be null
+    * @return the index of the edge
+    */
+    public int addEdge(String id, String sourceId, String targetId, String label) {
+        return addEdge(id, sourceId, targetId, label, null);
+    }
+
+    /**
+    * Adds an edge between two nodes of the store.
+    *
+    * @param id the id of the edge
+    * @param sourceId the id of the source node
+    * @param targetId the id of the target node
+    * @param label the label of the edge, may be null
+    * @param styles the styles of the edge, interned when stored; null for the default ones
+    * @return the index of the edge
+    * @throws IllegalArgumentException if the id is null or already used by another edge,
+    *                                  or if an endpoint is not a node of the store
+    */
+    public int addEdge(String id, String sourceId, String targetId, String label, X6EdgeStyles styles) {
+        if (id == null || edgeIndex.containsKey(id))
+            throw new IllegalArgumentException("The edge id is null or already in the store: " + id);
+        int source = indexOfNode(sourceId);
+        int target = indexOfNode(targetId);
+        if (source < 0 || target < 0)
+            throw new IllegalArgumentException("The endpoints of the edge " + id + " are not in the store");
+        if (edgeCount == edgeIds.length)
+            growEdges();
+        int index = edgeCount++;
+        edgeIndex.put(id, index);
+        edgeIds[index] = id;
+        edgeSources[index] = source;
+        edgeTargets[index] = target;
+        edgeLabels[index] = label;
+        edgeStyles[index] = edgeStyleTable.indexOf(X6StyleRegistry.intern(styles));
+        return index;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+    * Finds the index of an edge.
+    *
+    * @param id the id of the edge
+    * @return the index of the edge, or -1 if it is not in the store
+    */
+    public int indexOfEdge(String id) {
+        Integer index = id != null ? edgeIndex.get(id) : null;
+        return index != null ? index : -1;
+    }
+
+    public String getEdgeId(int index) {
+        return edgeIds[checkEdge(index)];
+    }
+
+    /**
+    * Gets the index of the source node of an edge.
+    *
+    * @param index the index of the edge
+    * @return the index of the source node
+    */
+    public int getEdgeSource(int index) {
+        return edgeSources[checkEdge(index)];
+    }
+
+    /**
+    * Gets the index of the target node of an edge.
+    *
+    * @param index the index of the edge
+    * @return the index of the target node
+    */
+    public int getEdgeTarget(int index) {
+        return edgeTargets[checkEdge(index)];
+    }
+
+    /**
+    * Changes the source node of an edge.
+    *
+    * @param index the index of the edge
+    * @param sourceId the id of the new source node
+    * @throws IllegalArgumentException if the node is not in the store
+    */
+    public void setEdgeSource(int index, String sourceId) {
+        checkEdge(index);
+        edgeSources[index] = checkEndpoint(sourceId);
+    }
+
+    /**
+    * Changes the target node of an edge.
+    *
+    * @param index the index of the edge
+    * @param targetId the id of the new target node
+    * @throws IllegalArgumentException if the node is not in the store
+    */
+    public void setEdgeTarget(int index, String targetId) {
+        checkEdge(index);
+        edgeTargets[index] = checkEndpoint(targetId);
+    }
+
+    private int checkEndpoint(String nodeId) {
+        int node = indexOfNode(nodeId);
+        if (node < 0)
+            throw new IllegalArgumentException("The endpoint " + nodeId + " is not in the store");
+        return node;
+    }
+
+    public String getEdgeLabel(int index) {
+        String label = edgeLabels[checkEdge(index)];
+        return label != null ? label : "";
+    }
+
+    public void setEdgeLabel(int index, String label) {
+        edgeLabels[checkEdge(index)] = label;
+    }
+
+    public X6EdgeStyles getEdgeStyles(int index) {
+        return edgeStyleTable.get(edgeStyles[checkEdge(index)]);
+    }
+
+    public void setEdgeStyles(int index, X6EdgeStyles styles) {
+        edgeStyles[checkEdge(index)] = edgeStyleTable.indexOf(X6StyleRegistry.intern(styles));
+    }
+
+    /**
+    * Gets the vertices of an edge, creating them if the edge is straight. Changes to the
+    * polyline change the edge.
+    *
+    * @param index the index of the edge
+    * @return the vertices of the edge
+    */
+    public X6Polyline getEdgeVertices(int index) {
+        checkEdge(index);
+        if (edgeVertices[index] == null)
+            edgeVertices[index] = new X6Polyline();
+        return edgeVertices[index];
+    }
+
+    /**
+    * Gets a flyweight view of an edge: reading or changing it reads or changes the store.
+    * The endpoints can only be changed to nodes of the store. Changes to properties not kept
+    * by the store (tools, extra labels...) are discarded.
+    *
+    * @param index the index of the edge
+    * @return the view of the edge
+    */
+    public X6Edge getEdge(int index) {
+        return new EdgeView(checkEdge(index), false);
+    }
+
+    /**
+    * Gets the edges as a list of flyweight views.
+    *
+    * @return an unmodifiable view of the edges
+    */
+    public List<X6Edge> getEdges() {
+        return new CellList<>() {
+            @Override
+            public X6Edge get(int index) {
+                return getEdge(index);
+            }
+
+            @Override
+            public int size() {
+                return edgeCount;
+            }
+        };
+    }
+
+    // </editor-fold>
+
+    /**
+    * Removes every cell, keeping the allocated room.
+    */
+    public void clear() {
+        Arrays.fill(nodeIds, 0, nodeCount, null);
+        Arrays.fill(nodeLabels, 0, nodeCount, null);
+        Arrays.fill(edgeIds, 0, edgeCount, null);
+        Arrays.fill(edgeLabels, 0, edgeCount, null);
+        Arrays.fill(edgeVertices, 0, edgeCount, null);
+        nodeCount = 0;
+        edgeCount = 0;
+        nodeIndex.clear();
+        edgeIndex.clear();
+        externalParents.clear();
+    }
+
+    public boolean isEmpty() {
+        return nodeCount == 0 && edgeCount == 0;
+    }
+
+    /**
+    * Writes the store with the format of the payload of {@code drawCells}: an object with the
+    * nodes, an empty list of text nodes and the edges. The cells are serialized from the arrays
+    * through a single reused view per cell type, honoring the compact mode of the generator.
+    *
+    * @param generator the generator whose buffer receives the payload
+    */
+    public void appendPayload(JsonStreamGenerator generator) {
+        StringBuilder builder = generator.getBuilder();
+        NodeView node = new NodeView(0);
+        builder.append("{\"nodes\":[");
+        for (int i = 0; i < nodeCount; i++) {
+            if (i > 0)
+                builder.append(',');
+            node.index = i;
+            generator.appendNode(node);
+        }
+        builder.append("],\"texts\":[],\"edges\":[");
+        EdgeView edge = new EdgeView(0, true);
+        for (int i = 0; i < edgeCount; i++) {
+            if (i > 0)
+                builder.append(',');
+            edge.index = i;
+            generator.appendEdge(edge);
+        }
+        builder.append("]}");
+    }
+
+    private int checkNode(int index) {
+        if (index < 0 || index >= nodeCount)
+            throw new IndexOutOfBoundsException("Node index: " + index + ", Nodes: " + nodeCount);
+        return index;
+    }
+
+    private int checkEdge(int index) {
+        if (index < 0 || index >= edgeCount)
+            throw new IndexOutOfBoundsException("Edge index: " + index + ", Edges: " + edgeCount);
+        return index;
+    }
+
+    private void growNodes() {
+        int capacity = nodeIds.length * 2;
+        nodeIds = Arrays.copyOf(nodeIds, capacity);
+        nodeGeometry = Arrays.copyOf(nodeGeometry, capacity * 4);
+        nodeLabels = Arrays.copyOf(nodeLabels, capacity);
+        nodeParents = Arrays.copyOf(nodeParents, capacity);
+        nodeShapes = Arrays.copyOf(nodeShapes, capacity);
+        nodeStyles = Arrays.copyOf(nodeStyles, capacity);
+        nodeLabelStyles = Arrays.copyOf(nodeLabelStyles, capacity);
+    }
+
+    private void growEdges() {
+        int capacity = edgeIds.length * 2;
+        edgeIds = Arrays.copyOf(edgeIds, capacity);
+        edgeSources = Arrays.copyOf(edgeSources, capacity);
+        edgeTargets = Arrays.copyOf(edgeTargets, capacity);
+        edgeLabels = Arrays.copyOf(edgeLabels, capacity);
+        edgeStyles = Arrays.copyOf(edgeStyles, capacity);
+        edgeVertices = Arrays.copyOf(edgeVertices, capacity);
+    }
+
+    /**
+    * Distinct values referenced by index from a column; index 0 is the default value.
+    */
+    private static final class ValueTable<T> {
+        private final List<T> values;
+        private final Map<T, Integer> indices;
+
+        private ValueTable(T defaultValue) {
+            this.values = new ArrayList<>();
+            this.indices = new HashMap<>();
+            indexOf(defaultValue);
+        }
+
+        private int indexOf(T value) {
+            if (value == null)
+                return 0;
+            Integer index = indices.get(value);
+            if (index == null) {
+                index = values.size();
+                values.add(value);
+                indices.put(value, index);
+            }
+            return index;
+        }
+
+        private T get(int index) {
+            return values.get(index);
+        }
+    }
+
+    private abstract static class CellList<T> extends AbstractList<T> implements RandomAccess {
+    }
+
+    /**
+    * Geometry of a node that reads and writes the geometry column, at the current index of its view.
+    */
+    private final class NodeGeometry extends Geometry {
+        private final NodeView node;
+
+        private NodeGeometry(NodeView node) {
+            this.node = node;
+        }
+
+        @Override
+        public double getX() {
+            return nodeGeometry[node.index * 4];
+        }
+
+        @Override
+        public double getY() {
+            return nodeGeometry[node.index * 4 + 1];
+        }
+
+        @Override
+        public double getWidth() {
+            return nodeGeometry[node.index * 4 + 2];
+        }
+
+        @Override
+        public double getHeight() {
+            return nodeGeometry[node.index * 4 + 3];
+        }
+
+        @Override
+        public void setX(double x) {
+            nodeGeometry[node.index * 4] = x;
+        }
+
+        @Override
+        public void setY(double y) {
+            nodeGeometry[node.index * 4 + 1] = y;
+        }
+
+        @Override
+        public void setWidth(double width) {
+            nodeGeometry[node.index * 4 + 2] = width;
+        }
+
+        @Override
+        public void setHeight(double height) {
+            nodeGeometry[node.index * 4 + 3] = height;
+        }
+
+        @Override
+        public void setPosition(double x, double y) {
+            setX(x);
+            setY(y);
+        }
+
+        @Override
+        public void setSize(double width, double height) {
+            setWidth(width);
+            setHeight(height);
+        }
+    }
+
+    /**
+    * Flyweight node over the columns of the store. It is built without the state of a regular
+    * node, every accessor of the stored values reads or writes the columns.
+    */
+    private final class NodeView extends X6Node {
+        private int index;
+        private NodeGeometry geometry;
+
+        private NodeView(int index) {
+            super(null, X6Constants.CELL_NODE);
+            this.index = index;
+        }
+
+        @Override
+        public String getId() {
+            return nodeIds[index];
+        }
+
+        @Override
+        public Geometry getGeometry() {
+            if (geometry == null)
+                geometry = new NodeGeometry(this);
+            return geometry;
+        }
+
+        @Override
+        public void setGeometry(Geometry geometry) {
+            if (geometry != null) {
+                setNodePosition(index, geometry.getX(), geometry.getY());
+                setNodeSize(index, geometry.getWidth(), geometry.getHeight());
+            }
+        }
+
+        @Override
+        public String getShape() {
+            return getNodeShape(index);
+        }
+
+        @Override
+        public void setShape(String shape) {
+            setNodeShape(index, shape);
+        }
+
+        @Override
+        public String getImgUrl() {
+            return "";
+        }
+
+        @Override
+        public boolean isMovable() {
+            return true;
+        }
+
+        @Override
+        public String getParentId() {
+            return getNodeParentId(index);
+        }
+
+        @Override
+        public void setParentId(String parentId) {
+            setNodeParent(index, parentId);
+        }
+
+        @Override
+        public String getLabel() {
+            return getNodeLabel(index);
+        }
+
+        @Override
+        public void setLabel(String label) {
+            setNodeLabel(index, label);
+        }
+
+        @Override
+        public X6NodeStyles getNodeStyles() {
+            return X6ColumnarStore.this.getNodeStyles(index);
+        }
+
+        @Override
+        public void setNodeStyles(X6NodeStyles styles) {
+            X6ColumnarStore.this.setNodeStyles(index, styles);
+        }
+
+        @Override
+        public X6NodeLabelStyles getNodeLabelStyles() {
+            return X6ColumnarStore.this.getNodeLabelStyles(index);
+        }
+
+        @Override
+        public void setNodeLabelStyles(X6NodeLabelStyles styles) {
+            X6ColumnarStore.this.setNodeLabelStyles(index, styles);
+        }
+
+        @Override
+        public List<String> getTools() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isPort() {
+            return false;
+        }
+    }
+
+    /**
+    * Flyweight edge over the columns of the store, built without the state of a regular edge.
+    * The cursor used to serialize the store does not create the vertices of straight edges
+    * and reuses its label.
+    */
+    private final class EdgeView extends X6Edge {
+        private int index;
+        private final boolean cursor;
+        private X6EdgeLabel cursorLabel;
+
+        private EdgeView(int index, boolean cursor) {
+            super(null, X6Constants.CELL_EDGE);
+            this.index = index;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public String getId() {
+            return edgeIds[index];
+        }
+
+        @Override
+        public String getIdSource() {
+            return nodeIds[edgeSources[index]];
+        }
+
+        @Override
+        public String getIdTarget() {
+            return nodeIds[edgeTargets[index]];
+        }
+
+        @Override
+        public void setIdSource(String idSource) {
+            setEdgeSource(index, idSource);
+        }
+
+        @Override
+        public void setIdTarget(String idTarget) {
+            setEdgeTarget(index, idTarget);
+        }
+
+        @Override
+        public X6Polyline getPolyline() {
+            X6Polyline vertices = edgeVertices[index];
+            if (vertices != null)
+                return vertices;
+            return cursor ? NO_VERTICES : getEdgeVertices(index);
+        }
+
+        @Override
+        public void setPolyline(X6Polyline polyline) {
+            edgeVertices[index] = polyline;
+        }
+
+        @Override
+        public List<X6EdgeLabel> getEdgeLabels() {
+            String label = edgeLabels[index];
+            if (label == null || label.isEmpty())
+                return Collections.emptyList();
+            if (!cursor)
+                return List.of(new X6EdgeLabel(label, 0.5));
+            if (cursorLabel == null)
+                cursorLabel = new X6EdgeLabel(label, 0.5);
+            cursorLabel.setLabel(label);
+            return Collections.singletonList(cursorLabel);
+        }
+
+        @Override
+        public List<String> getTools() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public X6EdgeStyles getEdgeStyles() {
+            return X6ColumnarStore.this.getEdgeStyles(index);
+        }
+
+        @Override
+        public void setEdgeStyles(X6EdgeStyles styles) {
+            X6ColumnarStore.this.setEdgeStyles(index, styles);
+        }
+    }
+}
@@ -0,0 +1,506 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.styles;
+
+import com.neotropic.flow.component.antvx6.objects.X6AbstractNode;
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import com.neotropic.flow.component.antvx6.objects.X6EdgeLabel;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Registry of interned styles. Cells with identical styles can share a single,
+ * immutable instance of each style instead of carrying their own copy.
+ *
+ * Interned styles are keyed by content and weakly held: once no cell, store or generator
+ * refers to a style it is released and its id is given to the next interned style, so the
+ * ids stay as dense as the number of styles alive. Every interned style has a unique id,
+ * used by the compact wire format to send each distinct style to the web component only
+ * once. Its setters throw an {@link UnsupportedOperationException}; use the {@code mutable}
+ * methods to get a modifiable copy.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6StyleRegistry {
+    /*
+    * Ids of the interned styles alive, shared by every kind of style. Guards the pools when
+    * styles are added or released.
+    */
+    private static final BitSet USED_IDS = new BitSet();
+    private static final ReferenceQueue<Object> RELEASED = new ReferenceQueue<>();
+    private static final Pool<X6NodeStyles> NODE_STYLES = new Pool<>(
+            styles -> copyTo(styles, new X6NodeStyles()),
+            FrozenNodeStyles::new);
+    private static final Pool<X6NodeLabelStyles> NODE_LABEL_STYLES = new Pool<>(
+            styles -> copyTo(styles, new X6NodeLabelStyles()),
+            FrozenNodeLabelStyles::new);
+    private static final Pool<X6EdgeStyles> EDGE_STYLES = new Pool<>(
+            styles -> copyTo(styles, new X6EdgeStyles()),
+            FrozenEdgeStyles::new);
+    private static final Pool<X6EdgeLabelStyles> EDGE_LABEL_STYLES = new Pool<>(
+            styles -> copyTo(styles, new X6EdgeLabelStyles()),
+            FrozenEdgeLabelStyles::new);
+
+    private X6StyleRegistry() {
+    }
+
+    /**
+    * Implemented by the immutable instances returned by the registry.
+    */
+    public interface InternedStyle {
+        /**
+        * Gets the unique id of the style.
+        *
+        * @return the id of the style
+        */
+        int getStyleId();
+    }
+
+    /**
+    * Gets the shared instance of the given node styles.
+    *
+    * @param styles the styles to intern
+    * @return an immutable instance with the same content, or null if the styles are null
+    */
+    public static X6NodeStyles intern(X6NodeStyles styles) {
+        if (styles == null || styles instanceof InternedStyle)
+            return styles;
+        return NODE_STYLES.intern(styles);
+    }
+
+    /**
+    * Gets the shared instance of the given node label styles.
+    *
+    * @param styles the styles to intern
+    * @return an immutable instance with the same content, or null if the styles are null
+    */
+    public static X6NodeLabelStyles intern(X6NodeLabelStyles styles) {
+        if (styles == null || styles instanceof InternedStyle)
+            return styles;
+        return NODE_LABEL_STYLES.intern(styles);
+    }
+
+    /**
+    * Gets the shared instance of the given edge styles.
+    *
+    * @param styles the styles to intern
+    * @return an immutable instance with the same content, or null if the styles are null
+    */
+    public static X6EdgeStyles intern(X6EdgeStyles styles) {
+        if (styles == null || styles instanceof InternedStyle)
+            return styles;
+        return EDGE_STYLES.intern(styles);
+    }
+
+    /**
+    * Gets the shared instance of the given edge label styles.
+    *
+    * @param styles the styles to intern
+    * @return an immutable instance with the same content, or null if the styles are null
+    */
+    public static X6EdgeLabelStyles intern(X6EdgeLabelStyles styles) {
+        if (styles == null || styles instanceof InternedStyle)
+            return styles;
+        return EDGE_LABEL_STYLES.intern(styles);
+    }
+
+    /**
+    * Replaces the node styles and label styles of a node with their shared instances.
+    *
+    * @param node the node, text node or background node
+    */
+    public static void intern(X6AbstractNode node) {
+        if (node != null) {
+            node.setNodeStyles(intern(node.getNodeStyles()));
+            node.setNodeLabelStyles(intern(node.getNodeLabelStyles()));
+        }
+    }
+
+    /**
+    * Replaces the styles of an edge and of its labels with their shared instances.
+    *
+    * @param edge the edge
+    */
+    public static void intern(X6Edge edge) {
+        if (edge != null) {
+            edge.setEdgeStyles(intern(edge.getEdgeStyles()));
+            if (edge.getEdgeLabels() != null) {
+                for (X6EdgeLabel label : edge.getEdgeLabels()) {
+                    if (label != null)
+                        label.setEdgeLabelStyles(intern(label.getEdgeLabelStyles()));
+                }
+            }
+        }
+    }
+
+    /**
+    * Checks whether the given styles are an interned (immutable) instance.
+    *
+    * @param styles the styles
+    * @return true if the styles were returned by the registry
+    */
+    public static boolean isInterned(Object styles) {
+        return styles instanceof InternedStyle;
+    }
+
+    /**
+    * Gets the id of an interned style.
+    *
+    * @param styles the styles
+    * @return the id of the style, or -1 if the styles are not interned
+    */
+    public static int getStyleId(Object styles) {
+        return styles instanceof InternedStyle interned ? interned.getStyleId() : -1;
+    }
+
+    /**
+    * Gets styles that can be modified: the same instance if it is not interned, otherwise a copy.
+    *
+    * @param styles the styles
+    * @return modifiable styles with the same content
+    */
+    public static X6NodeStyles mutable(X6NodeStyles styles) {
+        if (!(styles instanceof InternedStyle))
+            return styles;
+        return copyTo(styles, new X6NodeStyles());
+    }
+
+    /**
+    * Gets styles that can be modified: the same instance if it is not interned, otherwise a copy.
+    *
+    * @param styles the styles
+    * @return modifiable styles with the same content
+    */
+    public static X6NodeLabelStyles mutable(X6NodeLabelStyles styles) {
+        if (!(styles instanceof InternedStyle))
+            return styles;
+        return copyTo(styles, new X6NodeLabelStyles());
+    }
+
+    /**
+    * Gets styles that can be modified: the same instance if it is not interned, otherwise a copy.
+    *
+    * @param styles the styles
+    * @return modifiable styles with the same content
+    */
+    public static X6EdgeStyles mutable(X6EdgeStyles styles) {
+        if (!(styles instanceof InternedStyle))
+            return styles;
+        return copyTo(styles, new X6EdgeStyles());
+    }
+
+    /**
+    * Gets styles that can be modified: the same instance if it is not interned, otherwise a copy.
+    *
+    * @param styles the styles
+    * @return modifiable styles with the same content
+    */
+    public static X6EdgeLabelStyles mutable(X6EdgeLabelStyles styles) {
+        if (!(styles instanceof InternedStyle))
+            return styles;
+        return copyTo(styles, new X6EdgeLabelStyles());
+    }
+
+    private static X6NodeStyles copyTo(X6NodeStyles source, X6NodeStyles target) {
+        target.setFillColor(source.getFillColor());
+        target.setStrokeColor(source.getStrokeColor());
+        target.setStrokeWidth(source.getStrokeWidth());
+        target.setDash(source.getDash());
+        target.setBorderRadius(source.getBorderRadius());
+        target.setZIndex(source.getZIndex());
+        return target;
+    }
+
+    private static X6NodeLabelStyles copyTo(X6NodeLabelStyles source, X6NodeLabelStyles target) {
+        target.setFontColor(source.getFontColor());
+        target.setFontSize(source.getFontSize());
+        target.setFontFamily(source.getFontFamily());
+        target.setLabelPosition(source.getLabelPosition());
+        target.setVisibility(source.getVisibility());
+        return target;
+    }
+
+    private static X6EdgeStyles copyTo(X6EdgeStyles source, X6EdgeStyles target) {
+        target.setStrokeColor(source.getStrokeColor());
+        target.setStrokeWidth(source.getStrokeWidth());
+        target.setDash(source.getDash());
+        target.setBorderRadius(source.getBorderRadius());
+        target.setZIndex(source.getZIndex());
+        return target;
+    }
+
+    private static X6EdgeLabelStyles copyTo(X6EdgeLabelStyles source, X6EdgeLabelStyles target) {
+        target.setFillColor(source.getFillColor());
+        target.setFontColor(source.getFontColor());
+        target.setFontSize(source.getFontSize());
+        target.setFontFamily(source.getFontFamily());
+        target.setBorderRadius(source.getBorderRadius());
+        return target;
+    }
+
+    /*
+    * Interned styles of one kind, keyed by a private copy of their content so that the key
+    * does not keep the interned instance alive.
+    */
+    private static final class Pool<T> {
+        private final ConcurrentHashMap<T, StyleReference<T>> styles = new ConcurrentHashMap<>();
+        private final UnaryOperator<T> copy;
+        private final BiFunction<T, Integer, T> freeze;
+
+        private Pool(UnaryOperator<T> copy, BiFunction<T, Integer, T> freeze) {
+            this.copy = copy;
+            this.freeze = freeze;
+        }
+
+        private T intern(T content) {
+            StyleReference<T> reference = styles.get(content);
+            T interned = reference != null ? reference.get() : null;
+            if (interned != null)
+                return interned;
+            synchronized (USED_IDS) {
+                release();
+                reference = styles.get(content);
+                interned = reference != null ? reference.get() : null;
+                if (interned == null) {
+                    int styleId = USED_IDS.nextClearBit(0);
+                    USED_IDS.set(styleId);
+                    T key = copy.apply(content);
+                    interned = freeze.apply(key, styleId);
+                    styles.put(key, new StyleReference<>(interned, key, styleId, styles));
+                }
+                return interned;
+            }
+        }
+    }
+
+    /*
+    * Weak reference to an interned style, queued once the style is garbage collected.
+    */
+    private static final class StyleReference<T> extends WeakReference<T> {
+        private final T key;
+        private final int styleId;
+        private final ConcurrentHashMap<T, StyleReference<T>> styles;
+
+        private StyleReference(T interned, T key, int styleId, ConcurrentHashMap<T, StyleReference<T>> styles) {
+            super(interned, RELEASED);
+            this.key = key;
+            this.styleId = styleId;
+            this.styles = styles;
+        }
+    }
+
+    /*
+    * Removes the styles that were garbage collected and frees their ids. Called holding USED_IDS.
+    */
+    private static void release() {
+        StyleReference<?> reference;
+        while ((reference = (StyleReference<?>) RELEASED.poll()) != null) {
+            reference.styles.remove(reference.key, reference);
+            USED_IDS.clear(reference.styleId);
+        }
+    }
+
+    private static UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException("Interned styles can not be modified, use X6StyleRegistry.mutable to get a copy");
+    }
+
+    /*
+    * The frozen subclasses fill their content through the setters of the parent class
+    * and reject any later modification. Equality is the one of the parent class, so they
+    * are equal to any mutable instance with the same content.
+    */
+
+    private static final class FrozenNodeStyles extends X6NodeStyles implements InternedStyle {
+        private final int styleId;
+
+        private FrozenNodeStyles(X6NodeStyles source, int styleId) {
+            super.setFillColor(source.getFillColor());
+            super.setStrokeColor(source.getStrokeColor());
+            super.setStrokeWidth(source.getStrokeWidth());
+            super.setDash(source.getDash());
+            super.setBorderRadius(source.getBorderRadius());
+            super.setZIndex(source.getZIndex());
+            this.styleId = styleId;
+        }
+
+        @Override
+        public int getStyleId() {
+            return styleId;
+        }
+
+        @Override
+        public void setFillColor(String fillColor) {
+            throw immutable();
+        }
+
+        @Override
+        public void setStrokeColor(String strokeColor) {
+            throw immutable();
+        }
+
+        @Override
+        public void setStrokeWidth(double strokeWidth) {
+            throw immutable();
+        }
+
+        @Override
+        public void setDash(String dash) {
+            throw immutable();
+        }
+
+        @Override
+        public void setBorderRadius(int borderRadius) {
+            throw immutable();
+        }
+
+        @Override
+        public void setZIndex(int zIndex) {
+            throw immutable();
+        }
+    }
+
+    private static final class FrozenNodeLabelStyles extends X6NodeLabelStyles implements InternedStyle {
+        private final int styleId;
+
+        private FrozenNodeLabelStyles(X6NodeLabelStyles source, int styleId) {
+            super.setFontColor(source.getFontColor());
+            super.setFontSize(source.getFontSize());
+            super.setFontFamily(source.getFontFamily());
+            super.setLabelPosition(source.getLabelPosition());
+            super.setVisibility(source.getVisibility());
+            this.styleId = styleId;
+        }
+
+        @Override
+        public int getStyleId() {
+            return styleId;
+        }
+
+        @Override
+        public void setFontColor(String fontColor) {
+            throw immutable();
+        }
+
+        @Override
+        public void setFontSize(double fontSize) {
+            throw immutable();
+        }
+
+        @Override
+        public void setFontFamily(String fontFamily) {
+            throw immutable();
+        }
+
+        @Override
+        public void setLabelPosition(String labelPosition) {
+            throw immutable();
+        }
+
+        @Override
+        public void setVisibility(String visibility) {
+            throw immutable();
+        }
+    }
+
+    private static final class FrozenEdgeStyles extends X6EdgeStyles implements InternedStyle {
+        private final int styleId;
+
+        private FrozenEdgeStyles(X6EdgeStyles source, int styleId) {
+            super.setStrokeColor(source.getStrokeColor());
+            super.setStrokeWidth(source.getStrokeWidth());
+            super.setDash(source.getDash());
+            super.setBorderRadius(source.getBorderRadius());
+            super.setZIndex(source.getZIndex());
+            this.styleId = styleId;
+        }
+
+        @Override
+        public int getStyleId() {
+            return styleId;
+        }
+
+        @Override
+        public void setStrokeColor(String strokeColor) {
+            throw immutable();
+        }
+
+        @Override
+        public void setStrokeWidth(double strokeWidth) {
+            throw immutable();
+        }
+
+        @Override
+        public void setDash(double dash) {
+            throw immutable();
+        }
+
+        @Override
+        public void setBorderRadius(int borderRadius) {
+            throw immutable();
+        }
+
+        @Override
+        public void setZIndex(int zIndex) {
+            throw immutable();
+        }
+    }
+
+    private static final class FrozenEdgeLabelStyles extends X6EdgeLabelStyles implements InternedStyle {
+        private final int styleId;
+
+        private FrozenEdgeLabelStyles(X6EdgeLabelStyles source, int styleId) {
+            super.setFillColor(source.getFillColor());
+            super.setFontColor(source.getFontColor());
+            super.setFontSize(source.getFontSize());
+            super.setFontFamily(source.getFontFamily());
+            super.setBorderRadius(source.getBorderRadius());
+            this.styleId = styleId;
+        }
+
+        @Override
+        public int getStyleId() {
+            return styleId;
+        }
+
+        @Override
+        public void setFillColor(String fillColor) {
+            throw immutable();
+        }
+
+        @Override
+        public void setFontColor(String fontColor) {
+            throw immutable();
+        }
+
+        @Override
+        public void setFontSize(double fontSize) {
+            throw immutable();
+        }
+
+        @Override
+        public void setFontFamily(String fontFamily) {
+            throw immutable();
+        }
+
+        @Override
+        public void setBorderRadius(int borderRadius) {
+            throw immutable();
+        }
+    }
+}
@@ -15,15 +15,14 @@
  */
 package com.neotropic.flow.component.antvx6.utilities;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.neotropic.flow.component.antvx6.constants.X6Constants;
 import com.neotropic.flow.component.antvx6.objects.Vertex;
 import com.neotropic.flow.component.antvx6.objects.X6Edge;
 import com.neotropic.flow.component.antvx6.objects.X6EdgeLabel;
+import com.neotropic.flow.component.antvx6.objects.X6Polyline;
 import com.neotropic.flow.component.antvx6.styles.X6EdgeLabelStyles;
 import com.neotropic.flow.component.antvx6.styles.X6EdgeStyles;
+import com.neotropic.flow.component.antvx6.styles.X6StyleRegistry;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -38,17 +37,275 @@ public class X6EdgeUtilities {
     * Converts a JSON string representing a list of vertices into a list of Vertex objects.
     *
     * @param verticesJSONformat A JSON string containing the vertex data.
+    * @see #parseVertices(CharSequence)
     */
     public static List<Vertex>  JSONtoVertices(String verticesJSONformat) {
-        JsonArray jsonArray = JsonParser.parseString(verticesJSONformat).getAsJsonArray();
-        List<Vertex> vertices = new ArrayList<>();
-        for (int i = 0; i < jsonArray.size(); i++) {
-            JsonObject vertexObject = jsonArray.get(i).getAsJsonObject();
-            double x = vertexObject.get("x").getAsDouble();
-            double y = vertexObject.get("y").getAsDouble();
-            vertices.add(new Vertex(x, y));
-        }
-        return vertices;
+        return new ArrayList<>(parseVertices(verticesJSONformat).asVertices());
+    }
+    
+    /**
+    * Reads a JSON array of vertices, such as {@code [{"x":10,"y":20},{"x":30,"y":40}]},
+    * straight into a polyline, without building a JSON tree or an object per vertex.
+    * The text must be strict JSON; as Gson does, coordinates may also be given as strings,
+    * read with {@link Double#parseDouble}, and other keys of the vertices are ignored.
+    *
+    * @param verticesJson the JSON array of vertices
+    * @return the polyline
+    * @throws IllegalArgumentException if the text is not an array of vertices
+    */
+    public static X6Polyline parseVertices(CharSequence verticesJson) {
+        return parseVertices(verticesJson, new X6Polyline());
+    }
+    
+    /**
+    * Reads a JSON array of vertices into an existing polyline, replacing its vertices.
+    * Reusing the polyline avoids any allocation once it has grown to the size of the route.
+    *
+    * @param verticesJson the JSON array of vertices
+    * @param polyline the polyline that receives the vertices
+    * @return the same polyline
+    * @throws IllegalArgumentException if the text is not an array of vertices
+    */
+    public static X6Polyline parseVertices(CharSequence verticesJson, X6Polyline polyline) {
+        polyline.clear();
+        new VerticesReader(verticesJson).readInto(polyline);
+        return polyline;
+    }
+    
+    /**
+    * Streaming reader of a JSON array of vertices. The bounds of each number are checked
+    * against the grammar of JSON and the number is converted by {@link Double#parseDouble}.
+    */
+    private static final class VerticesReader {
+        private final CharSequence json;
+        private final int length;
+        private int position;
+
+        private VerticesReader(CharSequence json) {
+            this.json = json;
+            this.length = json.length();
+        }
+
+        private void readInto(X6Polyline polyline) {
+            expect('[');
+            if (peek() == ']')
+                position++;
+            else {
+                while (true) {
+                    readVertex(polyline);
+                    char next = next();
+                    if (next == ']')
+                        break;
+                    if (next != ',')
+                        throw error("',' or ']'");
+                }
+            }
+            skipWhitespace();
+            if (position < length)
+                throw error("the end of the vertices");
+        }
+
+        private void readVertex(X6Polyline polyline) {
+            expect('{');
+            double x = 0;
+            double y = 0;
+            boolean hasX = false;
+            boolean hasY = false;
+            if (peek() != '}') {
+                while (true) {
+                    if (peek() != '"')
+                        throw error("a key");
+                    int keyStart = position + 1;
+                    skipString();
+                    int keyLength = position - 1 - keyStart;
+                    expect(':');
+                    if (keyLength == 1 && json.charAt(keyStart) == 'x') {
+                        if (hasX)
+                            throw error("a single x");
+                        x = readNumber();
+                        hasX = true;
+                    } else if (keyLength == 1 && json.charAt(keyStart) == 'y') {
+                        if (hasY)
+                            throw error("a single y");
+                        y = readNumber();
+                        hasY = true;
+                    } else
+                        skipValue();
+                    char next = next();
+                    if (next == '}')
+                        break;
+                    if (next != ',')
+                        throw error("',' or '}'");
+                }
+            } else
+                position++;
+            if (!hasX || !hasY)
+                throw new IllegalArgumentException("Vertex without x or y before position " + position);
+            polyline.add(x, y);
+        }
+
+        /**
+        * Reads a number with the grammar of JSON: an optional minus sign, an integer part
+        * without leading zeros, an optional fraction and an optional exponent, each with at
+        * least one digit. A number given as a string is read with {@link Double#parseDouble}.
+        */
+        private double readNumber() {
+            skipWhitespace();
+            if (position < length && json.charAt(position) == '"')
+                return readQuotedNumber();
+            int start = position;
+            if (position < length && json.charAt(position) == '-')
+                position++;
+            int integerStart = position;
+            skipDigits();
+            if (position == integerStart)
+                throw error("a number");
+            if (position - integerStart > 1 && json.charAt(integerStart) == '0')
+                throw error("a number without leading zeros");
+            if (position < length && json.charAt(position) == '.') {
+                position++;
+                if (!skipDigits())
+                    throw error("a digit");
+            }
+            if (position < length && (json.charAt(position) == 'e' || json.charAt(position) == 'E')) {
+                position++;
+                if (position < length && (json.charAt(position) == '+' || json.charAt(position) == '-'))
+                    position++;
+                if (!skipDigits())
+                    throw error("a digit");
+            }
+            return Double.parseDouble(json.subSequence(start, position).toString());
+        }
+
+        /*
+        * Skips a run of digits.
+        *
+        * @return true if there was at least one digit
+        */
+        private boolean skipDigits() {
+            int start = position;
+            char c;
+            while (position < length && (c = json.charAt(position)) >= '0' && c <= '9')
+                position++;
+            return position > start;
+        }
+
+        /*
+        * Reads a number given as a string, as Gson's getAsDouble does.
+        */
+        private double readQuotedNumber() {
+            int start = position + 1;
+            skipString();
+            try {
+                return Double.parseDouble(json.subSequence(start, position - 1).toString());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Expected a number at position " + start + " of the vertices", ex);
+            }
+        }
+
+        /*
+        * Skips the value of a key other than x and y: a string, an object, an array or a literal.
+        */
+        private void skipValue() {
+            skipWhitespace();
+            int start = position;
+            if (position >= length)
+                throw error("a value");
+            char c = json.charAt(position);
+            if (c == '"')
+                skipString();
+            else if (c == '{' || c == '[') {
+                int depth = 0;
+                while (position < length) {
+                    c = json.charAt(position);
+                    if (c == '"') {
+                        skipString();
+                        continue;
+                    }
+                    if (c == '{' || c == '[')
+                        depth++;
+                    else if ((c == '}' || c == ']') && --depth == 0) {
+                        position++;
+                        return;
+                    }
+                    position++;
+                }
+                throw error("more input");
+            } else {
+                while (position < length && ",}] \t\r\n".indexOf(json.charAt(position)) < 0)
+                    position++;
+                if (position == start)
+                    throw error("a value");
+            }
+        }
+
+        /*
+        * Skips a string, from its opening quote to past its closing one.
+        */
+        private void skipString() {
+            position++;
+            while (position < length && json.charAt(position) != '"') {
+                if (json.charAt(position) == '\\')
+                    position++;
+                position++;
+            }
+            if (position >= length)
+                throw error("'\"'");
+            position++;
+        }
+
+        private void expect(char expected) {
+            if (next() != expected)
+                throw error("'" + expected + "'");
+        }
+
+        private char next() {
+            skipWhitespace();
+            if (position >= length)
+                throw error("more input");
+            return json.charAt(position++);
+        }
+
+        private char peek() {
+            skipWhitespace();
+            return position < length ? json.charAt(position) : 0;
+        }
+
+        private void skipWhitespace() {
+            while (position < length && json.charAt(position) <= ' ')
+                position++;
+        }
+
+        private IllegalArgumentException error(String expected) {
+            return new IllegalArgumentException("Expected " + expected + " at position " + position + " of the vertices");
+        }
+    }
+    
+    /**
+    * Creates an edge drawn in place of several edges, as the bundles and the clusters do:
+    * it has the style of the first edge and a stroke that grows with the number of edges.
+    * 
+    * @param id the id of the edge
+    * @param source the id of the source node
+    * @param target the id of the target node
+    * @param label the label of the edge, or null for none
+    * @param edges the edges it stands for, not empty
+    * @return the aggregate edge
+    */
+    public static X6Edge createAggregateEdge(String id, String source, String target, String label, List<X6Edge> edges){
+        X6Edge first = edges.get(0);
+        X6Edge edge = label != null ? new X6Edge(id, source, target, label) : new X6Edge(id, source, target);
+        X6EdgeStyles styles = new X6EdgeStyles();
+        if (first.getEdgeStyles() != null) {
+            styles.setStrokeColor(first.getEdgeStyles().getStrokeColor());
+            styles.setStrokeWidth(first.getEdgeStyles().getStrokeWidth());
+            styles.setDash(first.getEdgeStyles().getDash());
+            styles.setBorderRadius(first.getEdgeStyles().getBorderRadius());
+            styles.setZIndex(first.getEdgeStyles().getZIndex());
+        }
+        styles.setStrokeWidth(styles.getStrokeWidth() + Math.log(edges.size()) / Math.log(2));
+        edge.setEdgeStyles(styles);
+        return edge;
     }
     
     /**
@@ -71,18 +328,16 @@ public class X6EdgeUtilities {
         String strokeColor = edge.getEdgeStyles().getStrokeColor();
         if (strokeColor == null || strokeColor.isBlank()) {
             strokeColor = "black";
-            edge.getEdgeStyles().setStrokeColor(strokeColor);
+            mutableEdgeStyles(edge).setStrokeColor(strokeColor);
         }
         edge.setStyle(X6Constants.STYLE_STROKECOLOR, strokeColor);
         
         //Dash
         double dash = edge.getEdgeStyles().getDash();
-        edge.getEdgeStyles().setDash(dash);
         edge.setStyle(X6Constants.STYLE_DASHED, dash + "");
         
         //Border radius
         int borderRadius = edge.getEdgeStyles().getBorderRadius();
-        edge.getEdgeStyles().setBorderRadius(borderRadius);
         edge.setStyle(X6Constants.STYLE_ROUNDED, borderRadius + "");
         
         //Stroke width
@@ -114,7 +369,7 @@ public class X6EdgeUtilities {
             String fontColor = label.getEdgeLabelStyles().getFontColor();
             if (fontColor == null || fontColor.isBlank()) {
                 fontColor = "black";
-                label.getEdgeLabelStyles().setFontColor(fontColor);
+                mutableEdgeLabelStyles(label).setFontColor(fontColor);
             }
             edge.setStyle(X6Constants.STYLE_FONTCOLOR, fontColor);
 
@@ -122,7 +377,7 @@ public class X6EdgeUtilities {
             String fontFamily = label.getEdgeLabelStyles().getFontFamily();
             if (fontFamily == null || fontFamily.isBlank()) {
                 fontFamily = "Arial";
-                label.getEdgeLabelStyles().setFontFamily(fontFamily);
+                mutableEdgeLabelStyles(label).setFontFamily(fontFamily);
             }
             edge.setStyle(X6Constants.STYLE_FONTFAMILY, fontFamily);
         }
@@ -135,6 +390,8 @@ public class X6EdgeUtilities {
     * @param stylePropertyMap a HashMap containing style properties.
     */
     public static void setEdgeStyles(X6Edge edge, HashMap<String, String> stylePropertyMap){
+        mutableEdgeStyles(edge);
+        
         if (stylePropertyMap.containsKey(X6Constants.STYLE_STROKECOLOR) && !stylePropertyMap.get(X6Constants.STYLE_STROKECOLOR).isBlank())
             edge.getEdgeStyles().setStrokeColor(stylePropertyMap.get(X6Constants.STYLE_STROKECOLOR));
         else
@@ -174,6 +431,8 @@ public class X6EdgeUtilities {
         X6EdgeLabel label = edge.getLabelAt(labelPos);
         
         if(label != null){
+            mutableEdgeLabelStyles(label);
+            
             if (stylePropertyMap.containsKey(X6Constants.STYLE_FONTSIZE) && !stylePropertyMap.get(X6Constants.STYLE_FONTSIZE).isBlank()) {
                 double fontSize = Double.parseDouble(stylePropertyMap.get(X6Constants.STYLE_FONTSIZE));
                 label.getEdgeLabelStyles().setFontSize(fontSize);
@@ -191,4 +450,26 @@ public class X6EdgeUtilities {
                 label.getEdgeLabelStyles().setFontFamily("Helvetica");
         }
     }
+    
+    /**
+    * Makes the styles of an edge modifiable, replacing them with a copy if they are interned.
+    * 
+    * @param edge the edge
+    * @return the modifiable styles of the edge
+    */
+    private static X6EdgeStyles mutableEdgeStyles(X6Edge edge){
+        edge.setEdgeStyles(X6StyleRegistry.mutable(edge.getEdgeStyles()));
+        return edge.getEdgeStyles();
+    }
+    
+    /**
+    * Makes the styles of an edge label modifiable, replacing them with a copy if they are interned.
+    * 
+    * @param label the edge label
+    * @return the modifiable styles of the label
+    */
+    private static X6EdgeLabelStyles mutableEdgeLabelStyles(X6EdgeLabel label){
+        label.setEdgeLabelStyles(X6StyleRegistry.mutable(label.getEdgeLabelStyles()));
+        return label.getEdgeLabelStyles();
+    }
 }
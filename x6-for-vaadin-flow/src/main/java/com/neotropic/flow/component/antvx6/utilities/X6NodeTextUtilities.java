@@ -37,8 +37,8 @@ public class X6NodeTextUtilities {
             double width = labelText.length() * fontSize / 2 + padding;
             double height = fontSize + padding; 
 
-            geometryLabel.getDimensions().setWidth(width);
-            geometryLabel.getDimensions().setHeight(height);
+            geometryLabel.setWidth(width);
+            geometryLabel.setHeight(height);
         }
     }
 
@@ -51,18 +51,18 @@ public class X6NodeTextUtilities {
     */
     public static void calculateLabelPosition(Geometry geometryParent, Geometry geometryLabel, String position, double displacementY){
         if(geometryParent != null && geometryLabel != null && !position.isBlank()){
-            double xCenter = geometryParent.getCoordinates().getX() + (geometryParent.getDimensions().getWidth() / 2);
+            double xCenter = geometryParent.getX() + (geometryParent.getWidth() / 2);
             double x,y = 0;
             if(position.equals(X6Constants.TOP)){
-                x = xCenter - (geometryLabel.getDimensions().getWidth() / 2);
-                y = geometryParent.getCoordinates().getY() - displacementY;
-                geometryLabel.getCoordinates().setX(x);
-                geometryLabel.getCoordinates().setY(y);
+                x = xCenter - (geometryLabel.getWidth() / 2);
+                y = geometryParent.getY() - displacementY;
+                geometryLabel.setX(x);
+                geometryLabel.setY(y);
             }else if(position.equals(X6Constants.BOTTOM)){
-                x = xCenter - (geometryLabel.getDimensions().getWidth() / 2);
-                y = geometryParent.getCoordinates().getY() + geometryParent.getDimensions().getHeight() + displacementY;
-                geometryLabel.getCoordinates().setX(x);
-                geometryLabel.getCoordinates().setY(y);
+                x = xCenter - (geometryLabel.getWidth() / 2);
+                y = geometryParent.getY() + geometryParent.getHeight() + displacementY;
+                geometryLabel.setX(x);
+                geometryLabel.setY(y);
             }
         }
     }
@@ -17,7 +17,9 @@ package com.neotropic.flow.component.antvx6.utilities;
 
 import com.neotropic.flow.component.antvx6.constants.X6Constants;
 import com.neotropic.flow.component.antvx6.objects.X6AbstractNode;
+import com.neotropic.flow.component.antvx6.styles.X6NodeLabelStyles;
 import com.neotropic.flow.component.antvx6.styles.X6NodeStyles;
+import com.neotropic.flow.component.antvx6.styles.X6StyleRegistry;
 import java.util.HashMap;
 
 /**
@@ -46,7 +48,7 @@ public class X6NodeUtilities {
         String strokeColor = node.getNodeStyles().getStrokeColor();
         if (strokeColor == null || strokeColor.isBlank()) {
             strokeColor = "black";
-            node.getNodeStyles().setStrokeColor(strokeColor);
+            mutableNodeStyles(node).setStrokeColor(strokeColor);
         }
         node.setStyle(X6Constants.STYLE_STROKECOLOR, strokeColor);
         
@@ -54,7 +56,7 @@ public class X6NodeUtilities {
         String fillColor = node.getNodeStyles().getFillColor();
         if (fillColor == null || fillColor.isBlank()) {
             fillColor = X6Constants.GRAPH_BACKGROUND_COLOR;
-            node.getNodeStyles().setFillColor(fillColor);
+            mutableNodeStyles(node).setFillColor(fillColor);
         }
         node.setStyle(X6Constants.STYLE_FILLCOLOR, fillColor);
             
@@ -62,7 +64,7 @@ public class X6NodeUtilities {
         String dash = node.getNodeStyles().getDash();
         if (dash == null || dash.isBlank()) {
             dash = "0";
-            node.getNodeStyles().setDash(dash);
+            mutableNodeStyles(node).setDash(dash);
         }
         node.setStyle(X6Constants.STYLE_DASHED, dash);
         
@@ -82,7 +84,7 @@ public class X6NodeUtilities {
         String fontColor = node.getNodeLabelStyles().getFontColor();
         if (fontColor == null || fontColor.isBlank()) {
             fontColor = "black";
-            node.getNodeLabelStyles().setFontColor(fontColor);
+            mutableNodeLabelStyles(node).setFontColor(fontColor);
         }
         node.setStyle(X6Constants.STYLE_FONTCOLOR, fontColor);
         
@@ -90,7 +92,7 @@ public class X6NodeUtilities {
         String fontFamily = node.getNodeLabelStyles().getFontFamily();
         if (fontFamily == null || fontFamily.isBlank()) {
             fontFamily = "Arial";
-            node.getNodeLabelStyles().setFontFamily(fontFamily);
+            mutableNodeLabelStyles(node).setFontFamily(fontFamily);
         }
         node.setStyle(X6Constants.STYLE_FONTFAMILY, fontFamily);
     }
@@ -102,6 +104,9 @@ public class X6NodeUtilities {
     * @param stylePropertyMap a HashMap containing style properties.
     */
     public static void setNodeStyles(X6AbstractNode node, HashMap<String, String> stylePropertyMap){
+        mutableNodeStyles(node);
+        mutableNodeLabelStyles(node);
+        
         if (stylePropertyMap.containsKey(X6Constants.STYLE_STROKECOLOR) && !stylePropertyMap.get(X6Constants.STYLE_STROKECOLOR).isBlank())
             node.getNodeStyles().setStrokeColor(stylePropertyMap.get(X6Constants.STYLE_STROKECOLOR));
 
@@ -141,4 +146,26 @@ public class X6NodeUtilities {
         if (stylePropertyMap.containsKey(X6Constants.STYLE_FONTFAMILY) && !stylePropertyMap.get(X6Constants.STYLE_FONTFAMILY).isBlank())
             node.getNodeLabelStyles().setFontFamily(stylePropertyMap.get(X6Constants.STYLE_FONTFAMILY));
     }
+    
+    /**
+    * Makes the node styles of a node modifiable, replacing them with a copy if they are interned.
+    * 
+    * @param node the node
+    * @return the modifiable node styles of the node
+    */
+    private static X6NodeStyles mutableNodeStyles(X6AbstractNode node){
+        node.setNodeStyles(X6StyleRegistry.mutable(node.getNodeStyles()));
+        return node.getNodeStyles();
+    }
+    
+    /**
+    * Makes the label styles of a node modifiable, replacing them with a copy if they are interned.
+    * 
+    * @param node the node
+    * @return the modifiable label styles of the node
+    */
+    private static X6NodeLabelStyles mutableNodeLabelStyles(X6AbstractNode node){
+        node.setNodeLabelStyles(X6StyleRegistry.mutable(node.getNodeLabelStyles()));
+        return node.getNodeLabelStyles();
+    }
 }
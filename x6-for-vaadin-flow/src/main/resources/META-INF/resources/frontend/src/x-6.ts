@@ -165,6 +165,25 @@ interface X6EdgeLabel{
   edgeLabelStyles: X6EdgeLabelStyles;
 }
 
+/**
+* Represents a batch of cells drawn in a single graph update.
+*/
+interface X6Cells{
+  background?: X6NodeBackground;
+  nodes: X6Node[];
+  texts: X6NodeText[];
+  edges: X6Edge[];
+}
+
+/**
+ * Differences between the cells drawn in the graph and the cells on the server.
+ */
+interface X6CellsDiff{
+  remove: string[];
+  update: X6Cells;
+  add: X6Cells;
+}
+
 /**
  * AntV X6 element.
  * @author Julian David Camacho Erazo <julian.camacho@kuwaiba.org>
@@ -688,6 +707,26 @@ export class X6 extends LitElement {
       border-radius: 50%;
       cursor: nwse-resize;
     }
+
+    #canvas.x6-lod-reduced .x6-node text,
+    #canvas.x6-lod-reduced .x6-node foreignObject,
+    #canvas.x6-lod-reduced .x6-port,
+    #canvas.x6-lod-reduced .x6-edge-label,
+    #canvas.x6-lod-reduced .x6-cell-tools,
+    #canvas.x6-lod-overview .x6-node image {
+      display: none;
+    }
+    #canvas.x6-lod-overview .x6-cell * {
+      stroke-dasharray: none;
+      filter: none;
+    }
+    #canvas.x6-lod-overview .x6-edge path {
+      marker-start: none;
+      marker-end: none;
+    }
+    #canvas.x6-lod-overview svg {
+      shape-rendering: optimizeSpeed;
+    }
   `;
 
   /*
@@ -752,6 +791,37 @@ export class X6 extends LitElement {
   @property()
   graph_zoom: number = -0.1;
 
+  /**
+  * Whether only the cells inside the visible area of the graph are rendered.
+  */
+  @property()
+  graph_virtual_render: boolean = false;
+
+  /**
+  * The margin (in pixels) around the visible area where cells are still rendered
+  * when virtual rendering is enabled.
+  */
+  @property()
+  graph_virtual_render_margin: number = 200;
+
+  /**
+  * Whether the level of detail of the cells depends on the zoom.
+  */
+  @property()
+  graph_level_of_detail: boolean = false;
+
+  /**
+  * The zoom below which labels, ports, edge labels and tools are hidden.
+  */
+  @property()
+  graph_lod_reduced_zoom: number = 0.5;
+
+  /**
+  * The zoom below which the nodes are drawn as plain shapes, without images, dashes nor edge markers.
+  */
+  @property()
+  graph_lod_overview_zoom: number = 0.25;
+
   /**
   * The graph instance.
   */
@@ -762,6 +832,36 @@ export class X6 extends LitElement {
   */
   private minimapPlugin: MiniMap | null = null;
 
+  /**
+  * The scroller plugin instance.
+  */
+  private scrollerPlugin: Scroller | null = null;
+
+  /**
+  * The pending animation frame that updates the render area, if any.
+  */
+  private renderAreaFrame: number = 0;
+
+  /**
+  * The current level of detail: 0 full, 1 reduced, 2 overview.
+  */
+  private detailLevel: number = 0;
+
+  /**
+  * The interned styles defined by the server, indexed by style id.
+  */
+  private styleDictionary = new Map<number, any>();
+
+  /**
+  * The number of characters of each chunk of an SVG document sent by a tiled export.
+  */
+  private readonly tiledExportSvgChunk = 1 << 20;
+
+  /**
+  * The tiled exports in progress, indexed by export id.
+  */
+  private tiledExports = new Map<string, { resume: (() => void) | null, cancelled: boolean }>();
+
   /*
   * A path that defines the location of a node style attribute in the X6 model.
   */
@@ -860,6 +960,10 @@ export class X6 extends LitElement {
           this.initGraph();
         break;
       }
+      if(this.graph_virtual_render)
+        this.enableVirtualRender(this.graph_virtual_render_margin);
+      if(this.graph_level_of_detail)
+        this.enableLevelOfDetail(this.graph_lod_reduced_zoom, this.graph_lod_overview_zoom);
       this.eventInitGraph();
     }
   }
@@ -1044,6 +1148,9 @@ export class X6 extends LitElement {
         scrollerPlugin.disablePanning();
       });
       this.graph.use(scrollerPlugin);
+      this.scrollerPlugin = scrollerPlugin;
+      if(this.graph_virtual_render)
+        this.enableVirtualRender(this.graph_virtual_render_margin);
     }
   }
   
@@ -1193,6 +1300,265 @@ export class X6 extends LitElement {
 
   //#endSection Plugins AntV X6
 
+  //#section Tiled Export
+
+  /**
+  * Exports the graph region by region, so graphs larger than the canvas of the browser can be
+  * exported at any resolution. The graph is serialized to SVG once; for raster formats each tile 
+  * is rasterized from that SVG with its own view box and sent as base 64, for SVG the document is 
+  * sent in chunks of text. After each message the export waits for the server to call 
+  * continueTiledExport, so tiles do not pile up in memory.
+  * 
+  * Every message is an 'export-tile' event with the status 'start' (with the layout of the tiles),
+  * 'tile', 'end' or 'error'.
+  * 
+  * @param exportId - The id of the export, sent back in every event.
+  * @param optionsData - A JSON object with the format ('png', 'jpeg' or 'svg'), mimeType, scale, 
+  *                      padding, backgroundColor, tileSize and quality.
+  */
+  public async exportGraphTiled(exportId: string, optionsData: string) {
+    const state = { resume: null as (() => void) | null, cancelled: false };
+    this.tiledExports.set(exportId, state);
+    try {
+      const graph = this.graph;
+      if(!graph)
+        throw new Error('The graph has not been created');
+      const options = JSON.parse(optionsData);
+      const scale = options.scale > 0 ? options.scale : 1;
+      const padding = options.padding ?? 0;
+      const bbox = graph.getContentBBox();
+      const area = {
+        x: bbox.x - padding,
+        y: bbox.y - padding,
+        width: Math.max(1, bbox.width + 2 * padding),
+        height: Math.max(1, bbox.height + 2 * padding)
+      };
+      const svg = await this.serializeGraph(area, options.format !== 'svg');
+      
+      if(options.format === 'svg'){
+        const text = this.getSvgRoot(area, area, Math.ceil(area.width), Math.ceil(area.height), options.backgroundColor) + svg.body;
+        const chunkSize = this.tiledExportSvgChunk;
+        // chunk boundaries never split a surrogate pair, so each chunk is valid text on its own
+        const boundaries = [0];
+        while(boundaries[boundaries.length - 1] < text.length){
+          let end = Math.min(boundaries[boundaries.length - 1] + chunkSize, text.length);
+          const last = text.charCodeAt(end - 1);
+          if(end < text.length && last >= 0xd800 && last <= 0xdbff)
+            end--;
+          boundaries.push(end);
+        }
+        const columns = Math.max(1, boundaries.length - 1);
+        if(!await this.sendExportTile(exportId, state, { status: 'start', columns: columns, rows: 1, 
+            tileSize: chunkSize, width: Math.ceil(area.width), height: Math.ceil(area.height) }))
+          return;
+        for(let column = 0; column < columns; column++){
+          if(!await this.sendExportTile(exportId, state, { status: 'tile', column: column, row: 0,
+              data: text.substring(boundaries[column], boundaries[column + 1] ?? text.length) }))
+            return;
+        }
+      } else {
+        // browsers limit the size of a canvas, tiles larger than this are rarely accepted
+        const tileSize = Math.min(Math.max(64, options.tileSize), 4096);
+        const width = Math.max(1, Math.ceil(area.width * scale));
+        const height = Math.max(1, Math.ceil(area.height * scale));
+        const columns = Math.ceil(width / tileSize);
+        const rows = Math.ceil(height / tileSize);
+        if(!await this.sendExportTile(exportId, state, { status: 'start', columns: columns, rows: rows, 
+            tileSize: tileSize, width: width, height: height }))
+          return;
+        const canvas = document.createElement('canvas');
+        for(let row = 0; row < rows; row++){
+          for(let column = 0; column < columns; column++){
+            const tileWidth = Math.min(tileSize, width - column * tileSize);
+            const tileHeight = Math.min(tileSize, height - row * tileSize);
+            const region = {
+              x: area.x + column * tileSize / scale,
+              y: area.y + row * tileSize / scale,
+              width: tileWidth / scale,
+              height: tileHeight / scale
+            };
+            const data = await this.rasterizeTile(canvas, this.getSvgRoot(area, region, tileWidth, tileHeight, null) + svg.body,
+              tileWidth, tileHeight, options.format === 'jpeg' ? (options.backgroundColor || '#ffffff') : options.backgroundColor,
+              options.mimeType, options.quality);
+            if(!await this.sendExportTile(exportId, state, { status: 'tile', column: column, row: row, data: data }))
+              return;
+          }
+        }
+      }
+      this.dispatchExportTile(exportId, { status: 'end' });
+    } catch(error) {
+      if(!state.cancelled)
+        this.dispatchExportTile(exportId, { status: 'error', message: String(error) });
+    } finally {
+      this.tiledExports.delete(exportId);
+    }
+  }
+
+  /**
+  * Resumes a tiled export after the server received its last message.
+  * 
+  * @param exportId - The id of the export.
+  */
+  public continueTiledExport(exportId: string) {
+    const state = this.tiledExports.get(exportId);
+    if(state && state.resume){
+      const resume = state.resume;
+      state.resume = null;
+      resume();
+    }
+  }
+
+  /**
+  * Stops a tiled export, after the server failed to receive a tile or cancelled it.
+  * 
+  * @param exportId - The id of the export.
+  */
+  public cancelTiledExport(exportId: string) {
+    const state = this.tiledExports.get(exportId);
+    if(state){
+      state.cancelled = true;
+      this.continueTiledExport(exportId);
+    }
+  }
+
+  /**
+  * Sends a message of a tiled export and waits for the server to receive it.
+  * 
+  * @returns True if the export goes on, false if it was cancelled.
+  */
+  private async sendExportTile(exportId: string, state: { resume: (() => void) | null, cancelled: boolean }, detail: any) {
+    if(state.cancelled)
+      return false;
+    const received = new Promise<void>(resolve => state.resume = resolve);
+    this.dispatchExportTile(exportId, detail);
+    await received;
+    return !state.cancelled;
+  }
+
+  private dispatchExportTile(exportId: string, detail: any) {
+    this.dispatchEvent(new CustomEvent('export-tile', {
+      detail: { exportId: exportId, ...detail }
+    }));
+  }
+
+  /**
+  * Serializes every cell of the graph to SVG, rendering first the cells left out by virtual 
+  * rendering. The opening tag of the root element is dropped, so the view box of each tile 
+  * can be set by prepending a new one.
+  * 
+  * @param area - The area of the graph to export, in graph coordinates.
+  * @param serializeImages - Whether images are embedded, needed to rasterize the SVG.
+  * @returns The content of the SVG document after its opening tag.
+  */
+  private async serializeGraph(area: { x: number, y: number, width: number, height: number }, serializeImages: boolean) {
+    const graph = this.graph as any;
+    if(typeof graph.toSVG !== 'function')
+      graph.use(new Export());
+    const virtualRender = this.graph_virtual_render;
+    if(virtualRender){
+      graph.renderer.setRenderArea(undefined);
+      await this.waitForRender();
+    }
+    try {
+      const svg = await new Promise<string>(resolve => graph.toSVG(resolve, {
+        viewBox: area,
+        copyStyles: false,
+        serializeImages: serializeImages
+      }));
+      const start = svg.indexOf('<svg');
+      const end = svg.indexOf('>', start);
+      if(start < 0 || end < 0)
+        throw new Error('The graph could not be serialized to SVG');
+      return { body: svg.substring(end + 1) };
+    } finally {
+      if(virtualRender)
+        this.updateRenderArea();
+    }
+  }
+
+  /**
+  * Builds the opening tag of an SVG document that shows a region of the graph.
+  * 
+  * @param area - The exported area, where the background is painted.
+  * @param region - The region shown by the document.
+  * @param width - The width of the document.
+  * @param height - The height of the document.
+  * @param backgroundColor - The color of the background, or null for none.
+  */
+  private getSvgRoot(area: { x: number, y: number, width: number, height: number }, 
+      region: { x: number, y: number, width: number, height: number }, width: number, height: number, backgroundColor: string | null) {
+    let root = `<svg xmlns="http://www.w3.org/2000/svg" xmlns:xlink="http://www.w3.org/1999/xlink" width="${width}" height="${height}" ` 
+      + `viewBox="${region.x} ${region.y} ${region.width} ${region.height}" preserveAspectRatio="none">`;
+    if(backgroundColor)
+      root += `<rect x="${area.x}" y="${area.y}" width="${area.width}" height="${area.height}" fill="${backgroundColor.replace(/"/g, '&quot;')}"/>`;
+    return root;
+  }
+
+  /**
+  * Rasterizes an SVG document in a canvas and encodes it.
+  * 
+  * @returns The encoded image in base 64.
+  */
+  private async rasterizeTile(canvas: HTMLCanvasElement, svg: string, width: number, height: number, 
+      backgroundColor: string | null, mimeType: string, quality: number) {
+    const url = URL.createObjectURL(new Blob([svg], { type: 'image/svg+xml' }));
+    try {
+      const image = new Image();
+      await new Promise<void>((resolve, reject) => {
+        image.onload = () => resolve();
+        image.onerror = () => reject(new Error('The tile could not be rendered'));
+        image.src = url;
+      });
+      canvas.width = width;
+      canvas.height = height;
+      const context = canvas.getContext('2d');
+      if(!context)
+        throw new Error('The canvas is not available');
+      context.clearRect(0, 0, width, height);
+      if(backgroundColor){
+        context.fillStyle = backgroundColor;
+        context.fillRect(0, 0, width, height);
+      }
+      context.drawImage(image, 0, 0, width, height);
+      const blob = await new Promise<Blob | null>(resolve => canvas.toBlob(resolve, mimeType, quality));
+      if(!blob)
+        throw new Error('The tile could not be encoded');
+      const dataUrl = await new Promise<string>((resolve, reject) => {
+        const reader = new FileReader();
+        reader.onload = () => resolve(reader.result as string);
+        reader.onerror = () => reject(reader.error);
+        reader.readAsDataURL(blob);
+      });
+      return dataUrl.substring(dataUrl.indexOf(',') + 1);
+    } finally {
+      URL.revokeObjectURL(url);
+    }
+  }
+
+  /**
+  * Waits for the graph to render the views scheduled asynchronously.
+  */
+  private waitForRender() {
+    const graph = this.graph;
+    return new Promise<void>(resolve => {
+      if(!graph){
+        resolve();
+        return;
+      }
+      let timeout = 0;
+      const done = () => {
+        clearTimeout(timeout);
+        graph.off('render:done', done);
+        resolve();
+      };
+      graph.on('render:done', done);
+      // nothing may be left to render, in which case the event does not fire
+      timeout = window.setTimeout(done, 1000);
+    });
+  }
+
+  //#endSection Tiled Export
+
   //#section Graph View Management 
 
   /**
@@ -1259,6 +1625,159 @@ export class X6 extends LitElement {
 
   //#endSection Graph View Management 
 
+  //#section Virtual Rendering
+
+  /**
+  * Enables virtual rendering: only the cells that intersect the visible area of the 
+  * graph, plus a margin, get a view in the canvas. The rendered area follows the 
+  * viewport while panning, zooming, resizing and scrolling with the scroller plugin, 
+  * so the views of the cells are created as they come into sight.
+  * 
+  * Edges are rendered when their source or target node is rendered.
+  * 
+  * @param margin - The margin (in pixels) around the visible area.
+  */
+  public enableVirtualRender(margin: number){
+    const graph = this.graph;
+    if(graph){
+      this.graph_virtual_render = true;
+      this.graph_virtual_render_margin = margin;
+      
+      graph.off('translate', this.scheduleRenderArea);
+      graph.off('scale', this.scheduleRenderArea);
+      graph.off('resize', this.scheduleRenderArea);
+      graph.on('translate', this.scheduleRenderArea);
+      graph.on('scale', this.scheduleRenderArea);
+      graph.on('resize', this.scheduleRenderArea);
+      
+      const scroller = this.getScrollerContainer();
+      if(scroller){
+        scroller.removeEventListener('scroll', this.scheduleRenderArea);
+        scroller.addEventListener('scroll', this.scheduleRenderArea, { passive: true });
+      }
+      this.updateRenderArea();
+    }
+  }
+
+  /**
+  * Disables virtual rendering, rendering every cell of the graph.
+  */
+  public disableVirtualRender(){
+    const graph = this.graph;
+    this.graph_virtual_render = false;
+    if(this.renderAreaFrame){
+      cancelAnimationFrame(this.renderAreaFrame);
+      this.renderAreaFrame = 0;
+    }
+    if(graph){
+      graph.off('translate', this.scheduleRenderArea);
+      graph.off('scale', this.scheduleRenderArea);
+      graph.off('resize', this.scheduleRenderArea);
+      this.getScrollerContainer()?.removeEventListener('scroll', this.scheduleRenderArea);
+      graph.renderer.setRenderArea(undefined);
+    }
+  }
+
+  /**
+  * Schedules an update of the render area for the next animation frame, so that 
+  * several viewport changes in the same frame update it only once.
+  */
+  private scheduleRenderArea = () => {
+    if(!this.renderAreaFrame){
+      this.renderAreaFrame = requestAnimationFrame(() => {
+        this.renderAreaFrame = 0;
+        this.updateRenderArea();
+      });
+    }
+  }
+
+  /**
+  * Sets the render area of the graph to the visible area inflated by the margin.
+  */
+  private updateRenderArea(){
+    const graph = this.graph;
+    if(graph && this.graph_virtual_render){
+      const scroller = this.scrollerPlugin as any;
+      const visibleArea = scroller && typeof scroller.getVisibleArea === 'function' 
+        ? scroller.getVisibleArea() 
+        : graph.getGraphArea();
+      // The margin is given in screen pixels, the area is in graph coordinates.
+      const margin = this.graph_virtual_render_margin / (graph.zoom() || 1);
+      graph.renderer.setRenderArea(visibleArea.inflate(margin, margin));
+    }
+  }
+
+  /**
+  * Gets the element that scrolls the graph when the scroller plugin is used.
+  * 
+  * @returns The scroller element, or null if the plugin is not used.
+  */
+  private getScrollerContainer(): HTMLElement | null {
+    if(this.scrollerPlugin && this.target)
+      return this.target.closest('.x6-graph-scroller') as HTMLElement | null;
+    return null;
+  }
+
+  //#endSection Virtual Rendering
+
+  //#section Level of Detail
+
+  /**
+  * Enables the level of detail mode: when the zoom goes below the thresholds, the details 
+  * of the cells are hidden with CSS, so the browser neither lays them out nor paints them, 
+  * and they are shown again when zooming in. The cells themselves are not modified.
+  * 
+  * @param reducedZoom - The zoom below which node labels, ports, edge labels and tools are hidden.
+  * @param overviewZoom - The zoom below which images, dashes, filters and edge markers are also dropped.
+  */
+  public enableLevelOfDetail(reducedZoom: number, overviewZoom: number){
+    const graph = this.graph;
+    if(graph){
+      this.graph_level_of_detail = true;
+      this.graph_lod_reduced_zoom = reducedZoom;
+      this.graph_lod_overview_zoom = overviewZoom;
+      graph.off('scale', this.updateLevelOfDetail);
+      graph.on('scale', this.updateLevelOfDetail);
+      this.detailLevel = -1;
+      this.updateLevelOfDetail();
+    }
+  }
+
+  /**
+  * Disables the level of detail mode, showing every detail at any zoom.
+  */
+  public disableLevelOfDetail(){
+    this.graph_level_of_detail = false;
+    this.graph?.off('scale', this.updateLevelOfDetail);
+    this.setDetailLevel(0);
+  }
+
+  /**
+  * Updates the level of detail after a zoom change. 
+  */
+  private updateLevelOfDetail = () => {
+    const graph = this.graph;
+    if(graph && this.graph_level_of_detail){
+      const zoom = graph.zoom();
+      this.setDetailLevel(zoom < this.graph_lod_overview_zoom ? 2 : zoom < this.graph_lod_reduced_zoom ? 1 : 0);
+    }
+  }
+
+  /**
+  * Sets the classes of the canvas that hide the details, only when the level changes.
+  * 
+  * @param level - The level of detail: 0 full, 1 reduced, 2 overview.
+  */
+  private setDetailLevel(level: number){
+    if(this.detailLevel !== level && this.target){
+      this.detailLevel = level;
+      this.target.classList.toggle('x6-lod-reduced', level >= 1);
+      this.target.classList.toggle('x6-lod-overview', level >= 2);
+    }
+  }
+
+  //#endSection Level of Detail
+
   //#section Node Selection Functionalities
 
    /**
@@ -1367,41 +1886,8 @@ export class X6 extends LitElement {
   */
   public drawBackground(nodeData : string){
     if(this.graph){
-      // If another background existed, remove it.
-      if(this.graph_node_background_id){
-        const oldBackground = this.graph.getCellById(this.graph_node_background_id);
-        if(oldBackground)
-          this.graph.removeCell(oldBackground);
-      }
-      
-      const X6NodeBackground = JSON.parse(nodeData) as X6NodeBackground;
-      this.graph_node_background_id = X6NodeBackground.id;
-      const labelPosition = this.getNodeLabelConfiguration(X6NodeBackground);
-
-      this.graph.addNode({
-        id:  X6NodeBackground.id,
-        shape: X6NodeBackground.shape,
-        x: X6NodeBackground.geometry.coordinates.x,
-        y: X6NodeBackground.geometry.coordinates.y,
-        width: X6NodeBackground.geometry.dimensions.width,
-        height: X6NodeBackground.geometry.dimensions.height,
-        data: { enableMove: X6NodeBackground.movable },
-        imageUrl:X6NodeBackground.imgUrl,
-        attrs: {
-          body: {
-            fill: X6NodeBackground.nodeStyles.fillColor,
-            stroke: X6NodeBackground.nodeStyles.strokeColor,
-            strokeWidth: X6NodeBackground.nodeStyles.strokeWidth,
-            strokeDasharray: X6NodeBackground.nodeStyles.dash,
-            rx: X6NodeBackground.nodeStyles.borderRadius,
-            ry: X6NodeBackground.nodeStyles.borderRadius
-          },
-          label: {
-            ...labelPosition,
-          },
-        },
-        zIndex:X6NodeBackground.nodeStyles.zIndex
-      });
+      const X6NodeBackground = this.decodeNode(JSON.parse(nodeData)) as X6NodeBackground;
+      this.addBackground(X6NodeBackground);
     }
   }
 
@@ -1412,36 +1898,8 @@ export class X6 extends LitElement {
   */
   public drawNode(nodeData : string){
     if(this.graph){
-      const node = JSON.parse(nodeData) as X6Node;
-      const labelPosition = this.getNodeLabelConfiguration(node);
-      const port = this.getNodePortConfiguration(node.port);
-      this.graph.addNode({
-        id: node.id,
-        shape: node.shape,
-        x: node.geometry.coordinates.x,
-        y: node.geometry.coordinates.y,
-        width: node.geometry.dimensions.width ,
-        height: node.geometry.dimensions.height,
-        data: { enableMove: node.movable },
-        imageUrl: node.imgUrl,
-        attrs: {
-          body: {
-            fill: node.nodeStyles.fillColor,
-            stroke: node.nodeStyles.strokeColor,
-            strokeWidth: node.nodeStyles.strokeWidth,
-            strokeDasharray: node.nodeStyles.dash,
-            rx: node.nodeStyles.borderRadius,
-            ry: node.nodeStyles.borderRadius
-          },
-          label: {
-            ...labelPosition,
-          },
-        },
-        ports: {
-          ...port
-        },
-        zIndex: node.nodeStyles.zIndex,
-      })
+      const node = this.decodeNode(JSON.parse(nodeData)) as X6Node;
+      this.graph.addNode(this.getNodeMetadata(node));
 
       this.setNodeTools(node);
       this.setParent(node.parentId, node.id);
@@ -1455,31 +1913,8 @@ export class X6 extends LitElement {
   */
   public drawText(nodeData : string){
     if(this.graph){
-      const nodeText = JSON.parse(nodeData) as X6NodeText;
-      const labelDefaultPosition = this.getNodeLabelConfiguration(nodeText);
-
-      this.graph.addNode({
-        id: nodeText.id,
-        width: nodeText.geometry.dimensions.width,
-        height: nodeText.geometry.dimensions.height,
-        x: nodeText.geometry.coordinates.x,
-        y: nodeText.geometry.coordinates.y,
-        shape: nodeText.shape,
-        data: { enableMove: nodeText.movable },
-        attrs: {
-          body:{
-            fill: nodeText.nodeStyles.fillColor,
-            stroke: nodeText.nodeStyles.strokeColor,
-            strokeWidth: nodeText.nodeStyles.strokeWidth,
-            strokeDasharray: nodeText.nodeStyles.dash,
-            rx: nodeText.nodeStyles.borderRadius,
-            ry: nodeText.nodeStyles.borderRadius,
-          },
-          label: {
-            ...labelDefaultPosition,
-          }
-        }
-      });
+      const nodeText = this.decodeNode(JSON.parse(nodeData)) as X6NodeText;
+      this.graph.addNode(this.getTextMetadata(nodeText));
 
       this.setParent(nodeText.parentId, nodeText.id);
     }
@@ -1495,34 +1930,216 @@ export class X6 extends LitElement {
   */
   public drawEdge(edgeData: string) {
     if (this.graph) {
-      const edge = JSON.parse(edgeData) as X6Edge;
-      const labelsConfiguration = this.getEdgeLabelsConfiguration(edge);
-      //Connector sets the borderRadius of an edge
-      const edgeConnector = this.getEdgeConnector(edge);
-
-      const newEdge = this.graph.addEdge({
-        id: edge.id,
-        source: edge.idSource,
-        target: edge.idTarget,
-        zIndex: edge.edgeStyles.zIndex,
-        connector: { ...edgeConnector },
-        attrs: {
-            line: {
-              sourceMarker: null,
-              targetMarker: null,
-              stroke: edge.edgeStyles.strokeColor,
-              strokeWidth: edge.edgeStyles.strokeWidth,
-              strokeDasharray: edge.edgeStyles.dash
-            }
+      const edge = this.decodeEdge(JSON.parse(edgeData));
+      this.graph.addEdge(this.getEdgeMetadata(edge));
+    }
+  }
+
+  /**
+  * Draws a batch of cells in a single graph update.
+  * 
+  * Nodes are added first, then text nodes and finally edges, so every edge 
+  * finds its source and target already in the graph.
+  * 
+  * @param {string} cellsData - X6Cells OBJ in json format.
+  */
+  public drawCells(cellsData: string) {
+    if (this.graph) {
+      const cells = this.decodeCells(JSON.parse(cellsData));
+      this.addCells(cells);
+    }
+  }
+
+  /**
+  * Replaces every cell of the graph with cells given as X6 metadata, the JSON read by
+  * graph.fromJSON, in a single call.
+  *
+  * The metadata is built on the server with the same attributes, labels, ports, connectors,
+  * tools and parents the get*Metadata functions produce, so no cell is configured here.
+  *
+  * @param {string} cellsData - {backgroundId?, nodes, edges} in json format.
+  */
+  public loadFromJSON(cellsData: string) {
+    const graph = this.graph;
+    if (graph) {
+      const cells = JSON.parse(cellsData);
+      this.graph_node_background_id = cells.backgroundId ?? '';
+      graph.fromJSON({ nodes: cells.nodes ?? [], edges: cells.edges ?? [] });
+    }
+  }
+
+  /**
+  * Adds a batch of cells to the graph inside a single batch update.
+  * 
+  * @param cells - The cells to add.
+  */
+  private addCells(cells: X6Cells) {
+    const graph = this.graph;
+    if (graph) {
+      const nodes = cells.nodes ?? [];
+      const texts = cells.texts ?? [];
+      const edges = cells.edges ?? [];
+
+      graph.batchUpdate(() => {
+        if (cells.background)
+          this.addBackground(cells.background);
+
+        graph.addNodes(nodes.map(node => this.getNodeMetadata(node)));
+        graph.addNodes(texts.map(nodeText => this.getTextMetadata(nodeText)));
+        graph.addEdges(edges.map(edge => this.getEdgeMetadata(edge)));
+
+        nodes.forEach(node => {
+          this.setNodeTools(node);
+          this.setParent(node.parentId, node.id);
+        });
+        texts.forEach(nodeText => this.setParent(nodeText.parentId, nodeText.id));
+      });
+    }
+  }
+
+  /**
+  * Applies a set of differences to the graph in a single batch update.
+  * 
+  * Removed cells are deleted, updated nodes are modified in place (so their
+  * connected edges are kept), updated edges are replaced and new cells are added.
+  * Dispatches a 'graph-refreshed' event when done.
+  * 
+  * @param {string} diffData - X6CellsDiff OBJ in json format.
+  */
+  public updateCells(diffData: string) {
+    const graph = this.graph;
+    if (graph) {
+      const diff = JSON.parse(diffData) as X6CellsDiff;
+      diff.add = this.decodeCells(diff.add);
+      diff.update = this.decodeCells(diff.update);
+      const update = diff.update;
+      const nodes = update.nodes ?? [];
+      const texts = update.texts ?? [];
+      const edges = update.edges ?? [];
+
+      graph.batchUpdate(() => {
+        (diff.remove ?? []).forEach(id => {
+          const cell = graph.getCellById(id);
+          if (cell)
+            graph.removeCell(cell);
+          if (id === this.graph_node_background_id)
+            this.graph_node_background_id = '';
+        });
+
+        if (update.background) {
+          this.graph_node_background_id = update.background.id;
+          this.updateNode(this.getBackgroundMetadata(update.background));
+        }
+        nodes.forEach(node => this.updateNode(this.getNodeMetadata(node)));
+        texts.forEach(nodeText => this.updateNode(this.getTextMetadata(nodeText)));
+        edges.forEach(edge => {
+          const cell = graph.getCellById(edge.id);
+          if (cell)
+            graph.removeCell(cell);
+        });
+        graph.addEdges(edges.map(edge => this.getEdgeMetadata(edge)));
+
+        nodes.forEach(node => {
+          this.setNodeTools(node);
+          this.setParent(node.parentId, node.id);
+        });
+        texts.forEach(nodeText => this.setParent(nodeText.parentId, nodeText.id));
+
+        this.addCells(diff.add);
+      });
+
+      this.dispatchEvent(new CustomEvent('graph-refreshed', {
+        detail: {
+          state: 'success'
         }
+      }));
+    }
+  }
+
+  /**
+  * Moves several nodes, together with their children, in a single batch update.
+  * 
+  * @param positionsData - The ids of the nodes and their flat coordinates: {"i":[id,...],"p":[x,y,...]}.
+  */
+  public setNodePositions(positionsData: string) {
+    const graph = this.graph;
+    if (graph) {
+      const positions = JSON.parse(positionsData);
+      const ids: string[] = positions.i ?? [];
+      const coordinates: number[] = positions.p ?? [];
+      graph.batchUpdate(() => {
+        ids.forEach((id, index) => {
+          const cell = graph.getCellById(id);
+          if (cell && cell.isNode())
+            (cell as Node).setPosition(coordinates[2 * index], coordinates[2 * index + 1], { deep: true });
+        });
       });
+    }
+  }
+
+  /**
+  * Updates an existing node with the given metadata, keeping its connected edges.
+  * 
+  * If the node does not exist it is added; if its shape changed it is recreated, its children
+  * (text nodes and embedded nodes) are detached before and embedded again in the new node, and
+  * its connected edges are added again. The attributes are replaced, not merged, so the result
+  * is the same as drawing the node from scratch.
+  * 
+  * @param metadata - The node metadata, as built by the get*Metadata functions.
+  */
+  private updateNode(metadata: any) {
+    const graph = this.graph;
+    if (graph) {
+      const cell = graph.getCellById(metadata.id);
+      if (!cell || !cell.isNode()) {
+        graph.addNode(metadata);
+        return;
+      }
+
+      const node = cell as Node;
+      if (node.shape !== metadata.shape) {
+        const connectedEdges = graph.getConnectedEdges(node).map(edge => edge.toJSON());
+        const parent = node.getParent();
+        const children: Cell[] = [...(node.getChildren() ?? [])];
+        children.forEach(child => node.unembed(child));
+        graph.removeCell(node);
+        const created = graph.addNode(metadata);
+        children.forEach(child => created.embed(child));
+        if (parent)
+          parent.embed(created);
+        graph.addEdges(connectedEdges);
+        return;
+      }
+
+      node.setPosition(metadata.x, metadata.y);
+      node.resize(metadata.width, metadata.height);
+      node.setAttrs(metadata.attrs, { overwrite: true });
+      if (metadata.imageUrl)
+        node.attr('image/xlink:href', metadata.imageUrl);
+      if (metadata.ports)
+        node.prop('ports', metadata.ports, { rewrite: true });
+      if (metadata.zIndex !== undefined)
+        node.setZIndex(metadata.zIndex);
+      node.setData(metadata.data, { overwrite: true });
+    }
+  }
 
-      if(labelsConfiguration.length > 0)
-        this.setLabelsToEdge(newEdge, labelsConfiguration);
+  /**
+  * Adds the background node to the graph, replacing the previous one if it exists.
+  * 
+  * @param background - The background node.
+  */
+  private addBackground(background: X6NodeBackground) {
+    if (this.graph) {
+      // If another background existed, remove it.
+      if(this.graph_node_background_id){
+        const oldBackground = this.graph.getCellById(this.graph_node_background_id);
+        if(oldBackground)
+          this.graph.removeCell(oldBackground);
+      }
 
-      if (Array.isArray(edge.vertices) && edge.vertices.length > 0) 
-          newEdge.setVertices(this.getVerticesFormat(edge.vertices));
-        
+      this.graph_node_background_id = background.id;
+      this.graph.addNode(this.getBackgroundMetadata(background));
     }
   }
 
@@ -1550,8 +2167,282 @@ export class X6 extends LitElement {
 
   //#endSection Draw Objects in X6 graph
 
+  //#section Compact Format
+
+  /**
+  * Defines interned styles that cells in the compact format reference by id.
+  * 
+  * @param stylesData - A JSON object with the styles indexed by style id.
+  */
+  public defineStyles(stylesData: string) {
+    const styles = JSON.parse(stylesData);
+    for (const id of Object.keys(styles))
+      this.styleDictionary.set(Number(id), styles[id]);
+  }
+
+  /**
+  * Resolves a style of the compact format, which is either inline or a reference to an interned style.
+  * 
+  * @param style - The inline style, the style id or undefined.
+  * @returns The style content.
+  */
+  private resolveStyle(style: any): any {
+    if (typeof style === 'number')
+      return this.styleDictionary.get(style) ?? {};
+    return style ?? {};
+  }
+
+  /**
+  * Expands the cells of a batch that were sent in the compact format.
+  * 
+  * @param cells - The batch, with cells in the verbose or compact format.
+  * @returns The batch with every cell in the verbose format.
+  */
+  private decodeCells(cells: any): X6Cells {
+    return {
+      background: cells.background ? this.decodeNode(cells.background) as X6NodeBackground : undefined,
+      nodes: (cells.nodes ?? []).map((node: any) => this.decodeNode(node) as X6Node),
+      texts: (cells.texts ?? []).map((nodeText: any) => this.decodeNode(nodeText) as X6NodeText),
+      edges: (cells.edges ?? []).map((edge: any) => this.decodeEdge(edge)),
+    };
+  }
+
+  /**
+  * Expands a node, text node or background node sent in the compact format 
+  * (short keys and omitted defaults). Nodes in the verbose format are returned as they are.
+  * 
+  * @param data - The node data.
+  * @returns The node in the verbose format.
+  */
+  private decodeNode(data: any): X6AbstractNode {
+    if (data.id !== undefined)
+      return data as X6AbstractNode;
+
+    const geometry = data.g ?? [0, 0, 0, 0];
+    const styles = this.resolveStyle(data.n);
+    const labelStyles = this.resolveStyle(data.b);
+    return {
+      id: data.i,
+      geometry: {
+        coordinates: { x: geometry[0], y: geometry[1] },
+        dimensions: { width: geometry[2], height: geometry[3] }
+      },
+      tools: data.t ?? [],
+      shape: data.s ?? 'rect',
+      imgUrl: data.u ?? '',
+      movable: data.m !== 0,
+      parentId: data.p ?? '',
+      label: data.l ?? '',
+      nodeStyles: {
+        fillColor: styles.f ?? '#f8f9fa',
+        strokeColor: styles.c ?? 'black',
+        strokeWidth: styles.w ?? 1,
+        dash: styles.d ?? '0',
+        borderRadius: styles.r ?? 0,
+        zIndex: styles.z ?? 1
+      },
+      nodeLabelStyles: {
+        fontColor: labelStyles.c ?? 'black',
+        fontSize: labelStyles.s ?? 14,
+        fontFamily: labelStyles.a ?? 'Arial',
+        labelPosition: labelStyles.p ?? 'default',
+        visibility: labelStyles.v ?? 'visible'
+      },
+      port: data.o === 1
+    } as X6Node;
+  }
+
+  /**
+  * Expands an edge sent in the compact format (short keys, flat vertices and omitted
+  * defaults). Edges in the verbose format are returned as they are.
+  * 
+  * @param data - The edge data.
+  * @returns The edge in the verbose format.
+  */
+  private decodeEdge(data: any): X6Edge {
+    if (data.id !== undefined)
+      return data as X6Edge;
+
+    const flatVertices: number[] = data.v ?? [];
+    const vertices: Vertex[] = [];
+    for (let i = 0; i + 1 < flatVertices.length; i += 2)
+      vertices.push({ x: flatVertices[i], y: flatVertices[i + 1] });
+
+    const styles = this.resolveStyle(data.e);
+    return {
+      id: data.i,
+      geometry: {
+        coordinates: { x: 0, y: 0 },
+        dimensions: { width: 0, height: 0 }
+      },
+      tools: [],
+      idSource: data.a ?? '',
+      idTarget: data.b ?? '',
+      vertices: vertices,
+      edgeLabels: (data.l ?? []).map((label: any) => {
+        const labelStyles = this.resolveStyle(label.s);
+        return {
+          label: label.l ?? '',
+          distance: label.d ?? 0.5,
+          edgeLabelStyles: {
+            fillColor: labelStyles.f ?? '#f8f9fa',
+            fontColor: labelStyles.c ?? 'black',
+            fontSize: labelStyles.s ?? 14,
+            fontFamily: labelStyles.a ?? 'Arial',
+            borderRadius: labelStyles.r ?? 0
+          }
+        };
+      }),
+      edgeStyles: {
+        strokeColor: styles.c ?? 'black',
+        strokeWidth: styles.w ?? 1,
+        dash: styles.d ?? 0,
+        borderRadius: styles.r ?? 0,
+        zIndex: styles.z ?? 1
+      }
+    };
+  }
+
+  //#endSection Compact Format
+
   //#section Objects Configuration
 
+  /**
+  * Builds the X6 metadata of a background node.
+  *
+  * @param background - The background node.
+  * @returns The metadata used to add the node to the graph.
+  */
+  private getBackgroundMetadata(background: X6NodeBackground) {
+    const labelPosition = this.getNodeLabelConfiguration(background);
+    return {
+      id:  background.id,
+      shape: background.shape,
+      x: background.geometry.coordinates.x,
+      y: background.geometry.coordinates.y,
+      width: background.geometry.dimensions.width,
+      height: background.geometry.dimensions.height,
+      data: { enableMove: background.movable },
+      imageUrl: background.imgUrl,
+      attrs: {
+        body: {
+          fill: background.nodeStyles.fillColor,
+          stroke: background.nodeStyles.strokeColor,
+          strokeWidth: background.nodeStyles.strokeWidth,
+          strokeDasharray: background.nodeStyles.dash,
+          rx: background.nodeStyles.borderRadius,
+          ry: background.nodeStyles.borderRadius
+        },
+        label: {
+          ...labelPosition,
+        },
+      },
+      zIndex: background.nodeStyles.zIndex
+    };
+  }
+
+  /**
+  * Builds the X6 metadata of a node.
+  *
+  * @param node - The node.
+  * @returns The metadata used to add the node to the graph.
+  */
+  private getNodeMetadata(node: X6Node) {
+    const labelPosition = this.getNodeLabelConfiguration(node);
+    const port = this.getNodePortConfiguration(node.port);
+    return {
+      id: node.id,
+      shape: node.shape,
+      x: node.geometry.coordinates.x,
+      y: node.geometry.coordinates.y,
+      width: node.geometry.dimensions.width ,
+      height: node.geometry.dimensions.height,
+      data: { enableMove: node.movable },
+      imageUrl: node.imgUrl,
+      attrs: {
+        body: {
+          fill: node.nodeStyles.fillColor,
+          stroke: node.nodeStyles.strokeColor,
+          strokeWidth: node.nodeStyles.strokeWidth,
+          strokeDasharray: node.nodeStyles.dash,
+          rx: node.nodeStyles.borderRadius,
+          ry: node.nodeStyles.borderRadius
+        },
+        label: {
+          ...labelPosition,
+        },
+      },
+      ports: {
+        ...port
+      },
+      zIndex: node.nodeStyles.zIndex,
+    };
+  }
+
+  /**
+  * Builds the X6 metadata of a text node.
+  *
+  * @param nodeText - The text node.
+  * @returns The metadata used to add the node to the graph.
+  */
+  private getTextMetadata(nodeText: X6NodeText) {
+    const labelDefaultPosition = this.getNodeLabelConfiguration(nodeText);
+    return {
+      id: nodeText.id,
+      width: nodeText.geometry.dimensions.width,
+      height: nodeText.geometry.dimensions.height,
+      x: nodeText.geometry.coordinates.x,
+      y: nodeText.geometry.coordinates.y,
+      shape: nodeText.shape,
+      data: { enableMove: nodeText.movable },
+      attrs: {
+        body:{
+          fill: nodeText.nodeStyles.fillColor,
+          stroke: nodeText.nodeStyles.strokeColor,
+          strokeWidth: nodeText.nodeStyles.strokeWidth,
+          strokeDasharray: nodeText.nodeStyles.dash,
+          rx: nodeText.nodeStyles.borderRadius,
+          ry: nodeText.nodeStyles.borderRadius,
+        },
+        label: {
+          ...labelDefaultPosition,
+        }
+      }
+    };
+  }
+
+  /**
+  * Builds the X6 metadata of an edge, including its labels and vertices.
+  *
+  * @param edge - The edge.
+  * @returns The metadata used to add the edge to the graph.
+  */
+  private getEdgeMetadata(edge: X6Edge) {
+    const labelsConfiguration = this.getEdgeLabelsConfiguration(edge);
+    //Connector sets the borderRadius of an edge
+    const edgeConnector = this.getEdgeConnector(edge);
+    const vertices = Array.isArray(edge.vertices) ? this.getVerticesFormat(edge.vertices) : [];
+
+    return {
+      id: edge.id,
+      source: edge.idSource,
+      target: edge.idTarget,
+      zIndex: edge.edgeStyles.zIndex,
+      connector: { ...edgeConnector },
+      attrs: {
+          line: {
+            sourceMarker: null,
+            targetMarker: null,
+            stroke: edge.edgeStyles.strokeColor,
+            strokeWidth: edge.edgeStyles.strokeWidth,
+            strokeDasharray: edge.edgeStyles.dash
+          }
+      },
+      labels: labelsConfiguration,
+      vertices: vertices
+    };
+  }
+
   /**
   * Creates a label position configuration for a node based on its label position settings.
   *
@@ -1687,21 +2578,6 @@ export class X6 extends LitElement {
     return labelConfigs;
   }
 
-  /**
-   * Assigns a list of label configurations to the specified edge.
-   * 
-   * This method iterates through the provided label configurations
-   * and appends each one to the given edge.
-   * 
-   * @param edge - The edge to which the labels will be added.
-   * @param labels - An array of label configuration objects to append to the edge.
-   */
-  private setLabelsToEdge(edge: Edge , labels: any[]){
-    labels.forEach(currentLabel => {
-      edge.appendLabel(currentLabel);
-    });
-  }
-
   /**
   * This method retrieves the connector configuration for an edge in the X6 graph.
   * 
@@ -2279,30 +3155,78 @@ export class X6 extends LitElement {
   }
   
   /**
-   * Registers an event listener that dispatches a custom event when an edge is modified.
+   * Registers an event listener that dispatches a custom event when the route or the endpoints of an edge change.
    * 
-   * The event emits the edge ID, its source and target node IDs, and a JSON representation of its vertices.
+   * Changes are accumulated per edge until the next animation frame, so dragging a vertex emits at most
+   * one event per frame. The event carries the edge ID, its source and target node IDs, the number of
+   * vertices and only the vertices that changed since the previous event, as a flat array of
+   * [index, x, y, index, x, y, ...]. The first event of each edge carries every vertex and is flagged
+   * as complete, since the server has no previous route to apply the changes to. Changes to other
+   * attributes of the edge are not reported.
    */
   public eventEdgeChanged() {
     if (this.graph) {
-      this.graph.on('edge:changed', ({ edge }) => {
-        const vertices = edge.getVertices().map(vertex => ({
-          x: vertex.x,
-          y: vertex.y
-        }));
-  
-        const verticesJson = JSON.stringify(vertices);
-  
-        this.dispatchEvent(new CustomEvent('edge-changed', {
-          detail: {
-            edge: {
-              id: edge.id,
-              idSource: edge.getSourceCell()?.id,
-              idTarget: edge.getTargetCell()?.id,
-              vertices: verticesJson
+      const baselines = new Map<string, { x: number, y: number }[]>();
+      const endpointsChanged = new Set<string>();
+      const reported = new Set<string>();
+      let scheduled = false;
+
+      const flush = () => {
+        scheduled = false;
+        baselines.forEach((baseline, id) => {
+          const edge = this.graph?.getCellById(id);
+          if (!edge || !edge.isEdge())
+            return;
+          const vertices = edge.getVertices();
+          const complete = !reported.has(id);
+          const changed: number[] = [];
+          vertices.forEach((vertex, index) => {
+            const previous = baseline[index];
+            if (complete || !previous || previous.x !== vertex.x || previous.y !== vertex.y)
+              changed.push(index, vertex.x, vertex.y);
+          });
+          if (!complete && changed.length === 0 && vertices.length === baseline.length && !endpointsChanged.has(id))
+            return;
+          reported.add(id);
+          this.dispatchEvent(new CustomEvent('edge-changed', {
+            detail: {
+              edge: {
+                id: edge.id,
+                idSource: edge.getSourceCell()?.id,
+                idTarget: edge.getTargetCell()?.id,
+                vertexCount: vertices.length,
+                complete: complete,
+                changed: changed
+              }
             }
-          }
-        }));
+          }));
+        });
+        baselines.clear();
+        endpointsChanged.clear();
+      };
+
+      const track = (edge: Edge, previous: { x: number, y: number }[]) => {
+        if (!baselines.has(edge.id))
+          baselines.set(edge.id, previous.map(vertex => ({ x: vertex.x, y: vertex.y })));
+        if (!scheduled) {
+          scheduled = true;
+          requestAnimationFrame(flush);
+        }
+      };
+
+      this.graph.on('edge:change:vertices', ({ edge, previous }) => {
+        track(edge, previous ?? []);
+      });
+      this.graph.on('edge:removed', ({ edge }) => {
+        reported.delete(edge.id);
+      });
+      this.graph.on('edge:change:source', ({ edge }) => {
+        endpointsChanged.add(edge.id);
+        track(edge, edge.getVertices());
+      });
+      this.graph.on('edge:change:target', ({ edge }) => {
+        endpointsChanged.add(edge.id);
+        track(edge, edge.getVertices());
       });
     }
   }
@@ -2405,6 +3329,91 @@ export class X6 extends LitElement {
     }  
   }
 
+  /**
+  * Sets up a coalesced listener for when nodes are moved in the graph.
+  * 
+  * Instead of one event per node, the new positions are accumulated (only the last
+  * position of each node is kept) and dispatched together in a single 'nodes-moved' event.
+  * 
+  * @param interval - Milliseconds during which changes are accumulated; 0 or less to 
+  *                   deliver them once per animation frame.
+  */
+  public eventNodesMovedCoalesced(interval: number){
+    if(this.graph){
+      const dispatch = this.coalesceEvents('nodes-moved', interval);
+      this.graph.on('node:moved', ({ node }) => {
+        dispatch(node.id, {
+          id: node.id,
+          x: node.position().x,
+          y: node.position().y,
+        });
+      });
+    }
+  }
+
+  /**
+  * Sets up a coalesced listener for when nodes are modified.
+  * 
+  * Instead of one event per change, the changes are accumulated (only the last state of
+  * each node is kept) and dispatched together in a single 'nodes-changed' event.
+  * 
+  * @param interval - Milliseconds during which changes are accumulated; 0 or less to 
+  *                   deliver them once per animation frame.
+  */
+  public eventNodesChangedCoalesced(interval: number){
+    if(this.graph){
+      const dispatch = this.coalesceEvents('nodes-changed', interval);
+      this.graph.on('node:changed', ({ node }) => {
+        const bbox = node.getBBox();
+        dispatch(node.id, {
+          id: node.id,
+          x: bbox.x,
+          y: bbox.y,
+          width: bbox.width,
+          height: bbox.height,
+          newLabel: node.getAttrByPath('label/text')
+        });
+      });
+    }
+  }
+
+  /**
+  * Creates a function that accumulates the details of a node, indexed by its id,
+  * and dispatches all the pending ones in a single event.
+  * 
+  * @param eventName - The name of the event to dispatch, with the details in 'detail.nodes'.
+  * @param interval - Milliseconds to wait before dispatching; 0 or less to wait for the next animation frame.
+  * @returns The function that adds the details of a node to the next event.
+  */
+  private coalesceEvents(eventName: string, interval: number) {
+    const pending = new Map<string, object>();
+    let scheduled = false;
+
+    const flush = () => {
+      scheduled = false;
+      if(pending.size > 0){
+        const nodes = Array.from(pending.values());
+        pending.clear();
+        this.dispatchEvent(new CustomEvent(eventName, {
+          detail: {
+            nodes: nodes
+          }
+        }));
+      }
+    };
+
+    return (id: string, detail: object) => {
+      pending.set(id, detail);
+      if(!scheduled){
+        scheduled = true;
+        if(interval > 0)
+          setTimeout(flush, interval);
+        else
+          requestAnimationFrame(flush);
+      }
+    };
+  }
+
   /**
    * Registers an event listener that enables node resizing when a node is double-clicked.
    * 
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.export;
+
+import com.neotropic.flow.component.antvx6.objects.X6Cell;
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import com.neotropic.flow.component.antvx6.objects.X6Node;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link X6BatchExporter}: the files are replaced only once they are complete, and an
+ * export that fails leaves the previous file and no temporary file behind.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6BatchExporterTest {
+    @TempDir
+    Path directory;
+    
+    private static X6Scene createScene(int nodes) {
+        List<X6Cell> cells = new ArrayList<>();
+        for (int i = 0; i < nodes; i++)
+            cells.add(new X6Node("n" + i, i * 60, i * 30, 40, 20, "rect"));
+        for (int i = 1; i < nodes; i++)
+            cells.add(new X6Edge("e" + i, "n" + (i - 1), "n" + i));
+        return new X6Scene(cells);
+    }
+    
+    private List<Path> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+    
+    @Test
+    public void filesAreWritten() throws IOException {
+        X6ExportOptions options = new X6ExportOptions();
+        X6Scene scene = createScene(5);
+        Map<Path, Supplier<X6Scene>> scenes = new LinkedHashMap<>();
+        scenes.put(directory.resolve("a.png"), () -> scene);
+        scenes.put(directory.resolve("b.png"), () -> scene);
+        List<Path> written;
+        try (X6BatchExporter exporter = new X6BatchExporter(options, 2)) {
+            written = exporter.submitAll(scenes, X6ExportFormat.PNG).join();
+        }
+        assertEquals(List.of(directory.resolve("a.png"), directory.resolve("b.png")), written);
+        // no temporary file is left
+        assertEquals(written, files());
+        int[] size = options.getImageSize(scene);
+        for (Path file : written) {
+            BufferedImage image = ImageIO.read(file.toFile());
+            assertEquals(size[0], image.getWidth());
+            assertEquals(size[1], image.getHeight());
+        }
+    }
+    
+    @Test
+    public void failedExportKeepsThePreviousFile() throws IOException {
+        Path target = directory.resolve("site.jpg");
+        byte[] previous = { 1, 2, 3 };
+        Files.write(target, previous);
+        X6ExportOptions options = new X6ExportOptions();
+        // the JPEG is rendered at once and is larger than the limit
+        options.setMaxPixels(100);
+        try (X6BatchExporter exporter = new X6BatchExporter(options, 1)) {
+            CompletionException failure = assertThrows(CompletionException.class, 
+                    () -> exporter.submit(() -> createScene(5), X6ExportFormat.JPEG, target).join());
+            assertEquals(IllegalArgumentException.class, failure.getCause().getClass());
+        }
+        assertArrayEquals(previous, Files.readAllBytes(target));
+        assertEquals(List.of(target), files());
+    }
+    
+    @Test
+    public void existingFileIsReplaced() throws IOException {
+        Path target = directory.resolve("sites").resolve("site.svg");
+        Files.createDirectories(target.getParent());
+        Files.writeString(target, "previous");
+        try (X6BatchExporter exporter = new X6BatchExporter(new X6ExportOptions(), 1)) {
+            exporter.submit(() -> createScene(3), X6ExportFormat.SVG, target).join();
+        }
+        String svg = Files.readString(target);
+        assertTrue(svg.contains("<svg") && svg.strip().endsWith("</svg>"), svg);
+        try (Stream<Path> files = Files.list(target.getParent())) {
+            assertEquals(List.of(target), files.toList());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link X6SvgStream}: the chunks are read in the order they arrive, readers wait for
+ * the chunks not received yet and the document ends when the export ends or fails.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6SvgStreamTest {
+    
+    /**
+    * Cuts a document in chunks as the web component does (exportGraphTiled in x-6.ts): a chunk
+    * never ends with the high surrogate of a pair.
+    */
+    private static List<String> chunk(String text, int chunkSize) {
+        List<String> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < text.length()) {
+            int end = Math.min(start + chunkSize, text.length());
+            if (end < text.length() && Character.isHighSurrogate(text.charAt(end - 1)))
+                end--;
+            chunks.add(text.substring(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+    
+    /**
+    * Sends the chunks of a document to a stream, encoded as {@code AntvX6} encodes them.
+    */
+    private static X6SvgStream send(String text, int chunkSize) throws IOException {
+        List<String> chunks = chunk(text, chunkSize);
+        X6SvgStream svg = new X6SvgStream();
+        svg.begin(new X6TileGrid(X6ExportFormat.SVG, chunks.size(), 1, chunkSize, 100, 100));
+        for (int i = 0; i < chunks.size(); i++)
+            svg.tile(i, 0, chunks.get(i).getBytes(StandardCharsets.UTF_8));
+        svg.end();
+        return svg;
+    }
+    
+    @Test
+    public void chunksAreReadInOrder() throws IOException {
+        StringBuilder text = new StringBuilder("<svg>");
+        for (int i = 0; i < 1000; i++)
+            text.append("<text>").append(i).append("</text>");
+        text.append("</svg>");
+        X6SvgStream svg = send(text.toString(), 7);
+        assertTrue(svg.isComplete());
+        assertEquals(text.toString(), new String(svg.toByteArray(), StandardCharsets.UTF_8));
+        // the document can be read again
+        assertEquals(text.toString(), new String(svg.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(text.toString().getBytes(StandardCharsets.UTF_8).length, svg.getSize());
+    }
+    
+    @Test
+    public void surrogatePairsAreNotSplit() throws IOException {
+        // the pairs fall on every position of the chunks
+        String text = "<svg><text>a😀bc🌍🌍ü😀</text></svg>";
+        for (int chunkSize = 2; chunkSize <= 9; chunkSize++) {
+            for (String chunk : chunk(text, chunkSize))
+                assertFalse(Character.isHighSurrogate(chunk.charAt(chunk.length() - 1)));
+            assertEquals(text, new String(send(text, chunkSize).toByteArray(), StandardCharsets.UTF_8), 
+                    "Chunks of " + chunkSize);
+        }
+    }
+    
+    @Test
+    public void readersWaitForTheChunksNotReceived() throws Exception {
+        X6SvgStream svg = new X6SvgStream();
+        svg.begin(new X6TileGrid(X6ExportFormat.SVG, 4, 1, 5, 100, 100));
+        svg.tile(0, 0, "<svg>".getBytes(StandardCharsets.UTF_8));
+        CompletableFuture<String> read = CompletableFuture.supplyAsync(() -> {
+            try (InputStream in = svg.getInputStream()) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+        });
+        svg.tile(1, 0, "<g/>".getBytes(StandardCharsets.UTF_8));
+        // an empty chunk does not end the document
+        svg.tile(2, 0, new byte[0]);
+        Thread.sleep(100);
+        assertFalse(read.isDone());
+        svg.tile(3, 0, "</svg>".getBytes(StandardCharsets.UTF_8));
+        svg.end();
+        assertEquals("<svg><g/></svg>", read.get(10, TimeUnit.SECONDS));
+        assertTrue(svg.getCompletion().isDone());
+    }
+    
+    @Test
+    public void readersFailWhenTheExportFails() throws Exception {
+        X6SvgStream svg = new X6SvgStream();
+        svg.begin(new X6TileGrid(X6ExportFormat.SVG, 2, 1, 5, 100, 100));
+        svg.tile(0, 0, "<svg>".getBytes(StandardCharsets.UTF_8));
+        InputStream in = svg.getInputStream();
+        assertEquals('<', in.read());
+        svg.cancel(new IOException("The export was cancelled"));
+        assertThrows(IOException.class, () -> in.readAllBytes());
+        assertThrows(IOException.class, () -> svg.writeTo(new ByteArrayOutputStream()));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> svg.getCompletion().get());
+        assertEquals("The export was cancelled", failure.getCause().getMessage());
+    }
+    
+    @Test
+    public void onlySvgExportsAreAccepted() {
+        assertThrows(IOException.class, 
+                () -> new X6SvgStream().begin(new X6TileGrid(X6ExportFormat.PNG, 1, 1, 64, 64, 64)));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.export;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of {@link X6TileAssembler}: the tiles sent by the browser, including the smaller tiles
+ * of the right and bottom edges, are assembled in a single image.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6TileAssemblerTest {
+    private static final int TILE_SIZE = 64;
+    
+    private static BufferedImage createImage(int width, int height, int type) {
+        Random random = new Random(7);
+        BufferedImage image = new BufferedImage(width, height, type);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++)
+                image.setRGB(x, y, 0xff000000 | random.nextInt(0x1000000));
+        }
+        return image;
+    }
+    
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+    
+    /**
+    * Sends an image to an assembler cut in tiles, row by row, as the web component does.
+    */
+    private static byte[] assemble(BufferedImage image, X6ExportFormat format, X6ExportOptions options) throws IOException {
+        int columns = (image.getWidth() + TILE_SIZE - 1) / TILE_SIZE;
+        int rows = (image.getHeight() + TILE_SIZE - 1) / TILE_SIZE;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        X6TileAssembler assembler = new X6TileAssembler(out, options);
+        assembler.begin(new X6TileGrid(format, columns, rows, TILE_SIZE, image.getWidth(), image.getHeight()));
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int x = column * TILE_SIZE;
+                int y = row * TILE_SIZE;
+                BufferedImage tile = image.getSubimage(x, y, 
+                        Math.min(TILE_SIZE, image.getWidth() - x), Math.min(TILE_SIZE, image.getHeight() - y));
+                assembler.tile(column, row, encode(tile, format == X6ExportFormat.PNG ? "png" : "jpg"));
+            }
+        }
+        assembler.end();
+        return out.toByteArray();
+    }
+    
+    private static int[] pixels(BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+    
+    @Test
+    public void pngTilesAreAssembledWithTheEdgeTiles() throws IOException {
+        // neither side is a multiple of the tile size, the last column and row are smaller
+        BufferedImage image = createImage(150, 70, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(assemble(image, X6ExportFormat.PNG, new X6ExportOptions())));
+        assertEquals(150, result.getWidth());
+        assertEquals(70, result.getHeight());
+        assertArrayEquals(pixels(image), pixels(result));
+    }
+    
+    @Test
+    public void jpegTilesAreAssembledWithTheEdgeTiles() throws IOException {
+        // a tile per color, the compression keeps flat colors close to the original
+        int[] colors = { 0xffff0000, 0xff00ff00, 0xff0000ff, 0xffffff00, 0xff00ffff, 0xffff00ff };
+        BufferedImage image = new BufferedImage(150, 70, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++)
+                image.setRGB(x, y, colors[y / TILE_SIZE * 3 + x / TILE_SIZE]);
+        }
+        X6ExportOptions options = new X6ExportOptions();
+        options.setJpegQuality(1f);
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(assemble(image, X6ExportFormat.JPEG, options)));
+        assertEquals(150, result.getWidth());
+        assertEquals(70, result.getHeight());
+        int[][] centers = { {32, 32}, {96, 32}, {140, 32}, {32, 67}, {96, 67}, {140, 67} };
+        for (int i = 0; i < centers.length; i++) {
+            int expected = image.getRGB(centers[i][0], centers[i][1]);
+            int actual = result.getRGB(centers[i][0], centers[i][1]);
+            for (int shift = 0; shift <= 16; shift += 8)
+                assertEquals(expected >> shift & 0xff, actual >> shift & 0xff, 24, "Tile " + i);
+        }
+    }
+    
+    @Test
+    public void jpegLargerThanTheLimitIsRejected() {
+        X6ExportOptions options = new X6ExportOptions();
+        options.setMaxPixels(100 * 100 - 1);
+        X6TileAssembler assembler = new X6TileAssembler(new ByteArrayOutputStream(), options);
+        assertThrows(IOException.class, 
+                () -> assembler.begin(new X6TileGrid(X6ExportFormat.JPEG, 2, 2, TILE_SIZE, 100, 100)));
+    }
+    
+    @Test
+    public void tilesOutOfOrderAreRejected() throws IOException {
+        BufferedImage image = createImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        X6TileAssembler assembler = new X6TileAssembler(new ByteArrayOutputStream(), new X6ExportOptions());
+        assembler.begin(new X6TileGrid(X6ExportFormat.PNG, 2, 2, TILE_SIZE, 2 * TILE_SIZE, 2 * TILE_SIZE));
+        assertThrows(IOException.class, () -> assembler.tile(0, 1, encode(image, "png")));
+        assembler.cancel(null);
+    }
+    
+    @Test
+    public void svgChunksAreWrittenInOrder() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        X6TileAssembler assembler = new X6TileAssembler(out, new X6ExportOptions());
+        assembler.begin(new X6TileGrid(X6ExportFormat.SVG, 3, 1, 4, 10, 10));
+        assembler.tile(0, 0, "<svg".getBytes());
+        assembler.tile(1, 0, "></sv".getBytes());
+        assembler.tile(2, 0, "g>".getBytes());
+        assembler.end();
+        assertEquals("<svg></svg>", out.toString());
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.jsonGenerator;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.neotropic.flow.component.antvx6.objects.X6Cell;
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import com.neotropic.flow.component.antvx6.objects.X6EdgeLabel;
+import com.neotropic.flow.component.antvx6.objects.X6Node;
+import com.neotropic.flow.component.antvx6.objects.X6NodeBackground;
+import com.neotropic.flow.component.antvx6.objects.X6NodeText;
+import com.neotropic.flow.component.antvx6.styles.X6EdgeLabelStyles;
+import com.neotropic.flow.component.antvx6.styles.X6EdgeStyles;
+import com.neotropic.flow.component.antvx6.styles.X6NodeLabelStyles;
+import com.neotropic.flow.component.antvx6.styles.X6NodeStyles;
+import com.neotropic.flow.component.antvx6.styles.X6StyleRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the compact format of {@link JsonStreamGenerator}: cells written in the compact
+ * format and expanded as the web component does are the cells written in the verbose format.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class JsonStreamGeneratorTest {
+    
+    private static List<X6Cell> createCells() {
+        List<X6Cell> cells = new ArrayList<>();
+        X6NodeBackground background = new X6NodeBackground("bg", 0, 0, 800, 600, "image");
+        background.setImgUrl("http://localhost/background.png");
+        background.setMovable(false);
+        cells.add(background);
+        
+        X6NodeStyles shared = new X6NodeStyles();
+        shared.setFillColor("#ff0000");
+        shared.setStrokeWidth(2.5);
+        X6NodeLabelStyles sharedLabel = new X6NodeLabelStyles();
+        sharedLabel.setFontSize(10);
+        for (int i = 0; i < 6; i++) {
+            X6Node node = new X6Node("n" + i, i * 10.5, -i, 40, 30, i % 2 == 0 ? "rect" : "circle");
+            node.setLabel("Node \"" + i + "\" ü");
+            node.setPort(i == 3);
+            if (i % 3 == 0)
+                node.getTools().add("button-remove");
+            if (i < 4) {
+                node.setNodeStyles(i % 2 == 0 ? X6StyleRegistry.intern(shared) : shared);
+                node.setNodeLabelStyles(X6StyleRegistry.intern(sharedLabel));
+            }
+            cells.add(node);
+        }
+        X6NodeText text = new X6NodeText("t0", 1, 2, 3, 4, "text-block");
+        text.setLabel("text");
+        text.setParentId("n0");
+        text.getNodeStyles().setBorderRadius(4);
+        cells.add(text);
+        
+        X6EdgeStyles edgeStyles = new X6EdgeStyles();
+        edgeStyles.setDash(4);
+        X6EdgeLabelStyles labelStyles = new X6EdgeLabelStyles();
+        labelStyles.setFontColor("red");
+        for (int i = 0; i < 4; i++) {
+            X6Edge edge = new X6Edge("e" + i, "n" + i, "n" + (i + 1), "label " + i);
+            if (i % 2 == 0) {
+                edge.getPolyline().add(1.5, -2);
+                edge.getPolyline().add(1e20, 0.1);
+            }
+            edge.setEdgeStyles(i < 2 ? X6StyleRegistry.intern(edgeStyles) : edgeStyles);
+            edge.getEdgeLabels().get(0).setEdgeLabelStyles(i == 1 ? labelStyles : X6StyleRegistry.intern(labelStyles));
+            edge.getEdgeLabels().add(new X6EdgeLabel("second", 0.25));
+            cells.add(edge);
+        }
+        cells.add(new X6Edge("e-empty", null, null));
+        return cells;
+    }
+    
+    @Test
+    public void compactCellsExpandToTheVerboseCells() {
+        JsonStreamGenerator verbose = new JsonStreamGenerator();
+        JsonStreamGenerator compact = new JsonStreamGenerator();
+        compact.setCompact(true);
+        JsonObject definitions = new JsonObject();
+        for (X6Cell cell : createCells()) {
+            JsonObject expected = JsonParser.parseString(verbose.generateCell(cell)).getAsJsonObject();
+            JsonObject data = JsonParser.parseString(compact.generateCell(cell)).getAsJsonObject();
+            String defined = compact.takeStyleDefinitions();
+            if (defined != null)
+                JsonParser.parseString(defined).getAsJsonObject().entrySet().forEach(entry -> definitions.add(entry.getKey(), entry.getValue()));
+            JsonObject actual = cell instanceof X6Edge ? decodeEdge(data, definitions) : decodeNode(data, definitions);
+            for (Map.Entry<String, JsonElement> entry : expected.entrySet())
+                assertEquals(entry.getValue(), actual.get(entry.getKey()), cell.getId() + "." + entry.getKey());
+        }
+    }
+    
+    @Test
+    public void internedStylesAreDefinedOnce() {
+        X6NodeStyles styles = new X6NodeStyles();
+        styles.setFillColor("#00ff00");
+        X6NodeStyles interned = X6StyleRegistry.intern(styles);
+        JsonStreamGenerator compact = new JsonStreamGenerator();
+        compact.setCompact(true);
+        
+        compact.generateNode(node("a", interned));
+        String definitions = compact.takeStyleDefinitions();
+        assertNotNull(definitions);
+        assertTrue(definitions.contains("\"" + X6StyleRegistry.getStyleId(interned) + "\":"));
+        compact.generateNode(node("b", interned));
+        assertNull(compact.takeStyleDefinitions());
+        
+        compact.resetStyleDefinitions();
+        compact.generateNode(node("c", interned));
+        assertEquals(definitions, compact.takeStyleDefinitions());
+    }
+    
+    @Test
+    public void nonFiniteNumbersAreWrittenAsZero() {
+        X6Node node = new X6Node("n", Double.NaN, Double.POSITIVE_INFINITY, 10, 10, "rect");
+        X6Edge edge = new X6Edge("e", "n", "n");
+        edge.getPolyline().add(Double.NEGATIVE_INFINITY, 1);
+        for (boolean compactMode : new boolean[] { false, true }) {
+            JsonStreamGenerator generator = new JsonStreamGenerator();
+            generator.setCompact(compactMode);
+            for (String json : List.of(generator.generateCell(node), generator.generateCell(edge)))
+                assertFalse(json.contains("NaN") || json.contains("Infinity"), json);
+        }
+        JsonObject coordinates = JsonParser.parseString(new JsonStreamGenerator().generateCell(node)).getAsJsonObject()
+                .getAsJsonObject("geometry").getAsJsonObject("coordinates");
+        assertEquals(0, coordinates.get("x").getAsDouble());
+        assertEquals(0, coordinates.get("y").getAsDouble());
+    }
+    
+    private static X6Node node(String id, X6NodeStyles styles) {
+        X6Node node = new X6Node(id, 0, 0, 10, 10, "rect");
+        node.setNodeStyles(styles);
+        return node;
+    }
+    
+    // <editor-fold desc="Expansion of the compact format, as done by the web component">
+    
+    private static JsonObject resolveStyle(JsonElement style, JsonObject definitions) {
+        if (style == null)
+            return new JsonObject();
+        if (style.isJsonPrimitive())
+            return definitions.get(style.getAsString()).getAsJsonObject();
+        return style.getAsJsonObject();
+    }
+    
+    private static JsonElement get(JsonObject object, String key, Object defaultValue) {
+        JsonElement value = object.get(key);
+        if (value != null)
+            return value;
+        if (defaultValue instanceof Number number)
+            return new JsonPrimitive(number);
+        return new JsonPrimitive((String) defaultValue);
+    }
+    
+    private static JsonObject decodeNode(JsonObject data, JsonObject definitions) {
+        JsonArray geometry = data.getAsJsonArray("g");
+        JsonObject styles = resolveStyle(data.get("n"), definitions);
+        JsonObject labelStyles = resolveStyle(data.get("b"), definitions);
+        JsonObject node = new JsonObject();
+        node.add("id", data.get("i"));
+        JsonObject coordinates = new JsonObject();
+        coordinates.add("x", geometry.get(0));
+        coordinates.add("y", geometry.get(1));
+        JsonObject dimensions = new JsonObject();
+        dimensions.add("width", geometry.get(2));
+        dimensions.add("height", geometry.get(3));
+        JsonObject nodeGeometry = new JsonObject();
+        nodeGeometry.add("coordinates", coordinates);
+        nodeGeometry.add("dimensions", dimensions);
+        node.add("geometry", nodeGeometry);
+        node.add("tools", data.has("t") ? data.get("t") : new JsonArray());
+        node.add("shape", get(data, "s", "rect"));
+        node.add("imgUrl", get(data, "u", ""));
+        node.addProperty("movable", !data.has("m") || data.get("m").getAsInt() != 0);
+        node.add("parentId", get(data, "p", ""));
+        node.add("label", get(data, "l", ""));
+        JsonObject nodeStyles = new JsonObject();
+        nodeStyles.add("fillColor", get(styles, "f", "#f8f9fa"));
+        nodeStyles.add("strokeColor", get(styles, "c", "black"));
+        nodeStyles.add("strokeWidth", get(styles, "w", 1));
+        nodeStyles.add("dash", get(styles, "d", "0"));
+        nodeStyles.add("borderRadius", get(styles, "r", 0));
+        nodeStyles.add("zIndex", get(styles, "z", 1));
+        node.add("nodeStyles", nodeStyles);
+        JsonObject nodeLabelStyles = new JsonObject();
+        nodeLabelStyles.add("fontColor", get(labelStyles, "c", "black"));
+        nodeLabelStyles.add("fontSize", get(labelStyles, "s", 14));
+        nodeLabelStyles.add("fontFamily", get(labelStyles, "a", "Arial"));
+        nodeLabelStyles.add("labelPosition", get(labelStyles, "p", "default"));
+        nodeLabelStyles.add("visibility", get(labelStyles, "v", "visible"));
+        node.add("nodeLabelStyles", nodeLabelStyles);
+        node.addProperty("port", data.has("o") && data.get("o").getAsInt() == 1);
+        return node;
+    }
+    
+    private static JsonObject decodeEdge(JsonObject data, JsonObject definitions) {
+        JsonObject edge = new JsonObject();
+        edge.add("id", data.get("i"));
+        edge.add("idSource", get(data, "a", ""));
+        edge.add("idTarget", get(data, "b", ""));
+        JsonArray flatVertices = data.has("v") ? data.getAsJsonArray("v") : new JsonArray();
+        JsonArray vertices = new JsonArray();
+        for (int i = 0; i + 1 < flatVertices.size(); i += 2) {
+            JsonObject vertex = new JsonObject();
+            vertex.add("x", flatVertices.get(i));
+            vertex.add("y", flatVertices.get(i + 1));
+            vertices.add(vertex);
+        }
+        edge.add("vertices", vertices);
+        JsonArray edgeLabels = new JsonArray();
+        if (data.has("l")) {
+            for (JsonElement element : data.getAsJsonArray("l")) {
+                JsonObject label = element.getAsJsonObject();
+                JsonObject labelStyles = resolveStyle(label.get("s"), definitions);
+                JsonObject edgeLabel = new JsonObject();
+                edgeLabel.add("label", get(label, "l", ""));
+                edgeLabel.add("distance", get(label, "d", 0.5));
+                JsonObject edgeLabelStyles = new JsonObject();
+                edgeLabelStyles.add("fillColor", get(labelStyles, "f", "#f8f9fa"));
+                edgeLabelStyles.add("fontColor", get(labelStyles, "c", "black"));
+                edgeLabelStyles.add("fontSize", get(labelStyles, "s", 14));
+                edgeLabelStyles.add("fontFamily", get(labelStyles, "a", "Arial"));
+                edgeLabelStyles.add("borderRadius", get(labelStyles, "r", 0));
+                edgeLabel.add("edgeLabelStyles", edgeLabelStyles);
+                edgeLabels.add(edgeLabel);
+            }
+        }
+        edge.add("edgeLabels", edgeLabels);
+        JsonObject styles = resolveStyle(data.get("e"), definitions);
+        JsonObject edgeStyles = new JsonObject();
+        edgeStyles.add("strokeColor", get(styles, "c", "black"));
+        edgeStyles.add("strokeWidth", get(styles, "w", 1));
+        edgeStyles.add("dash", get(styles, "d", 0));
+        edgeStyles.add("borderRadius", get(styles, "r", 0));
+        edgeStyles.add("zIndex", get(styles, "z", 1));
+        edge.add("edgeStyles", edgeStyles);
+        return edge;
+    }
+    
+    // </editor-fold>
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.jsonGenerator;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.neotropic.flow.component.antvx6.constants.X6Constants;
+import com.neotropic.flow.component.antvx6.objects.X6Cell;
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import com.neotropic.flow.component.antvx6.objects.X6Node;
+import com.neotropic.flow.component.antvx6.objects.X6NodeBackground;
+import com.neotropic.flow.component.antvx6.objects.X6NodeText;
+import com.neotropic.flow.component.antvx6.styles.X6EdgeStyles;
+import com.neotropic.flow.component.antvx6.styles.X6NodeLabelStyles;
+import com.neotropic.flow.component.antvx6.styles.X6NodeStyles;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of {@link NativeJsonGenerator}: the cells are written with the attrs, labels, ports and
+ * connectors that the "Objects Configuration" section of x-6.ts builds for them. Update the
+ * expected metadata whenever that section changes.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class NativeJsonGeneratorTest {
+    /*
+    * The metadata built by getBackgroundMetadata, getNodeMetadata, getTextMetadata and
+    * getEdgeMetadata in x-6.ts for the cells of createCells, with the tools, parent and
+    * children set by loadFromJSON.
+    */
+    private static final String EXPECTED = """
+        {"backgroundId": "bg", "nodes": [
+          {"id": "bg", "shape": "image", "x": 0, "y": 0, "width": 800, "height": 600,
+           "data": {"enableMove": false}, "imageUrl": "http://localhost/background.png",
+           "attrs": {
+             "body": {"fill": "#f8f9fa", "stroke": "black", "strokeWidth": 1, "strokeDasharray": "0", "rx": 0, "ry": 0},
+             "label": {"text": "", "fontSize": 14, "fontFamily": "Arial", "fill": "black", "refX": 0.5, "refY": 0.5,
+                       "textAnchor": "middle", "textVerticalAnchor": "middle", "visibility": "visible"}},
+           "zIndex": 1},
+          {"id": "n1", "shape": "rect", "x": 10.5, "y": 20, "width": 40, "height": 30,
+           "data": {"enableMove": true}, "imageUrl": "",
+           "attrs": {
+             "body": {"fill": "#ff0000", "stroke": "blue", "strokeWidth": 2, "strokeDasharray": "4 2", "rx": 5, "ry": 5},
+             "label": {"text": "Router", "fontSize": 12, "fontFamily": "Helvetica", "fill": "white", "refX": 0.5, 
+                       "refY": "100%", "refY2": 4, "textAnchor": "middle", "textVerticalAnchor": "top", "visibility": "visible"}},
+           "ports": {
+             "groups": {"group1": {
+               "position": {"name": "absolute", "args": {"x": "100%", "y": "90%"}},
+               "attrs": {"circle": {"r": 6, "magnet": true, "stroke": "#31d0c6", "fill": "#fff", "strokeWidth": 2}}}},
+             "items": [{"id": "port1", "group": "group1"}]},
+           "zIndex": 3,
+           "tools": [{"name": "node-editor", "args": {"x": "20%", "y": "50%", "getText": "label/text", "setText": "label/text"}}],
+           "children": ["t1"]},
+          {"id": "n2", "shape": "image", "x": 100, "y": 20, "width": 40, "height": 30,
+           "data": {"enableMove": true}, "imageUrl": "",
+           "attrs": {
+             "body": {"fill": "#f8f9fa", "stroke": "black", "strokeWidth": 1, "strokeDasharray": "0", "rx": 0, "ry": 0},
+             "label": {"text": "Switch", "fontSize": 14, "fontFamily": "Arial", "fill": "black", "refX": 0.5, "refY": 0.5,
+                       "textAnchor": "middle", "textVerticalAnchor": "middle", "visibility": "visible"}},
+           "ports": {}, "zIndex": 1},
+          {"id": "t1", "shape": "text-block", "x": 0, "y": 0, "width": 40, "height": 10,
+           "data": {"enableMove": true},
+           "attrs": {
+             "body": {"fill": "#f8f9fa", "stroke": "black", "strokeWidth": 1, "strokeDasharray": "0", "rx": 0, "ry": 0},
+             "label": {"text": "note", "fontSize": 14, "fontFamily": "Arial", "fill": "black", "refX": 0.5, "refY": 0.5,
+                       "textAnchor": "middle", "textVerticalAnchor": "middle", "visibility": "visible"}},
+           "parent": "n1"}
+        ], "edges": [
+          {"id": "e1", "source": "n1", "target": "n2", "zIndex": 2,
+           "connector": {"name": "rounded", "args": {"radius": 8}},
+           "attrs": {"line": {"sourceMarker": null, "targetMarker": null, "stroke": "red", "strokeWidth": 3, "strokeDasharray": 5}},
+           "labels": [
+             {"attrs": {
+                "text": {"text": "link", "fontSize": 14, "fontFamily": "Arial", "fill": "black",
+                         "textAnchor": "middle", "textVerticalAnchor": "middle"},
+                "rect": {"fill": "#f8f9fa", "ref": "text", "refX": -4, "refY": -2, "refWidth": "100%", "refHeight": "100%",
+                         "refWidth2": 8, "refHeight2": 5, "stroke": "black", "strokeWidth": 1, "rx": 0, "ry": 0}},
+              "position": {"distance": 0.25, "offset": 0}}],
+           "vertices": [{"x": 50, "y": 60}, {"x": 70.5, "y": 80}]},
+          {"id": "e2", "source": "n2", "target": "n1", "zIndex": 1,
+           "connector": {"name": "normal"},
+           "attrs": {"line": {"sourceMarker": null, "targetMarker": null, "stroke": "black", "strokeWidth": 1, "strokeDasharray": 0}},
+           "labels": [], "vertices": []}
+        ]}
+        """;
+    
+    private static List<X6Cell> createCells() {
+        List<X6Cell> cells = new ArrayList<>();
+        X6NodeBackground background = new X6NodeBackground("bg", 0, 0, 800, 600, "image");
+        background.setImgUrl("http://localhost/background.png");
+        background.setMovable(false);
+        cells.add(background);
+        
+        X6Node router = new X6Node("n1", 10.5, 20, 40, 30, "rect");
+        router.setLabel("Router");
+        router.setPort(true);
+        router.getTools().add(X6Constants.NODE_EDITOR);
+        X6NodeStyles styles = new X6NodeStyles();
+        styles.setFillColor("#ff0000");
+        styles.setStrokeColor("blue");
+        styles.setStrokeWidth(2);
+        styles.setDash("4 2");
+        styles.setBorderRadius(5);
+        styles.setZIndex(3);
+        router.setNodeStyles(styles);
+        X6NodeLabelStyles labelStyles = new X6NodeLabelStyles();
+        labelStyles.setLabelPosition(X6Constants.LABEL_NODE_POSITION_BOTTOM);
+        labelStyles.setFontSize(12);
+        labelStyles.setFontFamily("Helvetica");
+        labelStyles.setFontColor("white");
+        router.setNodeLabelStyles(labelStyles);
+        cells.add(router);
+        
+        X6Node device = new X6Node("n2", 100, 20, 40, 30, "image");
+        device.setLabel("Switch");
+        cells.add(device);
+        
+        X6NodeText note = new X6NodeText("t1", 0, 0, 40, 10, "text-block");
+        note.setLabel("note");
+        note.setParentId("n1");
+        cells.add(note);
+        
+        X6Edge link = new X6Edge("e1", "n1", "n2", "link");
+        link.getEdgeLabels().get(0).setDistance(0.25);
+        // neither is drawn: an empty label and a label out of the edge
+        link.addLabel("", 0.5);
+        link.addLabel("far", 2);
+        X6EdgeStyles edgeStyles = new X6EdgeStyles();
+        edgeStyles.setStrokeColor("red");
+        edgeStyles.setStrokeWidth(3);
+        edgeStyles.setDash(5);
+        edgeStyles.setBorderRadius(8);
+        edgeStyles.setZIndex(2);
+        link.setEdgeStyles(edgeStyles);
+        link.getPolyline().add(50, 60);
+        link.getPolyline().add(70.5, 80);
+        cells.add(link);
+        cells.add(new X6Edge("e2", "n2", "n1"));
+        return cells;
+    }
+    
+    @Test
+    public void cellsHaveTheMetadataOfTheWebComponent() {
+        JsonElement actual = JsonParser.parseString(new NativeJsonGenerator().generateCells(createCells()));
+        assertEquals(JsonParser.parseString(EXPECTED), actual);
+    }
+    
+    @Test
+    public void nonFiniteNumbersAreWrittenAsZero() {
+        X6Node node = new X6Node("n1", Double.NaN, Double.POSITIVE_INFINITY, 40, 30, "rect");
+        X6Edge edge = new X6Edge("e1", "n1", "n1");
+        edge.getPolyline().add(Double.NEGATIVE_INFINITY, 1);
+        String json = new NativeJsonGenerator().generateCells(List.of(node, edge));
+        JsonObject parsed = JsonParser.parseString(json).getAsJsonObject();
+        JsonObject written = parsed.getAsJsonArray("nodes").get(0).getAsJsonObject();
+        assertEquals(0, written.get("x").getAsDouble());
+        assertEquals(0, written.get("y").getAsDouble());
+        JsonObject vertex = parsed.getAsJsonArray("edges").get(0).getAsJsonObject()
+                .getAsJsonArray("vertices").get(0).getAsJsonObject();
+        assertEquals(0, vertex.get("x").getAsDouble());
+        assertEquals(1, vertex.get("y").getAsDouble());
+    }
+}
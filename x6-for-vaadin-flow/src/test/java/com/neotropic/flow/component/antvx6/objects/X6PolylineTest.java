@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.objects;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of the vertices view of {@link X6Polyline}: its vertices write the polyline and fail
+ * once vertices are added or removed, instead of reading or writing another position.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6PolylineTest {
+    
+    private static X6Polyline createPolyline() {
+        X6Polyline polyline = new X6Polyline();
+        polyline.addAll(new double[] { 0, 0, 10, 10, 20, 20 });
+        return polyline;
+    }
+    
+    @Test
+    public void verticesWriteThePolyline() {
+        X6Polyline polyline = createPolyline();
+        Vertex vertex = polyline.asVertices().get(1);
+        vertex.setX(15);
+        vertex.setY(16);
+        // moving a vertex does not add or remove vertices
+        polyline.set(2, 30, 30);
+        assertEquals(15, polyline.getX(1));
+        assertEquals(16, vertex.getY());
+    }
+    
+    @Test
+    public void verticesFailAfterStructuralChanges() {
+        X6Polyline polyline = createPolyline();
+        List<Vertex> vertices = polyline.asVertices();
+        Vertex inserted = vertices.get(1);
+        polyline.insert(0, -10, -10);
+        assertThrows(ConcurrentModificationException.class, inserted::getX);
+        assertThrows(ConcurrentModificationException.class, () -> inserted.setX(1));
+        
+        Vertex removed = vertices.get(2);
+        vertices.remove(0);
+        assertThrows(ConcurrentModificationException.class, removed::getY);
+        assertThrows(ConcurrentModificationException.class, () -> removed.setY(1));
+        
+        Vertex truncated = vertices.get(0);
+        polyline.truncate(1);
+        assertThrows(ConcurrentModificationException.class, truncated::getX);
+        // the polyline was not written by the failed calls
+        assertEquals(1, polyline.size());
+        assertEquals(0, polyline.getX(0));
+        assertEquals(0, vertices.get(0).getY());
+    }
+}
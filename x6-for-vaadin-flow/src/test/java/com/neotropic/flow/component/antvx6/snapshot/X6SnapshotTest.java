@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.snapshot;
+
+import com.neotropic.flow.component.antvx6.objects.X6Edge;
+import com.neotropic.flow.component.antvx6.objects.X6Node;
+import com.neotropic.flow.component.antvx6.objects.X6NodeBackground;
+import com.neotropic.flow.component.antvx6.objects.X6NodeText;
+import com.neotropic.flow.component.antvx6.styles.X6NodeStyles;
+import com.neotropic.flow.component.antvx6.styles.X6StyleRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of {@link X6Snapshot}: snapshots are read back as the cells that were written, and
+ * truncated or corrupted snapshots fail with an {@link IOException}.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6SnapshotTest {
+    
+    private static X6Snapshot createSnapshot() {
+        X6NodeStyles shared = X6StyleRegistry.intern(new X6NodeStyles());
+        List<X6Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            X6Node node = new X6Node("n" + i, i * 3, i * 2, 40, 30, "rect");
+            node.setLabel("Node ü " + i);
+            if (i % 2 == 0)
+                node.setNodeStyles(shared);
+            node.setPort(i % 7 == 0);
+            node.getTools().add("button-remove");
+            node.setStyle("fill", "#" + (i % 3));
+            nodes.add(node);
+        }
+        List<X6NodeText> textNodes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            X6NodeText text = new X6NodeText("t" + i, 1, 2, 3, 4, "text-block");
+            text.setLabel("text");
+            text.setParentId("n" + i);
+            textNodes.add(text);
+        }
+        List<X6Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 49; i++) {
+            X6Edge edge = new X6Edge("e" + i, "n" + i, "n" + (i + 1), "l" + i);
+            if (i % 5 == 0) {
+                edge.getPolyline().add(1.5, 2.5);
+                edge.getPolyline().add(3, 4);
+            }
+            edges.add(edge);
+        }
+        edges.get(0).setEdgeLabels(null);
+        X6NodeBackground background = new X6NodeBackground("bg", 0, 0, 100, 100, "image");
+        background.setImgUrl("http://localhost/background.png");
+        return new X6Snapshot(background, nodes, textNodes, edges);
+    }
+    
+    private static byte[] toBytes(X6Snapshot snapshot) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        snapshot.write(out);
+        return out.toByteArray();
+    }
+    
+    @Test
+    public void readsTheCellsThatWereWritten() throws IOException {
+        X6Snapshot snapshot = createSnapshot();
+        X6Snapshot read = X6Snapshot.read(ByteBuffer.wrap(toBytes(snapshot)));
+        
+        assertEquals(snapshot.getBackground(), read.getBackground());
+        assertEquals(snapshot.getNodes(), read.getNodes());
+        assertEquals(snapshot.getTextNodes(), read.getTextNodes());
+        assertEquals(snapshot.getEdges(), read.getEdges());
+        assertSame(read.getNodes().get(0).getNodeStyles(), read.getNodes().get(2).getNodeStyles());
+    }
+    
+    @Test
+    public void rejectsTruncatedSnapshots() throws IOException {
+        byte[] bytes = toBytes(createSnapshot());
+        for (int length = 0; length < bytes.length; length += 7) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+            assertThrows(IOException.class, () -> X6Snapshot.read(buffer));
+        }
+    }
+    
+    @Test
+    public void failsOnlyWithIOExceptionOnCorruptedSnapshots() throws IOException {
+        byte[] bytes = toBytes(createSnapshot());
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            byte[] corrupted = bytes.clone();
+            int position = random.nextInt(corrupted.length);
+            corrupted[position] ^= (byte) (1 << random.nextInt(8));
+            try {
+                X6Snapshot.read(ByteBuffer.wrap(corrupted));
+            } catch (IOException ex) {
+                // expected, a corrupted snapshot may also be read as different cells
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.styles;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests of {@link X6StyleRegistry}: equal styles share one immutable instance, and released
+ * styles give their id back.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6StyleRegistryTest {
+    
+    private static X6EdgeStyles edgeStyles(String strokeColor) {
+        X6EdgeStyles styles = new X6EdgeStyles();
+        styles.setStrokeColor(strokeColor);
+        return styles;
+    }
+    
+    @Test
+    public void equalStylesShareOneInstance() {
+        X6EdgeStyles styles = edgeStyles("#123456");
+        X6EdgeStyles interned = X6StyleRegistry.intern(styles);
+        
+        assertSame(interned, X6StyleRegistry.intern(edgeStyles("#123456")));
+        assertSame(interned, X6StyleRegistry.intern(interned));
+        assertEquals(styles, interned);
+        assertTrue(X6StyleRegistry.getStyleId(interned) >= 0);
+        assertEquals(-1, X6StyleRegistry.getStyleId(styles));
+    }
+    
+    @Test
+    public void internedStylesCanNotBeModified() {
+        X6EdgeStyles original = edgeStyles("#654321");
+        X6EdgeStyles interned = X6StyleRegistry.intern(original);
+        assertThrows(UnsupportedOperationException.class, () -> interned.setStrokeWidth(3));
+        
+        X6EdgeStyles copy = X6StyleRegistry.mutable(interned);
+        assertNotSame(interned, copy);
+        copy.setStrokeWidth(3);
+        assertEquals("#654321", copy.getStrokeColor());
+        
+        original.setStrokeColor("#000000");
+        assertSame(interned, X6StyleRegistry.intern(edgeStyles("#654321")));
+    }
+    
+    @Test
+    public void releasedStylesGiveTheirIdBack() throws InterruptedException {
+        X6EdgeStyles interned = X6StyleRegistry.intern(edgeStyles("#abcdef"));
+        int releasedId = X6StyleRegistry.getStyleId(interned);
+        WeakReference<X6EdgeStyles> released = new WeakReference<>(interned);
+        interned = null;
+        for (int i = 0; i < 50 && released.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assumeTrue(released.get() == null, "The style was not garbage collected");
+        
+        List<X6EdgeStyles> probes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            X6EdgeStyles probe = X6StyleRegistry.intern(edgeStyles("#probe" + i));
+            if (X6StyleRegistry.getStyleId(probe) <= releasedId)
+                return;
+            probes.add(probe);
+            Thread.sleep(10);
+        }
+        fail("The id of the released style was not reused");
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025 Neotropic SAS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neotropic.flow.component.antvx6.utilities;
+
+import com.neotropic.flow.component.antvx6.objects.X6Polyline;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of the vertices reader of {@link X6EdgeUtilities}: numbers are read as
+ * {@link Double#parseDouble} reads them and malformed vertices are rejected.
+ * @author Julian David Camacho Erazo {@literal <julian.camacho@kuwaiba.org>}
+ */
+public class X6EdgeUtilitiesTest {
+    
+    private static void assertParsedAsParseDouble(String number) {
+        X6Polyline polyline = X6EdgeUtilities.parseVertices("[{\"x\":" + number + ",\"y\":0}]");
+        assertEquals(Double.doubleToRawLongBits(Double.parseDouble(number)), 
+                Double.doubleToRawLongBits(polyline.getX(0)), number);
+    }
+    
+    @Test
+    public void readsTheVertices() {
+        X6Polyline polyline = X6EdgeUtilities.parseVertices(
+                " [ {\"x\": 10, \"y\": -20.5} , {\"y\":4,\"id\":\"a\\\"}\",\"data\":{\"k\":[1,{}]},\"x\":3,\"ok\":true} ] ");
+        assertEquals(2, polyline.size());
+        assertEquals(10, polyline.getX(0));
+        assertEquals(-20.5, polyline.getY(0));
+        assertEquals(3, polyline.getX(1));
+        assertEquals(4, polyline.getY(1));
+        assertEquals(0, X6EdgeUtilities.parseVertices("[]").size());
+    }
+    
+    @Test
+    public void readsNumbersGivenAsStrings() {
+        X6Polyline polyline = X6EdgeUtilities.parseVertices("[{\"x\":\"1\",\"y\":\"2.5e1\"}]");
+        assertEquals(1, polyline.getX(0));
+        assertEquals(25, polyline.getY(0));
+        assertThrows(IllegalArgumentException.class, () -> X6EdgeUtilities.parseVertices("[{\"x\":\"one\",\"y\":2}]"));
+    }
+    
+    @Test
+    public void readsNumbersAsParseDouble() {
+        String[] numbers = {
+            "0", "-0", "0.0", "-0.0e5", "1", "-1", "0.1", "0.3", "3.141592653589793", "123456789",
+            "1e22", "1e23", "-1e23", "9007199254740992", "9007199254740993", "9007199254740995",
+            "1.7976931348623157e308", "1.7976931348623158e308", "1.7976931348623159e308", "1e309",
+            "2.2250738585072014e-308", "2.2250738585072011e-308", "2.225073858507201e-308",
+            "4.9e-324", "2.4703282292062328e-324", "2.4703282292062327e-324", "1e-400", "0e999999",
+            "1234567890123456789", "12345678901234567890", "0.00000000000000000000001234567890123456789",
+            "9.999999999999999e22", "7.3177701707893310e15", "2.9802322387695312e-8",
+            "1.00000000000000011102230246251565404236316680908203125",
+            "1.00000000000000011102230246251565404236316680908203124",
+            "1.00000000000000011102230246251565404236316680908203126",
+            "1E2", "1e+2", "1e-2", "1.5E-10"
+        };
+        for (String number : numbers)
+            assertParsedAsParseDouble(number);
+    }
+    
+    @Test
+    public void readsRandomNumbersAsParseDouble() {
+        Random random = new Random(17);
+        for (int i = 0; i < 100_000; i++) {
+            double value = Double.longBitsToDouble(random.nextLong());
+            if (!Double.isNaN(value) && !Double.isInfinite(value))
+                assertParsedAsParseDouble(Double.toString(value));
+            StringBuilder number = new StringBuilder();
+            if (random.nextBoolean())
+                number.append('-');
+            number.append(1 + random.nextInt(9));
+            for (int digits = random.nextInt(20); digits > 0; digits--)
+                number.append(random.nextInt(10));
+            if (random.nextBoolean()) {
+                number.append('.');
+                for (int digits = 1 + random.nextInt(20); digits > 0; digits--)
+                    number.append(random.nextInt(10));
+            }
+            number.append('e').append(random.nextInt(700) - 350);
+            assertParsedAsParseDouble(number.toString());
+        }
+    }
+    
+    @Test
+    public void rejectsMalformedVertices() {
+        String[] malformed = {
+            "", "[", "[{\"x\":1,\"y\":2}", "[{\"x\":1,\"y\":2}]x", "[{\"x\":1,\"y\":2}] []", "[{\"x\":1,\"y\":2},]",
+            "[{\"x\":1}]", "[{}]", "[{\"x\":1,\"y\":2,\"x\":3}]", "[{\"x\":1e,\"y\":2}]", "[{\"x\":.5,\"y\":2}]",
+            "[{\"x\":1.,\"y\":2}]", "[{\"x\":01,\"y\":2}]", "[{\"x\":-,\"y\":2}]", "[{\"x\":+1,\"y\":2}]",
+            "[{\"x\":1e+,\"y\":2}]", "[{\"x\":null,\"y\":2}]", "[{\"x\":1 2,\"y\":2}]", "[{x:1,\"y\":2}]",
+            "[{\"x\":1,\"y\":2,\"z\":}]", "[{\"x\":1,\"y\":2,\"z\":[1,2}]", "[{\"x\":\"1,\"y\":2}]"
+        };
+        for (String json : malformed)
+            assertThrows(IllegalArgumentException.class, () -> X6EdgeUtilities.parseVertices(json), json);
+    }
+}